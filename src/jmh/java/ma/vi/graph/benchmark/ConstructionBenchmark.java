@@ -0,0 +1,36 @@
+package ma.vi.graph.benchmark;
+
+import ma.vi.graph.DirectedGraph;
+import ma.vi.graph.Edge;
+import ma.vi.graph.Graph;
+import ma.vi.graph.UndirectedGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks the construction of graphs from a {@link ma.vi.graph.VertexMap}
+ * and the iteration of their edges and vertices.
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+public class ConstructionBenchmark {
+  @Benchmark
+  public Graph<Integer, Integer> directedGraph(GraphState state) {
+    return new DirectedGraph<>(state.generator.vertexMap().build());
+  }
+
+  @Benchmark
+  public Graph<Integer, Integer> undirectedGraph(GraphState state) {
+    return new UndirectedGraph<>(state.generator.vertexMap().build());
+  }
+
+  @Benchmark
+  public void edgesAndVertices(GraphState state, Blackhole blackhole) {
+    for (Edge<Integer, Integer> edge: state.graph.edges()) {
+      blackhole.consume(edge);
+    }
+    for (Integer vertex: state.graph.vertices()) {
+      blackhole.consume(vertex);
+    }
+  }
+}
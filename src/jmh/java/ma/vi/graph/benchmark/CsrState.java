@@ -0,0 +1,21 @@
+package ma.vi.graph.benchmark;
+
+import ma.vi.graph.CsrGraph;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * The CSR form of the graph of the {@link GraphState}, built once per trial for
+ * the benchmarks of the algorithms working on it, so that its construction is
+ * not included in their measurements.
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+@State(Scope.Benchmark)
+public class CsrState {
+  @Setup(Level.Trial)
+  public void build(GraphState state) {
+    graph = new CsrGraph<>(state.graph);
+  }
+
+  public CsrGraph<Integer, Integer> graph;
+}
@@ -0,0 +1,31 @@
+package ma.vi.graph.benchmark;
+
+import ma.vi.graph.CsrGraph;
+import ma.vi.graph.DirectedGraph;
+import ma.vi.graph.Edge;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * The generated edges of the {@link GraphState} as a directed graph, in CSR form,
+ * for the benchmarks of the algorithms on directed graphs, such as strongly
+ * connected components. Built once per trial.
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+@State(Scope.Benchmark)
+public class DirectedState {
+  @Setup(Level.Trial)
+  public void build(GraphState state) {
+    GraphGenerator generator = state.generator;
+    Set<Edge<Integer, Integer>> edgeSet = new LinkedHashSet<>();
+    for (int e = 0; e < generator.edgeCount(); e++) {
+      edgeSet.add(Edge.of(generator.from(e), generator.weight(e), generator.to(e)));
+    }
+    graph = new CsrGraph<>(new DirectedGraph<>(edgeSet));
+  }
+
+  public CsrGraph<Integer, Integer> graph;
+}
@@ -0,0 +1,86 @@
+package ma.vi.graph.benchmark;
+
+import ma.vi.graph.Graph;
+import ma.vi.graph.algo.connectivity.ConnectedComponents;
+import ma.vi.graph.algo.connectivity.ConnectedGraphs;
+import ma.vi.graph.algo.connectivity.ParallelConnectedComponents;
+import ma.vi.graph.algo.connectivity.ParallelConnectedGraphs;
+import ma.vi.graph.algo.connectivity.ParallelStronglyConnectedComponents;
+import ma.vi.graph.algo.connectivity.StronglyConnectedComponents;
+import ma.vi.graph.algo.explore.BreadthFirstExplore;
+import ma.vi.graph.algo.explore.DeltaSteppingExplore;
+import ma.vi.graph.algo.explore.DepthFirstExplore;
+import ma.vi.graph.algo.explore.ParallelBreadthFirstExplore;
+import ma.vi.graph.algo.explore.PathTree;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Benchmarks the full exploration of the graph from the start vertex and
+ * the computation of its connected components.
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+public class ExploreBenchmark {
+  @Benchmark
+  public void breadthFirstExplore(GraphState state, Blackhole blackhole) {
+    state.graph.apply(new BreadthFirstExplore<Integer, Integer, Void>(state.start)
+                          .exploreOp((g, p) -> {
+                            blackhole.consume(p);
+                            return Optional.empty();
+                          }));
+  }
+
+  @Benchmark
+  public PathTree<Integer, Integer> parallelBreadthFirstExplore(GraphState state, CsrState csr) {
+    return csr.graph.apply(new ParallelBreadthFirstExplore<Integer, Integer>(state.start));
+  }
+
+  @Benchmark
+  public PathTree<Integer, Integer> deltaSteppingExplore(GraphState state, CsrState csr) {
+    return csr.graph.apply(new DeltaSteppingExplore<Integer, Integer>(state.start));
+  }
+
+  @Benchmark
+  public void depthFirstExplore(GraphState state, Blackhole blackhole) {
+    state.graph.apply(new DepthFirstExplore<Integer, Integer, Void>(state.start)
+                          .exploreOp((g, p) -> {
+                            blackhole.consume(p);
+                            return Optional.empty();
+                          }));
+  }
+
+  @Benchmark
+  public List<Set<Integer>> connectedComponents(GraphState state) {
+    return state.graph.apply(new ConnectedComponents<>());
+  }
+
+  @Benchmark
+  public List<Set<Integer>> parallelConnectedComponents(CsrState state) {
+    return state.graph.apply(new ParallelConnectedComponents<>());
+  }
+
+  @Benchmark
+  public List<Graph<Integer, Integer>> connectedGraphs(GraphState state) {
+    return state.graph.apply(new ConnectedGraphs<>());
+  }
+
+  @Benchmark
+  public List<Graph<Integer, Integer>> parallelConnectedGraphs(GraphState state) {
+    return state.graph.apply(new ParallelConnectedGraphs<>());
+  }
+
+  @Benchmark
+  public List<Set<Integer>> stronglyConnectedComponents(DirectedState state) {
+    return state.graph.apply(new StronglyConnectedComponents<>());
+  }
+
+  @Benchmark
+  public List<Set<Integer>> parallelStronglyConnectedComponents(DirectedState state) {
+    return state.graph.apply(new ParallelStronglyConnectedComponents<>());
+  }
+}
@@ -0,0 +1,202 @@
+package ma.vi.graph.benchmark;
+
+import ma.vi.graph.VertexMap;
+import ma.vi.graph.algo.search.GoalEstimate;
+
+import java.util.Random;
+
+/**
+ * <p>
+ * Generates graphs of different shapes with a given number of edges for the
+ * benchmarks. The vertices are the integers 0 to vertexCount - 1 and the edges
+ * are held in parallel arrays (from, weight, to) so that the time to build
+ * graphs from them can be measured separately from their generation. All
+ * generators are deterministic for a given seed.
+ * </p>
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+public class GraphGenerator {
+  public enum Shape {
+    /**
+     * Uniformly random edges between vertices (Erdős–Rényi G(n, m)) with an
+     * average out-degree of 4 and weights between 1 and 100.
+     */
+    RANDOM,
+
+    /**
+     * A square grid with each vertex connected to its right and bottom
+     * neighbours, with weights between 1 and 100.
+     */
+    GRID,
+
+    /**
+     * A scale-free graph grown by preferential attachment (Barabási–Albert),
+     * each new vertex linking to 4 existing vertices chosen in proportion to
+     * their degree, with weights between 1 and 100.
+     */
+    SCALE_FREE,
+
+    /**
+     * A road-like planar graph: a grid of points with jittered coordinates,
+     * some of the grid edges removed and some diagonals added, with weights
+     * equal to the euclidean distance between points (scaled by 100). A goal
+     * estimate consistent with the weights is available for A* search.
+     */
+    ROAD
+  }
+
+  public GraphGenerator(Shape shape, int edges, long seed) {
+    this.shape = shape;
+    this.random = new Random(seed);
+    this.from = new int[edges];
+    this.weight = new int[edges];
+    this.to = new int[edges];
+    switch (shape) {
+      case RANDOM:     random(edges);    break;
+      case GRID:       grid(edges);      break;
+      case SCALE_FREE: scaleFree(edges); break;
+      case ROAD:       road(edges);      break;
+    }
+  }
+
+  public Shape shape() {
+    return shape;
+  }
+
+  public int vertexCount() {
+    return vertexCount;
+  }
+
+  public int edgeCount() {
+    return edgeCount;
+  }
+
+  public int from(int edge) {
+    return from[edge];
+  }
+
+  public int weight(int edge) {
+    return weight[edge];
+  }
+
+  public int to(int edge) {
+    return to[edge];
+  }
+
+  /**
+   * The generated edges in a {@link VertexMap}.
+   */
+  public VertexMap<Integer, Integer> vertexMap() {
+    VertexMap<Integer, Integer> map = new VertexMap<>();
+    for (int e = 0; e < edgeCount; e++) {
+      map.add(from[e], weight[e], to[e]);
+    }
+    return map;
+  }
+
+  /**
+   * A goal estimate for A* search: the scaled euclidean distance for road graphs,
+   * the manhattan distance (a lower bound for weights of at least 1) for grids and
+   * 0 for the other shapes, all of which never overestimate the remaining cost.
+   */
+  public GoalEstimate<Integer> goalEstimate() {
+    switch (shape) {
+      case ROAD:
+        return (v1, v2) -> (long)Math.floor(Math.hypot(x[v1] - x[v2], y[v1] - y[v2]) * 100);
+      case GRID:
+        return (v1, v2) -> Math.abs(v1 % side - v2 % side) + Math.abs(v1 / side - v2 / side);
+      default:
+        return (v1, v2) -> 0;
+    }
+  }
+
+  private void random(int edges) {
+    vertexCount = Math.max(2, edges / 4);
+    for (int e = 0; e < edges; e++) {
+      int u = random.nextInt(vertexCount);
+      int v = random.nextInt(vertexCount - 1);
+      add(u, 1 + random.nextInt(100), v >= u ? v + 1 : v);
+    }
+  }
+
+  private void grid(int edges) {
+    side = Math.max(2, (int)Math.sqrt(edges / 2.0));
+    vertexCount = side * side;
+    for (int r = 0; r < side && edgeCount < edges; r++) {
+      for (int c = 0; c < side && edgeCount < edges; c++) {
+        int v = r * side + c;
+        if (c + 1 < side) add(v, 1 + random.nextInt(100), v + 1);
+        if (r + 1 < side && edgeCount < edges) add(v, 1 + random.nextInt(100), v + side);
+      }
+    }
+  }
+
+  private void scaleFree(int edges) {
+    int links = 4;
+    vertexCount = Math.max(links + 1, edges / links + 1);
+
+    /*
+     * Every endpoint of every edge so far: sampling uniformly from this
+     * array samples vertices in proportion to their degree.
+     */
+    int[] endpoints = new int[2 * edges];
+    int size = 0;
+    for (int v = 1; v <= links && edgeCount < edges; v++) {
+      add(v, 1 + random.nextInt(100), 0);
+      endpoints[size++] = v;
+      endpoints[size++] = 0;
+    }
+    for (int v = links + 1; v < vertexCount && edgeCount < edges; v++) {
+      int existing = size;
+      for (int l = 0; l < links && edgeCount < edges; l++) {
+        int u = endpoints[random.nextInt(existing)];
+        add(v, 1 + random.nextInt(100), u);
+        endpoints[size++] = v;
+        endpoints[size++] = u;
+      }
+    }
+  }
+
+  private void road(int edges) {
+    side = Math.max(2, (int)Math.sqrt(edges / 2.0));
+    vertexCount = side * side;
+    x = new double[vertexCount];
+    y = new double[vertexCount];
+    for (int v = 0; v < vertexCount; v++) {
+      x[v] = v % side + random.nextDouble() * 0.6 - 0.3;
+      y[v] = v / side + random.nextDouble() * 0.6 - 0.3;
+    }
+    for (int r = 0; r < side && edgeCount < edges; r++) {
+      for (int c = 0; c < side && edgeCount < edges; c++) {
+        int v = r * side + c;
+        if (c + 1 < side && random.nextInt(10) != 0) addRoad(v, v + 1);
+        if (r + 1 < side && random.nextInt(10) != 0 && edgeCount < edges) addRoad(v, v + side);
+        if (c + 1 < side && r + 1 < side && random.nextInt(5) == 0 && edgeCount < edges) addRoad(v, v + side + 1);
+      }
+    }
+  }
+
+  private void addRoad(int u, int v) {
+    add(u, (int)Math.ceil(Math.hypot(x[u] - x[v], y[u] - y[v]) * 100), v);
+  }
+
+  private void add(int u, int w, int v) {
+    from[edgeCount] = u;
+    weight[edgeCount] = w;
+    to[edgeCount] = v;
+    edgeCount++;
+  }
+
+  private final Shape shape;
+  private final Random random;
+  private final int[] from;
+  private final int[] weight;
+  private final int[] to;
+  private int vertexCount;
+  private int edgeCount;
+
+  private int side;
+  private double[] x;
+  private double[] y;
+}
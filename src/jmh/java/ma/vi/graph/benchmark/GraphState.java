@@ -0,0 +1,77 @@
+package ma.vi.graph.benchmark;
+
+import ma.vi.graph.Edge;
+import ma.vi.graph.Graph;
+import ma.vi.graph.UndirectedGraph;
+import ma.vi.graph.benchmark.GraphGenerator.Shape;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+
+/**
+ * <p>
+ * The graph shared by the iterations of a benchmark, generated once per trial for
+ * every combination of shape and size (number of edges). The sizes to run can be
+ * restricted with the JMH -p option, e.g., <code>-p edges=1000,100000</code>.
+ * </p>
+ *
+ * <p>
+ * Besides the graph, the state holds the vertices to start and end traversals and
+ * searches at: the start is vertex 0 and the goal is the farthest vertex from the
+ * start by number of edges, while the near goal, for the searches which are
+ * exponential in the depth of the goal (iterative deepening), is a vertex at most
+ * {@link #NEAR_DEPTH} edges away.
+ * </p>
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+@State(Scope.Benchmark)
+public class GraphState {
+  @Param({"RANDOM", "GRID", "SCALE_FREE", "ROAD"})
+  public Shape shape;
+
+  @Param({"1000", "100000", "1000000", "10000000"})
+  public int edges;
+
+  @Setup(Level.Trial)
+  public void generate() {
+    generator = new GraphGenerator(shape, edges, 42);
+    Set<Edge<Integer, Integer>> edgeSet = new LinkedHashSet<>();
+    for (int e = 0; e < generator.edgeCount(); e++) {
+      edgeSet.add(Edge.of(generator.from(e), generator.weight(e), generator.to(e)));
+    }
+    graph = new UndirectedGraph<>(edgeSet);
+    start = 0;
+
+    /*
+     * Breadth-first search from the start for the farthest and near goals.
+     */
+    Map<Integer, Integer> depth = new HashMap<>();
+    Deque<Integer> queue = new ArrayDeque<>();
+    depth.put(start, 0);
+    queue.add(start);
+    goal = nearGoal = start;
+    while (!queue.isEmpty()) {
+      int v = queue.poll();
+      int d = depth.get(v);
+      goal = v;
+      if (d <= NEAR_DEPTH) {
+        nearGoal = v;
+      }
+      for (Edge<Integer, Integer> e: graph.outgoing(v)) {
+        if (!depth.containsKey(e.endPoint2)) {
+          depth.put(e.endPoint2, d + 1);
+          queue.add(e.endPoint2);
+        }
+      }
+    }
+  }
+
+  public static final int NEAR_DEPTH = 4;
+
+  public GraphGenerator generator;
+  public Graph<Integer, Integer> graph;
+  public int start;
+  public int goal;
+  public int nearGoal;
+}
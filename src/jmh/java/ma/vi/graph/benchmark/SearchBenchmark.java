@@ -0,0 +1,54 @@
+package ma.vi.graph.benchmark;
+
+import ma.vi.graph.Path;
+import ma.vi.graph.algo.search.AStarSearch;
+import ma.vi.graph.algo.search.IterativeDeepeningSearch;
+import ma.vi.graph.algo.search.LandmarkEstimate;
+import ma.vi.graph.algo.search.Landmarks;
+import ma.vi.graph.algo.search.MinCostSearch;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmarks the searches from the start vertex to the goal vertex of the
+ * graph; iterative deepening searches for the near goal instead as its time
+ * is exponential in the depth of the goal. The landmarks of the ALT search
+ * are selected once per trial.
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+public class SearchBenchmark {
+  @Benchmark
+  public Path<Integer, Integer> minCostSearch(GraphState state) {
+    return state.graph.apply(new MinCostSearch<Integer, Integer>(state.start).goalVertex(state.goal));
+  }
+
+  @Benchmark
+  public Path<Integer, Integer> aStarSearch(GraphState state) {
+    return state.graph.apply(new AStarSearch<>(state.start,
+                                               state.goal,
+                                               state.generator.goalEstimate()));
+  }
+
+  @Benchmark
+  public Path<Integer, Integer> altSearch(GraphState state, LandmarkState landmarks) {
+    return state.graph.apply(new AStarSearch<>(state.start,
+                                               state.goal,
+                                               landmarks.estimate));
+  }
+
+  @Benchmark
+  public Path<Integer, Integer> iterativeDeepeningSearch(GraphState state) {
+    return state.graph.apply(new IterativeDeepeningSearch<Integer, Integer>(state.start)
+                                 .goalVertex(state.nearGoal));
+  }
+
+  @State(Scope.Benchmark)
+  public static class LandmarkState {
+    @Setup(Level.Trial)
+    public void select(GraphState state) {
+      estimate = state.graph.apply(new Landmarks<Integer, Integer>());
+    }
+
+    public LandmarkEstimate<Integer> estimate;
+  }
+}
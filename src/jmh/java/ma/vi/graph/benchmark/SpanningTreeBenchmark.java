@@ -0,0 +1,35 @@
+package ma.vi.graph.benchmark;
+
+import ma.vi.graph.Graph;
+import ma.vi.graph.algo.tree.BoruvkaMst;
+import ma.vi.graph.algo.tree.FilterKruskalMst;
+import ma.vi.graph.algo.tree.KruskalMst;
+import ma.vi.graph.algo.tree.PrimMst;
+import org.openjdk.jmh.annotations.Benchmark;
+
+/**
+ * Benchmarks the minimum spanning tree algorithms.
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+public class SpanningTreeBenchmark {
+  @Benchmark
+  public Graph<Integer, Integer> kruskalMst(GraphState state) {
+    return state.graph.apply(new KruskalMst<>());
+  }
+
+  @Benchmark
+  public Graph<Integer, Integer> primMst(GraphState state) {
+    return state.graph.apply(new PrimMst<>());
+  }
+
+  @Benchmark
+  public Graph<Integer, Integer> boruvkaMst(GraphState state) {
+    return state.graph.apply(new BoruvkaMst<>());
+  }
+
+  @Benchmark
+  public Graph<Integer, Integer> filterKruskalMst(GraphState state) {
+    return state.graph.apply(new FilterKruskalMst<>());
+  }
+}
@@ -2,6 +2,7 @@ package ma.vi.graph;
 
 import java.util.*;
 
+import static java.util.Collections.emptyMap;
 import static java.util.Collections.emptySet;
 import static java.util.Collections.unmodifiableSet;
 
@@ -26,13 +27,14 @@ public abstract class AbstractGraph<V, W> implements Graph<V, W> {
    */
   protected AbstractGraph(V vertex) {
     this.edges = emptySet();
-    in.put(vertex, emptySet());
-    out.put(vertex, emptySet());
+    writableIn().put(vertex, emptySet());
+    writableOut().put(vertex, emptySet());
   }
 
   /**
    * Creates a graph from a set of edges with its vertices obtained
-   * from the endpoints of the edges.
+   * from the endpoints of the edges. The set is used as is; public
+   * constructors copy the set of their callers before passing it.
    */
   protected AbstractGraph(Set<Edge<V, W>> edges) {
     this.edges = edges;
@@ -77,13 +79,6 @@ public abstract class AbstractGraph<V, W> implements Graph<V, W> {
     return unmodifiableSet(out.getOrDefault(vertex, emptySet()));
   }
 
-  @Override
-  public Set<Edge<V, W>> edges(V vertex) {
-    Set<Edge<V, W>> edges = new LinkedHashSet<>(in.getOrDefault(vertex, emptySet()));
-    edges.addAll(out.getOrDefault(vertex, emptySet()));
-    return edges;
-  }
-
   /**
    * Returns the set of all nodes in the graph.
    */
@@ -101,8 +96,8 @@ public abstract class AbstractGraph<V, W> implements Graph<V, W> {
     if (this == o) return true;
     if (o instanceof AbstractGraph) {
       AbstractGraph<V, W> that = (AbstractGraph<V, W>)o;
-      return in.equals(that.in) &&
-             out.equals(that.out);
+      return incomingMap().equals(that.incomingMap()) &&
+             outgoingMap().equals(that.outgoingMap());
     }
     return false;
   }
@@ -110,31 +105,62 @@ public abstract class AbstractGraph<V, W> implements Graph<V, W> {
   @Override
   public int hashCode() {
     int hash = 5;
-    hash = hash * 13 + in.hashCode();
-    hash = hash * 13 + out.hashCode();
+    hash = hash * 13 + incomingMap().hashCode();
+    hash = hash * 13 + outgoingMap().hashCode();
     return hash;
   }
 
   @Override
   public String toString() {
-    return !edges().isEmpty()    ? edges().toString()    :
-           !vertices().isEmpty() ? vertices().toString() : "";
+    return Graph.toString(this);
   }
 
   /**
    * Produces a GraphViz representation of this graph in the DOT language.
    */
   public String toGraphViz() {
-    StringBuilder spec = new StringBuilder(directed() ? "digraph" : "graph").append(" G {\n");
-    for (Edge<V, W> edge: edges()) {
-      spec.append('\t')
-          .append('"').append(vertexToString(edge.endPoint1)).append('"')
-          .append(directed() ? " -> " : " -- ")
-          .append('"').append(vertexToString(edge.endPoint2)).append('"')
-          .append(" [label=\"").append(weightToString(edge.weight)).append("\"];\n");
+    return new GraphExporter<V, W>(GraphExporter.Format.DOT)
+        .vertexLabel(this::vertexToString)
+        .weightLabel(this::weightToString)
+        .toString(this);
+  }
+
+  /**
+   * The map of vertices to incoming edges, overridden by subclasses
+   * which build the map lazily.
+   */
+  protected Map<V, Set<Edge<V, W>>> incomingMap() {
+    return in;
+  }
+
+  /**
+   * The map of vertices to outgoing edges, overridden by subclasses
+   * which build the map lazily.
+   */
+  protected Map<V, Set<Edge<V, W>>> outgoingMap() {
+    return out;
+  }
+
+  /**
+   * Returns the map of vertices to incoming edges for changing it, creating it
+   * on first use.
+   */
+  protected Map<V, Set<Edge<V, W>>> writableIn() {
+    if (in == Collections.<V, Set<Edge<V, W>>>emptyMap()) {
+      in = new HashMap<>();
+    }
+    return in;
+  }
+
+  /**
+   * Returns the map of vertices to outgoing edges for changing it, creating it
+   * on first use.
+   */
+  protected Map<V, Set<Edge<V, W>>> writableOut() {
+    if (out == Collections.<V, Set<Edge<V, W>>>emptyMap()) {
+      out = new HashMap<>();
     }
-    spec.append("}");
-    return spec.toString();
+    return out;
   }
 
   protected String vertexToString(V vertex) {
@@ -146,14 +172,17 @@ public abstract class AbstractGraph<V, W> implements Graph<V, W> {
   }
 
   /**
-   * Vertices to outgoing edges.
+   * Vertices to outgoing edges. The map is shared and empty until the first
+   * vertex is added through {@link #writableOut()}, so that graphs which are
+   * never built, such as the linked paths of an exploration that are not
+   * materialized, do not allocate it.
    */
-  protected final Map<V, Set<Edge<V, W>>> out = new HashMap<>();
+  protected volatile Map<V, Set<Edge<V, W>>> out = emptyMap();
 
   /**
-   * Vertices to incoming edges.
+   * Vertices to incoming edges, created on first use like {@link #out}.
    */
-  protected final Map<V, Set<Edge<V, W>>> in = new HashMap<>();
+  protected volatile Map<V, Set<Edge<V, W>>> in = emptyMap();
 
   /**
    * Edges of the graph.
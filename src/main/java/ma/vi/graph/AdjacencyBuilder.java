@@ -0,0 +1,151 @@
+package ma.vi.graph;
+
+import ma.vi.base.lang.Builder;
+
+import java.util.*;
+
+import static java.util.Collections.emptySet;
+
+/**
+ * <p>
+ * Builds a {@link DirectedGraph} or an {@link UndirectedGraph} in bulk from vertices
+ * identified by dense int ids, as produced by loaders reading graphs from files. The
+ * edges are accumulated in primitive arrays of vertex and weight ids, the weights being
+ * kept once in a table of the distinct weights of the edges, so that the edges take 12
+ * bytes each until the graph is built and edges of equal weights share the same weight
+ * object in the graph. When the graph is built,
+ * the degree of every vertex is counted first so that the sets of incoming and outgoing
+ * edges of every vertex are created once, with their final capacity, in an array indexed
+ * by vertex id, and the edges are then added to them without looking up their endpoints
+ * in a map. For undirected graphs, where the incoming and outgoing edges of a vertex are
+ * the same, a single set is shared by both maps of the graph.
+ * </p>
+ *
+ * <p>
+ * The graph built is equal to the one created from the same edges by the constructors
+ * of {@link DirectedGraph} and {@link UndirectedGraph}, with the vertices which have no
+ * edges included as vertices without incoming and outgoing edges.
+ * </p>
+ *
+ * @param <V> The vertex type of the graph to build.
+ * @param <W> The type of weight on the edges.
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+public class AdjacencyBuilder<V, W> implements Builder<AbstractGraph<V, W>> {
+  /**
+   * Creates a builder of a directed or undirected graph.
+   */
+  public AdjacencyBuilder(boolean directed) {
+    this.directed = directed;
+  }
+
+  /**
+   * Adds the vertex with the next id, 0 for the first vertex, and returns its id.
+   */
+  public int addVertex(V vertex) {
+    vertices.add(vertex);
+    return vertices.size() - 1;
+  }
+
+  /**
+   * Adds an edge between the vertices with the given ids.
+   *
+   * @throws IllegalArgumentException if a vertex id has not been added.
+   */
+  public AdjacencyBuilder<V, W> add(int source, W weight, int target) {
+    if (source < 0 || source >= vertices.size() || target < 0 || target >= vertices.size()) {
+      throw new IllegalArgumentException("Unknown vertex id in edge " + source + " -> " + target);
+    }
+    if (edgeCount == sources.length) {
+      int capacity = Math.max(16, edgeCount * 2);
+      sources = Arrays.copyOf(sources, capacity);
+      targets = Arrays.copyOf(targets, capacity);
+      edgeWeights = Arrays.copyOf(edgeWeights, capacity);
+    }
+    Integer weightId = weightIds.get(weight);
+    if (weightId == null) {
+      weightId = weights.size();
+      weights.add(weight);
+      weightIds.put(weight, weightId);
+    }
+    sources[edgeCount] = source;
+    targets[edgeCount] = target;
+    edgeWeights[edgeCount] = weightId;
+    edgeCount++;
+    return this;
+  }
+
+  @Override
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  public AbstractGraph<V, W> build() {
+    int n = vertices.size();
+    int[] outDegrees = new int[n];
+    int[] inDegrees = directed ? new int[n] : outDegrees;
+    for (int i = 0; i < edgeCount; i++) {
+      outDegrees[sources[i]]++;
+      if (directed || sources[i] != targets[i]) {
+        inDegrees[targets[i]]++;
+      }
+    }
+
+    Set<Edge<V, W>>[] out = new Set[n];
+    Set<Edge<V, W>>[] in = directed ? new Set[n] : out;
+    Set<Edge<V, W>> edges = new LinkedHashSet<>(capacity(edgeCount));
+    for (int i = 0; i < edgeCount; i++) {
+      int s = sources[i];
+      int t = targets[i];
+      Edge<V, W> edge = Edge.of(vertices.get(s), weights.get(edgeWeights[i]), vertices.get(t));
+      if (edges.add(edge)) {
+        set(out, s, outDegrees).add(edge);
+        if (directed) {
+          set(in, t, inDegrees).add(edge);
+        } else {
+          set(out, t, outDegrees).add(Edge.of(edge.endPoint2, edge.weight, edge.endPoint1));
+        }
+      }
+    }
+
+    AbstractGraph<V, W> graph = directed ? new DirectedGraph<>() : new UndirectedGraph<>();
+    for (int v = 0; v < n; v++) {
+      V vertex = vertices.get(v);
+      if (out[v] == null && in[v] == null) {
+        graph.writableOut().put(vertex, emptySet());
+        graph.writableIn().put(vertex, emptySet());
+      } else {
+        if (out[v] != null) graph.writableOut().put(vertex, out[v]);
+        if (in[v] != null) graph.writableIn().put(vertex, in[v]);
+      }
+    }
+    graph.edges = edges;
+    return graph;
+  }
+
+  private static <V, W> Set<Edge<V, W>> set(Set<Edge<V, W>>[] sets, int vertex, int[] degrees) {
+    if (sets[vertex] == null) {
+      sets[vertex] = new HashSet<>(capacity(degrees[vertex]));
+    }
+    return sets[vertex];
+  }
+
+  /**
+   * The initial capacity of a hash set which will hold the given number
+   * of elements without being resized.
+   */
+  private static int capacity(int size) {
+    return (int)Math.min(Integer.MAX_VALUE, size * 4L / 3 + 1);
+  }
+
+  private final boolean directed;
+  private final List<V> vertices = new ArrayList<>();
+  private int[] sources = new int[0];
+  private int[] targets = new int[0];
+  private int[] edgeWeights = new int[0];
+
+  /**
+   * The distinct weights of the edges, and the id of each in the list.
+   */
+  private final List<W> weights = new ArrayList<>();
+  private final Map<W, Integer> weightIds = new HashMap<>();
+  private int edgeCount;
+}
@@ -0,0 +1,363 @@
+package ma.vi.graph;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.util.Collections.unmodifiableSet;
+
+/**
+ * <p>
+ * A directed or undirected graph which can be read by any number of threads, running
+ * explorations and searches, while other threads add and remove vertices and edges.
+ * </p>
+ *
+ * <p>
+ * The vertices are the keys of a {@link ConcurrentHashMap} to the adjacency of each
+ * vertex, which holds its incoming and outgoing edges in two arrays replaced on every
+ * change (copy-on-write) by writers holding the lock of the adjacency. Readers take no
+ * locks: {@link #incoming(Object)} and {@link #outgoing(Object)} return the arrays
+ * current when they are called, which never change afterwards. The edges are also kept
+ * in a concurrent map, where for undirected graphs the edges from v1 to v2 and from v2
+ * to v1 with the same weight are the same edge, and every addition or removal of an
+ * edge is serialized with the other changes to the same edge by one of a fixed set of
+ * locks chosen by the hash of the edge (lock striping). Writers changing different
+ * vertices and edges thus do not block each other and never block readers. The cost
+ * of copying the adjacency arrays makes this graph best suited to vertices of modest
+ * degree and to workloads with many more reads than writes.
+ * </p>
+ *
+ * <p>
+ * Consistency guarantees:
+ * </p>
+ * <ul>
+ *   <li>Every change is visible to all reads started after the change completed and
+ *       a read of the edges of a vertex sees the result of every change of the vertex
+ *       completed before the read, and of none started after it (the set returned
+ *       is a snapshot);</li>
+ *   <li>An edge being added (or removed) may be seen at one of its endpoints before
+ *       the other, and in {@link #edges()} before or after its endpoints;</li>
+ *   <li>The sets returned by {@link #vertices()} and {@link #edges()} are unmodifiable
+ *       live views whose iterators are weakly consistent: they never throw
+ *       {@link ConcurrentModificationException} and reflect the graph at some point
+ *       at or after their creation;</li>
+ *   <li>An algorithm run while the graph changes thus sees every edge which was not
+ *       changed during the run, and some of the others. For results on a single state
+ *       of the graph, run the algorithm on a {@link #snapshot()} taken while writers
+ *       are paused;</li>
+ *   <li>An edge added concurrently with the removal of one of its endpoints is either
+ *       removed with the vertex or, if added after the vertex was removed, adds the
+ *       vertex back.</li>
+ * </ul>
+ *
+ * @param <V> The vertex type of the graph.
+ * @param <W> The weight type on the edges of the graph.
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+public class ConcurrentGraph<V, W> implements Graph<V, W> {
+  /**
+   * Creates an empty directed or undirected graph.
+   */
+  public ConcurrentGraph(boolean directed) {
+    this.directed = directed;
+    for (int i = 0; i < locks.length; i++) {
+      locks[i] = new Object();
+    }
+  }
+
+  /**
+   * Creates a graph from a set of edges with its vertices obtained
+   * from the endpoints of the edges.
+   */
+  public ConcurrentGraph(boolean directed, Set<Edge<V, W>> edges) {
+    this(directed);
+    for (Edge<V, W> edge: edges) {
+      addEdge(edge);
+    }
+  }
+
+  /**
+   * Creates a concurrent copy of the graph, directed if the graph is directed.
+   */
+  public ConcurrentGraph(Graph<V, W> graph) {
+    this(graph.directed(), graph.edges());
+    for (V vertex: graph.vertices()) {
+      addVertex(vertex);
+    }
+  }
+
+  /**
+   * Adds the vertex to the graph, returning false if it was already in the graph.
+   */
+  public boolean addVertex(V vertex) {
+    return adjacency.putIfAbsent(vertex, new Adjacency<>()) == null;
+  }
+
+  /**
+   * Adds the edge, and its endpoints if they are not already in the graph,
+   * returning false if the edge was already in the graph.
+   */
+  public boolean addEdge(Edge<V, W> edge) {
+    Object key = key(edge);
+    synchronized (lock(key)) {
+      if (edges.putIfAbsent(key, edge) != null) {
+        return false;
+      }
+      link(edge.endPoint1, edge, true);
+      if (directed) {
+        link(edge.endPoint2, edge, false);
+      } else {
+        Edge<V, W> reversed = reversed(edge);
+        link(edge.endPoint1, edge, false);
+        if (!reversed.equals(edge)) {
+          link(edge.endPoint2, reversed, true);
+          link(edge.endPoint2, reversed, false);
+        }
+      }
+      return true;
+    }
+  }
+
+  /**
+   * Adds an edge from v1 to v2 with the weight.
+   */
+  public boolean addEdge(V v1, W weight, V v2) {
+    return addEdge(Edge.of(v1, weight, v2));
+  }
+
+  /**
+   * Removes the edge from the graph, returning false if it was not in the graph.
+   * Its endpoints stay in the graph.
+   */
+  public boolean removeEdge(Edge<V, W> edge) {
+    Object key = key(edge);
+    synchronized (lock(key)) {
+      Edge<V, W> stored = edges.remove(key);
+      if (stored == null) {
+        return false;
+      }
+      unlink(stored.endPoint1, stored, true);
+      if (directed) {
+        unlink(stored.endPoint2, stored, false);
+      } else {
+        Edge<V, W> reversed = reversed(stored);
+        unlink(stored.endPoint1, stored, false);
+        unlink(stored.endPoint2, reversed, true);
+        unlink(stored.endPoint2, reversed, false);
+      }
+      return true;
+    }
+  }
+
+  /**
+   * Removes the vertex and all edges to and from it, returning
+   * false if the vertex was not in the graph.
+   */
+  public boolean removeVertex(V vertex) {
+    Adjacency<V, W> vertexAdjacency = adjacency.get(vertex);
+    if (vertexAdjacency == null) {
+      return false;
+    }
+    Edge<V, W>[] in, out;
+    synchronized (vertexAdjacency) {
+      if (vertexAdjacency.removed) {
+        return false;
+      }
+      vertexAdjacency.removed = true;
+      in = vertexAdjacency.in;
+      out = vertexAdjacency.out;
+    }
+    adjacency.remove(vertex, vertexAdjacency);
+    for (Edge<V, W> edge: out) {
+      removeEdge(edge);
+    }
+    for (Edge<V, W> edge: in) {
+      removeEdge(edge);
+    }
+    return true;
+  }
+
+  /**
+   * Returns a {@link CsrGraph} copy of the graph, which includes all changes
+   * completed before this method is called, and none started after it returns.
+   */
+  public CsrGraph<V, W> snapshot() {
+    return new CsrGraph<>(this);
+  }
+
+  @Override
+  public Set<V> vertices() {
+    return unmodifiableSet(adjacency.keySet());
+  }
+
+  @Override
+  public Set<Edge<V, W>> incoming() {
+    return edges();
+  }
+
+  @Override
+  public Set<Edge<V, W>> outgoing() {
+    return edges();
+  }
+
+  @Override
+  public Set<Edge<V, W>> edges() {
+    return edgeView;
+  }
+
+  @Override
+  public Set<Edge<V, W>> incoming(V vertex) {
+    Adjacency<V, W> vertexAdjacency = adjacency.get(vertex);
+    return vertexAdjacency == null ? Collections.emptySet() : new EdgeArray<>(vertexAdjacency.in);
+  }
+
+  @Override
+  public Set<Edge<V, W>> outgoing(V vertex) {
+    Adjacency<V, W> vertexAdjacency = adjacency.get(vertex);
+    return vertexAdjacency == null ? Collections.emptySet() : new EdgeArray<>(vertexAdjacency.out);
+  }
+
+  @Override
+  public boolean directed() {
+    return directed;
+  }
+
+  @Override
+  public ConcurrentGraph<V, W> newGraph(Set<Edge<V, W>> edges) {
+    return new ConcurrentGraph<>(directed, edges);
+  }
+
+  @Override
+  public String toString() {
+    return Graph.toString(this);
+  }
+
+  /**
+   * Adds the edge to the outgoing (or incoming) edges of the vertex, adding the
+   * vertex if it is not in the graph or was removed while the edge was added.
+   */
+  private void link(V vertex, Edge<V, W> edge, boolean out) {
+    while (true) {
+      Adjacency<V, W> vertexAdjacency = adjacency.computeIfAbsent(vertex, v -> new Adjacency<>());
+      synchronized (vertexAdjacency) {
+        if (!vertexAdjacency.removed) {
+          if (out) {
+            vertexAdjacency.out = added(vertexAdjacency.out, edge);
+          } else {
+            vertexAdjacency.in = added(vertexAdjacency.in, edge);
+          }
+          return;
+        }
+      }
+      adjacency.remove(vertex, vertexAdjacency);
+    }
+  }
+
+  private void unlink(V vertex, Edge<V, W> edge, boolean out) {
+    Adjacency<V, W> vertexAdjacency = adjacency.get(vertex);
+    if (vertexAdjacency != null) {
+      synchronized (vertexAdjacency) {
+        if (out) {
+          vertexAdjacency.out = removed(vertexAdjacency.out, edge);
+        } else {
+          vertexAdjacency.in = removed(vertexAdjacency.in, edge);
+        }
+      }
+    }
+  }
+
+  private static <V, W> Edge<V, W>[] added(Edge<V, W>[] edges, Edge<V, W> edge) {
+    Edge<V, W>[] copy = Arrays.copyOf(edges, edges.length + 1);
+    copy[edges.length] = edge;
+    return copy;
+  }
+
+  private static <V, W> Edge<V, W>[] removed(Edge<V, W>[] edges, Edge<V, W> edge) {
+    for (int i = 0; i < edges.length; i++) {
+      if (edges[i].equals(edge)) {
+        Edge<V, W>[] copy = Arrays.copyOf(edges, edges.length - 1);
+        System.arraycopy(edges, i + 1, copy, i, edges.length - i - 1);
+        return copy;
+      }
+    }
+    return edges;
+  }
+
+  private static <V, W> Edge<V, W> reversed(Edge<V, W> edge) {
+    return Edge.of(edge.endPoint2, edge.weight, edge.endPoint1);
+  }
+
+  /**
+   * The key of the edge in the map of edges: the edge itself for directed graphs
+   * and a key equal for both orientations of the edge for undirected graphs.
+   */
+  private Object key(Edge<V, W> edge) {
+    return directed ? edge : new UndirectedEdgeKey(edge);
+  }
+
+  private Object lock(Object key) {
+    return locks[(key.hashCode() & 0x7fffffff) % locks.length];
+  }
+
+  /**
+   * The incoming and outgoing edges of a vertex, replaced with new arrays on
+   * every change, under the lock of this object.
+   */
+  private static class Adjacency<V, W> {
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    volatile Edge<V, W>[] in = new Edge[0];
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    volatile Edge<V, W>[] out = new Edge[0];
+
+    boolean removed;
+  }
+
+  /**
+   * An unmodifiable set over an array of distinct edges which never changes.
+   */
+  private static class EdgeArray<V, W> extends AbstractSet<Edge<V, W>> {
+    EdgeArray(Edge<V, W>[] edges) {
+      this.edges = edges;
+    }
+
+    @Override
+    public Iterator<Edge<V, W>> iterator() {
+      return Arrays.asList(edges).iterator();
+    }
+
+    @Override
+    public int size() {
+      return edges.length;
+    }
+
+    private final Edge<V, W>[] edges;
+  }
+
+  /**
+   * An unmodifiable live view of the edges of the graph.
+   */
+  private class EdgeView extends AbstractSet<Edge<V, W>> {
+    @Override
+    public Iterator<Edge<V, W>> iterator() {
+      return Collections.unmodifiableCollection(edges.values()).iterator();
+    }
+
+    @Override
+    public int size() {
+      return edges.size();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean contains(Object o) {
+      return o instanceof Edge && o.equals(edges.get(key((Edge<V, W>)o)));
+    }
+  }
+
+  private final boolean directed;
+  private final ConcurrentHashMap<V, Adjacency<V, W>> adjacency = new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<Object, Edge<V, W>> edges = new ConcurrentHashMap<>();
+  private final Set<Edge<V, W>> edgeView = new EdgeView();
+  private final Object[] locks = new Object[64];
+}
@@ -0,0 +1,784 @@
+package ma.vi.graph;
+
+import java.util.*;
+import java.util.function.IntConsumer;
+
+import static java.util.Collections.emptySet;
+
+/**
+ * <p>
+ * An immutable graph stored in compressed sparse row (CSR) form. Vertices are
+ * interned to dense int ids (0 to {@link #vertexCount()} - 1) and the adjacency
+ * of every vertex is held as a contiguous range of entries in primitive arrays:
+ * an offsets array indexed by vertex id, a targets array and a weights array.
+ * Distinct weights are themselves interned into a table so that each entry only
+ * costs two ints regardless of the weight type.
+ * </p>
+ *
+ * <p>
+ * No {@link Edge} is stored; the edge sets returned by the {@link Graph} methods
+ * are views which create the edges as they are iterated. This makes this graph
+ * much more compact than {@link DirectedGraph} and {@link UndirectedGraph} for
+ * large graphs while remaining usable by all algorithms working on the {@link Graph}
+ * interface. The semantics of the edge sets returned are the same as those of
+ * {@link DirectedGraph} and {@link UndirectedGraph} (e.g., for undirected graphs,
+ * the incoming and outgoing edges of a vertex are the edges of the vertex oriented
+ * away from it).
+ * </p>
+ *
+ * <p>
+ * The adjacency of each vertex is sorted by target id which is used to find edges
+ * between two vertices by binary search. Algorithms working directly on the int ids
+ * can use {@link #outStart(int)}, {@link #outEnd(int)}, {@link #outTarget(int)} and
+ * {@link #outWeight(int)} (and their incoming counterparts) to iterate over the
+ * adjacency without creating any objects.
+ * </p>
+ *
+ * @param <V> The vertex type of the graph.
+ * @param <W> The weight type of the graph.
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+public class CsrGraph<V, W> implements Graph<V, W> {
+  /**
+   * Creates a CSR copy of the graph, with the same vertices (including isolated
+   * ones), edges and directedness.
+   */
+  public CsrGraph(Graph<V, W> graph) {
+    this(graph.vertices(), graph.edges(), graph.directed());
+  }
+
+  /**
+   * Creates a graph from a set of edges (such as built by a {@link VertexMap})
+   * with its vertices obtained from the endpoints of the edges.
+   */
+  public CsrGraph(Set<Edge<V, W>> edges, boolean directed) {
+    this(emptySet(), edges, directed);
+  }
+
+  private CsrGraph(Collection<V> vertices, Collection<Edge<V, W>> edges, boolean directed) {
+    this.directed = directed;
+
+    /*
+     * Intern vertices and weights and copy the edges to primitive arrays.
+     */
+    Map<V, Integer> ids = new HashMap<>();
+    List<V> vertexList = new ArrayList<>();
+    for (V vertex: vertices) {
+      intern(vertex, ids, vertexList);
+    }
+    Map<W, Integer> weightIds = new HashMap<>();
+    List<W> weightList = new ArrayList<>();
+
+    /*
+     * The edges are copied first as they could change while being read
+     * (for instance, the edges of a ConcurrentGraph).
+     */
+    edges = new ArrayList<>(edges);
+    int[] sources = new int[edges.size()];
+    int[] targets = new int[edges.size()];
+    int[] weights = new int[edges.size()];
+    int count = 0;
+    for (Edge<V, W> edge: edges) {
+      sources[count] = intern(edge.endPoint1, ids, vertexList);
+      targets[count] = intern(edge.endPoint2, ids, vertexList);
+      weights[count] = intern(edge.weight, weightIds, weightList);
+      count++;
+    }
+    this.ids = ids;
+    this.vertexTable = vertexList.toArray();
+    this.weightTable = weightList.toArray();
+
+    /*
+     * Count the entries of each vertex; for undirected graphs every edge which
+     * is not a self-loop produces an entry at both endpoints, the one at the second
+     * endpoint being marked as the reverse of the original edge.
+     */
+    int n = vertexTable.length;
+    int[] offsets = new int[n + 1];
+    for (int i = 0; i < count; i++) {
+      offsets[sources[i] + 1]++;
+      if (!directed && sources[i] != targets[i]) {
+        offsets[targets[i] + 1]++;
+      }
+    }
+    for (int v = 0; v < n; v++) {
+      offsets[v + 1] += offsets[v];
+    }
+    long[] entries = new long[offsets[n]];
+    int[] position = Arrays.copyOf(offsets, n);
+    for (int i = 0; i < count; i++) {
+      entries[position[sources[i]]++] = entry(targets[i], weights[i], false);
+      if (!directed && sources[i] != targets[i]) {
+        entries[position[targets[i]]++] = entry(sources[i], weights[i], true);
+      }
+    }
+
+    /*
+     * Sort the entries of each vertex by target and remove duplicates (which,
+     * for undirected graphs, arise when both orientations of an edge are given).
+     * On duplicates the entry for the original orientation is kept as it is
+     * sorted first.
+     */
+    int size = 0;
+    int start = 0;
+    for (int v = 0; v < n; v++) {
+      int end = offsets[v + 1];
+      Arrays.sort(entries, start, end);
+      offsets[v] = size;
+      for (int i = start; i < end; i++) {
+        if (i == start || (entries[i] >>> 1) != (entries[i - 1] >>> 1)) {
+          entries[size++] = entries[i];
+        }
+      }
+      start = end;
+    }
+    offsets[n] = size;
+    this.outOffsets = offsets;
+    this.outTargets = new int[size];
+    this.outWeights = new int[size];
+    int edgeCount = 0;
+    for (int i = 0; i < size; i++) {
+      long entry = entries[i];
+      outTargets[i] = (int)(entry >>> 32);
+      outWeights[i] = (entry & 1) == 0 ? (int)(entry >>> 1) & 0x7fffffff : ~((int)(entry >>> 1) & 0x7fffffff);
+      if (outWeights[i] >= 0) {
+        edgeCount++;
+      }
+    }
+    this.edgeCount = edgeCount;
+
+    /*
+     * Incoming adjacency: identical to the outgoing one for undirected graphs,
+     * otherwise built by transposing the outgoing adjacency which leaves the
+     * sources of each vertex sorted.
+     */
+    if (directed) {
+      int[] inOffsets = new int[n + 1];
+      for (int i = 0; i < size; i++) {
+        inOffsets[outTargets[i] + 1]++;
+      }
+      for (int v = 0; v < n; v++) {
+        inOffsets[v + 1] += inOffsets[v];
+      }
+      int[] inSources = new int[size];
+      int[] inWeights = new int[size];
+      position = Arrays.copyOf(inOffsets, n);
+      for (int u = 0; u < n; u++) {
+        for (int e = outOffsets[u]; e < outOffsets[u + 1]; e++) {
+          int p = position[outTargets[e]]++;
+          inSources[p] = u;
+          inWeights[p] = outWeights[e];
+        }
+      }
+      this.inOffsets = inOffsets;
+      this.inSources = inSources;
+      this.inWeights = inWeights;
+    } else {
+      this.inOffsets = outOffsets;
+      this.inSources = outTargets;
+      this.inWeights = outWeights;
+    }
+  }
+
+  /**
+   * Returns the graph if it is already a CsrGraph, otherwise a CSR copy of it.
+   */
+  public static <V, W> CsrGraph<V, W> of(Graph<V, W> graph) {
+    return graph instanceof CsrGraph ? (CsrGraph<V, W>)graph : new CsrGraph<>(graph);
+  }
+
+  private static <T> int intern(T value, Map<T, Integer> ids, List<T> values) {
+    Integer id = ids.get(value);
+    if (id == null) {
+      id = values.size();
+      ids.put(value, id);
+      values.add(value);
+    }
+    return id;
+  }
+
+  /**
+   * Packs an adjacency entry in a long which sorts by target, then weight id
+   * and then with the original orientation of undirected edges first.
+   */
+  private static long entry(int target, int weight, boolean reversed) {
+    return ((long)target << 32) | ((long)weight << 1) | (reversed ? 1 : 0);
+  }
+
+  /**
+   * The number of vertices in the graph.
+   */
+  public int vertexCount() {
+    return vertexTable.length;
+  }
+
+  /**
+   * The number of edges in the graph (each undirected edge is counted once).
+   */
+  public int edgeCount() {
+    return edgeCount;
+  }
+
+  /**
+   * Returns the id of the vertex in this graph or -1 if the vertex is not in the graph.
+   */
+  public int id(V vertex) {
+    Integer id = ids.get(vertex);
+    return id == null ? -1 : id;
+  }
+
+  /**
+   * Returns the vertex with the given id.
+   */
+  @SuppressWarnings("unchecked")
+  public V vertex(int id) {
+    return (V)vertexTable[id];
+  }
+
+  /**
+   * The index of the first outgoing entry of the vertex with the given id.
+   */
+  public int outStart(int id) {
+    return outOffsets[id];
+  }
+
+  /**
+   * The index following the last outgoing entry of the vertex with the given id.
+   */
+  public int outEnd(int id) {
+    return outOffsets[id + 1];
+  }
+
+  /**
+   * The id of the target vertex of the outgoing entry at the given index.
+   */
+  public int outTarget(int entry) {
+    return outTargets[entry];
+  }
+
+  /**
+   * The weight of the outgoing entry at the given index.
+   */
+  public W outWeight(int entry) {
+    return weight(outWeights[entry]);
+  }
+
+  /**
+   * The id of the weight of the outgoing entry at the given index. Entries
+   * with equal weights have the same weight id; weight ids range from 0 to
+   * {@link #weightCount()} - 1.
+   */
+  public int outWeightId(int entry) {
+    int w = outWeights[entry];
+    return w < 0 ? ~w : w;
+  }
+
+  /**
+   * Returns true if the outgoing entry at the given index is the reverse of an
+   * edge of an undirected graph, stored at the second endpoint of the edge. Every
+   * edge of the graph is the only entry which is not reversed among its entries.
+   */
+  public boolean outReversed(int entry) {
+    return outWeights[entry] < 0;
+  }
+
+  /**
+   * The index of the first incoming entry of the vertex with the given id.
+   */
+  public int inStart(int id) {
+    return inOffsets[id];
+  }
+
+  /**
+   * The index following the last incoming entry of the vertex with the given id.
+   */
+  public int inEnd(int id) {
+    return inOffsets[id + 1];
+  }
+
+  /**
+   * The id of the source vertex of the incoming entry at the given index.
+   */
+  public int inSource(int entry) {
+    return inSources[entry];
+  }
+
+  /**
+   * The weight of the incoming entry at the given index.
+   */
+  public W inWeight(int entry) {
+    return weight(inWeights[entry]);
+  }
+
+  /**
+   * The id of the weight of the incoming entry at the given index.
+   */
+  public int inWeightId(int entry) {
+    int w = inWeights[entry];
+    return w < 0 ? ~w : w;
+  }
+
+  /**
+   * The number of distinct weights in the graph.
+   */
+  public int weightCount() {
+    return weightTable.length;
+  }
+
+  /**
+   * Returns the weight with the given weight id.
+   */
+  @SuppressWarnings("unchecked")
+  public W weightOf(int weightId) {
+    return (W)weightTable[weightId];
+  }
+
+  /**
+   * Returns the index of the first outgoing entry from the vertex with id `from`
+   * to the vertex with id `to`, or -1 if there is no such entry.
+   */
+  public int findOut(int from, int to) {
+    int i = Arrays.binarySearch(outTargets, outOffsets[from], outOffsets[from + 1], to);
+    if (i < 0) {
+      return -1;
+    }
+    while (i > outOffsets[from] && outTargets[i - 1] == to) {
+      i--;
+    }
+    return i;
+  }
+
+  /**
+   * Returns a view of this graph as an {@link IntLongGraph} whose vertices are the
+   * vertex ids of this graph and whose edge weights are the numeric values of the
+   * weights of this graph (0 for non-numeric weights, as for {@link ma.vi.graph.algo.PathCostOp#byWeight}).
+   * The view shares the arrays of this graph and can be used with the primitive
+   * algorithms to explore the graph without boxing vertices or weights.
+   */
+  public IntLongGraph asIntLongGraph() {
+    long[] numericWeights = new long[weightTable.length];
+    for (int i = 0; i < weightTable.length; i++) {
+      numericWeights[i] = weightTable[i] instanceof Number ? ((Number)weightTable[i]).longValue() : 0L;
+    }
+    return new IntLongGraph() {
+      @Override
+      public int vertexCount() {
+        return vertexTable.length;
+      }
+
+      @Override
+      public boolean directed() {
+        return directed;
+      }
+
+      @Override
+      public int outDegree(int vertex) {
+        return outOffsets[vertex + 1] - outOffsets[vertex];
+      }
+
+      @Override
+      public int inDegree(int vertex) {
+        return inOffsets[vertex + 1] - inOffsets[vertex];
+      }
+
+      @Override
+      public void forEachOutgoing(int vertex, IntConsumer action) {
+        for (int e = outOffsets[vertex]; e < outOffsets[vertex + 1]; e++) {
+          action.accept(outTargets[e]);
+        }
+      }
+
+      @Override
+      public void forEachIncoming(int vertex, IntConsumer action) {
+        for (int e = inOffsets[vertex]; e < inOffsets[vertex + 1]; e++) {
+          action.accept(inSources[e]);
+        }
+      }
+
+      @Override
+      public void forEachOutgoing(int vertex, IntLongConsumer action) {
+        for (int e = outOffsets[vertex]; e < outOffsets[vertex + 1]; e++) {
+          action.accept(outTargets[e], numericWeights[outWeightId(e)]);
+        }
+      }
+
+      @Override
+      public void forEachIncoming(int vertex, IntLongConsumer action) {
+        for (int e = inOffsets[vertex]; e < inOffsets[vertex + 1]; e++) {
+          action.accept(inSources[e], numericWeights[inWeightId(e)]);
+        }
+      }
+
+      @Override
+      public Cursor cursor() {
+        return new Cursor() {
+          @Override
+          public Cursor outgoing(int vertex) {
+            vertices = outTargets;
+            weights = outWeights;
+            entry = outOffsets[vertex] - 1;
+            end = outOffsets[vertex + 1];
+            return this;
+          }
+
+          @Override
+          public Cursor incoming(int vertex) {
+            vertices = inSources;
+            weights = inWeights;
+            entry = inOffsets[vertex] - 1;
+            end = inOffsets[vertex + 1];
+            return this;
+          }
+
+          @Override
+          public boolean next() {
+            return ++entry < end;
+          }
+
+          @Override
+          public int vertex() {
+            return vertices[entry];
+          }
+
+          @Override
+          public long weight() {
+            int w = weights[entry];
+            return numericWeights[w < 0 ? ~w : w];
+          }
+
+          private int[] vertices;
+          private int[] weights;
+          private int entry;
+          private int end;
+        };
+      }
+    };
+  }
+
+  @SuppressWarnings("unchecked")
+  private W weight(int weight) {
+    return (W)weightTable[weight < 0 ? ~weight : weight];
+  }
+
+  @Override
+  public Set<V> vertices() {
+    return new AbstractSet<>() {
+      @Override
+      @SuppressWarnings("unchecked")
+      public Iterator<V> iterator() {
+        return (Iterator<V>)Arrays.asList(vertexTable).iterator();
+      }
+
+      @Override
+      public boolean contains(Object o) {
+        return ids.containsKey(o);
+      }
+
+      @Override
+      public int size() {
+        return vertexTable.length;
+      }
+    };
+  }
+
+  /**
+   * Returns the set of all incoming edges of the graph which, for undirected
+   * graphs, contains every edge in both orientations.
+   */
+  @Override
+  public Set<Edge<V, W>> incoming() {
+    return outgoing();
+  }
+
+  /**
+   * Returns the set of all outgoing edges of the graph which, for undirected
+   * graphs, contains every edge in both orientations.
+   */
+  @Override
+  public Set<Edge<V, W>> outgoing() {
+    return new EdgeSet(true, outOffsets[vertexTable.length]);
+  }
+
+  @Override
+  public Set<Edge<V, W>> edges() {
+    return new EdgeSet(directed, edgeCount);
+  }
+
+  @Override
+  public Set<Edge<V, W>> incoming(V vertex) {
+    if (!directed) {
+      return outgoing(vertex);
+    }
+    int id = id(vertex);
+    return id == -1 ? emptySet() : new AdjacencySet(id, false);
+  }
+
+  @Override
+  public Set<Edge<V, W>> outgoing(V vertex) {
+    int id = id(vertex);
+    return id == -1 ? emptySet() : new AdjacencySet(id, true);
+  }
+
+  @Override
+  public boolean directed() {
+    return directed;
+  }
+
+  @Override
+  public Optional<Edge<V, W>> edge(V v1, V v2) {
+    int from = id(v1);
+    int to = id(v2);
+    if (from != -1 && to != -1) {
+      int entry = findOut(from, to);
+      if (entry != -1) {
+        return Optional.of(Edge.of(v1, outWeight(entry), v2));
+      }
+    }
+    return Optional.empty();
+  }
+
+  @Override
+  public int inDegree(V vertex) {
+    int id = id(vertex);
+    if (id == -1) {
+      return 0;
+    }
+    int degree = inOffsets[id + 1] - inOffsets[id];
+    if (!directed && findOut(id, id) != -1) {
+      // self-loop contribute 2 to degree in undirected graphs
+      degree += 1;
+    }
+    return degree;
+  }
+
+  @Override
+  public int outDegree(V vertex) {
+    if (!directed) {
+      return inDegree(vertex);
+    }
+    int id = id(vertex);
+    return id == -1 ? 0 : outOffsets[id + 1] - outOffsets[id];
+  }
+
+  @Override
+  public CsrGraph<V, W> newGraph(Set<Edge<V, W>> edges) {
+    return new CsrGraph<>(edges, directed);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o instanceof CsrGraph) {
+      CsrGraph<V, W> that = (CsrGraph<V, W>)o;
+      return directed == that.directed
+          && vertices().equals(that.vertices())
+          && outgoing().equals(that.outgoing());
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = 5;
+    hash = hash * 13 + vertices().hashCode();
+    hash = hash * 13 + outgoing().hashCode();
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    return edgeCount != 0          ? edges().toString()    :
+           vertexTable.length != 0 ? vertices().toString() : "";
+  }
+
+  /**
+   * A view of the outgoing (or incoming) edges of a single vertex.
+   */
+  private class AdjacencySet extends AbstractSet<Edge<V, W>> {
+    AdjacencySet(int vertex, boolean outgoing) {
+      this.vertex = vertex;
+      this.outgoing = outgoing;
+    }
+
+    @Override
+    public Iterator<Edge<V, W>> iterator() {
+      return new Iterator<>() {
+        @Override
+        public boolean hasNext() {
+          return entry < end;
+        }
+
+        @Override
+        public Edge<V, W> next() {
+          if (entry >= end) {
+            throw new NoSuchElementException("No more edges");
+          }
+          int e = entry++;
+          return outgoing
+               ? Edge.of(vertex(vertex), outWeight(e), vertex(outTargets[e]))
+               : Edge.of(vertex(inSources[e]), inWeight(e), vertex(vertex));
+        }
+
+        private int entry = outgoing ? outOffsets[vertex] : inOffsets[vertex];
+        private final int end = outgoing ? outOffsets[vertex + 1] : inOffsets[vertex + 1];
+      };
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean contains(Object o) {
+      if (o instanceof Edge) {
+        Edge<V, W> edge = (Edge<V, W>)o;
+        int from = id(edge.endPoint1);
+        int to = id(edge.endPoint2);
+        if (from != -1 && to != -1 && (outgoing ? from : to) == vertex) {
+          if (outgoing || !directed) {
+            for (int e = findOut(from, to); e != -1 && e < outOffsets[from + 1] && outTargets[e] == to; e++) {
+              if (Objects.equals(outWeight(e), edge.weight)) {
+                return true;
+              }
+            }
+          } else {
+            int e = Arrays.binarySearch(inSources, inOffsets[to], inOffsets[to + 1], from);
+            if (e >= 0) {
+              while (e > inOffsets[to] && inSources[e - 1] == from) {
+                e--;
+              }
+              for (; e < inOffsets[to + 1] && inSources[e] == from; e++) {
+                if (Objects.equals(inWeight(e), edge.weight)) {
+                  return true;
+                }
+              }
+            }
+          }
+        }
+      }
+      return false;
+    }
+
+    @Override
+    public int size() {
+      return outgoing ? outOffsets[vertex + 1] - outOffsets[vertex]
+                      : inOffsets[vertex + 1] - inOffsets[vertex];
+    }
+
+    private final int vertex;
+    private final boolean outgoing;
+  }
+
+  /**
+   * A view of all the edges of the graph. When `allEntries` is false, the
+   * entries marking the reverse of undirected edges are skipped so that every
+   * edge is returned once, in the orientation it was given.
+   */
+  private class EdgeSet extends AbstractSet<Edge<V, W>> {
+    EdgeSet(boolean allEntries, int size) {
+      this.allEntries = allEntries;
+      this.size = size;
+    }
+
+    @Override
+    public Iterator<Edge<V, W>> iterator() {
+      return new Iterator<>() {
+        @Override
+        public boolean hasNext() {
+          while (entry < outTargets.length && !allEntries && outWeights[entry] < 0) {
+            entry++;
+          }
+          return entry < outTargets.length;
+        }
+
+        @Override
+        public Edge<V, W> next() {
+          if (!hasNext()) {
+            throw new NoSuchElementException("No more edges");
+          }
+          while (outOffsets[vertex + 1] <= entry) {
+            vertex++;
+          }
+          int e = entry++;
+          return Edge.of(vertex(vertex), outWeight(e), vertex(outTargets[e]));
+        }
+
+        private int vertex = 0;
+        private int entry = 0;
+      };
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean contains(Object o) {
+      if (o instanceof Edge) {
+        Edge<V, W> edge = (Edge<V, W>)o;
+        int from = id(edge.endPoint1);
+        int to = id(edge.endPoint2);
+        if (from != -1 && to != -1) {
+          for (int e = findOut(from, to); e != -1 && e < outOffsets[from + 1] && outTargets[e] == to; e++) {
+            if ((allEntries || outWeights[e] >= 0) && Objects.equals(outWeight(e), edge.weight)) {
+              return true;
+            }
+          }
+        }
+      }
+      return false;
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+
+    private final boolean allEntries;
+    private final int size;
+  }
+
+  /**
+   * Whether the graph is directed or not.
+   */
+  private final boolean directed;
+
+  /**
+   * Vertices to their ids.
+   */
+  private final Map<V, Integer> ids;
+
+  /**
+   * Vertices indexed by their ids.
+   */
+  private final Object[] vertexTable;
+
+  /**
+   * Distinct weights indexed by their ids.
+   */
+  private final Object[] weightTable;
+
+  /**
+   * The number of edges in the graph.
+   */
+  private final int edgeCount;
+
+  /**
+   * Outgoing entries of vertex v are at indices outOffsets[v] (inclusive)
+   * to outOffsets[v + 1] (exclusive) of outTargets and outWeights.
+   */
+  private final int[] outOffsets;
+
+  /**
+   * Target vertex id of each outgoing entry.
+   */
+  private final int[] outTargets;
+
+  /**
+   * Weight id of each outgoing entry; the weight id is bitwise complemented
+   * for entries which are the reverse of an undirected edge.
+   */
+  private final int[] outWeights;
+
+  /**
+   * Incoming entries (shared with the outgoing ones for undirected graphs).
+   */
+  private final int[] inOffsets;
+  private final int[] inSources;
+  private final int[] inWeights;
+}
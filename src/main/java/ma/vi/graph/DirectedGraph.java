@@ -1,7 +1,7 @@
 package ma.vi.graph;
 
 import java.util.HashSet;
-import java.util.Optional;
+import java.util.LinkedHashSet;
 import java.util.Set;
 
 /**
@@ -28,13 +28,22 @@ public class DirectedGraph<V, W> extends AbstractGraph<V, W> {
 
   /**
    * Creates a graph from a set of edges with its vertices obtained
-   * from the endpoints of the edges.
+   * from the endpoints of the edges. The edges are copied so that
+   * later changes to the set do not change the graph.
    */
   public DirectedGraph(Set<Edge<V, W>> edges) {
-    super(edges);
+    this(edges, true);
+  }
+
+  /**
+   * Creates a graph from a set of edges which is copied, or used as is for
+   * subclasses which create the set themselves, such as {@link Path}.
+   */
+  protected DirectedGraph(Set<Edge<V, W>> edges, boolean copy) {
+    super(copy ? new LinkedHashSet<>(edges) : edges);
     for (Edge<V, W> e: edges) {
-      out.computeIfAbsent(e.endPoint1, k -> new HashSet<>()).add(e);
-      in.computeIfAbsent(e.endPoint2, k -> new HashSet<>()).add(e);
+      writableOut().computeIfAbsent(e.endPoint1, k -> new HashSet<>()).add(e);
+      writableIn().computeIfAbsent(e.endPoint2, k -> new HashSet<>()).add(e);
     }
   }
 
@@ -43,16 +52,6 @@ public class DirectedGraph<V, W> extends AbstractGraph<V, W> {
     return true;
   }
 
-  @Override
-  public Optional<Edge<V, W>> edge(V v1, V v2) {
-    for (Edge<V, W> edge: outgoing(v1)) {
-      if (edge.endPoint2.equals(v2)) {
-        return Optional.of(edge);
-      }
-    }
-    return Optional.empty();
-  }
-
   public DirectedGraph<V, W> newGraph(Set<Edge<V, W>> edges) {
     return new DirectedGraph<>(edges);
   }
@@ -2,6 +2,8 @@ package ma.vi.graph;
 
 import ma.vi.graph.algo.Algorithm;
 
+import java.util.LinkedHashSet;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 
@@ -56,7 +58,14 @@ public interface Graph<V, W> {
    * graphs edges(Object) = {@link #incoming(Object)} + {@link #outgoing(Object)},
    * while for undirected graphs, edges(Object) == {@link #incoming(Object)} == {@link #outgoing(Object)}
    */
-  Set<Edge<V, W>> edges(V vertex);
+  default Set<Edge<V, W>> edges(V vertex) {
+    if (!directed()) {
+      return incoming(vertex);
+    }
+    Set<Edge<V, W>> edges = new LinkedHashSet<>(incoming(vertex));
+    edges.addAll(outgoing(vertex));
+    return edges;
+  }
 
   /**
    * Returns whether the graph is directed or not.
@@ -67,14 +76,21 @@ public interface Graph<V, W> {
    * Returns the edge between v1 and v2 in the graph or
    * empty if not found.
    */
-  Optional<Edge<V, W>> edge(V v1, V v2);
+  default Optional<Edge<V, W>> edge(V v1, V v2) {
+    for (Edge<V, W> edge: outgoing(v1)) {
+      if (Objects.equals(edge.endPoint2, v2)) {
+        return Optional.of(edge);
+      }
+    }
+    return Optional.empty();
+  }
 
   /**
    * Returns the degree of a vertex (number of edges having the vertex
    * as an endpoint).
    */
   default int degree(V vertex) {
-    return inDegree(vertex) + outDegree(vertex);
+    return directed() ? inDegree(vertex) + outDegree(vertex) : inDegree(vertex);
   }
 
   /**
@@ -82,7 +98,12 @@ public interface Graph<V, W> {
    * For undirected graphs this is the same as the degree.
    */
   default int inDegree(V vertex) {
-    return incoming(vertex).size();
+    int degree = incoming(vertex).size();
+    if (!directed() && edge(vertex, vertex).isPresent()) {
+      // self-loop contribute 2 to degree in undirected graphs
+      degree += 1;
+    }
+    return degree;
   }
 
   /**
@@ -90,7 +111,7 @@ public interface Graph<V, W> {
    * For undirected graphs this is the same as the degree.
    */
   default int outDegree(V vertex) {
-    return outgoing(vertex).size();
+    return directed() ? outgoing(vertex).size() : inDegree(vertex);
   }
 
   /**
@@ -106,7 +127,19 @@ public interface Graph<V, W> {
   }
 
   /**
-   * Produces a GraphViz representation of this graph in the DOT language.
+   * Produces a GraphViz representation of this graph in the DOT language. Large
+   * graphs should rather be streamed to a file with a {@link GraphExporter}.
    */
-  String toGraphViz();
+  default String toGraphViz() {
+    return new GraphExporter<V, W>(GraphExporter.Format.DOT).toString(this);
+  }
+
+  /**
+   * The string representation of a graph shared by the implementations: its
+   * edges or, if it has none, its vertices.
+   */
+  static String toString(Graph<?, ?> graph) {
+    return !graph.edges().isEmpty()    ? graph.edges().toString()    :
+           !graph.vertices().isEmpty() ? graph.vertices().toString() : "";
+  }
 }
@@ -0,0 +1,388 @@
+package ma.vi.graph;
+
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * <p>
+ * Writes graphs in the DOT language of GraphViz, in GraphML or as edge lists. The
+ * graph is written while its vertices and edges are iterated, through a buffer of
+ * fixed size, so that graphs of any size can be exported using constant memory.
+ * </p>
+ *
+ * <p>
+ * The vertices and weights are written as the strings produced by the
+ * {@link #vertexLabel(Function) vertex} and {@link #weightLabel(Function) weight}
+ * labels, {@link String#valueOf(Object)} by default; further attributes can be
+ * added to vertices and edges with {@link #vertexAttribute(String, Function)} and
+ * {@link #edgeAttribute(String, Function)}. To export part of a large graph, the
+ * vertices and edges written can be filtered with {@link #vertices(Predicate)} and
+ * {@link #edges(Predicate)}, only keeping the edges between the vertices accepted,
+ * and a random {@link #sample(double, long) sample} of the edges can be taken.
+ * </p>
+ *
+ * <p>
+ * The formats are written as follows:
+ * </p>
+ * <ul>
+ *   <li>{@link Format#DOT}: a digraph or graph with one statement per edge labelled with
+ *       its weight, preceded by one statement per vertex if vertex attributes are set.
+ *       Without attributes and filters, this is the output of {@link Graph#toGraphViz()}.</li>
+ *   <li>{@link Format#GRAPHML}: the declaration of the weight and attributes as keys of type
+ *       string, followed by all vertices and then all edges.</li>
+ *   <li>{@link Format#EDGE_LIST}: a header comment line followed by one line per edge with
+ *       the source, the target, the weight (empty when null) and the edge attributes
+ *       separated by tabs, which can be read back by {@link ma.vi.graph.io.GraphImporter} for graphs of
+ *       ints and longs. Vertices are not written.</li>
+ * </ul>
+ *
+ * <p>
+ * Typical usage:
+ * </p>
+ * <pre>
+ *   try (Writer out = Files.newBufferedWriter(file)) {
+ *     new GraphExporter&lt;String, Integer&gt;(Format.GRAPHML)
+ *         .vertices(city -&gt; city.startsWith("B"))
+ *         .edgeAttribute("color", e -&gt; e.weight &gt; 100 ? "red" : null)
+ *         .write(cities, out);
+ *   }
+ * </pre>
+ *
+ * @param <V> The vertex type of the graphs exported.
+ * @param <W> The weight type on the edges of the graphs exported.
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+public class GraphExporter<V, W> {
+  /**
+   * The formats that graphs can be written in.
+   */
+  public enum Format {
+    DOT, GRAPHML, EDGE_LIST
+  }
+
+  public GraphExporter(Format format) {
+    this.format = format;
+  }
+
+  /**
+   * Sets the function producing the string written for a vertex.
+   */
+  public GraphExporter<V, W> vertexLabel(Function<? super V, String> vertexLabel) {
+    this.vertexLabel = vertexLabel;
+    return this;
+  }
+
+  /**
+   * Sets the function producing the string written for the weight of an edge.
+   */
+  public GraphExporter<V, W> weightLabel(Function<? super W, String> weightLabel) {
+    this.weightLabel = weightLabel;
+    return this;
+  }
+
+  /**
+   * Adds an attribute to the vertices written with the value returned by the
+   * function for each vertex. The attribute is omitted when the value is null.
+   */
+  public GraphExporter<V, W> vertexAttribute(String name, Function<? super V, ?> value) {
+    vertexAttributes.add(new Attribute<>(name, value));
+    return this;
+  }
+
+  /**
+   * Adds an attribute to the edges written with the value returned by the
+   * function for each edge. The attribute is omitted when the value is null.
+   */
+  public GraphExporter<V, W> edgeAttribute(String name, Function<? super Edge<V, W>, ?> value) {
+    edgeAttributes.add(new Attribute<>(name, value));
+    return this;
+  }
+
+  /**
+   * Only writes the vertices accepted by the filter and the edges between them.
+   */
+  public GraphExporter<V, W> vertices(Predicate<? super V> vertexFilter) {
+    this.vertexFilter = vertexFilter;
+    return this;
+  }
+
+  /**
+   * Only writes the edges accepted by the filter.
+   */
+  public GraphExporter<V, W> edges(Predicate<? super Edge<V, W>> edgeFilter) {
+    this.edgeFilter = edgeFilter;
+    return this;
+  }
+
+  /**
+   * Only writes each edge (that passes the filters) with the given probability,
+   * using a random generator with the seed so that the same sample is written
+   * every time. The vertices are not sampled.
+   *
+   * @throws IllegalArgumentException if the fraction is not between 0 and 1.
+   */
+  public GraphExporter<V, W> sample(double fraction, long seed) {
+    if (!(fraction >= 0 && fraction <= 1)) {
+      throw new IllegalArgumentException("Sample fraction must be between 0 and 1: " + fraction);
+    }
+    this.sample = fraction;
+    this.seed = seed;
+    return this;
+  }
+
+  /**
+   * Writes the graph to the writer, which is flushed but not closed.
+   */
+  public void write(Graph<V, W> graph, Writer out) throws IOException {
+    Writer writer = out instanceof BufferedWriter || out instanceof StringWriter
+                  ? out : new BufferedWriter(out, 1 << 16);
+    switch (format) {
+      case DOT:       writeDot(graph, writer);      break;
+      case GRAPHML:   writeGraphMl(graph, writer);  break;
+      case EDGE_LIST: writeEdgeList(graph, writer); break;
+    }
+    writer.flush();
+  }
+
+  /**
+   * Writes the graph in UTF-8 to the channel, which is not closed.
+   */
+  public void write(Graph<V, W> graph, WritableByteChannel out) throws IOException {
+    write(graph, Channels.newWriter(out, UTF_8.newEncoder(), 1 << 16));
+  }
+
+  /**
+   * Returns the graph written as a string.
+   */
+  public String toString(Graph<V, W> graph) {
+    try {
+      StringWriter out = new StringWriter();
+      write(graph, out);
+      return out.toString();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private void writeDot(Graph<V, W> graph, Writer out) throws IOException {
+    boolean directed = graph.directed();
+    String arrow = directed ? " -> " : " -- ";
+    out.write(directed ? "digraph" : "graph");
+    out.write(" G {\n");
+    if (!vertexAttributes.isEmpty()) {
+      for (V vertex: graph.vertices()) {
+        if (vertexFilter == null || vertexFilter.test(vertex)) {
+          out.write("\t\"");
+          out.write(dotEscape(vertexLabel.apply(vertex)));
+          out.write('"');
+          writeDotAttributes(vertex, vertexAttributes, false, out);
+          out.write(";\n");
+        }
+      }
+    }
+    SplittableRandom random = new SplittableRandom(seed);
+    for (Edge<V, W> edge: graph.edges()) {
+      if (accept(edge, random)) {
+        out.write("\t\"");
+        out.write(dotEscape(vertexLabel.apply(edge.endPoint1)));
+        out.write('"');
+        out.write(arrow);
+        out.write('"');
+        out.write(dotEscape(vertexLabel.apply(edge.endPoint2)));
+        out.write("\" [label=\"");
+        out.write(dotEscape(weightLabel.apply(edge.weight)));
+        out.write('"');
+        writeDotAttributes(edge, edgeAttributes, true, out);
+        out.write("];\n");
+      }
+    }
+    out.write("}");
+  }
+
+  private static <T> void writeDotAttributes(T element, List<Attribute<T>> attributes,
+                                             boolean inList, Writer out) throws IOException {
+    boolean first = !inList;
+    for (Attribute<T> attribute: attributes) {
+      Object value = attribute.value.apply(element);
+      if (value != null) {
+        out.write(first ? " [" : ", ");
+        out.write(attribute.name);
+        out.write("=\"");
+        out.write(dotEscape(String.valueOf(value)));
+        out.write('"');
+        first = false;
+      }
+    }
+    if (!inList && !first) {
+      out.write(']');
+    }
+  }
+
+  private void writeGraphMl(Graph<V, W> graph, Writer out) throws IOException {
+    out.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+    out.write("<graphml xmlns=\"http://graphml.graphdrawing.org/xmlns\">\n");
+    out.write("  <key id=\"weight\" for=\"edge\" attr.name=\"weight\" attr.type=\"string\"/>\n");
+    writeGraphMlKeys("v", "node", vertexAttributes, out);
+    writeGraphMlKeys("e", "edge", edgeAttributes, out);
+    out.write("  <graph id=\"G\" edgedefault=\"");
+    out.write(graph.directed() ? "directed" : "undirected");
+    out.write("\">\n");
+    for (V vertex: graph.vertices()) {
+      if (vertexFilter == null || vertexFilter.test(vertex)) {
+        out.write("    <node id=\"");
+        out.write(xmlEscape(vertexLabel.apply(vertex)));
+        out.write('"');
+        if (vertexAttributes.isEmpty()) {
+          out.write("/>\n");
+        } else {
+          out.write(">");
+          writeGraphMlData("v", vertex, vertexAttributes, out);
+          out.write("</node>\n");
+        }
+      }
+    }
+    SplittableRandom random = new SplittableRandom(seed);
+    for (Edge<V, W> edge: graph.edges()) {
+      if (accept(edge, random)) {
+        out.write("    <edge source=\"");
+        out.write(xmlEscape(vertexLabel.apply(edge.endPoint1)));
+        out.write("\" target=\"");
+        out.write(xmlEscape(vertexLabel.apply(edge.endPoint2)));
+        out.write("\">");
+        if (edge.weight != null) {
+          out.write("<data key=\"weight\">");
+          out.write(xmlEscape(weightLabel.apply(edge.weight)));
+          out.write("</data>");
+        }
+        writeGraphMlData("e", edge, edgeAttributes, out);
+        out.write("</edge>\n");
+      }
+    }
+    out.write("  </graph>\n");
+    out.write("</graphml>\n");
+  }
+
+  private static void writeGraphMlKeys(String prefix, String kind,
+                                       List<? extends Attribute<?>> attributes, Writer out) throws IOException {
+    for (int i = 0; i < attributes.size(); i++) {
+      out.write("  <key id=\"");
+      out.write(prefix + i);
+      out.write("\" for=\"");
+      out.write(kind);
+      out.write("\" attr.name=\"");
+      out.write(xmlEscape(attributes.get(i).name));
+      out.write("\" attr.type=\"string\"/>\n");
+    }
+  }
+
+  private static <T> void writeGraphMlData(String prefix, T element,
+                                           List<Attribute<T>> attributes, Writer out) throws IOException {
+    for (int i = 0; i < attributes.size(); i++) {
+      Object value = attributes.get(i).value.apply(element);
+      if (value != null) {
+        out.write("<data key=\"");
+        out.write(prefix + i);
+        out.write("\">");
+        out.write(xmlEscape(String.valueOf(value)));
+        out.write("</data>");
+      }
+    }
+  }
+
+  private void writeEdgeList(Graph<V, W> graph, Writer out) throws IOException {
+    out.write("# source\ttarget\tweight");
+    for (Attribute<Edge<V, W>> attribute: edgeAttributes) {
+      out.write('\t');
+      out.write(attribute.name);
+    }
+    out.write('\n');
+    SplittableRandom random = new SplittableRandom(seed);
+    for (Edge<V, W> edge: graph.edges()) {
+      if (accept(edge, random)) {
+        out.write(vertexLabel.apply(edge.endPoint1));
+        out.write('\t');
+        out.write(vertexLabel.apply(edge.endPoint2));
+        out.write('\t');
+        if (edge.weight != null) {
+          out.write(weightLabel.apply(edge.weight));
+        }
+        for (Attribute<Edge<V, W>> attribute: edgeAttributes) {
+          Object value = attribute.value.apply(edge);
+          out.write('\t');
+          if (value != null) {
+            out.write(String.valueOf(value));
+          }
+        }
+        out.write('\n');
+      }
+    }
+  }
+
+  private boolean accept(Edge<V, W> edge, SplittableRandom random) {
+    return (vertexFilter == null || (vertexFilter.test(edge.endPoint1) && vertexFilter.test(edge.endPoint2)))
+        && (edgeFilter == null || edgeFilter.test(edge))
+        && (sample >= 1 || random.nextDouble() < sample);
+  }
+
+  /**
+   * Escapes the backslashes and then the quotes of a DOT string, so that a value
+   * ending with a backslash does not escape the closing quote.
+   */
+  private static String dotEscape(String value) {
+    if (value.indexOf('"') == -1 && value.indexOf('\\') == -1) {
+      return value;
+    }
+    return value.replace("\\", "\\\\").replace("\"", "\\\"");
+  }
+
+  private static String xmlEscape(String value) {
+    StringBuilder escaped = null;
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      String entity = c == '&' ? "&amp;"
+                    : c == '<' ? "&lt;"
+                    : c == '>' ? "&gt;"
+                    : c == '"' ? "&quot;" : null;
+      if (entity != null && escaped == null) {
+        escaped = new StringBuilder(value.length() + 16).append(value, 0, i);
+      }
+      if (escaped != null) {
+        if (entity != null) escaped.append(entity);
+        else escaped.append(c);
+      }
+    }
+    return escaped == null ? value : escaped.toString();
+  }
+
+  /**
+   * A named attribute of vertices or edges.
+   */
+  private static class Attribute<T> {
+    Attribute(String name, Function<? super T, ?> value) {
+      this.name = name;
+      this.value = value;
+    }
+
+    final String name;
+    final Function<? super T, ?> value;
+  }
+
+  private final Format format;
+  private Function<? super V, String> vertexLabel = String::valueOf;
+  private Function<? super W, String> weightLabel = String::valueOf;
+  private final List<Attribute<V>> vertexAttributes = new ArrayList<>();
+  private final List<Attribute<Edge<V, W>>> edgeAttributes = new ArrayList<>();
+  private Predicate<? super V> vertexFilter;
+  private Predicate<? super Edge<V, W>> edgeFilter;
+  private double sample = 1;
+  private long seed;
+}
@@ -0,0 +1,171 @@
+package ma.vi.graph;
+
+import java.util.*;
+import java.util.function.Function;
+
+import static java.util.Collections.unmodifiableSet;
+
+/**
+ * <p>
+ * A directed graph defined by a successor function returning the outgoing edges
+ * of a vertex, for searching state spaces (puzzles, configurations, plans) which
+ * are too large, or infinite, to be materialized. The outgoing edges of a vertex
+ * are only generated when {@link #outgoing(Object)} is called for it, as search
+ * algorithms do when expanding a path ending at the vertex. The edges returned by
+ * the successor function for a vertex v must all start at v.
+ * </p>
+ *
+ * <p>
+ * Searches which explore backwards from a goal, such as
+ * {@link ma.vi.graph.algo.search.BidirectionalSearch}, also need the incoming
+ * edges of vertices, generated by a {@link #predecessors(Function) predecessor function}.
+ * The whole vertex and edge sets cannot be enumerated: {@link #vertices()},
+ * {@link #edges()}, {@link #incoming()} and {@link #outgoing()}, as well as the
+ * algorithms using them, throw an {@link UnsupportedOperationException}.
+ * </p>
+ *
+ * <p>
+ * By default the successor function is called every time the outgoing edges of a
+ * vertex are requested. When it is expensive and vertices are expanded repeatedly
+ * (e.g., by {@link ma.vi.graph.algo.search.IterativeDeepeningSearch} or successive
+ * searches over the same graph), the edges of the most recently expanded vertices
+ * can be kept in a cache of bounded size with {@link #cacheSize(int)}.
+ * </p>
+ *
+ * <p>
+ * Example usage, searching for the shortest sequence of +1 and ×2 operations from 1
+ * to 100:
+ * </p>
+ * <pre>
+ *   Graph&lt;Integer, Integer&gt; g = new ImplicitGraph&lt;Integer, Integer&gt;(
+ *       n -&gt; Set.of(Edge.of(n, 1, n + 1), Edge.of(n, 1, n * 2)));
+ *   Path&lt;Integer, Integer&gt; path = g.apply(new BreadthFirstSearch&lt;Integer, Integer&gt;(1).goalVertex(100));
+ * </pre>
+ *
+ * @param <V> The vertex type of the graph.
+ * @param <W> The weight type on the edges of the graph.
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+public class ImplicitGraph<V, W> implements Graph<V, W> {
+  /**
+   * Creates a graph with the outgoing edges of every vertex returned by the
+   * successor function.
+   */
+  public ImplicitGraph(Function<? super V, ? extends Collection<Edge<V, W>>> successors) {
+    this.successors = successors;
+  }
+
+  /**
+   * Sets the function returning the incoming edges of a vertex, which must all
+   * end at the vertex.
+   */
+  public ImplicitGraph<V, W> predecessors(Function<? super V, ? extends Collection<Edge<V, W>>> predecessors) {
+    this.predecessors = predecessors;
+    return this;
+  }
+
+  /**
+   * Sets the number of vertices whose outgoing edges are cached, the least recently
+   * used being evicted first (0 by default, for no caching). The cache is cleared.
+   *
+   * @throws IllegalArgumentException if the size is negative.
+   */
+  public ImplicitGraph<V, W> cacheSize(int cacheSize) {
+    if (cacheSize < 0) {
+      throw new IllegalArgumentException("Cache size must not be negative: " + cacheSize);
+    }
+    this.cache = cacheSize == 0 ? null : new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<V, Set<Edge<V, W>>> eldest) {
+        return size() > cacheSize;
+      }
+    };
+    return this;
+  }
+
+  @Override
+  public Set<Edge<V, W>> outgoing(V vertex) {
+    Map<V, Set<Edge<V, W>>> cache = this.cache;
+    if (cache == null) {
+      return edgeSet(successors.apply(vertex));
+    }
+    Set<Edge<V, W>> edges;
+    synchronized (cache) {
+      edges = cache.get(vertex);
+    }
+    if (edges == null) {
+      edges = edgeSet(successors.apply(vertex));
+      synchronized (cache) {
+        cache.put(vertex, edges);
+      }
+    }
+    return edges;
+  }
+
+  /**
+   * Returns the incoming edges of the vertex generated by the predecessor function.
+   *
+   * @throws UnsupportedOperationException if no predecessor function has been set.
+   */
+  @Override
+  public Set<Edge<V, W>> incoming(V vertex) {
+    if (predecessors == null) {
+      throw new UnsupportedOperationException("The incoming edges of an implicit graph "
+                                            + "need a predecessor function");
+    }
+    return edgeSet(predecessors.apply(vertex));
+  }
+
+  @Override
+  public boolean directed() {
+    return true;
+  }
+
+  @Override
+  public Set<V> vertices() {
+    throw notEnumerable();
+  }
+
+  @Override
+  public Set<Edge<V, W>> edges() {
+    throw notEnumerable();
+  }
+
+  @Override
+  public Set<Edge<V, W>> incoming() {
+    throw notEnumerable();
+  }
+
+  @Override
+  public Set<Edge<V, W>> outgoing() {
+    throw notEnumerable();
+  }
+
+  /**
+   * Creates a directed graph with the edges, such as the spanning trees
+   * and paths produced by algorithms.
+   */
+  @Override
+  public Graph<V, W> newGraph(Set<Edge<V, W>> edges) {
+    return new DirectedGraph<>(edges);
+  }
+
+  @Override
+  public String toString() {
+    return "ImplicitGraph(" + successors + ")";
+  }
+
+  private static <V, W> Set<Edge<V, W>> edgeSet(Collection<Edge<V, W>> edges) {
+    return unmodifiableSet(edges instanceof Set ? (Set<Edge<V, W>>)edges : new LinkedHashSet<>(edges));
+  }
+
+  private static UnsupportedOperationException notEnumerable() {
+    return new UnsupportedOperationException("The vertices and edges of an implicit graph "
+                                           + "are generated on demand and cannot be enumerated");
+  }
+
+  private final Function<? super V, ? extends Collection<Edge<V, W>>> successors;
+  private Function<? super V, ? extends Collection<Edge<V, W>>> predecessors;
+  private volatile Map<V, Set<Edge<V, W>>> cache;
+}
@@ -0,0 +1,95 @@
+package ma.vi.graph;
+
+import java.util.function.IntConsumer;
+
+/**
+ * <p>
+ * A graph whose vertices are the ints 0 to {@link #vertexCount()} - 1. This is
+ * the primitive counterpart of {@link Graph} for graphs with integer vertices:
+ * no vertex or edge is boxed or created when iterating over the graph, the
+ * adjacency of a vertex being visited either through an {@link IntConsumer}
+ * callback or through a reusable {@link Cursor}.
+ * </p>
+ *
+ * <p>
+ * This interface only exposes the structure of the graph; {@link IntLongGraph}
+ * adds long weights on the edges.
+ * </p>
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+public interface IntGraph {
+  /**
+   * The number of vertices in the graph.
+   */
+  int vertexCount();
+
+  /**
+   * Returns whether the graph is directed or not.
+   */
+  boolean directed();
+
+  /**
+   * Returns the number of edges out of the vertex. For undirected graphs this
+   * is the same as the in-degree.
+   */
+  int outDegree(int vertex);
+
+  /**
+   * Returns the number of edges into the vertex. For undirected graphs this
+   * is the same as the out-degree.
+   */
+  int inDegree(int vertex);
+
+  /**
+   * Calls the action with the target of every edge out of the vertex.
+   */
+  void forEachOutgoing(int vertex, IntConsumer action);
+
+  /**
+   * Calls the action with the source of every edge into the vertex. For
+   * undirected graphs this is the same as {@link #forEachOutgoing(int, IntConsumer)}.
+   */
+  void forEachIncoming(int vertex, IntConsumer action);
+
+  /**
+   * Returns a new cursor over the adjacency of this graph. A cursor can be
+   * repositioned on any vertex any number of times and is the allocation-free
+   * way of traversing the graph.
+   */
+  Cursor cursor();
+
+  /**
+   * A cursor over the edges out of, or into, a vertex. Typical usage:
+   *
+   * <pre>
+   *   IntGraph.Cursor cursor = graph.cursor();
+   *   for (cursor.outgoing(v); cursor.next();) {
+   *     int w = cursor.vertex();
+   *     ...
+   *   }
+   * </pre>
+   */
+  interface Cursor {
+    /**
+     * Positions this cursor before the first edge out of the vertex.
+     */
+    Cursor outgoing(int vertex);
+
+    /**
+     * Positions this cursor before the first edge into the vertex.
+     */
+    Cursor incoming(int vertex);
+
+    /**
+     * Moves the cursor to the next edge, returning false if there are no more edges.
+     */
+    boolean next();
+
+    /**
+     * The vertex at the other end of the current edge, i.e., the target
+     * for outgoing edges and the source for incoming ones.
+     */
+    int vertex();
+  }
+}
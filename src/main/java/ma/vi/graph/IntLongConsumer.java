@@ -0,0 +1,12 @@
+package ma.vi.graph;
+
+/**
+ * Represents an operation that accepts an int vertex and a long weight and
+ * returns no result; used to iterate over the weighted edges of an {@link IntLongGraph}.
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+@FunctionalInterface
+public interface IntLongConsumer {
+  void accept(int vertex, long weight);
+}
@@ -0,0 +1,299 @@
+package ma.vi.graph;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * <p>
+ * An immutable {@link IntLongGraph} stored in compressed sparse row form: the
+ * edges out of vertex v are at indices offsets[v] (inclusive) to offsets[v + 1]
+ * (exclusive) of a targets and a weights array, sorted by target. Directed graphs
+ * also keep the transposed arrays for their incoming edges.
+ * </p>
+ *
+ * <p>
+ * Instances are created with a {@link Builder}:
+ * </p>
+ *
+ * <pre>
+ *   IntLongCsrGraph g = new IntLongCsrGraph.Builder(true)
+ *                             .add(0, 5, 1)
+ *                             .add(1, 2, 2)
+ *                             .build();
+ * </pre>
+ *
+ * <p>
+ * Unlike {@link Graph}s which are sets of edges, this graph keeps parallel edges,
+ * even those with the same weight.
+ * </p>
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+public class IntLongCsrGraph implements IntLongGraph {
+  private IntLongCsrGraph(boolean directed,
+                          int vertexCount,
+                          int edgeCount,
+                          int[] sources,
+                          int[] targets,
+                          long[] weights) {
+    this.directed = directed;
+    this.edgeCount = edgeCount;
+    this.outOffsets = new int[vertexCount + 1];
+    for (int i = 0; i < edgeCount; i++) {
+      outOffsets[sources[i] + 1]++;
+      if (!directed && sources[i] != targets[i]) {
+        outOffsets[targets[i] + 1]++;
+      }
+    }
+    for (int v = 0; v < vertexCount; v++) {
+      outOffsets[v + 1] += outOffsets[v];
+    }
+
+    /*
+     * Sort the entries of each vertex by target, keeping the index of the
+     * edge in the low bits of the sort key to find its weight.
+     */
+    int size = outOffsets[vertexCount];
+    long[] keys = new long[size];
+    int[] position = Arrays.copyOf(outOffsets, vertexCount);
+    for (int i = 0; i < edgeCount; i++) {
+      keys[position[sources[i]]++] = ((long)targets[i] << 32) | i;
+      if (!directed && sources[i] != targets[i]) {
+        keys[position[targets[i]]++] = ((long)sources[i] << 32) | i;
+      }
+    }
+    this.outTargets = new int[size];
+    this.outWeights = new long[size];
+    for (int v = 0; v < vertexCount; v++) {
+      Arrays.sort(keys, outOffsets[v], outOffsets[v + 1]);
+    }
+    for (int e = 0; e < size; e++) {
+      outTargets[e] = (int)(keys[e] >>> 32);
+      outWeights[e] = weights[(int)keys[e]];
+    }
+
+    if (directed) {
+      this.inOffsets = new int[vertexCount + 1];
+      for (int e = 0; e < size; e++) {
+        inOffsets[outTargets[e] + 1]++;
+      }
+      for (int v = 0; v < vertexCount; v++) {
+        inOffsets[v + 1] += inOffsets[v];
+      }
+      this.inSources = new int[size];
+      this.inWeights = new long[size];
+      position = Arrays.copyOf(inOffsets, vertexCount);
+      for (int u = 0; u < vertexCount; u++) {
+        for (int e = outOffsets[u]; e < outOffsets[u + 1]; e++) {
+          int p = position[outTargets[e]]++;
+          inSources[p] = u;
+          inWeights[p] = outWeights[e];
+        }
+      }
+    } else {
+      this.inOffsets = outOffsets;
+      this.inSources = outTargets;
+      this.inWeights = outWeights;
+    }
+  }
+
+  @Override
+  public int vertexCount() {
+    return outOffsets.length - 1;
+  }
+
+  /**
+   * The number of edges in the graph (each undirected edge is counted once).
+   */
+  public int edgeCount() {
+    return edgeCount;
+  }
+
+  @Override
+  public boolean directed() {
+    return directed;
+  }
+
+  @Override
+  public int outDegree(int vertex) {
+    return outOffsets[vertex + 1] - outOffsets[vertex];
+  }
+
+  @Override
+  public int inDegree(int vertex) {
+    return inOffsets[vertex + 1] - inOffsets[vertex];
+  }
+
+  @Override
+  public void forEachOutgoing(int vertex, IntConsumer action) {
+    for (int e = outOffsets[vertex]; e < outOffsets[vertex + 1]; e++) {
+      action.accept(outTargets[e]);
+    }
+  }
+
+  @Override
+  public void forEachIncoming(int vertex, IntConsumer action) {
+    for (int e = inOffsets[vertex]; e < inOffsets[vertex + 1]; e++) {
+      action.accept(inSources[e]);
+    }
+  }
+
+  @Override
+  public void forEachOutgoing(int vertex, IntLongConsumer action) {
+    for (int e = outOffsets[vertex]; e < outOffsets[vertex + 1]; e++) {
+      action.accept(outTargets[e], outWeights[e]);
+    }
+  }
+
+  @Override
+  public void forEachIncoming(int vertex, IntLongConsumer action) {
+    for (int e = inOffsets[vertex]; e < inOffsets[vertex + 1]; e++) {
+      action.accept(inSources[e], inWeights[e]);
+    }
+  }
+
+  @Override
+  public Cursor cursor() {
+    return new ArrayCursor(outOffsets, outTargets, outWeights, inOffsets, inSources, inWeights);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder s = new StringBuilder("[");
+    for (int u = 0; u < vertexCount(); u++) {
+      for (int e = outOffsets[u]; e < outOffsets[u + 1]; e++) {
+        if (directed || u <= outTargets[e]) {
+          if (s.length() > 1) {
+            s.append(", ");
+          }
+          s.append(u).append("-<").append(outWeights[e]).append(">-").append(outTargets[e]);
+        }
+      }
+    }
+    return s.append(']').toString();
+  }
+
+  /**
+   * A cursor over CSR arrays, shared by the CSR implementations of {@link IntLongGraph}.
+   */
+  static class ArrayCursor implements Cursor {
+    ArrayCursor(int[] outOffsets, int[] outTargets, long[] outWeights,
+                int[] inOffsets,  int[] inSources,  long[] inWeights) {
+      this.outOffsets = outOffsets;
+      this.outTargets = outTargets;
+      this.outWeights = outWeights;
+      this.inOffsets = inOffsets;
+      this.inSources = inSources;
+      this.inWeights = inWeights;
+    }
+
+    @Override
+    public Cursor outgoing(int vertex) {
+      vertices = outTargets;
+      weights = outWeights;
+      entry = outOffsets[vertex] - 1;
+      end = outOffsets[vertex + 1];
+      return this;
+    }
+
+    @Override
+    public Cursor incoming(int vertex) {
+      vertices = inSources;
+      weights = inWeights;
+      entry = inOffsets[vertex] - 1;
+      end = inOffsets[vertex + 1];
+      return this;
+    }
+
+    @Override
+    public boolean next() {
+      return ++entry < end;
+    }
+
+    @Override
+    public int vertex() {
+      return vertices[entry];
+    }
+
+    @Override
+    public long weight() {
+      return weights[entry];
+    }
+
+    private final int[] outOffsets;
+    private final int[] outTargets;
+    private final long[] outWeights;
+    private final int[] inOffsets;
+    private final int[] inSources;
+    private final long[] inWeights;
+
+    private int[] vertices;
+    private long[] weights;
+    private int entry;
+    private int end;
+  }
+
+  /**
+   * Accumulates edges in primitive arrays to build an {@link IntLongCsrGraph}.
+   */
+  public static class Builder {
+    /**
+     * Creates a builder for a directed or undirected graph.
+     */
+    public Builder(boolean directed) {
+      this.directed = directed;
+    }
+
+    /**
+     * Sets the number of vertices of the graph to build; by default the vertex
+     * count is one more than the largest vertex in an edge.
+     */
+    public Builder vertexCount(int vertexCount) {
+      this.vertexCount = Math.max(this.vertexCount, vertexCount);
+      return this;
+    }
+
+    /**
+     * Adds an edge from one vertex to another.
+     */
+    public Builder add(int from, long weight, int to) {
+      if (from < 0 || to < 0) {
+        throw new IllegalArgumentException("Vertices must be non-negative: " + from + ", " + to);
+      }
+      if (size == sources.length) {
+        int capacity = Math.max(16, size + (size >> 1));
+        sources = Arrays.copyOf(sources, capacity);
+        targets = Arrays.copyOf(targets, capacity);
+        weights = Arrays.copyOf(weights, capacity);
+      }
+      sources[size] = from;
+      targets[size] = to;
+      weights[size] = weight;
+      size++;
+      vertexCount = Math.max(vertexCount, Math.max(from, to) + 1);
+      return this;
+    }
+
+    public IntLongCsrGraph build() {
+      return new IntLongCsrGraph(directed, vertexCount, size, sources, targets, weights);
+    }
+
+    private final boolean directed;
+    private int vertexCount;
+    private int size;
+    private int[] sources = new int[0];
+    private int[] targets = new int[0];
+    private long[] weights = new long[0];
+  }
+
+  private final boolean directed;
+  private final int edgeCount;
+
+  private final int[] outOffsets;
+  private final int[] outTargets;
+  private final long[] outWeights;
+
+  private final int[] inOffsets;
+  private final int[] inSources;
+  private final long[] inWeights;
+}
@@ -0,0 +1,141 @@
+package ma.vi.graph;
+
+import ma.vi.graph.algo.IntAlgorithm;
+
+import java.util.function.IntConsumer;
+
+/**
+ * An {@link IntGraph} with long weights on its edges. This is the primitive
+ * counterpart of a {@link Graph} with integer vertices and numeric weights.
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+public interface IntLongGraph extends IntGraph {
+  /**
+   * Calls the action with the target and weight of every edge out of the vertex.
+   */
+  void forEachOutgoing(int vertex, IntLongConsumer action);
+
+  /**
+   * Calls the action with the source and weight of every edge into the vertex.
+   * For undirected graphs this is the same as {@link #forEachOutgoing(int, IntLongConsumer)}.
+   */
+  void forEachIncoming(int vertex, IntLongConsumer action);
+
+  @Override
+  Cursor cursor();
+
+  /**
+   * Applies an algorithm to the graph and returns the value produced.
+   */
+  default <R> R apply(IntAlgorithm<R> algo) {
+    return algo.execute(this);
+  }
+
+  /**
+   * Returns a view of this graph with all its edges reversed, so that exploring
+   * the view from a vertex follows the edges into that vertex in this graph. An
+   * undirected graph is its own reverse.
+   */
+  default IntLongGraph reversed() {
+    if (!directed()) {
+      return this;
+    }
+    IntLongGraph graph = this;
+    return new IntLongGraph() {
+      @Override
+      public int vertexCount() {
+        return graph.vertexCount();
+      }
+
+      @Override
+      public boolean directed() {
+        return true;
+      }
+
+      @Override
+      public int outDegree(int vertex) {
+        return graph.inDegree(vertex);
+      }
+
+      @Override
+      public int inDegree(int vertex) {
+        return graph.outDegree(vertex);
+      }
+
+      @Override
+      public void forEachOutgoing(int vertex, IntConsumer action) {
+        graph.forEachIncoming(vertex, action);
+      }
+
+      @Override
+      public void forEachIncoming(int vertex, IntConsumer action) {
+        graph.forEachOutgoing(vertex, action);
+      }
+
+      @Override
+      public void forEachOutgoing(int vertex, IntLongConsumer action) {
+        graph.forEachIncoming(vertex, action);
+      }
+
+      @Override
+      public void forEachIncoming(int vertex, IntLongConsumer action) {
+        graph.forEachOutgoing(vertex, action);
+      }
+
+      @Override
+      public IntLongGraph reversed() {
+        return graph;
+      }
+
+      @Override
+      public Cursor cursor() {
+        Cursor cursor = graph.cursor();
+        return new Cursor() {
+          @Override
+          public Cursor outgoing(int vertex) {
+            cursor.incoming(vertex);
+            return this;
+          }
+
+          @Override
+          public Cursor incoming(int vertex) {
+            cursor.outgoing(vertex);
+            return this;
+          }
+
+          @Override
+          public boolean next() {
+            return cursor.next();
+          }
+
+          @Override
+          public int vertex() {
+            return cursor.vertex();
+          }
+
+          @Override
+          public long weight() {
+            return cursor.weight();
+          }
+        };
+      }
+    };
+  }
+
+  /**
+   * A cursor which also provides the weight of the current edge.
+   */
+  interface Cursor extends IntGraph.Cursor {
+    @Override
+    Cursor outgoing(int vertex);
+
+    @Override
+    Cursor incoming(int vertex);
+
+    /**
+     * The weight of the current edge.
+     */
+    long weight();
+  }
+}
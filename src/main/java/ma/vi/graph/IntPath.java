@@ -0,0 +1,74 @@
+package ma.vi.graph;
+
+import java.util.Arrays;
+
+/**
+ * A path in an {@link IntGraph}, held as the sequence of its vertices
+ * and the cost of the path.
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+public class IntPath {
+  public IntPath(long cost, int... vertices) {
+    this.cost = cost;
+    this.vertices = vertices;
+  }
+
+  public static IntPath of(long cost, int... vertices) {
+    return new IntPath(cost, vertices);
+  }
+
+  /**
+   * The vertices on the path, from the first to the last.
+   */
+  public int[] vertices() {
+    return vertices.clone();
+  }
+
+  /**
+   * The vertex at the given position on the path.
+   */
+  public int vertex(int index) {
+    return vertices[index];
+  }
+
+  public int firstVertex() {
+    return vertices[0];
+  }
+
+  public int lastVertex() {
+    return vertices[vertices.length - 1];
+  }
+
+  public long cost() {
+    return cost;
+  }
+
+  /**
+   * The number of edges in the path.
+   */
+  public int length() {
+    return vertices.length - 1;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    IntPath path = (IntPath)o;
+    return cost == path.cost && Arrays.equals(vertices, path.vertices);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * Long.hashCode(cost) + Arrays.hashCode(vertices);
+  }
+
+  @Override
+  public String toString() {
+    return Arrays.toString(vertices) + ", Cost=" + cost;
+  }
+
+  private final long cost;
+  private final int[] vertices;
+}
@@ -0,0 +1,197 @@
+package ma.vi.graph;
+
+import java.util.*;
+
+import static java.util.Collections.emptySet;
+
+/**
+ * <p>
+ * A path represented by a pointer to the path it extends (its parent) and the
+ * edge by which it extends that parent, along with its cost, length and weight.
+ * Extending a linked path is O(1) in time and memory as the new path shares all
+ * its edges but the last with the path it extends, unlike {@link Path#extend} which
+ * copies all the edges of the path and builds their graph.
+ * </p>
+ *
+ * <p>
+ * The first and last vertices and edges, the cost, length and weight of a linked path
+ * are available in O(1). The graph of the path is only built (materialized) when any
+ * other method of the path is called or when {@link #materialize()} is called, after
+ * which the linked path behaves exactly like the equivalent {@link Path}. This is the
+ * path representation used by {@link ma.vi.graph.algo.explore.Explore} by default, where
+ * the chain of parents of the explored paths form a predecessor tree of the explored
+ * vertices, and only the paths returned as results are materialized.
+ * </p>
+ *
+ * @param <V> The vertex type of the path.
+ * @param <W> The weight type of the path.
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+public class LinkedPath<V, W> extends Path<V, W> {
+  /**
+   * Creates a single-vertex path.
+   */
+  public LinkedPath(Long cost, V vertex) {
+    this.parent = null;
+    this.edge = null;
+    this.first = null;
+    this.start = vertex;
+    this.end = vertex;
+    this.pathCost = cost;
+    this.pathLength = 0;
+    this.pathWeight = 0;
+  }
+
+  private LinkedPath(LinkedPath<V, W> parent, Edge<V, W> edge, Long cost) {
+    this.parent = parent;
+    this.edge = edge;
+    this.first = parent.edge == null ? edge : parent.first;
+    this.start = parent.start;
+    this.end = edge.endPoint2;
+    this.pathCost = cost;
+    this.pathLength = parent.pathLength + 1;
+    this.pathWeight = parent.pathWeight + (edge.weight instanceof Number ? ((Number)edge.weight).longValue() : 0L);
+  }
+
+  /**
+   * Returns the path which this path extends or empty for single-vertex paths.
+   */
+  public Optional<LinkedPath<V, W>> parent() {
+    return Optional.ofNullable(parent);
+  }
+
+  @Override
+  public LinkedPath<V, W> extend(V vertex, W weight, Long newPathCost) {
+    return new LinkedPath<>(this, Edge.of(end, weight, vertex), newPathCost);
+  }
+
+  /**
+   * Builds the graph of this path, if not already built, and returns this path.
+   */
+  public synchronized LinkedPath<V, W> materialize() {
+    if (!materialized) {
+      LinkedList<Edge<V, W>> pathEdges = new LinkedList<>();
+      for (LinkedPath<V, W> p = this; p.edge != null; p = p.parent) {
+        pathEdges.addFirst(p.edge);
+      }
+      if (pathEdges.isEmpty()) {
+        writableIn().put(start, emptySet());
+        writableOut().put(start, emptySet());
+      } else {
+        for (Edge<V, W> e: pathEdges) {
+          writableOut().computeIfAbsent(e.endPoint1, k -> new HashSet<>()).add(e);
+          writableIn().computeIfAbsent(e.endPoint2, k -> new HashSet<>()).add(e);
+        }
+      }
+      edges = new LinkedHashSet<>(pathEdges);
+      vertices = null;
+      materialized = true;
+    }
+    return this;
+  }
+
+  @Override
+  public Optional<V> firstVertex() {
+    return Optional.ofNullable(start);
+  }
+
+  @Override
+  public Optional<V> lastVertex() {
+    return Optional.ofNullable(end);
+  }
+
+  @Override
+  public Optional<Edge<V, W>> firstEdge() {
+    return Optional.ofNullable(first);
+  }
+
+  @Override
+  public Optional<Edge<V, W>> lastEdge() {
+    return Optional.ofNullable(edge);
+  }
+
+  @Override
+  public Long cost() {
+    return pathCost;
+  }
+
+  @Override
+  public int length() {
+    return pathLength;
+  }
+
+  @Override
+  public long weight() {
+    return pathWeight;
+  }
+
+  @Override
+  public Set<V> vertices() {
+    materialize();
+    return super.vertices();
+  }
+
+  @Override
+  public Set<Edge<V, W>> incoming() {
+    materialize();
+    return super.incoming();
+  }
+
+  @Override
+  public Set<Edge<V, W>> outgoing() {
+    materialize();
+    return super.outgoing();
+  }
+
+  @Override
+  public Set<Edge<V, W>> edges() {
+    materialize();
+    return super.edges();
+  }
+
+  @Override
+  public Set<Edge<V, W>> incoming(V vertex) {
+    materialize();
+    return super.incoming(vertex);
+  }
+
+  @Override
+  public Set<Edge<V, W>> outgoing(V vertex) {
+    materialize();
+    return super.outgoing(vertex);
+  }
+
+  @Override
+  public Set<Edge<V, W>> edges(V vertex) {
+    materialize();
+    return super.edges(vertex);
+  }
+
+  @Override
+  protected Map<V, Set<Edge<V, W>>> incomingMap() {
+    materialize();
+    return super.incomingMap();
+  }
+
+  @Override
+  protected Map<V, Set<Edge<V, W>>> outgoingMap() {
+    materialize();
+    return super.outgoingMap();
+  }
+
+  @Override
+  public String toString() {
+    Set<Edge<V, W>> edges = edges();
+    return (!edges.isEmpty() ? edges.toString() : vertices().toString()) + ", Cost=" + pathCost;
+  }
+
+  private final LinkedPath<V, W> parent;
+  private final Edge<V, W> edge;
+  private final Edge<V, W> first;
+  private final V start;
+  private final V end;
+  private final Long pathCost;
+  private final int pathLength;
+  private final long pathWeight;
+  private volatile boolean materialized;
+}
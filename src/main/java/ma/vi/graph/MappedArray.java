@@ -0,0 +1,72 @@
+package ma.vi.graph;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * <p>
+ * An array of ints or longs in a section of a file mapped in memory, used by
+ * {@link MappedGraph} and {@link MappedGraphWriter}. A single {@link MappedByteBuffer}
+ * is limited to 2GB so the section is mapped in chunks of 2<sup>27</sup> elements,
+ * the element at index i being in chunk i / 2<sup>27</sup>.
+ * </p>
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+final class MappedArray {
+  private MappedArray(MappedByteBuffer[] chunks, int shift) {
+    this.chunks = chunks;
+    this.shift = shift;
+  }
+
+  /**
+   * Maps the section of the file starting at the position with the given number
+   * of elements of 4 bytes (ints) if shift is 2 or of 8 bytes (longs) if it is 3.
+   */
+  static MappedArray map(FileChannel channel, FileChannel.MapMode mode,
+                         long position, long length, int shift) throws IOException {
+    int count = (int)((length + CHUNK_SIZE - 1) >>> CHUNK_SHIFT);
+    MappedByteBuffer[] chunks = new MappedByteBuffer[count];
+    for (int i = 0; i < count; i++) {
+      long start = (long)i << CHUNK_SHIFT;
+      long size = Math.min(CHUNK_SIZE, length - start) << shift;
+      chunks[i] = channel.map(mode, position + (start << shift), size);
+      chunks[i].order(ByteOrder.LITTLE_ENDIAN);
+    }
+    return new MappedArray(chunks, shift);
+  }
+
+  int getInt(long index) {
+    return chunks[(int)(index >>> CHUNK_SHIFT)].getInt((int)(index & CHUNK_MASK) << 2);
+  }
+
+  long getLong(long index) {
+    return chunks[(int)(index >>> CHUNK_SHIFT)].getLong((int)(index & CHUNK_MASK) << 3);
+  }
+
+  void putInt(long index, int value) {
+    chunks[(int)(index >>> CHUNK_SHIFT)].putInt((int)(index & CHUNK_MASK) << 2, value);
+  }
+
+  void putLong(long index, long value) {
+    chunks[(int)(index >>> CHUNK_SHIFT)].putLong((int)(index & CHUNK_MASK) << 3, value);
+  }
+
+  /**
+   * Writes the changes made to the array to the file.
+   */
+  void force() {
+    for (MappedByteBuffer chunk: chunks) {
+      chunk.force();
+    }
+  }
+
+  private static final int CHUNK_SHIFT = 27;
+  private static final long CHUNK_SIZE = 1L << CHUNK_SHIFT;
+  private static final long CHUNK_MASK = CHUNK_SIZE - 1;
+
+  private final MappedByteBuffer[] chunks;
+  private final int shift;
+}
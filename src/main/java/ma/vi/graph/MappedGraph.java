@@ -0,0 +1,603 @@
+package ma.vi.graph;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.function.IntConsumer;
+
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.util.Collections.emptySet;
+
+/**
+ * <p>
+ * An immutable graph read from a binary file in compressed sparse row (CSR) form
+ * which is mapped in memory instead of being loaded on the heap, for graphs larger
+ * than the heap. The vertices are the ints 0 to {@link #vertexCount()} - 1 and the
+ * weights are longs; other vertex types can be stored by their ids (e.g., their ids
+ * in a {@link CsrGraph}). Opening the file only reads its header: the adjacency is
+ * read by the operating system from the file as it is accessed, without any copy or
+ * deserialization, and the pages read are shared by all graphs mapping the same file.
+ * Files are written by {@link MappedGraphWriter}.
+ * </p>
+ *
+ * <p>
+ * The file, all little-endian, starts with a header of {@link #HEADER_SIZE} bytes:
+ * </p>
+ * <ul>
+ *   <li>the magic number 0x4D475246 ("MGRF") and the format version (int);</li>
+ *   <li>flags, with bit 0 set for directed graphs (int);</li>
+ *   <li>the number of vertices n (int);</li>
+ *   <li>the number of adjacency entries e and the number of edges (long), which
+ *       differ for undirected graphs where every edge is an entry at both of its
+ *       endpoints, except self-loops;</li>
+ *   <li>the positions in the file of the six sections of the adjacency (long):
+ *       the outgoing offsets (n + 1 longs, the entries of vertex v being from
+ *       offsets[v] inclusive to offsets[v + 1] exclusive), targets (e ints) and
+ *       weights (e longs), followed by the incoming offsets, sources and weights
+ *       which, for undirected graphs, are the outgoing sections.</li>
+ * </ul>
+ *
+ * <p>
+ * The entries of every vertex are sorted by target (or source), then weight, which
+ * is used to find edges by binary search. Like {@link CsrGraph}, no {@link Edge} is
+ * stored and the edge sets are views creating edges as they are iterated; as with
+ * undirected graphs, the incoming and outgoing edges of a vertex of an undirected
+ * mapped graph are its edges oriented away from it, while {@link #edges()} returns
+ * each edge once, from its endpoint with the lower id. Algorithms working on the
+ * {@link Graph} interface can be applied directly, {@link #asIntLongGraph()} gives
+ * the primitive algorithms access without creating vertices and edges, and
+ * {@link #newGraph(Set)} returns the (usually small) subgraphs produced by algorithms
+ * as {@link CsrGraph} on the heap. Algorithms which copy their input to a
+ * {@link CsrGraph}, such as the parallel algorithms, load the whole graph on the heap.
+ * </p>
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+public class MappedGraph implements Graph<Integer, Long> {
+  private MappedGraph(boolean directed, int vertexCount, long entryCount, long edgeCount,
+                      MappedArray outOffsets, MappedArray outTargets, MappedArray outWeights,
+                      MappedArray inOffsets, MappedArray inSources, MappedArray inWeights) {
+    this.directed = directed;
+    this.vertexCount = vertexCount;
+    this.entryCount = entryCount;
+    this.edgeCount = edgeCount;
+    this.outOffsets = outOffsets;
+    this.outTargets = outTargets;
+    this.outWeights = outWeights;
+    this.inOffsets = inOffsets;
+    this.inSources = inSources;
+    this.inWeights = inWeights;
+  }
+
+  /**
+   * Maps the graph in the file, which must have been written by {@link MappedGraphWriter}.
+   * The file must not be changed while the graph is in use.
+   */
+  public static MappedGraph open(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      if (channel.size() < HEADER_SIZE) {
+        throw new IOException(file + " is not a mapped graph file");
+      }
+      ByteBuffer header = channel.map(READ_ONLY, 0, HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+      if (header.getInt(0) != MAGIC) {
+        throw new IOException(file + " is not a mapped graph file");
+      }
+      if (header.getInt(4) != VERSION) {
+        throw new IOException("Unsupported version " + header.getInt(4) + " of mapped graph file " + file);
+      }
+      boolean directed = (header.getInt(8) & DIRECTED) != 0;
+      int n = header.getInt(12);
+      long entries = header.getLong(16);
+      long edges = header.getLong(24);
+      MappedArray outOffsets = MappedArray.map(channel, READ_ONLY, header.getLong(32), n + 1L, 3);
+      MappedArray outTargets = MappedArray.map(channel, READ_ONLY, header.getLong(40), entries, 2);
+      MappedArray outWeights = MappedArray.map(channel, READ_ONLY, header.getLong(48), entries, 3);
+      if (!directed) {
+        return new MappedGraph(false, n, entries, edges,
+                               outOffsets, outTargets, outWeights,
+                               outOffsets, outTargets, outWeights);
+      }
+      return new MappedGraph(true, n, entries, edges,
+                             outOffsets, outTargets, outWeights,
+                             MappedArray.map(channel, READ_ONLY, header.getLong(56), n + 1L, 3),
+                             MappedArray.map(channel, READ_ONLY, header.getLong(64), entries, 2),
+                             MappedArray.map(channel, READ_ONLY, header.getLong(72), entries, 3));
+    }
+  }
+
+  /**
+   * The number of vertices in the graph.
+   */
+  public int vertexCount() {
+    return vertexCount;
+  }
+
+  /**
+   * The number of edges in the graph (each undirected edge is counted once).
+   */
+  public long edgeCount() {
+    return edgeCount;
+  }
+
+  /**
+   * The index of the first outgoing entry of the vertex.
+   */
+  public long outStart(int vertex) {
+    return outOffsets.getLong(vertex);
+  }
+
+  /**
+   * The index following the last outgoing entry of the vertex.
+   */
+  public long outEnd(int vertex) {
+    return outOffsets.getLong(vertex + 1);
+  }
+
+  /**
+   * The target vertex of the outgoing entry at the given index.
+   */
+  public int outTarget(long entry) {
+    return outTargets.getInt(entry);
+  }
+
+  /**
+   * The weight of the outgoing entry at the given index.
+   */
+  public long outWeight(long entry) {
+    return outWeights.getLong(entry);
+  }
+
+  /**
+   * The index of the first incoming entry of the vertex.
+   */
+  public long inStart(int vertex) {
+    return inOffsets.getLong(vertex);
+  }
+
+  /**
+   * The index following the last incoming entry of the vertex.
+   */
+  public long inEnd(int vertex) {
+    return inOffsets.getLong(vertex + 1);
+  }
+
+  /**
+   * The source vertex of the incoming entry at the given index.
+   */
+  public int inSource(long entry) {
+    return inSources.getInt(entry);
+  }
+
+  /**
+   * The weight of the incoming entry at the given index.
+   */
+  public long inWeight(long entry) {
+    return inWeights.getLong(entry);
+  }
+
+  /**
+   * Returns the index of the first outgoing entry from the vertex `from` to the
+   * vertex `to`, or -1 if there is no such entry.
+   */
+  public long findOut(int from, int to) {
+    return find(outTargets, outStart(from), outEnd(from), to);
+  }
+
+  /**
+   * Returns a view of this graph as an {@link IntLongGraph} reading the mapped
+   * file, to be used with the primitive algorithms.
+   */
+  public IntLongGraph asIntLongGraph() {
+    return new IntLongGraph() {
+      @Override
+      public int vertexCount() {
+        return vertexCount;
+      }
+
+      @Override
+      public boolean directed() {
+        return directed;
+      }
+
+      @Override
+      public int outDegree(int vertex) {
+        return (int)(outEnd(vertex) - outStart(vertex));
+      }
+
+      @Override
+      public int inDegree(int vertex) {
+        return (int)(inEnd(vertex) - inStart(vertex));
+      }
+
+      @Override
+      public void forEachOutgoing(int vertex, IntConsumer action) {
+        for (long e = outStart(vertex), end = outEnd(vertex); e < end; e++) {
+          action.accept(outTargets.getInt(e));
+        }
+      }
+
+      @Override
+      public void forEachIncoming(int vertex, IntConsumer action) {
+        for (long e = inStart(vertex), end = inEnd(vertex); e < end; e++) {
+          action.accept(inSources.getInt(e));
+        }
+      }
+
+      @Override
+      public void forEachOutgoing(int vertex, IntLongConsumer action) {
+        for (long e = outStart(vertex), end = outEnd(vertex); e < end; e++) {
+          action.accept(outTargets.getInt(e), outWeights.getLong(e));
+        }
+      }
+
+      @Override
+      public void forEachIncoming(int vertex, IntLongConsumer action) {
+        for (long e = inStart(vertex), end = inEnd(vertex); e < end; e++) {
+          action.accept(inSources.getInt(e), inWeights.getLong(e));
+        }
+      }
+
+      @Override
+      public Cursor cursor() {
+        return new Cursor() {
+          @Override
+          public Cursor outgoing(int vertex) {
+            vertices = outTargets;
+            weights = outWeights;
+            entry = outStart(vertex) - 1;
+            end = outEnd(vertex);
+            return this;
+          }
+
+          @Override
+          public Cursor incoming(int vertex) {
+            vertices = inSources;
+            weights = inWeights;
+            entry = inStart(vertex) - 1;
+            end = inEnd(vertex);
+            return this;
+          }
+
+          @Override
+          public boolean next() {
+            return ++entry < end;
+          }
+
+          @Override
+          public int vertex() {
+            return vertices.getInt(entry);
+          }
+
+          @Override
+          public long weight() {
+            return weights.getLong(entry);
+          }
+
+          private MappedArray vertices;
+          private MappedArray weights;
+          private long entry;
+          private long end;
+        };
+      }
+    };
+  }
+
+  @Override
+  public Set<Integer> vertices() {
+    return new AbstractSet<>() {
+      @Override
+      public Iterator<Integer> iterator() {
+        return new Iterator<>() {
+          @Override
+          public boolean hasNext() {
+            return vertex < vertexCount;
+          }
+
+          @Override
+          public Integer next() {
+            if (vertex >= vertexCount) {
+              throw new NoSuchElementException("No more vertices");
+            }
+            return vertex++;
+          }
+
+          private int vertex = 0;
+        };
+      }
+
+      @Override
+      public boolean contains(Object o) {
+        return o instanceof Integer && MappedGraph.this.contains((Integer)o);
+      }
+
+      @Override
+      public int size() {
+        return vertexCount;
+      }
+    };
+  }
+
+  /**
+   * Returns the set of all incoming edges of the graph which, for undirected
+   * graphs, contains every edge in both orientations.
+   */
+  @Override
+  public Set<Edge<Integer, Long>> incoming() {
+    return outgoing();
+  }
+
+  /**
+   * Returns the set of all outgoing edges of the graph which, for undirected
+   * graphs, contains every edge in both orientations.
+   */
+  @Override
+  public Set<Edge<Integer, Long>> outgoing() {
+    return new EdgeSet(true, entryCount);
+  }
+
+  @Override
+  public Set<Edge<Integer, Long>> edges() {
+    return new EdgeSet(directed, edgeCount);
+  }
+
+  @Override
+  public Set<Edge<Integer, Long>> incoming(Integer vertex) {
+    if (!directed) {
+      return outgoing(vertex);
+    }
+    return contains(vertex) ? new AdjacencySet(vertex, false) : emptySet();
+  }
+
+  @Override
+  public Set<Edge<Integer, Long>> outgoing(Integer vertex) {
+    return contains(vertex) ? new AdjacencySet(vertex, true) : emptySet();
+  }
+
+  @Override
+  public boolean directed() {
+    return directed;
+  }
+
+  @Override
+  public Optional<Edge<Integer, Long>> edge(Integer v1, Integer v2) {
+    if (contains(v1) && contains(v2)) {
+      long entry = findOut(v1, v2);
+      if (entry != -1) {
+        return Optional.of(Edge.of(v1, outWeight(entry), v2));
+      }
+    }
+    return Optional.empty();
+  }
+
+  @Override
+  public int inDegree(Integer vertex) {
+    if (!contains(vertex)) {
+      return 0;
+    }
+    int degree = (int)(inEnd(vertex) - inStart(vertex));
+    if (!directed && findOut(vertex, vertex) != -1) {
+      // self-loop contribute 2 to degree in undirected graphs
+      degree += 1;
+    }
+    return degree;
+  }
+
+  @Override
+  public int outDegree(Integer vertex) {
+    if (!directed) {
+      return inDegree(vertex);
+    }
+    return contains(vertex) ? (int)(outEnd(vertex) - outStart(vertex)) : 0;
+  }
+
+  /**
+   * Returns a {@link CsrGraph} on the heap with the edges.
+   */
+  @Override
+  public Graph<Integer, Long> newGraph(Set<Edge<Integer, Long>> edges) {
+    return new CsrGraph<>(edges, directed);
+  }
+
+  @Override
+  public String toString() {
+    return edgeCount != 0  ? edges().toString()    :
+           vertexCount != 0 ? vertices().toString() : "";
+  }
+
+  private boolean contains(Integer vertex) {
+    return vertex != null && vertex >= 0 && vertex < vertexCount;
+  }
+
+  /**
+   * Returns the index of the first of the entries from `from` (inclusive) to `to`
+   * (exclusive), sorted by vertex, with the vertex, or -1 if there is none.
+   */
+  private static long find(MappedArray vertices, long from, long to, int vertex) {
+    long low = from;
+    long high = to;
+    while (low < high) {
+      long mid = (low + high) >>> 1;
+      if (vertices.getInt(mid) < vertex) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low < to && vertices.getInt(low) == vertex ? low : -1;
+  }
+
+  /**
+   * Whether the entries of the vertex, from the given index, include one
+   * to (or from) the other vertex with the weight.
+   */
+  private static boolean matches(MappedArray vertices, MappedArray weights, long entry, long end,
+                                 int other, Object weight) {
+    for (long e = entry; e != -1 && e < end && vertices.getInt(e) == other; e++) {
+      if (weight instanceof Long && weights.getLong(e) == (Long)weight) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * A view of the outgoing (or incoming) edges of a single vertex.
+   */
+  private class AdjacencySet extends AbstractSet<Edge<Integer, Long>> {
+    AdjacencySet(int vertex, boolean outgoing) {
+      this.vertex = vertex;
+      this.outgoing = outgoing;
+    }
+
+    @Override
+    public Iterator<Edge<Integer, Long>> iterator() {
+      return new Iterator<>() {
+        @Override
+        public boolean hasNext() {
+          return entry < end;
+        }
+
+        @Override
+        public Edge<Integer, Long> next() {
+          if (entry >= end) {
+            throw new NoSuchElementException("No more edges");
+          }
+          long e = entry++;
+          return outgoing
+               ? Edge.of(vertex, outWeight(e), outTarget(e))
+               : Edge.of(inSource(e), inWeight(e), vertex);
+        }
+
+        private long entry = outgoing ? outStart(vertex) : inStart(vertex);
+        private final long end = outgoing ? outEnd(vertex) : inEnd(vertex);
+      };
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      if (o instanceof Edge) {
+        Edge<?, ?> edge = (Edge<?, ?>)o;
+        if (edge.endPoint1 instanceof Integer && edge.endPoint2 instanceof Integer) {
+          int from = (Integer)edge.endPoint1;
+          int to = (Integer)edge.endPoint2;
+          if (MappedGraph.this.contains(from) && MappedGraph.this.contains(to)) {
+            if (outgoing) {
+              return from == vertex
+                  && matches(outTargets, outWeights, findOut(from, to), outEnd(from), to, edge.weight);
+            } else {
+              return to == vertex
+                  && matches(inSources, inWeights, find(inSources, inStart(to), inEnd(to), from),
+                             inEnd(to), from, edge.weight);
+            }
+          }
+        }
+      }
+      return false;
+    }
+
+    @Override
+    public int size() {
+      return outgoing ? (int)(outEnd(vertex) - outStart(vertex))
+                      : (int)(inEnd(vertex) - inStart(vertex));
+    }
+
+    private final int vertex;
+    private final boolean outgoing;
+  }
+
+  /**
+   * A view of all the edges of the graph. When `allEntries` is false, the entries
+   * of undirected edges at their endpoint with the higher id are skipped so that
+   * every edge is returned once.
+   */
+  private class EdgeSet extends AbstractSet<Edge<Integer, Long>> {
+    EdgeSet(boolean allEntries, long size) {
+      this.allEntries = allEntries;
+      this.size = size;
+    }
+
+    @Override
+    public Iterator<Edge<Integer, Long>> iterator() {
+      return new Iterator<>() {
+        @Override
+        public boolean hasNext() {
+          while (entry < entryCount) {
+            while (outEnd(vertex) <= entry) {
+              vertex++;
+            }
+            if (allEntries || outTarget(entry) >= vertex) {
+              return true;
+            }
+            entry++;
+          }
+          return false;
+        }
+
+        @Override
+        public Edge<Integer, Long> next() {
+          if (!hasNext()) {
+            throw new NoSuchElementException("No more edges");
+          }
+          long e = entry++;
+          return Edge.of(vertex, outWeight(e), outTarget(e));
+        }
+
+        private int vertex = 0;
+        private long entry = 0;
+      };
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      if (o instanceof Edge) {
+        Edge<?, ?> edge = (Edge<?, ?>)o;
+        if (edge.endPoint1 instanceof Integer && edge.endPoint2 instanceof Integer) {
+          int from = (Integer)edge.endPoint1;
+          int to = (Integer)edge.endPoint2;
+          return MappedGraph.this.contains(from)
+              && MappedGraph.this.contains(to)
+              && (allEntries || from <= to)
+              && matches(outTargets, outWeights, findOut(from, to), outEnd(from), to, edge.weight);
+        }
+      }
+      return false;
+    }
+
+    @Override
+    public int size() {
+      return (int)Math.min(size, Integer.MAX_VALUE);
+    }
+
+    private final boolean allEntries;
+    private final long size;
+  }
+
+  /**
+   * Size of the header of the file.
+   */
+  static final int HEADER_SIZE = 128;
+
+  static final int MAGIC = 0x4D475246;
+  static final int VERSION = 1;
+  static final int DIRECTED = 1;
+
+  private final boolean directed;
+  private final int vertexCount;
+  private final long entryCount;
+  private final long edgeCount;
+
+  /**
+   * Outgoing and incoming entries, as in {@link CsrGraph} (the incoming ones
+   * being the outgoing ones for undirected graphs).
+   */
+  private final MappedArray outOffsets;
+  private final MappedArray outTargets;
+  private final MappedArray outWeights;
+  private final MappedArray inOffsets;
+  private final MappedArray inSources;
+  private final MappedArray inWeights;
+}
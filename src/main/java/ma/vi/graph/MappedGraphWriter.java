@@ -0,0 +1,375 @@
+package ma.vi.graph;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Iterator;
+
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * <p>
+ * Writes a graph file to be read by {@link MappedGraph} from a stream of edges, using
+ * an amount of heap proportional to the number of vertices, and to the largest degree,
+ * but not to the number of edges. The edges added are appended to a temporary file
+ * next to the graph file while the degree of every vertex is counted. When the writer
+ * is {@link #commit() committed}, the graph is created with its final size in another
+ * temporary file next to the graph file and mapped in memory, the
+ * edges are read back and every edge is written directly at its place in the adjacency
+ * of its source (and, for undirected graphs, of its target), after which the adjacency
+ * of every vertex is sorted and its duplicate entries removed. For directed graphs, the
+ * incoming adjacency is then built by transposing the outgoing one. The temporary file
+ * finally replaces the graph file, atomically where the file system supports it.
+ * </p>
+ *
+ * <p>
+ * Closing a writer which has not been committed aborts it: the temporary files are
+ * deleted and the graph file, if it exists, is left as it was. Thus, with the usage
+ * below, a graph file is never replaced by the partial graph of a producer which
+ * failed with an exception.
+ * </p>
+ *
+ * <p>
+ * The vertices are the ints from 0 to the highest vertex of the edges added, or to
+ * the {@link #vertexCount(int)} set if it is higher; vertices without edges are thus
+ * isolated vertices of the graph. For undirected graphs, the edges from v1 to v2 and
+ * from v2 to v1 with the same weight are the same edge and can be added in either
+ * orientation. Edges added more than once are kept once.
+ * </p>
+ *
+ * <p>
+ * Typical usage:
+ * </p>
+ * <pre>
+ *   try (MappedGraphWriter writer = new MappedGraphWriter(file, true)) {
+ *     for (...) {
+ *       writer.add(source, weight, target);
+ *     }
+ *     writer.commit();
+ *   }
+ *   MappedGraph graph = MappedGraph.open(file);
+ * </pre>
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+public class MappedGraphWriter implements Closeable {
+  /**
+   * Creates a writer of a directed or undirected graph to the file, which is
+   * replaced if it exists once the writer is committed.
+   */
+  public MappedGraphWriter(Path file, boolean directed) throws IOException {
+    this.file = file;
+    this.directed = directed;
+    Path dir = file.toAbsolutePath().getParent();
+    this.edgeFile = Files.createTempFile(dir, file.getFileName().toString(), ".edges");
+    this.edges = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(edgeFile), 1 << 16));
+  }
+
+  /**
+   * Writes the graph to the file.
+   */
+  public static void write(Path file, Graph<Integer, ? extends Number> graph) throws IOException {
+    try (MappedGraphWriter writer = new MappedGraphWriter(file, graph.directed())) {
+      for (Integer vertex: graph.vertices()) {
+        writer.vertexCount(vertex + 1);
+      }
+      writer.addAll(graph.edges().iterator());
+      writer.commit();
+    }
+  }
+
+  /**
+   * Sets the minimum number of vertices of the graph.
+   */
+  public MappedGraphWriter vertexCount(int vertexCount) {
+    if (vertexCount > this.vertexCount) {
+      this.vertexCount = vertexCount;
+      grow(vertexCount);
+    }
+    return this;
+  }
+
+  /**
+   * Adds an edge from the source to the target with the weight.
+   *
+   * @throws IllegalArgumentException if the source or the target is negative.
+   */
+  public MappedGraphWriter add(int source, long weight, int target) throws IOException {
+    if (source < 0 || target < 0) {
+      throw new IllegalArgumentException("Vertices must be non-negative: " + source + " -> " + target);
+    }
+    vertexCount(Math.max(source, target) + 1);
+    edges.writeInt(source);
+    edges.writeInt(target);
+    edges.writeLong(weight);
+    degrees[source]++;
+    if (!directed && source != target) {
+      degrees[target]++;
+    }
+    edgeCount++;
+    return this;
+  }
+
+  /**
+   * Adds the edge, with a weight of 0 if its weight is null.
+   */
+  public MappedGraphWriter add(Edge<Integer, ? extends Number> edge) throws IOException {
+    return add(edge.endPoint1, edge.weight == null ? 0 : edge.weight.longValue(), edge.endPoint2);
+  }
+
+  /**
+   * Adds all the edges of the iterator.
+   */
+  public MappedGraphWriter addAll(Iterator<? extends Edge<Integer, ? extends Number>> edges) throws IOException {
+    while (edges.hasNext()) {
+      add(edges.next());
+    }
+    return this;
+  }
+
+  /**
+   * Writes the graph from the edges added to a temporary file which then replaces
+   * the graph file, and closes the writer. If this fails, the graph file is left
+   * unchanged.
+   *
+   * @throws IllegalStateException if the writer is closed.
+   */
+  public void commit() throws IOException {
+    if (closed) {
+      throw new IllegalStateException("The writer of " + file + " is closed");
+    }
+    closed = true;
+    Path graphFile = null;
+    try {
+      edges.close();
+      graphFile = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+      build(graphFile);
+      try {
+        Files.move(graphFile, file, ATOMIC_MOVE, REPLACE_EXISTING);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(graphFile, file, REPLACE_EXISTING);
+      }
+    } finally {
+      if (graphFile != null) {
+        Files.deleteIfExists(graphFile);
+      }
+      Files.deleteIfExists(edgeFile);
+    }
+  }
+
+  /**
+   * Aborts the writer if it has not been committed, deleting its temporary file
+   * and leaving the graph file unchanged; does nothing otherwise.
+   */
+  @Override
+  public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    try {
+      edges.close();
+    } finally {
+      Files.deleteIfExists(edgeFile);
+    }
+  }
+
+  private void build(Path file) throws IOException {
+    int n = vertexCount;
+    long[] offsets = new long[n + 1];
+    for (int v = 0; v < n; v++) {
+      offsets[v + 1] = offsets[v] + degrees[v];
+    }
+    degrees = null;
+    long entries = offsets[n];
+
+    /*
+     * Sections are laid out for all entries; the removal of duplicates
+     * may leave unused space at their end.
+     */
+    long outOffsetsPos = MappedGraph.HEADER_SIZE;
+    long outTargetsPos = outOffsetsPos + (n + 1L) * 8;
+    long outWeightsPos = align(outTargetsPos + entries * 4);
+    long end = outWeightsPos + entries * 8;
+    long inOffsetsPos = outOffsetsPos, inSourcesPos = outTargetsPos, inWeightsPos = outWeightsPos;
+    if (directed) {
+      inOffsetsPos = end;
+      inSourcesPos = inOffsetsPos + (n + 1L) * 8;
+      inWeightsPos = align(inSourcesPos + entries * 4);
+      end = inWeightsPos + entries * 8;
+    }
+
+    try (FileChannel channel = FileChannel.open(file, READ, WRITE, TRUNCATE_EXISTING)) {
+      channel.write(ByteBuffer.allocate(1), end - 1);
+
+      MappedArray targets = MappedArray.map(channel, READ_WRITE, outTargetsPos, entries, 2);
+      MappedArray weights = MappedArray.map(channel, READ_WRITE, outWeightsPos, entries, 3);
+      long[] position = Arrays.copyOf(offsets, n);
+      try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(edgeFile), 1 << 16))) {
+        for (long i = 0; i < edgeCount; i++) {
+          int source = in.readInt();
+          int target = in.readInt();
+          long weight = in.readLong();
+          long p = position[source]++;
+          targets.putInt(p, target);
+          weights.putLong(p, weight);
+          if (!directed && source != target) {
+            p = position[target]++;
+            targets.putInt(p, source);
+            weights.putLong(p, weight);
+          }
+        }
+      }
+
+      long size = sortAndCompact(targets, weights, offsets);
+      long edges = size;
+      if (!directed) {
+        long selfLoops = 0;
+        for (int v = 0; v < n; v++) {
+          for (long e = offsets[v]; e < offsets[v + 1]; e++) {
+            if (targets.getInt(e) == v) selfLoops++;
+          }
+        }
+        edges = (size + selfLoops) / 2;
+      }
+      MappedArray outOffsets = MappedArray.map(channel, READ_WRITE, outOffsetsPos, n + 1L, 3);
+      for (int v = 0; v <= n; v++) {
+        outOffsets.putLong(v, offsets[v]);
+      }
+      targets.force();
+      weights.force();
+      outOffsets.force();
+
+      if (directed) {
+        transpose(channel, n, size, offsets, targets, weights, inOffsetsPos, inSourcesPos, inWeightsPos);
+      }
+
+      ByteBuffer header = ByteBuffer.allocate(MappedGraph.HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+      header.putInt(MappedGraph.MAGIC)
+            .putInt(MappedGraph.VERSION)
+            .putInt(directed ? MappedGraph.DIRECTED : 0)
+            .putInt(n)
+            .putLong(size)
+            .putLong(edges)
+            .putLong(outOffsetsPos)
+            .putLong(outTargetsPos)
+            .putLong(outWeightsPos)
+            .putLong(inOffsetsPos)
+            .putLong(inSourcesPos)
+            .putLong(inWeightsPos);
+      header.clear();
+      channel.write(header, 0);
+      channel.force(true);
+    }
+  }
+
+  /**
+   * Sorts the entries of every vertex by target and weight, removes the duplicates
+   * and moves the entries left to fill the space of the removed ones, updating the
+   * offsets. Returns the number of entries left.
+   */
+  private static long sortAndCompact(MappedArray targets, MappedArray weights, long[] offsets) {
+    int n = offsets.length - 1;
+    long size = 0;
+    long[] vertexWeights = new long[0];
+    long[] sortedWeights = new long[0];
+    long[] order = new long[0];
+    for (int v = 0; v < n; v++) {
+      long start = offsets[v];
+      int degree = (int)(offsets[v + 1] - start);
+      offsets[v] = size;
+      if (degree > order.length) {
+        vertexWeights = new long[degree];
+        sortedWeights = new long[degree];
+        order = new long[degree];
+      }
+      for (int i = 0; i < degree; i++) {
+        vertexWeights[i] = weights.getLong(start + i);
+        order[i] = ((long)targets.getInt(start + i) << 32) | i;
+      }
+      Arrays.sort(order, 0, degree);
+
+      /*
+       * Sort the weights of the entries with the same target.
+       */
+      for (int i = 0; i < degree; i++) {
+        sortedWeights[i] = vertexWeights[(int)order[i]];
+      }
+      for (int i = 0, j; i < degree; i = j) {
+        for (j = i + 1; j < degree && (order[j] >>> 32) == (order[i] >>> 32); j++);
+        Arrays.sort(sortedWeights, i, j);
+      }
+      for (int i = 0; i < degree; i++) {
+        int target = (int)(order[i] >>> 32);
+        if (i == 0 || target != (int)(order[i - 1] >>> 32) || sortedWeights[i] != sortedWeights[i - 1]) {
+          targets.putInt(size, target);
+          weights.putLong(size, sortedWeights[i]);
+          size++;
+        }
+      }
+    }
+    offsets[n] = size;
+    return size;
+  }
+
+  /**
+   * Writes the incoming adjacency of a directed graph from its outgoing adjacency.
+   * Scanning the sources in order leaves the incoming entries of every vertex sorted
+   * by source and, for the same source, by weight.
+   */
+  private static void transpose(FileChannel channel, int n, long size, long[] outOffsets,
+                                MappedArray targets, MappedArray weights,
+                                long offsetsPos, long sourcesPos, long weightsPos) throws IOException {
+    long[] offsets = new long[n + 1];
+    for (long e = 0; e < size; e++) {
+      offsets[targets.getInt(e) + 1]++;
+    }
+    for (int v = 0; v < n; v++) {
+      offsets[v + 1] += offsets[v];
+    }
+    MappedArray sources = MappedArray.map(channel, READ_WRITE, sourcesPos, size, 2);
+    MappedArray inWeights = MappedArray.map(channel, READ_WRITE, weightsPos, size, 3);
+    long[] position = Arrays.copyOf(offsets, n);
+    for (int u = 0; u < n; u++) {
+      for (long e = outOffsets[u]; e < outOffsets[u + 1]; e++) {
+        long p = position[targets.getInt(e)]++;
+        sources.putInt(p, u);
+        inWeights.putLong(p, weights.getLong(e));
+      }
+    }
+    MappedArray inOffsets = MappedArray.map(channel, READ_WRITE, offsetsPos, n + 1L, 3);
+    for (int v = 0; v <= n; v++) {
+      inOffsets.putLong(v, offsets[v]);
+    }
+    sources.force();
+    inWeights.force();
+    inOffsets.force();
+  }
+
+  private void grow(int vertexCount) {
+    if (vertexCount > degrees.length) {
+      degrees = Arrays.copyOf(degrees, Math.max(vertexCount, (int)Math.min(Integer.MAX_VALUE - 8, degrees.length * 2L)));
+    }
+  }
+
+  private static long align(long position) {
+    return (position + 7) & ~7L;
+  }
+
+  private final Path file;
+  private final boolean directed;
+  private final Path edgeFile;
+  private final DataOutputStream edges;
+  private int[] degrees = new int[16];
+  private int vertexCount;
+  private long edgeCount;
+  private boolean closed;
+}
@@ -0,0 +1,306 @@
+package ma.vi.graph;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+import static java.util.Collections.emptySet;
+
+/**
+ * <p>
+ * A directed or undirected graph to which vertices and edges can be added and from
+ * which they can be removed after construction, in amortized constant time for the
+ * vertices and edges and in time proportional to the degree of the vertex when
+ * removing a vertex with its edges. The edges are kept in the same maps of vertices
+ * to incoming and outgoing edges as {@link DirectedGraph} and {@link UndirectedGraph},
+ * so that a mutable graph is equal to the directed or undirected graph created with
+ * the same edges, and the sets of all vertices and edges are maintained with every
+ * change instead of being computed once and cached.
+ * </p>
+ *
+ * <p>
+ * The sets returned by {@link #vertices()}, {@link #edges()}, {@link #incoming(Object)}
+ * and {@link #outgoing(Object)} are unmodifiable views which reflect the changes to the
+ * graph. Every change to the graph increments its modification count and the iterators
+ * of the views are fail-fast: they throw a {@link ConcurrentModificationException} if
+ * the graph is changed during the iteration other than through the iterator. As for
+ * undirected graphs, the edges from v1 to v2 and from v2 to v1 with the same weight are
+ * the same edge in an undirected mutable graph.
+ * </p>
+ *
+ * <p>
+ * This class is not thread-safe.
+ * </p>
+ *
+ * @param <V> The vertex type of the graph.
+ * @param <W> The weight type on the edges of the graph.
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+public class MutableGraph<V, W> extends AbstractGraph<V, W> {
+  /**
+   * Creates an empty directed or undirected graph.
+   */
+  public MutableGraph(boolean directed) {
+    super();
+    this.directed = directed;
+    this.edges = new LinkedHashSet<>();
+    this.vertices = new LinkedHashSet<>();
+    this.in = new HashMap<>();
+    this.out = new HashMap<>();
+  }
+
+  /**
+   * Creates a mutable copy of the graph, directed if the graph is directed.
+   */
+  public MutableGraph(Graph<V, W> graph) {
+    this(graph.directed());
+    for (V vertex: graph.vertices()) {
+      addVertex(vertex);
+    }
+    for (Edge<V, W> edge: graph.edges()) {
+      addEdge(edge);
+    }
+  }
+
+  /**
+   * Creates a graph from a set of edges with its vertices obtained
+   * from the endpoints of the edges.
+   */
+  public MutableGraph(boolean directed, Set<Edge<V, W>> edges) {
+    this(directed);
+    for (Edge<V, W> edge: edges) {
+      addEdge(edge);
+    }
+  }
+
+  /**
+   * Adds the vertex to the graph, returning false if it was already in the graph.
+   */
+  public boolean addVertex(V vertex) {
+    if (!vertices.add(vertex)) {
+      return false;
+    }
+    in.put(vertex, new HashSet<>());
+    out.put(vertex, new HashSet<>());
+    modCount++;
+    return true;
+  }
+
+  /**
+   * Adds the edge, and its endpoints if they are not already in the graph,
+   * returning false if the edge was already in the graph.
+   */
+  public boolean addEdge(Edge<V, W> edge) {
+    if (stored(edge) != null) {
+      return false;
+    }
+    addVertex(edge.endPoint1);
+    addVertex(edge.endPoint2);
+    edges.add(edge);
+    link(out, edge.endPoint1, edge);
+    if (directed) {
+      link(in, edge.endPoint2, edge);
+    } else {
+      Edge<V, W> reversed = reversed(edge);
+      link(out, edge.endPoint2, reversed);
+      link(in, edge.endPoint1, edge);
+      link(in, edge.endPoint2, reversed);
+    }
+    normalize(edge.endPoint1);
+    normalize(edge.endPoint2);
+    modCount++;
+    return true;
+  }
+
+  /**
+   * Adds an edge from v1 to v2 with the weight.
+   */
+  public boolean addEdge(V v1, W weight, V v2) {
+    return addEdge(Edge.of(v1, weight, v2));
+  }
+
+  /**
+   * Removes the edge from the graph, returning false if it was not in the graph.
+   * Its endpoints stay in the graph.
+   */
+  public boolean removeEdge(Edge<V, W> edge) {
+    Edge<V, W> stored = stored(edge);
+    if (stored == null) {
+      return false;
+    }
+    edges.remove(stored);
+    unlink(out, stored.endPoint1, stored);
+    if (directed) {
+      unlink(in, stored.endPoint2, stored);
+    } else {
+      Edge<V, W> reversed = reversed(stored);
+      unlink(out, stored.endPoint2, reversed);
+      unlink(in, stored.endPoint1, stored);
+      unlink(in, stored.endPoint2, reversed);
+    }
+    normalize(stored.endPoint1);
+    normalize(stored.endPoint2);
+    modCount++;
+    return true;
+  }
+
+  /**
+   * Removes the vertex and all edges to and from it, returning
+   * false if the vertex was not in the graph.
+   */
+  public boolean removeVertex(V vertex) {
+    if (!vertices.contains(vertex)) {
+      return false;
+    }
+    for (Edge<V, W> edge: new ArrayList<>(out.getOrDefault(vertex, emptySet()))) {
+      removeEdge(edge);
+    }
+    for (Edge<V, W> edge: new ArrayList<>(in.getOrDefault(vertex, emptySet()))) {
+      removeEdge(edge);
+    }
+    in.remove(vertex);
+    out.remove(vertex);
+    vertices.remove(vertex);
+    modCount++;
+    return true;
+  }
+
+  /**
+   * The number of changes made to the graph since its creation.
+   */
+  public int modCount() {
+    return modCount;
+  }
+
+  @Override
+  public boolean directed() {
+    return directed;
+  }
+
+  @Override
+  public Set<V> vertices() {
+    return new View<>(() -> vertices);
+  }
+
+  @Override
+  public Set<Edge<V, W>> edges() {
+    return new View<>(() -> edges);
+  }
+
+  @Override
+  public Set<Edge<V, W>> incoming(V vertex) {
+    return new View<>(() -> in.getOrDefault(vertex, emptySet()));
+  }
+
+  @Override
+  public Set<Edge<V, W>> outgoing(V vertex) {
+    return new View<>(() -> out.getOrDefault(vertex, emptySet()));
+  }
+
+  @Override
+  public MutableGraph<V, W> newGraph(Set<Edge<V, W>> edges) {
+    return new MutableGraph<>(directed, edges);
+  }
+
+  /**
+   * Returns the edge as stored in the graph, which for undirected graphs may be
+   * the edge in the reverse direction, or null if the edge is not in the graph.
+   */
+  private Edge<V, W> stored(Edge<V, W> edge) {
+    if (edges.contains(edge)) {
+      return edge;
+    }
+    if (!directed) {
+      Edge<V, W> reversed = reversed(edge);
+      if (edges.contains(reversed)) {
+        return reversed;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Keeps the maps of incoming and outgoing edges in the same form as for the graphs
+   * created from sets of edges: a vertex with edges only has an entry in the maps for
+   * which it has edges while a vertex without edges has an empty entry in both.
+   */
+  private void normalize(V vertex) {
+    Set<Edge<V, W>> incoming = in.get(vertex);
+    Set<Edge<V, W>> outgoing = out.get(vertex);
+    boolean noIncoming = incoming == null || incoming.isEmpty();
+    boolean noOutgoing = outgoing == null || outgoing.isEmpty();
+    if (noIncoming && noOutgoing) {
+      in.putIfAbsent(vertex, new HashSet<>());
+      out.putIfAbsent(vertex, new HashSet<>());
+    } else if (noIncoming) {
+      in.remove(vertex);
+    } else if (noOutgoing) {
+      out.remove(vertex);
+    }
+  }
+
+  private static <V, W> void link(Map<V, Set<Edge<V, W>>> edges, V vertex, Edge<V, W> edge) {
+    edges.computeIfAbsent(vertex, k -> new HashSet<>()).add(edge);
+  }
+
+  private static <V, W> void unlink(Map<V, Set<Edge<V, W>>> edges, V vertex, Edge<V, W> edge) {
+    Set<Edge<V, W>> vertexEdges = edges.get(vertex);
+    if (vertexEdges != null) {
+      vertexEdges.remove(edge);
+    }
+  }
+
+  private static <V, W> Edge<V, W> reversed(Edge<V, W> edge) {
+    return Edge.of(edge.endPoint2, edge.weight, edge.endPoint1);
+  }
+
+  /**
+   * An unmodifiable view of a set of the graph, obtained from the supplier on every
+   * access so that it follows the changes to the graph, with fail-fast iterators.
+   */
+  private class View<T> extends AbstractSet<T> {
+    View(Supplier<Set<T>> set) {
+      this.set = set;
+    }
+
+    @Override
+    public int size() {
+      return set.get().size();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      return set.get().contains(o);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+      Iterator<T> iterator = set.get().iterator();
+      int expectedModCount = modCount;
+      return new Iterator<>() {
+        @Override
+        public boolean hasNext() {
+          check();
+          return iterator.hasNext();
+        }
+
+        @Override
+        public T next() {
+          check();
+          return iterator.next();
+        }
+
+        private void check() {
+          if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+          }
+        }
+      };
+    }
+
+    private final Supplier<Set<T>> set;
+  }
+
+  private final boolean directed;
+  private int modCount;
+}
@@ -28,10 +28,12 @@ public class Path<V, W>
   }
 
   /**
-   * Creates a path from an ordered set of edges.
+   * Creates a path from an ordered set of edges. The path takes the set as is,
+   * without copying it, as paths are extended in the inner loop of explorations;
+   * the set must not be changed afterwards.
    */
   public Path(Long cost, LinkedHashSet<Edge<V, W>> edges) {
-    super(edges);
+    super(edges, false);
     List<Edge<V, W>> e = new ArrayList<>(edges);
     this.firstVertex = e.isEmpty() ? null : e.get(0).endPoint1;
     this.lastVertex = e.isEmpty() ? null : e.get(e.size() - 1).endPoint2;
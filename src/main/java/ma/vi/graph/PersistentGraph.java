@@ -0,0 +1,370 @@
+package ma.vi.graph;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * <p>
+ * An immutable directed or undirected graph where adding or removing a vertex or an
+ * edge returns a new version of the graph, in O(log n) time and space, which shares
+ * all its unchanged parts with the original. The vertices are the keys of a persistent
+ * hash map (a compressed hash-array mapped prefix tree, CHAMP) to their incoming and
+ * outgoing edges, which are themselves persistent sets, and the edges are kept in
+ * another such map where, for undirected graphs, the edges from v1 to v2 and from v2
+ * to v1 with the same weight are the same edge. A change copies only the path from
+ * the root of each map to the changed entry, leaving every existing version intact.
+ * </p>
+ *
+ * <p>
+ * Every version is a consistent snapshot which can be read by any number of threads
+ * without locks while new versions are created from it: a writer publishes the latest
+ * version (e.g., through an {@link java.util.concurrent.atomic.AtomicReference}) and
+ * readers run their explorations and algorithms on the version current when they
+ * started (multi-version concurrency control), never seeing a partial change.
+ * {@link #newGraph(Set)}, used by algorithms to return subgraphs, also applies only
+ * the difference between the edges of this graph and the new edges when most of the
+ * edges are kept, so that it costs O(m) lookups and O(d log n) changes for d added
+ * or removed edges instead of building a new graph.
+ * </p>
+ *
+ * <p>
+ * The sets returned by the graph are unmodifiable and, since the graph never changes,
+ * are stable: they can be iterated while new versions are being created.
+ * </p>
+ *
+ * @param <V> The vertex type of the graph.
+ * @param <W> The weight type on the edges of the graph.
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+public class PersistentGraph<V, W> implements Graph<V, W> {
+  /**
+   * Creates a graph from a set of edges with its vertices obtained
+   * from the endpoints of the edges.
+   */
+  public PersistentGraph(boolean directed, Set<Edge<V, W>> edges) {
+    PersistentGraph<V, W> graph = empty(directed);
+    for (Edge<V, W> edge: edges) {
+      graph = graph.withEdge(edge);
+    }
+    this.directed = directed;
+    this.adjacency = graph.adjacency;
+    this.edges = graph.edges;
+  }
+
+  /**
+   * Creates a persistent copy of the graph, directed if the graph is directed.
+   */
+  public PersistentGraph(Graph<V, W> graph) {
+    PersistentGraph<V, W> copy = empty(graph.directed());
+    for (V vertex: graph.vertices()) {
+      copy = copy.withVertex(vertex);
+    }
+    for (Edge<V, W> edge: graph.edges()) {
+      copy = copy.withEdge(edge);
+    }
+    this.directed = copy.directed;
+    this.adjacency = copy.adjacency;
+    this.edges = copy.edges;
+  }
+
+  private PersistentGraph(boolean directed,
+                          PersistentMap<V, Adjacency<V, W>> adjacency,
+                          PersistentMap<Object, Edge<V, W>> edges) {
+    this.directed = directed;
+    this.adjacency = adjacency;
+    this.edges = edges;
+  }
+
+  /**
+   * An empty directed or undirected graph.
+   */
+  public static <V, W> PersistentGraph<V, W> empty(boolean directed) {
+    return new PersistentGraph<>(directed, PersistentMap.empty(), PersistentMap.empty());
+  }
+
+  /**
+   * Returns a graph with the vertex, or this graph if the vertex is already in it.
+   */
+  public PersistentGraph<V, W> withVertex(V vertex) {
+    if (adjacency.containsKey(vertex)) {
+      return this;
+    }
+    return new PersistentGraph<>(directed, adjacency.put(vertex, Adjacency.empty()), edges);
+  }
+
+  /**
+   * Returns a graph with the edge, and its endpoints if they are not already in
+   * this graph, or this graph if the edge is already in it.
+   */
+  public PersistentGraph<V, W> withEdge(Edge<V, W> edge) {
+    Object key = key(edge);
+    if (edges.containsKey(key)) {
+      return this;
+    }
+    PersistentMap<V, Adjacency<V, W>> adjacency = this.adjacency;
+    adjacency = update(adjacency, edge.endPoint1, a -> a.withOut(edge));
+    if (directed) {
+      adjacency = update(adjacency, edge.endPoint2, a -> a.withIn(edge));
+    } else {
+      Edge<V, W> reversed = reversed(edge);
+      adjacency = update(adjacency, edge.endPoint1, a -> a.withIn(edge));
+      adjacency = update(adjacency, edge.endPoint2, a -> a.withOut(reversed).withIn(reversed));
+    }
+    return new PersistentGraph<>(directed, adjacency, edges.put(key, edge));
+  }
+
+  /**
+   * Returns a graph with an edge from v1 to v2 with the weight.
+   */
+  public PersistentGraph<V, W> withEdge(V v1, W weight, V v2) {
+    return withEdge(Edge.of(v1, weight, v2));
+  }
+
+  /**
+   * Returns a graph without the edge, or this graph if the edge is not in it.
+   * The endpoints of the edge stay in the graph.
+   */
+  public PersistentGraph<V, W> withoutEdge(Edge<V, W> edge) {
+    Object key = key(edge);
+    Edge<V, W> stored = edges.get(key);
+    if (stored == null) {
+      return this;
+    }
+    PersistentMap<V, Adjacency<V, W>> adjacency = this.adjacency;
+    adjacency = update(adjacency, stored.endPoint1, a -> a.withoutOut(stored));
+    if (directed) {
+      adjacency = update(adjacency, stored.endPoint2, a -> a.withoutIn(stored));
+    } else {
+      Edge<V, W> reversed = reversed(stored);
+      adjacency = update(adjacency, stored.endPoint1, a -> a.withoutIn(stored));
+      adjacency = update(adjacency, stored.endPoint2, a -> a.withoutOut(reversed).withoutIn(reversed));
+    }
+    return new PersistentGraph<>(directed, adjacency, edges.remove(key));
+  }
+
+  /**
+   * Returns a graph without the vertex and all edges to and from it,
+   * or this graph if the vertex is not in it.
+   */
+  public PersistentGraph<V, W> withoutVertex(V vertex) {
+    Adjacency<V, W> vertexAdjacency = adjacency.get(vertex);
+    if (vertexAdjacency == null) {
+      return this;
+    }
+    PersistentGraph<V, W> graph = this;
+    for (Map.Entry<Edge<V, W>, Edge<V, W>> edge: vertexAdjacency.out) {
+      graph = graph.withoutEdge(edge.getKey());
+    }
+    for (Map.Entry<Edge<V, W>, Edge<V, W>> edge: vertexAdjacency.in) {
+      graph = graph.withoutEdge(edge.getKey());
+    }
+    return new PersistentGraph<>(directed, graph.adjacency.remove(vertex), graph.edges);
+  }
+
+  @Override
+  public Set<V> vertices() {
+    return new MapSet<>(adjacency, true);
+  }
+
+  @Override
+  public Set<Edge<V, W>> incoming() {
+    return edges();
+  }
+
+  @Override
+  public Set<Edge<V, W>> outgoing() {
+    return edges();
+  }
+
+  @Override
+  public Set<Edge<V, W>> edges() {
+    return new AbstractSet<>() {
+      @Override
+      public Iterator<Edge<V, W>> iterator() {
+        return new MapSet<Edge<V, W>>(edges, false).iterator();
+      }
+
+      @Override
+      public int size() {
+        return edges.size();
+      }
+
+      @Override
+      @SuppressWarnings("unchecked")
+      public boolean contains(Object o) {
+        return o instanceof Edge && o.equals(edges.get(key((Edge<V, W>)o)));
+      }
+    };
+  }
+
+  @Override
+  public Set<Edge<V, W>> incoming(V vertex) {
+    Adjacency<V, W> vertexAdjacency = adjacency.get(vertex);
+    return vertexAdjacency == null ? Collections.emptySet() : new MapSet<>(vertexAdjacency.in, true);
+  }
+
+  @Override
+  public Set<Edge<V, W>> outgoing(V vertex) {
+    Adjacency<V, W> vertexAdjacency = adjacency.get(vertex);
+    return vertexAdjacency == null ? Collections.emptySet() : new MapSet<>(vertexAdjacency.out, true);
+  }
+
+  @Override
+  public boolean directed() {
+    return directed;
+  }
+
+  /**
+   * Returns a graph with the edges and their endpoints only. When the new edges
+   * include at least half of the edges of this graph, the graph is derived from
+   * this one by removing the edges not in the new set, adding the new edges which
+   * are not in this graph and removing the vertices left without edges; otherwise
+   * it is built from the edges.
+   */
+  @Override
+  public PersistentGraph<V, W> newGraph(Set<Edge<V, W>> edges) {
+    if (edges.size() < this.edges.size() / 2) {
+      return new PersistentGraph<>(directed, edges);
+    }
+    PersistentGraph<V, W> graph = this;
+    for (Edge<V, W> edge: edges()) {
+      if (!edges.contains(edge) && (directed || !edges.contains(reversed(edge)))) {
+        graph = graph.withoutEdge(edge);
+      }
+    }
+    for (Edge<V, W> edge: edges) {
+      graph = graph.withEdge(edge);
+    }
+    for (Map.Entry<V, Adjacency<V, W>> vertex: graph.adjacency) {
+      if (vertex.getValue().in.isEmpty() && vertex.getValue().out.isEmpty()) {
+        graph = new PersistentGraph<>(directed, graph.adjacency.remove(vertex.getKey()), graph.edges);
+      }
+    }
+    return graph;
+  }
+
+  /**
+   * Two persistent graphs are equal if both are directed or undirected
+   * and have the same vertices and edges.
+   */
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (!(o instanceof PersistentGraph)) return false;
+    PersistentGraph<?, ?> that = (PersistentGraph<?, ?>)o;
+    return directed == that.directed
+        && vertices().equals(that.vertices())
+        && edges().equals(that.edges());
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(directed, vertices(), edges());
+  }
+
+  @Override
+  public String toString() {
+    return Graph.toString(this);
+  }
+
+  private static <V, W> PersistentMap<V, Adjacency<V, W>> update(PersistentMap<V, Adjacency<V, W>> adjacency,
+                                                                 V vertex,
+                                                                 Function<Adjacency<V, W>, Adjacency<V, W>> change) {
+    Adjacency<V, W> vertexAdjacency = adjacency.get(vertex);
+    return adjacency.put(vertex, change.apply(vertexAdjacency == null ? Adjacency.empty() : vertexAdjacency));
+  }
+
+  private static <V, W> Edge<V, W> reversed(Edge<V, W> edge) {
+    return Edge.of(edge.endPoint2, edge.weight, edge.endPoint1);
+  }
+
+  /**
+   * The key of the edge in the map of edges: the edge itself for directed graphs
+   * and a key equal for both orientations of the edge for undirected graphs.
+   */
+  private Object key(Edge<V, W> edge) {
+    return directed ? edge : new UndirectedEdgeKey(edge);
+  }
+
+  /**
+   * The incoming and outgoing edges of a vertex, as persistent maps of the edges to themselves.
+   */
+  private static class Adjacency<V, W> {
+    Adjacency(PersistentMap<Edge<V, W>, Edge<V, W>> in, PersistentMap<Edge<V, W>, Edge<V, W>> out) {
+      this.in = in;
+      this.out = out;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <V, W> Adjacency<V, W> empty() {
+      return (Adjacency<V, W>)EMPTY;
+    }
+
+    Adjacency<V, W> withIn(Edge<V, W> edge) {
+      return new Adjacency<>(in.put(edge, edge), out);
+    }
+
+    Adjacency<V, W> withOut(Edge<V, W> edge) {
+      return new Adjacency<>(in, out.put(edge, edge));
+    }
+
+    Adjacency<V, W> withoutIn(Edge<V, W> edge) {
+      return new Adjacency<>(in.remove(edge), out);
+    }
+
+    Adjacency<V, W> withoutOut(Edge<V, W> edge) {
+      return new Adjacency<>(in, out.remove(edge));
+    }
+
+    private static final Adjacency<?, ?> EMPTY = new Adjacency<>(PersistentMap.empty(), PersistentMap.empty());
+
+    final PersistentMap<Edge<V, W>, Edge<V, W>> in;
+    final PersistentMap<Edge<V, W>, Edge<V, W>> out;
+  }
+
+  /**
+   * An unmodifiable set of the keys (or values) of a persistent map.
+   */
+  private static class MapSet<T> extends AbstractSet<T> {
+    MapSet(PersistentMap<?, ?> map, boolean keys) {
+      this.map = map;
+      this.keys = keys;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+      Iterator<? extends Map.Entry<?, ?>> entries = map.iterator();
+      return new Iterator<>() {
+        @Override
+        public boolean hasNext() {
+          return entries.hasNext();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T next() {
+          Map.Entry<?, ?> entry = entries.next();
+          return (T)(keys ? entry.getKey() : entry.getValue());
+        }
+      };
+    }
+
+    @Override
+    public int size() {
+      return map.size();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+      return keys ? o != null && map.containsKey(o) : super.contains(o);
+    }
+
+    private final PersistentMap<?, ?> map;
+    private final boolean keys;
+  }
+
+  private final boolean directed;
+  private final PersistentMap<V, Adjacency<V, W>> adjacency;
+  private final PersistentMap<Object, Edge<V, W>> edges;
+}
@@ -0,0 +1,408 @@
+package ma.vi.graph;
+
+import java.util.*;
+
+/**
+ * <p>
+ * An immutable hash map where adding or removing a key returns a new map sharing all
+ * but O(log n) of its structure with the original, used by {@link PersistentGraph}.
+ * The map is a compressed hash-array mapped prefix tree (CHAMP, Steindorfer &amp; Vinju,
+ * 2015): every node covers 5 bits of the hashes of its keys and holds two bitmaps of
+ * these 5-bit fragments, one for the keys stored directly in the node and one for the
+ * child nodes, and a single array with the keys and values followed by the children.
+ * Keys whose hashes are equal in all bits are kept in a collision node. A node left with
+ * a single key after a removal is inlined in its parent, so that the tree is always in
+ * the same, minimal, form for the same keys.
+ * </p>
+ *
+ * <p>
+ * Values must not be null.
+ * </p>
+ *
+ * @param <K> The type of the keys.
+ * @param <V> The type of the values.
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+final class PersistentMap<K, V> implements Iterable<Map.Entry<K, V>> {
+  private PersistentMap(Node root, int size) {
+    this.root = root;
+    this.size = size;
+  }
+
+  @SuppressWarnings("unchecked")
+  static <K, V> PersistentMap<K, V> empty() {
+    return (PersistentMap<K, V>)EMPTY;
+  }
+
+  int size() {
+    return size;
+  }
+
+  boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * The value of the key or null if the key is not in the map.
+   */
+  @SuppressWarnings("unchecked")
+  V get(Object key) {
+    return (V)root.get(key, hash(key), 0);
+  }
+
+  boolean containsKey(Object key) {
+    return get(key) != null;
+  }
+
+  /**
+   * Returns a map with the key set to the value, or this map if the
+   * key is already set to an equal value.
+   */
+  PersistentMap<K, V> put(K key, V value) {
+    Objects.requireNonNull(value);
+    Change change = new Change();
+    Node root = this.root.put(key, value, hash(key), 0, change);
+    return root == this.root ? this : new PersistentMap<>(root, change.added ? size + 1 : size);
+  }
+
+  /**
+   * Returns a map without the key, or this map if the key is not in the map.
+   */
+  PersistentMap<K, V> remove(Object key) {
+    Change change = new Change();
+    Node root = this.root.remove(key, hash(key), 0, change);
+    return change.removed ? new PersistentMap<>(root, size - 1) : this;
+  }
+
+  @Override
+  public Iterator<Map.Entry<K, V>> iterator() {
+    return new Iterator<>() {
+      @Override
+      public boolean hasNext() {
+        return current != null;
+      }
+
+      @Override
+      @SuppressWarnings("unchecked")
+      public Map.Entry<K, V> next() {
+        if (current == null) {
+          throw new NoSuchElementException();
+        }
+        Map.Entry<K, V> entry = new AbstractMap.SimpleImmutableEntry<>((K)current.key(position),
+                                                                      (V)current.value(position));
+        position++;
+        advance();
+        return entry;
+      }
+
+      /**
+       * Moves to the next node with keys, depth-first, if all keys of
+       * the current node have been returned.
+       */
+      private void advance() {
+        while (current == null || position >= current.dataCount()) {
+          if (pending.isEmpty()) {
+            current = null;
+            return;
+          }
+          current = pending.pop();
+          position = 0;
+          for (int i = current.nodeCount() - 1; i >= 0; i--) {
+            pending.push(current.node(i));
+          }
+        }
+      }
+
+      private final Deque<Node> pending = new ArrayDeque<>(List.of(root));
+      private Node current;
+      private int position;
+
+      {
+        advance();
+      }
+    };
+  }
+
+  private static int hash(Object key) {
+    int h = key.hashCode();
+    return h ^ (h >>> 16);
+  }
+
+  /**
+   * Records whether an update added or removed a key.
+   */
+  private static class Change {
+    boolean added;
+    boolean removed;
+  }
+
+  private abstract static class Node {
+    abstract Object get(Object key, int hash, int shift);
+
+    abstract Node put(Object key, Object value, int hash, int shift, Change change);
+
+    abstract Node remove(Object key, int hash, int shift, Change change);
+
+    abstract int dataCount();
+
+    abstract int nodeCount();
+
+    abstract Object key(int i);
+
+    abstract Object value(int i);
+
+    abstract Node node(int i);
+  }
+
+  private static final class BitmapNode extends Node {
+    BitmapNode(int dataMap, int nodeMap, Object[] content) {
+      this.dataMap = dataMap;
+      this.nodeMap = nodeMap;
+      this.content = content;
+    }
+
+    @Override
+    Object get(Object key, int hash, int shift) {
+      int bit = bit(hash, shift);
+      if ((dataMap & bit) != 0) {
+        int i = index(dataMap, bit);
+        return key(i).equals(key) ? value(i) : null;
+      }
+      if ((nodeMap & bit) != 0) {
+        return node(index(nodeMap, bit)).get(key, hash, shift + 5);
+      }
+      return null;
+    }
+
+    @Override
+    Node put(Object key, Object value, int hash, int shift, Change change) {
+      int bit = bit(hash, shift);
+      if ((dataMap & bit) != 0) {
+        int i = index(dataMap, bit);
+        Object existing = key(i);
+        if (existing.equals(key)) {
+          if (value(i).equals(value)) {
+            return this;
+          }
+          Object[] content = this.content.clone();
+          content[2 * i + 1] = value;
+          return new BitmapNode(dataMap, nodeMap, content);
+        }
+        /*
+         * Two keys with the same fragment: move the existing key
+         * and the new one to a new child node.
+         */
+        change.added = true;
+        Node child = merge(existing, value(i), PersistentMap.hash(existing), key, value, hash, shift + 5);
+        Object[] content = new Object[this.content.length - 1];
+        int newNodeMap = nodeMap | bit;
+        int n = index(newNodeMap, bit);
+        System.arraycopy(this.content, 0, content, 0, 2 * i);
+        System.arraycopy(this.content, 2 * i + 2, content, 2 * i, this.content.length - 2 * i - 2 - n);
+        content[content.length - 1 - n] = child;
+        System.arraycopy(this.content, this.content.length - n, content, content.length - n, n);
+        return new BitmapNode(dataMap ^ bit, newNodeMap, content);
+      }
+      if ((nodeMap & bit) != 0) {
+        int n = index(nodeMap, bit);
+        Node child = node(n);
+        Node updated = child.put(key, value, hash, shift + 5, change);
+        if (updated == child) {
+          return this;
+        }
+        Object[] content = this.content.clone();
+        content[content.length - 1 - n] = updated;
+        return new BitmapNode(dataMap, nodeMap, content);
+      }
+      change.added = true;
+      int i = index(dataMap, bit);
+      Object[] content = new Object[this.content.length + 2];
+      System.arraycopy(this.content, 0, content, 0, 2 * i);
+      content[2 * i] = key;
+      content[2 * i + 1] = value;
+      System.arraycopy(this.content, 2 * i, content, 2 * i + 2, this.content.length - 2 * i);
+      return new BitmapNode(dataMap | bit, nodeMap, content);
+    }
+
+    @Override
+    Node remove(Object key, int hash, int shift, Change change) {
+      int bit = bit(hash, shift);
+      if ((dataMap & bit) != 0) {
+        int i = index(dataMap, bit);
+        if (!key(i).equals(key)) {
+          return this;
+        }
+        change.removed = true;
+        Object[] content = new Object[this.content.length - 2];
+        System.arraycopy(this.content, 0, content, 0, 2 * i);
+        System.arraycopy(this.content, 2 * i + 2, content, 2 * i, this.content.length - 2 * i - 2);
+        return new BitmapNode(dataMap ^ bit, nodeMap, content);
+      }
+      if ((nodeMap & bit) != 0) {
+        int n = index(nodeMap, bit);
+        Node child = node(n);
+        Node updated = child.remove(key, hash, shift + 5, change);
+        if (!change.removed) {
+          return this;
+        }
+        if (updated.nodeCount() == 0 && updated.dataCount() == 1) {
+          /*
+           * Inline the single key left in the child.
+           */
+          int newDataMap = dataMap | bit;
+          int i = index(newDataMap, bit);
+          Object[] content = new Object[this.content.length + 1];
+          System.arraycopy(this.content, 0, content, 0, 2 * i);
+          content[2 * i] = updated.key(0);
+          content[2 * i + 1] = updated.value(0);
+          System.arraycopy(this.content, 2 * i, content, 2 * i + 2, this.content.length - 2 * i - 1 - n);
+          System.arraycopy(this.content, this.content.length - n, content, content.length - n, n);
+          return new BitmapNode(newDataMap, nodeMap ^ bit, content);
+        }
+        Object[] content = this.content.clone();
+        content[content.length - 1 - n] = updated;
+        return new BitmapNode(dataMap, nodeMap, content);
+      }
+      return this;
+    }
+
+    @Override
+    int dataCount() {
+      return Integer.bitCount(dataMap);
+    }
+
+    @Override
+    int nodeCount() {
+      return Integer.bitCount(nodeMap);
+    }
+
+    @Override
+    Object key(int i) {
+      return content[2 * i];
+    }
+
+    @Override
+    Object value(int i) {
+      return content[2 * i + 1];
+    }
+
+    @Override
+    Node node(int i) {
+      return (Node)content[content.length - 1 - i];
+    }
+
+    private static int bit(int hash, int shift) {
+      return 1 << ((hash >>> shift) & 31);
+    }
+
+    private static int index(int bitmap, int bit) {
+      return Integer.bitCount(bitmap & (bit - 1));
+    }
+
+    /**
+     * A node with the two keys, at the level of the shift.
+     */
+    private static Node merge(Object key1, Object value1, int hash1,
+                              Object key2, Object value2, int hash2, int shift) {
+      if (shift > 30) {
+        return new CollisionNode(new Object[]{key1, value1, key2, value2});
+      }
+      int bit1 = bit(hash1, shift);
+      int bit2 = bit(hash2, shift);
+      if (bit1 == bit2) {
+        return new BitmapNode(0, bit1, new Object[]{merge(key1, value1, hash1, key2, value2, hash2, shift + 5)});
+      }
+      return Integer.compareUnsigned(bit1, bit2) < 0 ? new BitmapNode(bit1 | bit2, 0, new Object[]{key1, value1, key2, value2})
+                                                     : new BitmapNode(bit1 | bit2, 0, new Object[]{key2, value2, key1, value1});
+    }
+
+    private final int dataMap;
+    private final int nodeMap;
+    private final Object[] content;
+  }
+
+  /**
+   * The keys with the same hash, in all bits.
+   */
+  private static final class CollisionNode extends Node {
+    CollisionNode(Object[] content) {
+      this.content = content;
+    }
+
+    @Override
+    Object get(Object key, int hash, int shift) {
+      for (int i = 0; i < content.length; i += 2) {
+        if (content[i].equals(key)) {
+          return content[i + 1];
+        }
+      }
+      return null;
+    }
+
+    @Override
+    Node put(Object key, Object value, int hash, int shift, Change change) {
+      for (int i = 0; i < content.length; i += 2) {
+        if (content[i].equals(key)) {
+          if (content[i + 1].equals(value)) {
+            return this;
+          }
+          Object[] content = this.content.clone();
+          content[i + 1] = value;
+          return new CollisionNode(content);
+        }
+      }
+      change.added = true;
+      Object[] content = Arrays.copyOf(this.content, this.content.length + 2);
+      content[content.length - 2] = key;
+      content[content.length - 1] = value;
+      return new CollisionNode(content);
+    }
+
+    @Override
+    Node remove(Object key, int hash, int shift, Change change) {
+      for (int i = 0; i < content.length; i += 2) {
+        if (content[i].equals(key)) {
+          change.removed = true;
+          Object[] content = new Object[this.content.length - 2];
+          System.arraycopy(this.content, 0, content, 0, i);
+          System.arraycopy(this.content, i + 2, content, i, this.content.length - i - 2);
+          return new CollisionNode(content);
+        }
+      }
+      return this;
+    }
+
+    @Override
+    int dataCount() {
+      return content.length / 2;
+    }
+
+    @Override
+    int nodeCount() {
+      return 0;
+    }
+
+    @Override
+    Object key(int i) {
+      return content[2 * i];
+    }
+
+    @Override
+    Object value(int i) {
+      return content[2 * i + 1];
+    }
+
+    @Override
+    Node node(int i) {
+      throw new IndexOutOfBoundsException();
+    }
+
+    private final Object[] content;
+  }
+
+  private static final PersistentMap<?, ?> EMPTY = new PersistentMap<>(new BitmapNode(0, 0, new Object[0]), 0);
+
+  private final Node root;
+  private final int size;
+}
@@ -0,0 +1,39 @@
+package ma.vi.graph;
+
+import java.util.Objects;
+
+/**
+ * A key equal for both orientations of an undirected edge, used by the graphs
+ * which keep their edges in maps and by the algorithms keeping sets of edges
+ * whose direction is ignored.
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+public final class UndirectedEdgeKey {
+  public UndirectedEdgeKey(Edge<?, ?> edge) {
+    this.edge = edge;
+  }
+
+  /**
+   * The edge of this key, in the orientation it was created with.
+   */
+  public Edge<?, ?> edge() {
+    return edge;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (!(o instanceof UndirectedEdgeKey)) return false;
+    Edge<?, ?> that = ((UndirectedEdgeKey)o).edge;
+    return Objects.equals(edge.weight, that.weight)
+        && ((edge.endPoint1.equals(that.endPoint1) && edge.endPoint2.equals(that.endPoint2))
+         || (edge.endPoint1.equals(that.endPoint2) && edge.endPoint2.equals(that.endPoint1)));
+  }
+
+  @Override
+  public int hashCode() {
+    return (edge.endPoint1.hashCode() + edge.endPoint2.hashCode()) * 31 + Objects.hashCode(edge.weight);
+  }
+
+  private final Edge<?, ?> edge;
+}
@@ -1,6 +1,7 @@
 package ma.vi.graph;
 
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Optional;
 import java.util.Set;
 
@@ -28,16 +29,17 @@ public class UndirectedGraph<V, W> extends AbstractGraph<V, W> {
 
   /**
    * Creates a graph from a set of edges with its vertices obtained
-   * from the endpoints of the edges.
+   * from the endpoints of the edges. The edges are copied so that
+   * later changes to the set do not change the graph.
    */
   public UndirectedGraph(Set<Edge<V, W>> edges) {
-    super(edges);
+    super(new LinkedHashSet<>(edges));
     for (Edge<V, W> e: edges) {
       Edge<V, W> reversed = Edge.of(e.endPoint2, e.weight, e.endPoint1);
-      out.computeIfAbsent(e.endPoint1, k -> new HashSet<>()).add(e);
-      out.computeIfAbsent(e.endPoint2, k -> new HashSet<>()).add(reversed);
-      in.computeIfAbsent(e.endPoint1, k -> new HashSet<>()).add(e);
-      in.computeIfAbsent(e.endPoint2, k -> new HashSet<>()).add(reversed);
+      writableOut().computeIfAbsent(e.endPoint1, k -> new HashSet<>()).add(e);
+      writableOut().computeIfAbsent(e.endPoint2, k -> new HashSet<>()).add(reversed);
+      writableIn().computeIfAbsent(e.endPoint1, k -> new HashSet<>()).add(e);
+      writableIn().computeIfAbsent(e.endPoint2, k -> new HashSet<>()).add(reversed);
     }
   }
 
@@ -0,0 +1,138 @@
+package ma.vi.graph.algo;
+
+import ma.vi.graph.Path;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>
+ * Base class of path-queues returning paths in minimum-cost order for monotone
+ * costs: the cost of a path added to the queue must not be less than the cost of
+ * the last path returned by the queue, and costs must not be negative. This holds
+ * for minimum-cost exploration with non-negative edge weights and for A* search
+ * with a consistent heuristic.
+ * </p>
+ *
+ * <p>
+ * At most one path per end vertex is live in the queue. Replacing or removing the
+ * path ending at a vertex leaves its previous entry in the underlying structure,
+ * which is skipped when reached (lazy deletion), so that subclasses only need to
+ * push entries and pop the entry of minimum cost.
+ * </p>
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+public abstract class AbstractMonotonePathQueue<V, W> implements PathQueue<V, W> {
+  @Override
+  public void add(Path<V, W> path) {
+    V vertex = path.lastVertex().orElse(null);
+    long cost = cost(path);
+    Path<V, W> existing = live.get(vertex);
+    if (existing == null || cost < cost(existing)) {
+      checkMonotone(path, cost);
+      live.put(vertex, path);
+      push(path, cost);
+    }
+  }
+
+  @Override
+  public void decreaseKey(Path<V, W> path) {
+    long cost = cost(path);
+    checkMonotone(path, cost);
+    live.put(path.lastVertex().orElse(null), path);
+    push(path, cost);
+  }
+
+  @Override
+  public boolean remove(Path<V, W> path) {
+    V vertex = path.lastVertex().orElse(null);
+    if (live.containsKey(vertex)) {
+      live.remove(vertex);
+      return true;
+    }
+    return false;
+  }
+
+  @Override
+  public boolean hasPathEndingAt(V vertex) {
+    return live.containsKey(vertex);
+  }
+
+  @Override
+  public Path<V, W> pathEndingAt(V vertex) {
+    return live.get(vertex);
+  }
+
+  @Override
+  public int size() {
+    return live.size();
+  }
+
+  @Override
+  public boolean hasNext() {
+    return !live.isEmpty();
+  }
+
+  @Override
+  public Path<V, W> next() {
+    if (live.isEmpty()) {
+      throw new NoSuchElementException("Path queue is empty");
+    }
+    while (true) {
+      Path<V, W> path = pop();
+      V vertex = path.lastVertex().orElse(null);
+      if (live.get(vertex) == path) {
+        live.remove(vertex);
+        return path;
+      }
+    }
+  }
+
+  @Override
+  public void clear() {
+    live.clear();
+    last = 0;
+    clearEntries();
+  }
+
+  /**
+   * Adds an entry for the path with the given cost, which is not less than {@link #last}.
+   */
+  protected abstract void push(Path<V, W> path, long cost);
+
+  /**
+   * Removes and returns an entry of minimum cost, setting {@link #last} to its
+   * cost. Only called when there is at least one live entry; the entry returned
+   * may be stale.
+   */
+  protected abstract Path<V, W> pop();
+
+  /**
+   * Removes all entries from the underlying structure.
+   */
+  protected abstract void clearEntries();
+
+  protected static long cost(Path<?, ?> path) {
+    return path.cost() == null ? 0 : path.cost();
+  }
+
+  private void checkMonotone(Path<V, W> path, long cost) {
+    if (cost < last) {
+      throw new IllegalArgumentException("Cost of path " + path + " is less than the cost "
+                                       + last + " of the last path removed from this monotone queue");
+    }
+  }
+
+  /**
+   * The cost of the last entry removed from the queue, which is the
+   * minimum cost of any entry added to the queue.
+   */
+  protected long last;
+
+  /**
+   * The live path ending at each vertex.
+   */
+  private final Map<V, Path<V, W>> live = new HashMap<>();
+}
@@ -40,6 +40,14 @@ public abstract class AbstractPathQueue<V, W> implements PathQueue<V, W>  {
 
   protected abstract boolean removeFromQueue(Path<V, W> path);
 
+  @Override
+  public final void clear() {
+    endToPathMap.clear();
+    clearQueue();
+  }
+
+  protected abstract void clearQueue();
+
   @Override
   public int size() {
     return endToPathMap.size();
@@ -0,0 +1,104 @@
+package ma.vi.graph.algo;
+
+import ma.vi.graph.Path;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * A bucket queue of paths (Dial, 1969) with one bucket per cost in a circular array
+ * of buckets. Paths are added to the bucket of their cost in O(1) and the buckets are
+ * scanned in increasing order of cost from the cost of the last path removed. The
+ * circular array must span the range of costs in the queue at any time, which is at
+ * most the largest edge cost plus one for minimum-cost exploration; it starts with the
+ * given number of buckets and doubles whenever a path falls outside its span.
+ * </p>
+ *
+ * <p>
+ * This queue is best suited to small integer edge costs as the time taken to find the
+ * next path is proportional to the difference between the costs of successive paths.
+ * Path costs must be monotone as described in {@link AbstractMonotonePathQueue}.
+ * </p>
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+public class BucketPathQueue<V, W> extends AbstractMonotonePathQueue<V, W> {
+  /**
+   * Creates a bucket queue with the number of buckets rounded up to a power of 2.
+   * For minimum-cost exploration, the number of buckets should be the maximum edge
+   * cost plus one to never grow.
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  public BucketPathQueue(int buckets) {
+    this.buckets = new List[capacity(Math.max(buckets, 1))];
+  }
+
+  public BucketPathQueue() {
+    this(64);
+  }
+
+  @Override
+  protected void push(Path<V, W> path, long cost) {
+    if (cost - last >= buckets.length) {
+      grow(cost - last);
+    }
+    int i = (int)(cost & (buckets.length - 1));
+    if (buckets[i] == null) {
+      buckets[i] = new ArrayList<>();
+    }
+    buckets[i].add(path);
+  }
+
+  @Override
+  protected Path<V, W> pop() {
+    int mask = buckets.length - 1;
+    while (true) {
+      List<Path<V, W>> bucket = buckets[(int)(last & mask)];
+      if (bucket != null && !bucket.isEmpty()) {
+        return bucket.remove(bucket.size() - 1);
+      }
+      last++;
+    }
+  }
+
+  @Override
+  protected void clearEntries() {
+    for (List<Path<V, W>> bucket: buckets) {
+      if (bucket != null) {
+        bucket.clear();
+      }
+    }
+  }
+
+  /**
+   * Grows the buckets so that they span the given range of costs
+   * starting from the last cost, redistributing the entries.
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private void grow(long range) {
+    if (range >= 1 << 30) {
+      throw new IllegalArgumentException("Range of costs " + range + " is too large for a bucket queue");
+    }
+    List<Path<V, W>>[] old = buckets;
+    buckets = new List[capacity((int)range + 1)];
+    int mask = buckets.length - 1;
+    for (List<Path<V, W>> bucket: old) {
+      if (bucket != null) {
+        for (Path<V, W> path: bucket) {
+          int i = (int)(cost(path) & mask);
+          if (buckets[i] == null) {
+            buckets[i] = new ArrayList<>();
+          }
+          buckets[i].add(path);
+        }
+      }
+    }
+  }
+
+  private static int capacity(int buckets) {
+    return buckets == 1 ? 1 : Integer.highestOneBit(buckets - 1) << 1;
+  }
+
+  private List<Path<V, W>>[] buckets;
+}
@@ -0,0 +1,59 @@
+package ma.vi.graph.algo;
+
+import ma.vi.graph.Edge;
+import ma.vi.graph.Graph;
+import ma.vi.graph.Path;
+import ma.vi.graph.algo.explore.Explore;
+
+import java.util.Set;
+
+/**
+ * <p>
+ * A listener notified of the events of an {@link Explore} algorithm, used to trace
+ * and debug explorations and searches. All methods do nothing by default so that
+ * a listener only needs to implement the events it is interested in. When no
+ * listener is set on an exploration, none of the events are produced.
+ * </p>
+ *
+ * <p>
+ * Listeners should not stringify or otherwise traverse every path they receive
+ * as that costs time proportional to the length of the path; {@link ExploreTracer}
+ * counts all events but only records a sample of them.
+ * </p>
+ *
+ * @param <V> The type of vertex of graphs being explored.
+ * @param <W> The type of weight of graphs being explored.
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+public interface ExploreListener<V, W> {
+  /**
+   * Invoked when a path is added to the path queue, including when it
+   * replaces a costlier path ending at the same vertex.
+   */
+  default void onEnqueue(Graph<V, W> graph, Path<V, W> path) {}
+
+  /**
+   * Invoked when a path is removed from the path queue for exploration.
+   */
+  default void onDequeue(Graph<V, W> graph, Path<V, W> path) {}
+
+  /**
+   * Invoked when a path is expanded with the successor edges returned
+   * by the expand function.
+   */
+  default void onExpand(Graph<V, W> graph, Path<V, W> path, Set<Edge<V, W>> successors) {}
+
+  /**
+   * Invoked when the explore function returns a result for a path,
+   * completing the exploration.
+   */
+  default void onGoal(Graph<V, W> graph, Path<V, W> path) {}
+
+  /**
+   * Invoked when a dequeued path is not expanded, either because its last
+   * vertex has already been explored or because the explore function
+   * returned null for it.
+   */
+  default void onPrune(Graph<V, W> graph, Path<V, W> path) {}
+}
@@ -0,0 +1,143 @@
+package ma.vi.graph.algo;
+
+import ma.vi.graph.Edge;
+import ma.vi.graph.Graph;
+import ma.vi.graph.Path;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * <p>
+ * An {@link ExploreListener} which counts the events of an exploration and records
+ * a sampled trace of them: one in every <code>sampleEvery</code> event is recorded
+ * as a line of text (such as <code>dequeue [a-&lt;1&gt;-b], Cost=1; length: 1</code>),
+ * up to a maximum number of lines. Only the sampled paths are converted to text so
+ * that tracing a large exploration costs little more than counting its events.
+ * </p>
+ *
+ * <pre>
+ *   ExploreTracer&lt;String, Integer&gt; tracer = new ExploreTracer&lt;&gt;(100, 1000);
+ *   graph.apply(new MinCostSearch&lt;String, Integer&gt;("a").goalVertex("z").listener(tracer));
+ *   System.out.println(tracer);
+ *   tracer.trace().forEach(System.out::println);
+ * </pre>
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+public class ExploreTracer<V, W> implements ExploreListener<V, W> {
+  /**
+   * Creates a tracer recording one in every sampleEvery events
+   * (every event if 1, none if 0) up to maxTrace events.
+   */
+  public ExploreTracer(int sampleEvery, int maxTrace) {
+    this.sampleEvery = sampleEvery;
+    this.maxTrace = maxTrace;
+  }
+
+  /**
+   * Creates a tracer which only counts events.
+   */
+  public ExploreTracer() {
+    this(0, 0);
+  }
+
+  @Override
+  public void onEnqueue(Graph<V, W> graph, Path<V, W> path) {
+    enqueued++;
+    sample("enqueue", path);
+  }
+
+  @Override
+  public void onDequeue(Graph<V, W> graph, Path<V, W> path) {
+    dequeued++;
+    sample("dequeue", path);
+  }
+
+  @Override
+  public void onExpand(Graph<V, W> graph, Path<V, W> path, Set<Edge<V, W>> successors) {
+    expanded++;
+    sample("expand", path);
+  }
+
+  @Override
+  public void onGoal(Graph<V, W> graph, Path<V, W> path) {
+    goals++;
+    if (maxTrace > 0 && trace.size() < maxTrace) {
+      trace.add(line("goal", path));
+    }
+  }
+
+  @Override
+  public void onPrune(Graph<V, W> graph, Path<V, W> path) {
+    pruned++;
+    sample("prune", path);
+  }
+
+  public long enqueued() {
+    return enqueued;
+  }
+
+  public long dequeued() {
+    return dequeued;
+  }
+
+  public long expanded() {
+    return expanded;
+  }
+
+  public long goals() {
+    return goals;
+  }
+
+  public long pruned() {
+    return pruned;
+  }
+
+  /**
+   * The sampled events in the order in which they occurred; goals are always recorded.
+   */
+  public List<String> trace() {
+    return Collections.unmodifiableList(trace);
+  }
+
+  /**
+   * Resets all counters and clears the trace.
+   */
+  public void reset() {
+    enqueued = dequeued = expanded = goals = pruned = events = 0;
+    trace.clear();
+  }
+
+  @Override
+  public String toString() {
+    return "enqueued: " + enqueued
+         + ", dequeued: " + dequeued
+         + ", expanded: " + expanded
+         + ", pruned: " + pruned
+         + ", goals: " + goals;
+  }
+
+  private void sample(String event, Path<V, W> path) {
+    if (sampleEvery > 0 && events++ % sampleEvery == 0 && trace.size() < maxTrace) {
+      trace.add(line(event, path));
+    }
+  }
+
+  private String line(String event, Path<V, W> path) {
+    return event + ' ' + path + "; length: " + path.length();
+  }
+
+  private final int sampleEvery;
+  private final int maxTrace;
+  private final List<String> trace = new ArrayList<>();
+
+  private long enqueued;
+  private long dequeued;
+  private long expanded;
+  private long goals;
+  private long pruned;
+  private long events;
+}
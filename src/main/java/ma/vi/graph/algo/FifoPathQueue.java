@@ -33,6 +33,11 @@ public class FifoPathQueue<V, W> extends AbstractPathQueue<V, W> {
     return paths.removeLast();
   }
 
+  @Override
+  protected void clearQueue() {
+    paths.clear();
+  }
+
   @Override
   public int size() {
     return paths.size();
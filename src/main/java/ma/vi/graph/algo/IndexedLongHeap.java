@@ -0,0 +1,240 @@
+package ma.vi.graph.algo;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>
+ * An addressable min-heap of int items (0 or greater) ordered by long keys. The
+ * position of every item in the heap is tracked so that the key of an item in
+ * the heap can be decreased, and an item removed, in O(log n). The heap is 4-ary
+ * which halves its height compared to a binary heap and keeps the children of
+ * a node adjacent in memory. Items with equal keys are ordered by item, smaller
+ * items first, so that the order in which items are polled is deterministic.
+ * </p>
+ *
+ * <p>
+ * Items and keys are held in primitive arrays which grow as larger items are added;
+ * no object is created when adding, updating or removing items.
+ * </p>
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+public class IndexedLongHeap {
+  /**
+   * Creates an empty heap for items in the range 0 to capacity - 1; the
+   * capacity grows if larger items are added.
+   */
+  public IndexedLongHeap(int capacity) {
+    heap = new int[Math.max(capacity, 1)];
+    keys = new long[Math.max(capacity, 1)];
+    position = new int[Math.max(capacity, 1)];
+    Arrays.fill(position, -1);
+  }
+
+  public IndexedLongHeap() {
+    this(16);
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Returns true if the item is in the heap.
+   */
+  public boolean contains(int item) {
+    return item < position.length && position[item] != -1;
+  }
+
+  /**
+   * Returns the key of an item in the heap.
+   */
+  public long key(int item) {
+    if (!contains(item)) {
+      throw new NoSuchElementException("Item " + item + " is not in the heap");
+    }
+    return keys[item];
+  }
+
+  /**
+   * Adds an item which is not in the heap.
+   */
+  public void add(int item, long key) {
+    if (contains(item)) {
+      throw new IllegalArgumentException("Item " + item + " is already in the heap");
+    }
+    ensureCapacity(item);
+    keys[item] = key;
+    heap[size] = item;
+    position[item] = size;
+    siftUp(size++);
+  }
+
+  /**
+   * Decreases the key of an item in the heap to the given key.
+   */
+  public void decreaseKey(int item, long key) {
+    if (key > key(item)) {
+      throw new IllegalArgumentException("New key " + key + " is greater than the current key " + keys[item]);
+    }
+    keys[item] = key;
+    siftUp(position[item]);
+  }
+
+  /**
+   * Adds the item with the given key if it is not in the heap or decreases
+   * its key if the given key is smaller than its current key. Returns true
+   * if the heap was changed.
+   */
+  public boolean offer(int item, long key) {
+    if (!contains(item)) {
+      add(item, key);
+      return true;
+    } else if (key < keys[item]) {
+      decreaseKey(item, key);
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Returns the item with the smallest key without removing it.
+   */
+  public int peek() {
+    if (size == 0) {
+      throw new NoSuchElementException("Heap is empty");
+    }
+    return heap[0];
+  }
+
+  /**
+   * Returns the smallest key in the heap.
+   */
+  public long peekKey() {
+    return keys[peek()];
+  }
+
+  /**
+   * Removes and returns the item with the smallest key.
+   */
+  public int poll() {
+    int item = peek();
+    removeAt(0);
+    return item;
+  }
+
+  /**
+   * Removes the item from the heap, returning false if it was not in the heap.
+   */
+  public boolean remove(int item) {
+    if (!contains(item)) {
+      return false;
+    }
+    removeAt(position[item]);
+    return true;
+  }
+
+  /**
+   * Removes all items from the heap.
+   */
+  public void clear() {
+    for (int i = 0; i < size; i++) {
+      position[heap[i]] = -1;
+    }
+    size = 0;
+  }
+
+  private void removeAt(int index) {
+    int item = heap[index];
+    position[item] = -1;
+    size--;
+    if (index < size) {
+      int last = heap[size];
+      heap[index] = last;
+      position[last] = index;
+      siftDown(index);
+      siftUp(position[last]);
+    }
+  }
+
+  private void siftUp(int index) {
+    int item = heap[index];
+    long key = keys[item];
+    while (index > 0) {
+      int parent = (index - 1) >>> 2;
+      int p = heap[parent];
+      if (keys[p] < key || (keys[p] == key && p < item)) {
+        break;
+      }
+      heap[index] = p;
+      position[p] = index;
+      index = parent;
+    }
+    heap[index] = item;
+    position[item] = index;
+  }
+
+  private void siftDown(int index) {
+    int item = heap[index];
+    long key = keys[item];
+    while (true) {
+      int first = (index << 2) + 1;
+      if (first >= size) {
+        break;
+      }
+      int min = first;
+      long minKey = keys[heap[first]];
+      for (int c = first + 1, last = Math.min(first + 4, size); c < last; c++) {
+        long k = keys[heap[c]];
+        if (k < minKey || (k == minKey && heap[c] < heap[min])) {
+          min = c;
+          minKey = k;
+        }
+      }
+      if (minKey > key || (minKey == key && heap[min] > item)) {
+        break;
+      }
+      int child = heap[min];
+      heap[index] = child;
+      position[child] = index;
+      index = min;
+    }
+    heap[index] = item;
+    position[item] = index;
+  }
+
+  private void ensureCapacity(int item) {
+    if (item >= position.length) {
+      int capacity = Math.max(item + 1, position.length + (position.length >> 1));
+      int old = position.length;
+      position = Arrays.copyOf(position, capacity);
+      Arrays.fill(position, old, capacity, -1);
+      keys = Arrays.copyOf(keys, capacity);
+    }
+    if (size == heap.length) {
+      heap = Arrays.copyOf(heap, Math.max(size + 1, heap.length + (heap.length >> 1)));
+    }
+  }
+
+  /**
+   * The items in heap order.
+   */
+  private int[] heap;
+
+  /**
+   * The key of each item, indexed by item.
+   */
+  private long[] keys;
+
+  /**
+   * The index of each item in the heap array, or -1 if not in the heap.
+   */
+  private int[] position;
+
+  private int size;
+}
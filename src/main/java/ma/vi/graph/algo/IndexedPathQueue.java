@@ -0,0 +1,140 @@
+package ma.vi.graph.algo;
+
+import ma.vi.graph.Path;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>
+ * A path-queue returning paths in minimum-cost order which holds at most one path
+ * per end vertex and supports replacing the path ending at a vertex in O(log n)
+ * through {@link #decreaseKey(Path)}. The paths are kept in an {@link IndexedLongHeap}
+ * keyed by their cost and addressed by a slot assigned to each end vertex, instead
+ * of the linear scan of a {@link java.util.PriorityQueue} that {@link PriorityPathQueue}
+ * performs to remove a path.
+ * </p>
+ *
+ * <p>
+ * Adding a path ending at a vertex which already has a path in the queue keeps the
+ * path with the lower cost. Paths of equal cost are returned in the order in which
+ * their end vertices were first added to the queue. This is the path-queue used by
+ * minimum-cost exploration and search, A* search and Prim's algorithm.
+ * </p>
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+public class IndexedPathQueue<V, W> implements PathQueue<V, W> {
+  @Override
+  public void add(Path<V, W> path) {
+    int slot = slot(path.lastVertex().orElse(null));
+    long cost = cost(path);
+    if (!heap.contains(slot)) {
+      paths[slot] = path;
+      heap.add(slot, cost);
+    } else if (cost < heap.key(slot)) {
+      paths[slot] = path;
+      heap.decreaseKey(slot, cost);
+    }
+  }
+
+  @Override
+  public void decreaseKey(Path<V, W> path) {
+    int slot = slot(path.lastVertex().orElse(null));
+    long cost = cost(path);
+    paths[slot] = path;
+    if (!heap.contains(slot)) {
+      heap.add(slot, cost);
+    } else if (cost <= heap.key(slot)) {
+      heap.decreaseKey(slot, cost);
+    } else {
+      heap.remove(slot);
+      heap.add(slot, cost);
+    }
+  }
+
+  @Override
+  public boolean remove(Path<V, W> path) {
+    Integer slot = slots.get(path.lastVertex().orElse(null));
+    if (slot != null && heap.remove(slot)) {
+      paths[slot] = null;
+      return true;
+    }
+    return false;
+  }
+
+  @Override
+  public boolean hasPathEndingAt(V vertex) {
+    Integer slot = slots.get(vertex);
+    return slot != null && heap.contains(slot);
+  }
+
+  @Override
+  public Path<V, W> pathEndingAt(V vertex) {
+    Integer slot = slots.get(vertex);
+    return slot != null && heap.contains(slot) ? paths[slot] : null;
+  }
+
+  @Override
+  public int size() {
+    return heap.size();
+  }
+
+  @Override
+  public boolean hasNext() {
+    return !heap.isEmpty();
+  }
+
+  @Override
+  public Path<V, W> next() {
+    if (heap.isEmpty()) {
+      throw new NoSuchElementException("Path queue is empty");
+    }
+    int slot = heap.poll();
+    Path<V, W> path = paths[slot];
+    paths[slot] = null;
+    return path;
+  }
+
+  @Override
+  public void clear() {
+    slots.clear();
+    Arrays.fill(paths, null);
+    heap.clear();
+  }
+
+  /**
+   * Returns the slot of the vertex, assigning it the next slot
+   * if it has never been in the queue.
+   */
+  private int slot(V vertex) {
+    Integer slot = slots.get(vertex);
+    if (slot == null) {
+      slot = slots.size();
+      slots.put(vertex, slot);
+      if (slot == paths.length) {
+        paths = Arrays.copyOf(paths, paths.length + (paths.length >> 1));
+      }
+    }
+    return slot;
+  }
+
+  private static long cost(Path<?, ?> path) {
+    return path.cost() == null ? 0 : path.cost();
+  }
+
+  /**
+   * The slot assigned to each vertex which has been added to the queue.
+   */
+  private final Map<V, Integer> slots = new HashMap<>();
+
+  /**
+   * The path in the queue for each slot.
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private Path<V, W>[] paths = new Path[16];
+
+  private final IndexedLongHeap heap = new IndexedLongHeap();
+}
@@ -0,0 +1,19 @@
+package ma.vi.graph.algo;
+
+import ma.vi.graph.IntLongGraph;
+
+/**
+ * An algorithm which can be applied to an {@link IntLongGraph} to produce a
+ * result; the primitive counterpart of {@link Algorithm}.
+ *
+ * @param <R> The result of applying this algorithm.
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+public interface IntAlgorithm<R> {
+  /**
+   * Executes the algorithm on the given graph and returns
+   * a result of type R.
+   */
+  R execute(IntLongGraph graph);
+}
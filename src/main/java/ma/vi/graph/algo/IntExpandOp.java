@@ -0,0 +1,23 @@
+package ma.vi.graph.algo;
+
+import ma.vi.graph.IntLongGraph;
+
+/**
+ * The primitive counterpart of {@link ExpandOp}, called during exploration of an
+ * {@link IntLongGraph} for every edge out of the vertex being expanded. Instead of
+ * returning the set of edges to expand (which would require creating the set), it
+ * is called with each edge in turn and returns whether that edge should be followed.
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+@FunctionalInterface
+public interface IntExpandOp {
+  boolean op(IntLongGraph graph, int from, long weight, int to);
+
+  /**
+   * The default expansion function which follows all outgoing edges.
+   */
+  static boolean outgoingEdges(IntLongGraph graph, int from, long weight, int to) {
+    return true;
+  }
+}
@@ -0,0 +1,31 @@
+package ma.vi.graph.algo;
+
+import ma.vi.graph.IntLongGraph;
+
+/**
+ * The primitive counterpart of {@link GoalOp}, called during search with the
+ * graph, the vertex at the end of the current path and the cost of that path;
+ * if it returns true the search ends returning that path.
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+@FunctionalInterface
+public interface IntGoalOp {
+  boolean op(IntLongGraph graph, int vertex, long cost);
+
+  /**
+   * An IntGoalOp returning true when the path reaches the supplied goal vertex.
+   */
+  class MatchVertex implements IntGoalOp {
+    public MatchVertex(int goal) {
+      this.goal = goal;
+    }
+
+    @Override
+    public boolean op(IntLongGraph graph, int vertex, long cost) {
+      return vertex == goal;
+    }
+
+    private final int goal;
+  }
+}
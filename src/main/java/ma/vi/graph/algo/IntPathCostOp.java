@@ -0,0 +1,23 @@
+package ma.vi.graph.algo;
+
+import ma.vi.graph.IntLongGraph;
+
+/**
+ * The primitive counterpart of {@link PathCostOp} which computes the cost of a
+ * path, of cost `pathCost` and ending at `from`, extended with the edge from
+ * `from` to `to` of the given weight.
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+@FunctionalInterface
+public interface IntPathCostOp {
+  long op(IntLongGraph graph, long pathCost, int from, long weight, int to);
+
+  static long byLength(IntLongGraph graph, long pathCost, int from, long weight, int to) {
+    return pathCost + 1;
+  }
+
+  static long byWeight(IntLongGraph graph, long pathCost, int from, long weight, int to) {
+    return pathCost + weight;
+  }
+}
@@ -33,6 +33,11 @@ public class LifoPathQueue<V, W> extends AbstractPathQueue<V, W> {
     return paths.pop();
   }
 
+  @Override
+  protected void clearQueue() {
+    paths.clear();
+  }
+
   @Override
   public int size() {
     return paths.size();
@@ -0,0 +1,74 @@
+package ma.vi.graph.algo;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Support for the parallel algorithms: runs an operation over a range of ints
+ * (vertex ids, frontier positions, etc.) split into chunks processed by the
+ * tasks of a {@link ForkJoinPool}.
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+public final class Parallel {
+  private Parallel() {}
+
+  /**
+   * An operation over the ints from (inclusive) to to (exclusive).
+   */
+  @FunctionalInterface
+  public interface RangeOp {
+    void op(int from, int to);
+  }
+
+  /**
+   * Runs the operation over the range [from, to), split in halves recursively
+   * until the chunks are not larger than the grain, and waits for all chunks
+   * to complete. The operation is run directly in the calling thread if the
+   * range is not larger than the grain or the pool is single-threaded.
+   */
+  public static void forRange(ForkJoinPool pool, int from, int to, int grain, RangeOp op) {
+    if (to - from <= Math.max(1, grain) || pool.getParallelism() == 1) {
+      if (from < to) {
+        op.op(from, to);
+      }
+    } else {
+      pool.invoke(new RangeTask(from, to, Math.max(1, grain), op));
+    }
+  }
+
+  /**
+   * A grain splitting a range of the given size into about 8 chunks per
+   * thread of the pool, but no smaller than the minimum.
+   */
+  public static int grain(ForkJoinPool pool, int size, int minimum) {
+    return Math.max(minimum, size / (pool.getParallelism() * 8));
+  }
+
+  private static class RangeTask extends RecursiveAction {
+    RangeTask(int from, int to, int grain, RangeOp op) {
+      this.from = from;
+      this.to = to;
+      this.grain = grain;
+      this.op = op;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= grain) {
+        op.op(from, to);
+      } else {
+        int middle = (from + to) >>> 1;
+        invokeAll(new RangeTask(from, middle, grain, op),
+                  new RangeTask(middle, to, grain, op));
+      }
+    }
+
+    private static final long serialVersionUID = 1L;
+
+    private final int from;
+    private final int to;
+    private final int grain;
+    private final RangeOp op;
+  }
+}
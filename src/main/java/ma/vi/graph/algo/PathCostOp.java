@@ -16,7 +16,7 @@ public interface PathCostOp<V, W> {
   static <V, W> Long byLength(Graph<V, W> graph,
                               Path<V, W> path,
                               Edge<V, W> edge) {
-    return path.edges().size() + 1L;
+    return path.length() + 1L;
   }
 
   static <V, W> Long byWeight(Graph<V, W> graph,
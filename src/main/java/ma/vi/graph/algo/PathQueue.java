@@ -25,9 +25,31 @@ public interface PathQueue<V, W> extends Iterator<Path<V, W>> {
 
   boolean remove(Path<V, W> path);
 
+  /**
+   * Replaces the path in the queue ending at the same vertex as the given
+   * path, normally of higher cost, with the given path (or adds the path if
+   * no path ends at that vertex). Queues ordered by cost, such as
+   * {@link IndexedPathQueue}, implement this in O(log n); the default removes
+   * the existing path and adds the new one.
+   */
+  default void decreaseKey(Path<V, W> path) {
+    Path<V, W> existing = pathEndingAt(path.lastVertex().orElse(null));
+    if (existing != null) {
+      remove(existing);
+    }
+    add(path);
+  }
+
   boolean hasPathEndingAt(V vertex);
 
   Path<V, W> pathEndingAt(V vertex);
 
   int size();
+
+  /**
+   * Removes all paths from the queue, returning it to its initial state. This is
+   * called by {@link ma.vi.graph.algo.explore.Explore} before every exploration so
+   * that a queue set on an algorithm can be reused by successive executions.
+   */
+  void clear();
 }
@@ -22,6 +22,11 @@ public class PriorityPathQueue<V, W> extends AbstractPathQueue<V, W> {
     return paths.remove(path);
   }
 
+  @Override
+  protected void clearQueue() {
+    paths.clear();
+  }
+
   @Override
   public int size() {
     return paths.size();
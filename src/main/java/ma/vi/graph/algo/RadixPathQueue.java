@@ -0,0 +1,73 @@
+package ma.vi.graph.algo;
+
+import ma.vi.graph.Path;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * A monotone radix heap of paths keyed by their costs (Ahuja, Mehlhorn, Orlin &amp;
+ * Tarjan, 1990). Entries are kept in 65 buckets: bucket 0 holds the entries whose
+ * cost is equal to the cost of the last path removed and bucket i holds those whose
+ * cost differs from it first at bit i-1. When bucket 0 is empty, the first non-empty
+ * bucket is redistributed into lower buckets around its minimum cost. Every entry
+ * moves down at most 64 times, so adding is O(1) and removal is amortized O(log C)
+ * for costs up to C, without comparisons between paths.
+ * </p>
+ *
+ * <p>
+ * Path costs must be monotone as described in {@link AbstractMonotonePathQueue}.
+ * </p>
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+public class RadixPathQueue<V, W> extends AbstractMonotonePathQueue<V, W> {
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  public RadixPathQueue() {
+    buckets = new List[65];
+    for (int i = 0; i < buckets.length; i++) {
+      buckets[i] = new ArrayList<>();
+    }
+  }
+
+  @Override
+  protected void push(Path<V, W> path, long cost) {
+    buckets[bucket(cost)].add(path);
+  }
+
+  @Override
+  protected Path<V, W> pop() {
+    if (buckets[0].isEmpty()) {
+      int i = 1;
+      while (buckets[i].isEmpty()) {
+        i++;
+      }
+      List<Path<V, W>> bucket = buckets[i];
+      long min = Long.MAX_VALUE;
+      for (Path<V, W> path: bucket) {
+        min = Math.min(min, cost(path));
+      }
+      last = min;
+      for (Path<V, W> path: bucket) {
+        buckets[bucket(cost(path))].add(path);
+      }
+      bucket.clear();
+    }
+    List<Path<V, W>> bucket = buckets[0];
+    return bucket.remove(bucket.size() - 1);
+  }
+
+  @Override
+  protected void clearEntries() {
+    for (List<Path<V, W>> bucket: buckets) {
+      bucket.clear();
+    }
+  }
+
+  private int bucket(long cost) {
+    return cost == last ? 0 : 64 - Long.numberOfLeadingZeros(cost ^ last);
+  }
+
+  private final List<Path<V, W>>[] buckets;
+}
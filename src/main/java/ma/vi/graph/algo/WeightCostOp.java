@@ -0,0 +1,22 @@
+package ma.vi.graph.algo;
+
+/**
+ * The cost of traversing an edge with the given weight, for algorithms where the
+ * cost of a path is the sum of the costs of its edges. {@link #byWeight} gives the
+ * same path costs as {@link PathCostOp#byWeight} and {@link #byLength} the same as
+ * {@link PathCostOp#byLength}. Costs must not be negative.
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+@FunctionalInterface
+public interface WeightCostOp<W> {
+  long op(W weight);
+
+  static <W> long byWeight(W weight) {
+    return weight instanceof Number ? ((Number)weight).longValue() : 0L;
+  }
+
+  static <W> long byLength(W weight) {
+    return 1L;
+  }
+}
@@ -0,0 +1,107 @@
+package ma.vi.graph.algo.connectivity;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * <p>
+ * A lock-free union-find (disjoint-set) structure over the ints from 0 to size - 1,
+ * such as the ids of the vertices of a {@link ma.vi.graph.CsrGraph}, on which any
+ * number of threads can find and unite sets concurrently (Anderson &amp; Woll, 1991).
+ * </p>
+ *
+ * <p>
+ * Every set is a tree of parent links stored in an atomic array. Two sets are united
+ * by linking the root of one to the root of the other with a compare-and-set on the
+ * parent of the first root, which fails if another thread has linked that root in the
+ * meantime, in which case the roots are found again and the union retried. Sets are
+ * united by index: the root with the larger int is always linked under the one with
+ * the smaller int, so that links can never form a cycle and the root of every set is
+ * its smallest element once all unions have completed. Finds halve the paths they
+ * follow, each link being replaced with a compare-and-set by a link to its grandparent,
+ * which keeps the trees shallow without ever linking an element outside of its set.
+ * </p>
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+public class ConcurrentUnionFind {
+  /**
+   * Creates a union-find structure over the ints from 0 to size - 1, each in its own set.
+   */
+  public ConcurrentUnionFind(int size) {
+    if (size < 0) {
+      throw new IllegalArgumentException("Negative size: " + size);
+    }
+    parents = new AtomicIntegerArray(size);
+    for (int i = 0; i < size; i++) {
+      parents.set(i, i);
+    }
+  }
+
+  /**
+   * Returns the root of the set containing the element. While other threads are
+   * uniting sets, the root returned may already have been linked under another.
+   */
+  public int find(int element) {
+    int parent = parents.get(element);
+    while (parent != element) {
+      int grandParent = parents.get(parent);
+      if (grandParent != parent) {
+        parents.compareAndSet(element, parent, grandParent);
+      }
+      element = grandParent;
+      parent = parents.get(element);
+    }
+    return element;
+  }
+
+  /**
+   * Unites the sets of the two elements, returning true if they were
+   * in different sets and false if they were already in the same set.
+   */
+  public boolean union(int element1, int element2) {
+    while (true) {
+      int root1 = find(element1);
+      int root2 = find(element2);
+      if (root1 == root2) {
+        return false;
+      }
+      if (root1 < root2) {
+        int root = root1;
+        root1 = root2;
+        root2 = root;
+      }
+      if (parents.compareAndSet(root1, root1, root2)) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Returns true if the two elements are in the same set.
+   */
+  public boolean sameSet(int element1, int element2) {
+    while (true) {
+      int root1 = find(element1);
+      int root2 = find(element2);
+      if (root1 == root2) {
+        return true;
+      }
+      if (parents.get(root1) == root1) {
+        /*
+         * root1 was still a root after root2 was found, so the two elements
+         * were in different sets at that moment.
+         */
+        return false;
+      }
+    }
+  }
+
+  /**
+   * The number of elements in the structure.
+   */
+  public int size() {
+    return parents.length();
+  }
+
+  private final AtomicIntegerArray parents;
+}
@@ -1,16 +1,20 @@
 package ma.vi.graph.algo.connectivity;
 
+import ma.vi.graph.CsrGraph;
 import ma.vi.graph.Graph;
 import ma.vi.graph.algo.Algorithm;
-import ma.vi.graph.algo.explore.DepthFirstExplore;
+import ma.vi.graph.algo.explore.IntDepthFirstExplore;
 
 import java.util.*;
 
 /**
  * <p>
  * Find connected components in undirected graphs and strongly connected components
- * in directed graphs. For undirected graphs connected components is searched for by
- * running depth-search on the graph from non-explored vertices.
+ * in directed graphs. For undirected graphs the connected components are the trees of
+ * the depth-first forest of the graph, found by {@link IntDepthFirstExplore} on the
+ * {@link CsrGraph} form of the graph. For directed graphs
+ * the strongly connected components are found with the {@link StronglyConnectedComponents}
+ * algorithm; {@link ParallelStronglyConnectedComponents} finds them in parallel.
  * </p>
  *
  * <p>
@@ -28,28 +32,28 @@ public class ConnectedComponents<V, W> implements Algorithm<V, W, List<Set<V>>>
   public List<Set<V>> execute(Graph<V, W> graph) {
     List<Set<V>> components = new ArrayList<>();
     if (graph.directed()) {
+      components.addAll(new StronglyConnectedComponents<V, W>().execute(graph));
     } else {
       /*
-       * For undirected graphs, explore all vertices using DFS
+       * For undirected graphs, every tree of the depth-first forest is a component.
        */
-      Set<V> explored = new HashSet<>();
-      for (V vertex: graph.vertices()) {
-        if (!explored.contains(vertex)) {
-          Set<V> connected = new HashSet<>();
-          connected.add(vertex);
-          new DepthFirstExplore<V, W, Void>(vertex)
-              .exploreOp((g, p) -> {
-                Optional<V> v = p.lastVertex();
-                if (v.isPresent()) {
-                  explored.add(v.get());
-                  connected.add(v.get());
-                }
-                return Optional.empty();
-              })
-              .execute(graph);
-          components.add(connected);
+      CsrGraph<V, W> csr = CsrGraph.of(graph);
+      new IntDepthFirstExplore().listener(new IntDepthFirstExplore.Listener() {
+        @Override
+        public void onDiscover(int vertex, int time) {
+          if (open++ == 0) {
+            components.add(new HashSet<>());
+          }
+          components.get(components.size() - 1).add(csr.vertex(vertex));
         }
-      }
+
+        @Override
+        public void onFinish(int vertex, int time) {
+          open--;
+        }
+
+        private int open;
+      }).execute(csr.asIntLongGraph());
     }
     return components;
   }
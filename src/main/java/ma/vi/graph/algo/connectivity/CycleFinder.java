@@ -0,0 +1,66 @@
+package ma.vi.graph.algo.connectivity;
+
+import ma.vi.graph.CsrGraph;
+import ma.vi.graph.Graph;
+import ma.vi.graph.algo.Algorithm;
+import ma.vi.graph.algo.explore.IntDepthFirstExplore;
+import ma.vi.graph.algo.explore.IntDepthFirstForest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static ma.vi.graph.algo.explore.IntDepthFirstExplore.EdgeType.BACK;
+
+/**
+ * <p>
+ * Finds a cycle in a graph, returned as the list of its vertices [v1, v2, ..., vk]
+ * where the graph has edges from every vertex to the next one in the list and from
+ * vk to v1; a self-loop is a cycle of one vertex. The graph is explored depth-first
+ * by {@link IntDepthFirstExplore} on its {@link CsrGraph} form until the first back
+ * edge, from a vertex u to one of its ancestors v in the depth-first forest, is found;
+ * the cycle is then the path of tree edges from v to u. A graph is acyclic if and only
+ * if no cycle is found.
+ * </p>
+ *
+ * <p>
+ * In undirected graphs, the edge between a vertex and its parent in the forest does
+ * not form a cycle, unless the graph has parallel edges between them.
+ * </p>
+ *
+ * @param <V> The vertex type of the graph.
+ * @param <W> The weight type on the edges of the graph.
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+public class CycleFinder<V, W> implements Algorithm<V, W, Optional<List<V>>> {
+  @Override
+  public Optional<List<V>> execute(Graph<V, W> graph) {
+    CsrGraph<V, W> csr = CsrGraph.of(graph);
+    int[] backEdge = {-1, -1};
+    IntDepthFirstForest forest = new IntDepthFirstExplore()
+        .listener(new IntDepthFirstExplore.Listener() {
+          @Override
+          public boolean onEdge(int source, int target, IntDepthFirstExplore.EdgeType type) {
+            if (type == BACK) {
+              backEdge[0] = source;
+              backEdge[1] = target;
+              return false;
+            }
+            return true;
+          }
+        })
+        .execute(csr.asIntLongGraph());
+    if (!forest.stopped()) {
+      return Optional.empty();
+    }
+    List<V> cycle = new ArrayList<>();
+    for (int v = backEdge[0]; v != backEdge[1]; v = forest.parent(v)) {
+      cycle.add(csr.vertex(v));
+    }
+    cycle.add(csr.vertex(backEdge[1]));
+    Collections.reverse(cycle);
+    return Optional.of(cycle);
+  }
+}
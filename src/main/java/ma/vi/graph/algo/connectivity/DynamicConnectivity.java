@@ -0,0 +1,215 @@
+package ma.vi.graph.algo.connectivity;
+
+import ma.vi.base.unionfind.UnionFind;
+import ma.vi.graph.Edge;
+import ma.vi.graph.Graph;
+import ma.vi.graph.UndirectedEdgeKey;
+
+import java.util.*;
+
+/**
+ * <p>
+ * Tracks the connected components of a graph as its edges are added, answering whether
+ * two vertices are connected and which component a vertex is in without recomputing
+ * the components. The vertices are kept in the same union-find structure as used by
+ * {@link ConnectedGraphs}: adding an edge unites the components of its endpoints and
+ * a query finds the representative vertices of the components, both in near-constant
+ * amortized time. As with {@link ConnectedGraphs}, the direction of edges is ignored.
+ * </p>
+ *
+ * <p>
+ * Edges can also be removed when the structure is created in decremental mode, in
+ * which case it keeps the current edges and the spanning forest of the edges which
+ * united components. Removing an edge not in the forest does not change the components
+ * and is done in constant time; removing a forest edge may split its component, which
+ * the union-find structure cannot do, so the structure is rebuilt from the remaining
+ * edges at the next query. Several forest edges removed between two queries thus cost
+ * one rebuild only. As the direction of edges is ignored, an edge is removed by either
+ * of its orientations.
+ * </p>
+ *
+ * <p>
+ * This class is not thread-safe.
+ * </p>
+ *
+ * @param <V> The vertex type of the graph.
+ * @param <W> The weight type on the edges of the graph.
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+public class DynamicConnectivity<V, W> {
+  /**
+   * Creates an empty structure to which vertices and edges can be added but
+   * from which edges cannot be removed.
+   */
+  public DynamicConnectivity() {
+    this(false);
+  }
+
+  /**
+   * Creates an empty structure, from which edges can be removed if decremental is true.
+   */
+  public DynamicConnectivity(boolean decremental) {
+    this.decremental = decremental;
+    this.edges = decremental ? new LinkedHashSet<>() : null;
+    this.forest = decremental ? new HashSet<>() : null;
+  }
+
+  /**
+   * Adds the vertex, in a new component of its own, if it is not already present.
+   */
+  public DynamicConnectivity<V, W> addVertex(V vertex) {
+    rebuild();
+    if (vertices.add(vertex)) {
+      sets.find(vertex);
+      componentCount++;
+    }
+    return this;
+  }
+
+  /**
+   * Adds the edge, with its endpoints if they are not already present,
+   * uniting the components of its endpoints.
+   */
+  public DynamicConnectivity<V, W> addEdge(Edge<V, W> edge) {
+    addVertex(edge.endPoint1);
+    addVertex(edge.endPoint2);
+    UndirectedEdgeKey key = decremental ? new UndirectedEdgeKey(edge) : null;
+    if (decremental && !edges.add(key)) {
+      return this;
+    }
+    if (!sets.find(edge.endPoint1).equals(sets.find(edge.endPoint2))) {
+      sets.union(edge.endPoint1, edge.endPoint2);
+      componentCount--;
+      if (decremental) {
+        forest.add(key);
+      }
+    }
+    return this;
+  }
+
+  /**
+   * Adds all vertices and edges of the graph.
+   */
+  public DynamicConnectivity<V, W> addGraph(Graph<V, W> graph) {
+    for (V vertex: graph.vertices()) {
+      addVertex(vertex);
+    }
+    for (Edge<V, W> edge: graph.edges()) {
+      addEdge(edge);
+    }
+    return this;
+  }
+
+  /**
+   * Removes the edge, in either orientation, returning true if it was present. Its endpoints are kept,
+   * in separate components if no other path connects them.
+   *
+   * @throws IllegalStateException if the structure is not in decremental mode.
+   */
+  public boolean removeEdge(Edge<V, W> edge) {
+    if (!decremental) {
+      throw new IllegalStateException("Edges can only be removed in decremental mode");
+    }
+    UndirectedEdgeKey key = new UndirectedEdgeKey(edge);
+    if (!edges.remove(key)) {
+      return false;
+    }
+    if (forest.remove(key)) {
+      stale = true;
+    }
+    return true;
+  }
+
+  /**
+   * Returns true if there is a path between the two vertices. Vertices which
+   * have not been added are not connected to any vertex.
+   */
+  public boolean connected(V vertex1, V vertex2) {
+    rebuild();
+    return vertices.contains(vertex1)
+        && vertices.contains(vertex2)
+        && sets.find(vertex1).equals(sets.find(vertex2));
+  }
+
+  /**
+   * Returns the representative vertex of the component of the vertex, which is
+   * the same for all vertices of the component until an edge is added or removed.
+   *
+   * @throws IllegalArgumentException if the vertex has not been added.
+   */
+  public V componentOf(V vertex) {
+    rebuild();
+    if (!vertices.contains(vertex)) {
+      throw new IllegalArgumentException("Vertex " + vertex + " is not in the graph");
+    }
+    return sets.find(vertex);
+  }
+
+  /**
+   * The number of connected components.
+   */
+  public int componentCount() {
+    rebuild();
+    return componentCount;
+  }
+
+  /**
+   * Returns the connected components as sets of vertices, as
+   * {@link ConnectedComponents} does for undirected graphs.
+   */
+  public List<Set<V>> components() {
+    rebuild();
+    Map<V, Set<V>> components = new LinkedHashMap<>();
+    for (V vertex: vertices) {
+      components.computeIfAbsent(sets.find(vertex), v -> new HashSet<>()).add(vertex);
+    }
+    return new ArrayList<>(components.values());
+  }
+
+  /**
+   * The vertices added so far.
+   */
+  public Set<V> vertices() {
+    return Collections.unmodifiableSet(vertices);
+  }
+
+  /**
+   * Rebuilds the union-find structure and the spanning forest from the
+   * current edges if a forest edge has been removed since the last rebuild.
+   */
+  @SuppressWarnings("unchecked")
+  private void rebuild() {
+    if (stale) {
+      stale = false;
+      sets = new UnionFind<>();
+      componentCount = vertices.size();
+      forest.clear();
+      for (V vertex: vertices) {
+        sets.find(vertex);
+      }
+      for (UndirectedEdgeKey key: edges) {
+        Edge<V, W> edge = (Edge<V, W>)key.edge();
+        if (!sets.find(edge.endPoint1).equals(sets.find(edge.endPoint2))) {
+          sets.union(edge.endPoint1, edge.endPoint2);
+          componentCount--;
+          forest.add(key);
+        }
+      }
+    }
+  }
+
+  protected final boolean decremental;
+
+  /**
+   * The current edges and the edges of the spanning forest, in decremental mode,
+   * keyed so that both orientations of an edge are the same edge.
+   */
+  protected final Set<UndirectedEdgeKey> edges;
+  protected final Set<UndirectedEdgeKey> forest;
+
+  protected final Set<V> vertices = new LinkedHashSet<>();
+  protected UnionFind<V, Edge<V, W>> sets = new UnionFind<>();
+  protected int componentCount;
+  protected boolean stale;
+}
@@ -0,0 +1,136 @@
+package ma.vi.graph.algo.connectivity;
+
+import ma.vi.graph.CsrGraph;
+import ma.vi.graph.Graph;
+import ma.vi.graph.algo.Algorithm;
+import ma.vi.graph.algo.Parallel;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * <p>
+ * Finds the connected components of a graph in parallel on a {@link ForkJoinPool},
+ * returning each component as a set of vertices. The edges of the graph are split
+ * among the tasks of the pool which unite the components of their endpoints in a
+ * shared {@link ConcurrentUnionFind}; every vertex is then labelled with the root
+ * of its component and the sets of vertices are assembled in parallel.
+ * </p>
+ *
+ * <p>
+ * As with {@link ConnectedGraphs}, the direction of the edges of directed graphs is
+ * ignored, giving their weakly connected components. Every vertex is in exactly one
+ * component, vertices without edges forming their own. The components are returned
+ * in the order of their first vertex in the {@link CsrGraph} of the graph, which is
+ * created if the graph is not already one.
+ * </p>
+ *
+ * @param <V> The vertex type of the graph.
+ * @param <W> The weight type on the edges of the graph.
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+public class ParallelConnectedComponents<V, W> implements Algorithm<V, W, List<Set<V>>> {
+  /**
+   * Sets the pool to run the algorithm on, {@link ForkJoinPool#commonPool()} by default.
+   */
+  public ParallelConnectedComponents<V, W> pool(ForkJoinPool pool) {
+    this.pool = pool;
+    return this;
+  }
+
+  @Override
+  public List<Set<V>> execute(Graph<V, W> graph) {
+    ForkJoinPool pool = this.pool == null ? ForkJoinPool.commonPool() : this.pool;
+    CsrGraph<V, W> csr = CsrGraph.of(graph);
+    return sets(csr, pool, new Labels(roots(csr, pool)));
+  }
+
+  /**
+   * Unites the endpoints of all edges of the graph in parallel and returns the root
+   * of the component of every vertex which, once all unions are complete, is the
+   * smallest vertex of the component.
+   */
+  static int[] roots(CsrGraph<?, ?> graph, ForkJoinPool pool) {
+    int n = graph.vertexCount();
+    ConcurrentUnionFind sets = new ConcurrentUnionFind(n);
+    Parallel.forRange(pool, 0, n, Parallel.grain(pool, n, 256), (from, to) -> {
+      for (int u = from; u < to; u++) {
+        for (int e = graph.outStart(u); e < graph.outEnd(u); e++) {
+          if (!graph.outReversed(e)) {
+            sets.union(u, graph.outTarget(e));
+          }
+        }
+      }
+    });
+    int[] roots = new int[n];
+    Parallel.forRange(pool, 0, n, Parallel.grain(pool, n, 1024), (from, to) -> {
+      for (int v = from; v < to; v++) {
+        roots[v] = sets.find(v);
+      }
+    });
+    return roots;
+  }
+
+  /**
+   * Assembles the vertex sets of the components in parallel.
+   */
+  static <V> List<Set<V>> sets(CsrGraph<V, ?> graph, ForkJoinPool pool, Labels labels) {
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    Set<V>[] components = new Set[labels.count];
+    Parallel.forRange(pool, 0, labels.count, Parallel.grain(pool, labels.count, 64), (from, to) -> {
+      for (int c = from; c < to; c++) {
+        Set<V> component = new HashSet<>();
+        for (int i = labels.starts[c]; i < labels.starts[c + 1]; i++) {
+          component.add(graph.vertex(labels.vertices[i]));
+        }
+        components[c] = component;
+      }
+    });
+    return new ArrayList<>(Arrays.asList(components));
+  }
+
+  /**
+   * The vertices of a {@link CsrGraph} grouped by component: the vertices of
+   * component c are at positions starts[c] to starts[c + 1] (exclusive) of the
+   * vertices array, in increasing order of id, and the components are ordered
+   * by their smallest vertex id.
+   */
+  static class Labels {
+    /**
+     * Groups the vertices by the labels of their components, which
+     * can be any ints from 0 to the number of vertices (exclusive).
+     */
+    Labels(int[] labels) {
+      int n = labels.length;
+      int[] components = new int[n];
+      int[] renamed = new int[n];
+      Arrays.fill(renamed, -1);
+      int[] sizes = new int[n + 1];
+      int count = 0;
+      for (int v = 0; v < n; v++) {
+        if (renamed[labels[v]] == -1) {
+          renamed[labels[v]] = count++;
+        }
+        components[v] = renamed[labels[v]];
+        sizes[components[v] + 1]++;
+      }
+      starts = new int[count + 1];
+      for (int c = 0; c < count; c++) {
+        starts[c + 1] = starts[c] + sizes[c + 1];
+      }
+      int[] positions = Arrays.copyOf(starts, count);
+      vertices = new int[n];
+      for (int v = 0; v < n; v++) {
+        vertices[positions[components[v]]++] = v;
+      }
+      this.count = count;
+    }
+
+    final int count;
+    final int[] starts;
+    final int[] vertices;
+  }
+
+  protected ForkJoinPool pool;
+}
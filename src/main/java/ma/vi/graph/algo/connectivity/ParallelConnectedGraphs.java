@@ -0,0 +1,81 @@
+package ma.vi.graph.algo.connectivity;
+
+import ma.vi.graph.CsrGraph;
+import ma.vi.graph.Edge;
+import ma.vi.graph.Graph;
+import ma.vi.graph.algo.Algorithm;
+import ma.vi.graph.algo.Parallel;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * <p>
+ * Returns the connected subgraphs of a graph, as {@link ConnectedGraphs} does, with
+ * the work done in parallel on a {@link ForkJoinPool}: the components are found with
+ * a {@link ConcurrentUnionFind} shared by the tasks of the pool, as in
+ * {@link ParallelConnectedComponents}, then the subgraph of every component is
+ * assembled from the edges of its vertices, several components at a time, with
+ * {@link Graph#newGraph(Set)} on the original graph.
+ * </p>
+ *
+ * <p>
+ * The direction of the edges of directed graphs is ignored when finding components.
+ * Vertices without edges are not part of any subgraph. The subgraphs are returned
+ * in the order of their first vertex in the {@link CsrGraph} of the graph, which is
+ * created if the graph is not already one.
+ * </p>
+ *
+ * @param <V> The vertex type of the graph.
+ * @param <W> The weight type on the edges of the graph.
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+public class ParallelConnectedGraphs<V, W> implements Algorithm<V, W, List<Graph<V, W>>> {
+  /**
+   * Sets the pool to run the algorithm on, {@link ForkJoinPool#commonPool()} by default.
+   */
+  public ParallelConnectedGraphs<V, W> pool(ForkJoinPool pool) {
+    this.pool = pool;
+    return this;
+  }
+
+  @Override
+  public List<Graph<V, W>> execute(Graph<V, W> graph) {
+    ForkJoinPool pool = this.pool == null ? ForkJoinPool.commonPool() : this.pool;
+    CsrGraph<V, W> csr = CsrGraph.of(graph);
+    ParallelConnectedComponents.Labels labels =
+        new ParallelConnectedComponents.Labels(ParallelConnectedComponents.roots(csr, pool));
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    Graph<V, W>[] graphs = new Graph[labels.count];
+    Parallel.forRange(pool, 0, labels.count, Parallel.grain(pool, labels.count, 16), (from, to) -> {
+      for (int c = from; c < to; c++) {
+        Set<Edge<V, W>> edges = new LinkedHashSet<>();
+        for (int i = labels.starts[c]; i < labels.starts[c + 1]; i++) {
+          int u = labels.vertices[i];
+          for (int e = csr.outStart(u); e < csr.outEnd(u); e++) {
+            if (!csr.outReversed(e)) {
+              edges.add(Edge.of(csr.vertex(u), csr.outWeight(e), csr.vertex(csr.outTarget(e))));
+            }
+          }
+        }
+        if (!edges.isEmpty()) {
+          graphs[c] = graph.newGraph(edges);
+        }
+      }
+    });
+    List<Graph<V, W>> connected = new ArrayList<>();
+    for (Graph<V, W> g: graphs) {
+      if (g != null) {
+        connected.add(g);
+      }
+    }
+    return connected;
+  }
+
+  protected ForkJoinPool pool;
+}
@@ -0,0 +1,324 @@
+package ma.vi.graph.algo.connectivity;
+
+import ma.vi.graph.CsrGraph;
+import ma.vi.graph.Graph;
+import ma.vi.graph.algo.Algorithm;
+import ma.vi.graph.algo.Parallel;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * <p>
+ * Finds the strongly connected components of a directed graph in parallel on a
+ * {@link ForkJoinPool} with the forward-backward algorithm (Fleischer, Hendrickson
+ * &amp; Pinar, 2000), returning each component as a set of vertices.
+ * </p>
+ *
+ * <p>
+ * The vertices are first trimmed: those without incoming or without outgoing edges
+ * from other remaining vertices are components by themselves and are removed, which
+ * is repeated for the neighbours of the removed vertices until no more vertices can
+ * be trimmed. The remaining vertices form a single part which is split as follows:
+ * the vertices reachable from a pivot vertex of the part (forward) and those from
+ * which the pivot can be reached (backward) are found with parallel breadth-first
+ * searches; the vertices in both are the component of the pivot, while the vertices
+ * only forward, only backward and in neither form three new parts, with no component
+ * spanning two parts. Every vertex is colored with the part it is in and the searches
+ * only follow the edges inside a part, so all parts are split concurrently. Parts not
+ * larger than the base size are searched with Tarjan's algorithm instead, as done by
+ * {@link StronglyConnectedComponents}. Parts are processed in rounds, not recursively,
+ * so that the long chains of parts of some graphs do not overflow the call stack.
+ * </p>
+ *
+ * <p>
+ * Every vertex is in exactly one component. The components are returned in the order
+ * of their first vertex in the {@link CsrGraph} of the graph, which is created if the
+ * graph is not already one, and are the same as found by
+ * {@link StronglyConnectedComponents}.
+ * </p>
+ *
+ * @param <V> The vertex type of the graph.
+ * @param <W> The weight type on the edges of the graph.
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+public class ParallelStronglyConnectedComponents<V, W> implements Algorithm<V, W, List<Set<V>>> {
+  /**
+   * Sets the pool to run the algorithm on, {@link ForkJoinPool#commonPool()} by default.
+   */
+  public ParallelStronglyConnectedComponents<V, W> pool(ForkJoinPool pool) {
+    this.pool = pool;
+    return this;
+  }
+
+  /**
+   * Sets the number of vertices under which a part is searched with Tarjan's
+   * algorithm instead of being split further (4096 by default).
+   */
+  public ParallelStronglyConnectedComponents<V, W> baseSize(int baseSize) {
+    this.baseSize = Math.max(1, baseSize);
+    return this;
+  }
+
+  @Override
+  public List<Set<V>> execute(Graph<V, W> graph) {
+    ForkJoinPool pool = this.pool == null ? ForkJoinPool.commonPool() : this.pool;
+    CsrGraph<V, W> csr = CsrGraph.of(graph);
+    Search search = new Search(csr, pool, baseSize);
+
+    List<Part> parts = new ArrayList<>();
+    IntList remaining = search.trim();
+    if (remaining.size > 0) {
+      parts.add(new Part(0, remaining));
+    }
+    while (!parts.isEmpty()) {
+      Queue<Part> next = new ConcurrentLinkedQueue<>();
+      List<Part> current = parts;
+      Parallel.forRange(pool, 0, current.size(), 1, (from, to) -> {
+        for (int i = from; i < to; i++) {
+          search.split(current.get(i), next);
+        }
+      });
+      parts = new ArrayList<>(next);
+    }
+    return ParallelConnectedComponents.sets(csr, pool, new ParallelConnectedComponents.Labels(search.components));
+  }
+
+  /**
+   * The state of the search shared by all parts: the color of every vertex, which
+   * is the part it is in or DONE once its component is known, and its component.
+   */
+  private static class Search {
+    Search(CsrGraph<?, ?> graph, ForkJoinPool pool, int baseSize) {
+      this.graph = graph;
+      this.pool = pool;
+      this.baseSize = baseSize;
+      int n = graph.vertexCount();
+      colors = new AtomicIntegerArray(n);
+      components = new int[n];
+      Arrays.fill(components, -1);
+      index = new int[n];
+      low = new int[n];
+    }
+
+    /**
+     * Removes the vertices without incoming or outgoing edges from the other vertices
+     * of part 0, the initial part, making each a component, and returns the vertices
+     * remaining in the part.
+     */
+    IntList trim() {
+      int n = graph.vertexCount();
+      int[] queued = new int[n];
+      IntList candidates = candidates(n);
+      for (int round = 1; candidates.size > 0; round++) {
+        IntList removed = gather(candidates, 1024, (v, out) -> {
+          if (colors.get(v) == 0
+           && (!connected(v, true) || !connected(v, false))
+           && colors.compareAndSet(v, 0, DONE)) {
+            components[v] = nextComponent.getAndIncrement();
+            out.add(v);
+          }
+        });
+        int stamp = round;
+        candidates = gather(removed, 256, (v, out) -> {
+          for (int e = graph.outStart(v); e < graph.outEnd(v); e++) {
+            enqueue(graph.outTarget(e), queued, stamp, out);
+          }
+          for (int e = graph.inStart(v); e < graph.inEnd(v); e++) {
+            enqueue(graph.inSource(e), queued, stamp, out);
+          }
+        });
+      }
+      return gather(candidates(n), 1024, (v, out) -> {
+        if (colors.get(v) == 0) out.add(v);
+      });
+    }
+
+    /**
+     * Finds the component of the pivot of the part and adds the three parts left to
+     * the queue, or finds all components of the part with Tarjan's algorithm if the
+     * part is not larger than the base size.
+     */
+    void split(Part part, Queue<Part> parts) {
+      int color = part.color;
+      if (part.vertices.size <= baseSize) {
+        Tarjan.components(graph, part.vertices.items, part.vertices.size, w -> colors.get(w) == color,
+                          index, low, components, nextComponent::getAndIncrement);
+        return;
+      }
+      int pivot = part.vertices.items[part.vertices.size / 2];
+      int forward = nextColor.getAndIncrement();
+      int backward = nextColor.getAndIncrement();
+
+      colors.set(pivot, forward);
+      IntList frontier = IntList.of(pivot);
+      while (frontier.size > 0) {
+        frontier = gather(frontier, 256, (v, out) -> {
+          for (int e = graph.outStart(v); e < graph.outEnd(v); e++) {
+            int w = graph.outTarget(e);
+            if (colors.compareAndSet(w, color, forward)) out.add(w);
+          }
+        });
+      }
+      colors.set(pivot, DONE);
+      frontier = IntList.of(pivot);
+      while (frontier.size > 0) {
+        frontier = gather(frontier, 256, (v, out) -> {
+          for (int e = graph.inStart(v); e < graph.inEnd(v); e++) {
+            int w = graph.inSource(e);
+            if (colors.compareAndSet(w, forward, DONE) || colors.compareAndSet(w, color, backward)) out.add(w);
+          }
+        });
+      }
+
+      int component = nextComponent.getAndIncrement();
+      IntList forwardOnly = new IntList();
+      IntList backwardOnly = new IntList();
+      IntList neither = new IntList();
+      for (int i = 0; i < part.vertices.size; i++) {
+        int v = part.vertices.items[i];
+        int c = colors.get(v);
+        if (c == DONE) {
+          components[v] = component;
+        } else if (c == forward) {
+          forwardOnly.add(v);
+        } else if (c == backward) {
+          backwardOnly.add(v);
+        } else {
+          neither.add(v);
+        }
+      }
+      if (forwardOnly.size > 0) parts.add(new Part(forward, forwardOnly));
+      if (backwardOnly.size > 0) parts.add(new Part(backward, backwardOnly));
+      if (neither.size > 0) parts.add(new Part(color, neither));
+    }
+
+    /**
+     * Returns true if the vertex has an outgoing (or incoming if out is false) edge
+     * from or to another vertex of the initial part.
+     */
+    private boolean connected(int v, boolean out) {
+      int from = out ? graph.outStart(v) : graph.inStart(v);
+      int to = out ? graph.outEnd(v) : graph.inEnd(v);
+      for (int e = from; e < to; e++) {
+        int w = out ? graph.outTarget(e) : graph.inSource(e);
+        if (w != v && colors.get(w) == 0) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    /**
+     * Adds the vertex to the candidates for the next trimming round if it is still
+     * in the initial part. Concurrent updates of queued may add a vertex more than
+     * once, which only checks it twice.
+     */
+    private void enqueue(int v, int[] queued, int round, IntList out) {
+      if (colors.get(v) == 0 && queued[v] != round) {
+        queued[v] = round;
+        out.add(v);
+      }
+    }
+
+    private static IntList candidates(int n) {
+      IntList all = new IntList();
+      for (int v = 0; v < n; v++) {
+        all.add(v);
+      }
+      return all;
+    }
+
+    /**
+     * Applies the operation to all items in parallel and returns the
+     * concatenation of the items that it added to its output.
+     */
+    private IntList gather(IntList items, int grain, ItemOp op) {
+      IntList gathered = new IntList();
+      if (items.size <= grain || pool.getParallelism() == 1) {
+        for (int i = 0; i < items.size; i++) {
+          op.op(items.items[i], gathered);
+        }
+      } else {
+        Queue<IntList> chunks = new ConcurrentLinkedQueue<>();
+        Parallel.forRange(pool, 0, items.size, Parallel.grain(pool, items.size, grain), (from, to) -> {
+          IntList out = new IntList();
+          for (int i = from; i < to; i++) {
+            op.op(items.items[i], out);
+          }
+          chunks.add(out);
+        });
+        for (IntList chunk: chunks) {
+          gathered.addAll(chunk);
+        }
+      }
+      return gathered;
+    }
+
+    final CsrGraph<?, ?> graph;
+    final ForkJoinPool pool;
+    final int baseSize;
+    final AtomicIntegerArray colors;
+    final int[] components;
+    final int[] index;
+    final int[] low;
+    final AtomicInteger nextComponent = new AtomicInteger();
+    final AtomicInteger nextColor = new AtomicInteger(1);
+  }
+
+  @FunctionalInterface
+  private interface ItemOp {
+    void op(int item, IntList out);
+  }
+
+  /**
+   * A part of the graph: the vertices with the same color.
+   */
+  private static class Part {
+    Part(int color, IntList vertices) {
+      this.color = color;
+      this.vertices = vertices;
+    }
+
+    final int color;
+    final IntList vertices;
+  }
+
+  private static class IntList {
+    static IntList of(int item) {
+      IntList list = new IntList();
+      list.add(item);
+      return list;
+    }
+
+    void add(int item) {
+      if (size == items.length) {
+        items = Arrays.copyOf(items, Math.max(16, size * 2));
+      }
+      items[size++] = item;
+    }
+
+    void addAll(IntList list) {
+      if (size + list.size > items.length) {
+        items = Arrays.copyOf(items, Math.max(size + list.size, size * 2));
+      }
+      System.arraycopy(list.items, 0, items, size, list.size);
+      size += list.size;
+    }
+
+    int[] items = new int[0];
+    int size;
+  }
+
+  /**
+   * The color of the vertices whose component is known.
+   */
+  private static final int DONE = -1;
+
+  protected ForkJoinPool pool;
+  protected int baseSize = 4096;
+}
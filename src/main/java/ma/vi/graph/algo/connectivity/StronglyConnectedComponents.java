@@ -0,0 +1,52 @@
+package ma.vi.graph.algo.connectivity;
+
+import ma.vi.graph.CsrGraph;
+import ma.vi.graph.Graph;
+import ma.vi.graph.algo.Algorithm;
+
+import java.util.*;
+
+/**
+ * <p>
+ * Finds the strongly connected components of a directed graph with Tarjan's algorithm,
+ * returning each component as a set of vertices. The depth-first search of the algorithm
+ * is run with explicit stacks, not by recursion, so that graphs with long paths, such as
+ * large dependency graphs, do not overflow the call stack.
+ * </p>
+ *
+ * <p>
+ * Every vertex is in exactly one component. The components are returned in reverse
+ * topological order: no edge leads from a component to a later one in the list. The
+ * graph is searched through its {@link CsrGraph} form which is created if the graph
+ * is not already one. For undirected graphs, the components found are the connected
+ * components. {@link ParallelStronglyConnectedComponents} finds the same components
+ * in parallel.
+ * </p>
+ *
+ * @param <V> The vertex type of the graph.
+ * @param <W> The weight type on the edges of the graph.
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+public class StronglyConnectedComponents<V, W> implements Algorithm<V, W, List<Set<V>>> {
+  @Override
+  public List<Set<V>> execute(Graph<V, W> graph) {
+    CsrGraph<V, W> csr = CsrGraph.of(graph);
+    int n = csr.vertexCount();
+    int[] vertices = new int[n];
+    for (int v = 0; v < n; v++) {
+      vertices[v] = v;
+    }
+    int[] components = new int[n];
+    Arrays.fill(components, -1);
+    List<Set<V>> sets = new ArrayList<>();
+    Tarjan.components(csr, vertices, n, v -> true, new int[n], new int[n], components, () -> {
+      sets.add(new HashSet<>());
+      return sets.size() - 1;
+    });
+    for (int v = 0; v < n; v++) {
+      sets.get(components[v]).add(csr.vertex(v));
+    }
+    return sets;
+  }
+}
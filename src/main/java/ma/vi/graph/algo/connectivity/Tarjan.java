@@ -0,0 +1,85 @@
+package ma.vi.graph.algo.connectivity;
+
+import ma.vi.graph.CsrGraph;
+
+import java.util.function.IntPredicate;
+import java.util.function.IntSupplier;
+
+/**
+ * Tarjan's algorithm for the strongly connected components of a {@link CsrGraph},
+ * with the depth-first search run on explicit stacks instead of by recursion so
+ * that it is not limited by the depth of the call stack of the thread.
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+final class Tarjan {
+  private Tarjan() {}
+
+  /**
+   * Finds the strongly connected components of the subgraph of the given vertices,
+   * the first count of the vertices array, following only the edges to vertices
+   * accepted by member (which must accept all the given vertices). Every component
+   * found gets the next int from the supplier as label, which is set in components
+   * for all its vertices; components are found in reverse topological order.
+   * <p>
+   * The entries for the given vertices in the index, low and components arrays, which
+   * are indexed by vertex id, must be 0, 0 and -1 respectively; the other entries are
+   * neither read nor written, so that the components of disjoint sets of vertices
+   * can be found concurrently with the same arrays.
+   */
+  static void components(CsrGraph<?, ?> graph, int[] vertices, int count, IntPredicate member,
+                         int[] index, int[] low, int[] components, IntSupplier nextComponent) {
+    int[] stack = new int[count];
+    int[] callVertices = new int[count];
+    int[] callEntries = new int[count];
+    int order = 0;
+    int top = 0;
+    for (int i = 0; i < count; i++) {
+      int start = vertices[i];
+      if (index[start] != 0) {
+        continue;
+      }
+      index[start] = low[start] = ++order;
+      stack[top++] = start;
+      callVertices[0] = start;
+      callEntries[0] = graph.outStart(start);
+      int calls = 1;
+      while (calls > 0) {
+        int v = callVertices[calls - 1];
+        int e = callEntries[calls - 1];
+        if (e < graph.outEnd(v)) {
+          callEntries[calls - 1] = e + 1;
+          int w = graph.outTarget(e);
+          if (member.test(w)) {
+            if (index[w] == 0) {
+              index[w] = low[w] = ++order;
+              stack[top++] = w;
+              callVertices[calls] = w;
+              callEntries[calls] = graph.outStart(w);
+              calls++;
+            } else if (components[w] == -1) {
+              /*
+               * Visited vertices without a component are on the stack.
+               */
+              low[v] = Math.min(low[v], index[w]);
+            }
+          }
+        } else {
+          calls--;
+          if (calls > 0) {
+            int parent = callVertices[calls - 1];
+            low[parent] = Math.min(low[parent], low[v]);
+          }
+          if (low[v] == index[v]) {
+            int component = nextComponent.getAsInt();
+            int w;
+            do {
+              w = stack[--top];
+              components[w] = component;
+            } while (w != v);
+          }
+        }
+      }
+    }
+  }
+}
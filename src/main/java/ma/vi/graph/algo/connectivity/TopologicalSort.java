@@ -0,0 +1,63 @@
+package ma.vi.graph.algo.connectivity;
+
+import ma.vi.graph.CsrGraph;
+import ma.vi.graph.Graph;
+import ma.vi.graph.algo.Algorithm;
+import ma.vi.graph.algo.explore.IntDepthFirstExplore;
+import ma.vi.graph.algo.explore.IntDepthFirstForest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static ma.vi.graph.algo.explore.IntDepthFirstExplore.EdgeType.BACK;
+
+/**
+ * <p>
+ * Orders the vertices of a directed acyclic graph so that every edge goes from a
+ * vertex to a later one in the order. The order is the reverse of the post-order of
+ * a depth-first exploration of the graph by {@link IntDepthFirstExplore}, run on the
+ * {@link CsrGraph} form of the graph, which stops at the first back edge found as the
+ * graph then has a cycle. The exploration does not recurse, so that graphs with long
+ * paths, such as large dependency graphs, can be sorted.
+ * </p>
+ *
+ * <p>
+ * {@link CycleFinder} returns a cycle preventing a graph from being sorted.
+ * </p>
+ *
+ * @param <V> The vertex type of the graph.
+ * @param <W> The weight type on the edges of the graph.
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+public class TopologicalSort<V, W> implements Algorithm<V, W, List<V>> {
+  /**
+   * Returns the vertices of the graph in topological order.
+   *
+   * @throws IllegalArgumentException if the graph is undirected or has a cycle.
+   */
+  @Override
+  public List<V> execute(Graph<V, W> graph) {
+    if (!graph.directed()) {
+      throw new IllegalArgumentException("Only directed graphs can be sorted topologically");
+    }
+    CsrGraph<V, W> csr = CsrGraph.of(graph);
+    IntDepthFirstForest forest = new IntDepthFirstExplore()
+        .listener(new IntDepthFirstExplore.Listener() {
+          @Override
+          public boolean onEdge(int source, int target, IntDepthFirstExplore.EdgeType type) {
+            return type != BACK;
+          }
+        })
+        .execute(csr.asIntLongGraph());
+    if (forest.stopped()) {
+      throw new IllegalArgumentException("The graph has a cycle and cannot be sorted topologically");
+    }
+    int[] postOrder = forest.postOrder();
+    List<V> order = new ArrayList<>(postOrder.length);
+    for (int i = postOrder.length - 1; i >= 0; i--) {
+      order.add(csr.vertex(postOrder[i]));
+    }
+    return order;
+  }
+}
@@ -20,6 +20,7 @@ public class BreadthFirstExplore<V, W, R> implements Algorithm<V, W, R> {
                 .exploreOp(exploreOp)
                 .expandOp(expandOp)
                 .pathCostOp(pathCostOp)
+                .listener(listener)
                 .execute(graph);
   }
 
@@ -54,9 +55,17 @@ public class BreadthFirstExplore<V, W, R> implements Algorithm<V, W, R> {
     return this;
   }
 
+  /**
+   * Sets the listener of the exploration; see {@link Explore#listener}.
+   */
+  public BreadthFirstExplore<V, W, R> listener(ExploreListener<V, W> listener) {
+    this.listener = listener;
+    return this;
+  }
 
   protected final V startVertex;
   protected ExpandOp<V, W> expandOp = ExpandOp::outgoingEdges;
   protected ExploreOp<V, W, R> exploreOp;
   protected PathCostOp<V, W> pathCostOp;
+  protected ExploreListener<V, W> listener;
 }
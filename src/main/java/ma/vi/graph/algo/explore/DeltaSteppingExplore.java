@@ -0,0 +1,325 @@
+package ma.vi.graph.algo.explore;
+
+import ma.vi.graph.CsrGraph;
+import ma.vi.graph.Graph;
+import ma.vi.graph.algo.Algorithm;
+import ma.vi.graph.algo.Parallel;
+import ma.vi.graph.algo.WeightCostOp;
+
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+
+import static ma.vi.graph.algo.explore.PathTree.UNREACHED;
+
+/**
+ * <p>
+ * Computes the minimum-cost paths from a start vertex to all reachable vertices of
+ * a graph with the delta-stepping algorithm (Meyer &amp; Sanders, 2003), relaxing
+ * edges in parallel on a {@link ForkJoinPool}, and returns them as a {@link PathTree}
+ * of the cost and last edge of the path to every reached vertex.
+ * </p>
+ *
+ * <p>
+ * Vertices are kept in buckets of width delta by their tentative cost and the buckets
+ * are processed in increasing order. The vertices of the current bucket relax their
+ * light edges (cost not more than delta) in parallel, which may insert vertices back
+ * into the current bucket, until the bucket stays empty; their heavy edges are then
+ * relaxed once. Delta trades the work of relaxing edges more than once (large delta,
+ * Bellman-Ford at the extreme) against the number of sequential phases (small delta,
+ * Dijkstra at the extreme); it defaults to the largest edge cost divided by the
+ * average degree of the graph. A relaxation is not applied directly: it is sent as
+ * a request to the owner of its target vertex, each owner applying the requests for
+ * its vertices and maintaining its part of the buckets, so that no locks or atomic
+ * updates are needed.
+ * </p>
+ *
+ * <p>
+ * The cost of an edge is given by the weightCostOp, the numeric value of its weight
+ * by default, and must not be negative. The graph is explored through its
+ * {@link CsrGraph} form which is created if the graph is not already one. The costs
+ * are the same as found by {@link MinCostExplore}; when there are several paths of
+ * minimum cost to a vertex, the one returned may differ between executions.
+ * </p>
+ *
+ * @param <V> The vertex type of the graph.
+ * @param <W> The weight type on the edges of the graph.
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+public class DeltaSteppingExplore<V, W> implements Algorithm<V, W, PathTree<V, W>> {
+  public DeltaSteppingExplore(V startVertex) {
+    this.startVertex = startVertex;
+  }
+
+  /**
+   * Sets the width of the buckets, by default the largest edge cost divided
+   * by the average degree of the graph. The buckets are held in a circular
+   * array of (largest edge cost / delta + 2) slots per thread, which bounds
+   * how small delta can be.
+   */
+  public DeltaSteppingExplore<V, W> delta(long delta) {
+    if (delta < 1) {
+      throw new IllegalArgumentException("Delta must be positive");
+    }
+    this.delta = delta;
+    return this;
+  }
+
+  /**
+   * Sets the function computing the cost of edges from their weights,
+   * {@link WeightCostOp#byWeight} by default.
+   */
+  public DeltaSteppingExplore<V, W> weightCostOp(WeightCostOp<W> weightCostOp) {
+    this.weightCostOp = weightCostOp;
+    return this;
+  }
+
+  /**
+   * Sets the pool to run the exploration on, {@link ForkJoinPool#commonPool()} by default.
+   */
+  public DeltaSteppingExplore<V, W> pool(ForkJoinPool pool) {
+    this.pool = pool;
+    return this;
+  }
+
+  @Override
+  public PathTree<V, W> execute(Graph<V, W> graph) {
+    CsrGraph<V, W> csr = CsrGraph.of(graph);
+    int n = csr.vertexCount();
+    int start = csr.id(startVertex);
+    if (start == -1) {
+      throw new IllegalArgumentException("Start vertex " + startVertex + " is not in the graph");
+    }
+    ForkJoinPool pool = this.pool == null ? ForkJoinPool.commonPool() : this.pool;
+
+    /*
+     * Compute the cost of every distinct weight once.
+     */
+    long[] weightCosts = new long[csr.weightCount()];
+    long maxCost = 0;
+    for (int w = 0; w < weightCosts.length; w++) {
+      weightCosts[w] = weightCostOp.op(csr.weightOf(w));
+      if (weightCosts[w] < 0) {
+        throw new IllegalArgumentException("Negative cost for weight " + csr.weightOf(w));
+      }
+      maxCost = Math.max(maxCost, weightCosts[w]);
+    }
+    long delta = this.delta;
+    if (delta == 0) {
+      long averageDegree = Math.max(1, (long)csr.outEnd(n - 1) / n);
+      delta = Math.max(1, maxCost / averageDegree);
+    }
+    long slotCount = maxCost / delta + 2;
+    if (slotCount > Integer.MAX_VALUE / 2) {
+      throw new IllegalArgumentException("Delta " + delta + " is too small for edge costs up to " + maxCost);
+    }
+
+    int owners = pool.getParallelism();
+    Buckets[] buckets = new Buckets[owners];
+    for (int o = 0; o < owners; o++) {
+      buckets[o] = new Buckets((int)slotCount, delta);
+    }
+    long[] costs = new long[n];
+    int[] parents = new int[n];
+    int[] entries = new int[n];
+    Arrays.fill(costs, UNREACHED);
+    Arrays.fill(parents, -1);
+    costs[start] = 0;
+    buckets[start % owners].add(start, 0);
+
+    int[] drained = new int[n];
+    int[] settled = new int[n];
+    int phase = 0;
+    int bucketCount = 0;
+    IntList current = new IntList();
+    IntList removed = new IntList();
+    for (long bucket = 0; ; bucket++) {
+      /*
+       * Find the next non-empty bucket.
+       */
+      long next = -1;
+      for (long b = bucket; next == -1 && b < bucket + slotCount; b++) {
+        for (Buckets ownerBuckets: buckets) {
+          if (!ownerBuckets.isEmpty(b)) {
+            next = b;
+            break;
+          }
+        }
+      }
+      if (next == -1) {
+        break;
+      }
+      bucket = next;
+      bucketCount++;
+      removed.clear();
+      while (true) {
+        /*
+         * Take the vertices still in the bucket, skipping duplicates and the
+         * vertices since moved to a lower bucket.
+         */
+        phase++;
+        current.clear();
+        for (Buckets ownerBuckets: buckets) {
+          IntList slot = ownerBuckets.slot(bucket);
+          for (int i = 0; slot != null && i < slot.size; i++) {
+            int v = slot.items[i];
+            if (drained[v] != phase && costs[v] / delta == bucket) {
+              drained[v] = phase;
+              current.add(v);
+              if (settled[v] != bucketCount) {
+                settled[v] = bucketCount;
+                removed.add(v);
+              }
+            }
+          }
+          if (slot != null) {
+            slot.clear();
+          }
+        }
+        if (current.size == 0) {
+          break;
+        }
+        relax(csr, pool, current, true, delta, weightCosts, costs, parents, entries, buckets);
+      }
+      relax(csr, pool, removed, false, delta, weightCosts, costs, parents, entries, buckets);
+    }
+    return new PathTree<>(csr, start, costs, parents, entries);
+  }
+
+  /**
+   * Relaxes the light or heavy edges out of the vertices in parallel: the requests
+   * for the relaxations are produced by chunks of the vertices, then applied by the
+   * owners of their target vertices.
+   */
+  private static void relax(CsrGraph<?, ?> graph, ForkJoinPool pool, IntList vertices, boolean light,
+                            long delta, long[] weightCosts, long[] costs, int[] parents, int[] entries,
+                            Buckets[] buckets) {
+    int owners = buckets.length;
+    Queue<Requests> requests = new ConcurrentLinkedQueue<>();
+    Parallel.forRange(pool, 0, vertices.size, Parallel.grain(pool, vertices.size, 256), (from, to) -> {
+      Requests chunk = new Requests(owners);
+      for (int i = from; i < to; i++) {
+        int u = vertices.items[i];
+        long cost = costs[u];
+        for (int e = graph.outStart(u); e < graph.outEnd(u); e++) {
+          long weight = weightCosts[graph.outWeightId(e)];
+          if ((weight <= delta) == light) {
+            int v = graph.outTarget(e);
+            if (cost + weight < costs[v]) {
+              chunk.add(v % owners, v, cost + weight, u, e);
+            }
+          }
+        }
+      }
+      requests.add(chunk);
+    });
+    Parallel.forRange(pool, 0, owners, 1, (from, to) -> {
+      for (int owner = from; owner < to; owner++) {
+        for (Requests chunk: requests) {
+          Requests.Part part = chunk.parts[owner];
+          for (int i = 0; part != null && i < part.size; i++) {
+            int v = part.targets[i];
+            long cost = part.costs[i];
+            if (cost < costs[v]) {
+              costs[v] = cost;
+              parents[v] = part.parents[i];
+              entries[v] = part.entries[i];
+              buckets[owner].add(v, cost);
+            }
+          }
+        }
+      }
+    });
+  }
+
+  /**
+   * The buckets of the vertices of one owner, in a circular array of slots.
+   */
+  private static class Buckets {
+    Buckets(int slotCount, long delta) {
+      this.slots = new IntList[slotCount];
+      this.delta = delta;
+    }
+
+    void add(int vertex, long cost) {
+      int s = (int)((cost / delta) % slots.length);
+      if (slots[s] == null) {
+        slots[s] = new IntList();
+      }
+      slots[s].add(vertex);
+    }
+
+    IntList slot(long bucket) {
+      return slots[(int)(bucket % slots.length)];
+    }
+
+    boolean isEmpty(long bucket) {
+      IntList slot = slot(bucket);
+      return slot == null || slot.size == 0;
+    }
+
+    final IntList[] slots;
+    final long delta;
+  }
+
+  /**
+   * The relaxation requests produced by one chunk of vertices, split by owner.
+   */
+  private static class Requests {
+    Requests(int owners) {
+      parts = new Part[owners];
+    }
+
+    void add(int owner, int target, long cost, int parent, int entry) {
+      Part part = parts[owner];
+      if (part == null) {
+        part = parts[owner] = new Part();
+      }
+      if (part.size == part.targets.length) {
+        int capacity = Math.max(16, part.size * 2);
+        part.targets = Arrays.copyOf(part.targets, capacity);
+        part.costs = Arrays.copyOf(part.costs, capacity);
+        part.parents = Arrays.copyOf(part.parents, capacity);
+        part.entries = Arrays.copyOf(part.entries, capacity);
+      }
+      part.targets[part.size] = target;
+      part.costs[part.size] = cost;
+      part.parents[part.size] = parent;
+      part.entries[part.size] = entry;
+      part.size++;
+    }
+
+    static class Part {
+      int[] targets = new int[0];
+      long[] costs = new long[0];
+      int[] parents = new int[0];
+      int[] entries = new int[0];
+      int size;
+    }
+
+    final Part[] parts;
+  }
+
+  private static class IntList {
+    void add(int item) {
+      if (size == items.length) {
+        items = Arrays.copyOf(items, Math.max(16, size * 2));
+      }
+      items[size++] = item;
+    }
+
+    void clear() {
+      size = 0;
+    }
+
+    int[] items = new int[0];
+    int size;
+  }
+
+  protected final V startVertex;
+  protected long delta;
+  protected WeightCostOp<W> weightCostOp = WeightCostOp::byWeight;
+  protected ForkJoinPool pool;
+}
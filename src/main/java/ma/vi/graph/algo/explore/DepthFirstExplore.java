@@ -4,7 +4,9 @@ import ma.vi.graph.Graph;
 import ma.vi.graph.algo.*;
 
 /**
- * An algorithm to explore a graph in depth-first order.
+ * An algorithm to explore a graph in depth-first order. {@link IntDepthFirstExplore}
+ * explores an {@link ma.vi.graph.IntLongGraph} depth-first without allocating paths,
+ * with timestamps and the classification of the edges explored.
  *
  * @author Vikash Madhow (vikash.madhow@gmail.com)
  */
@@ -20,6 +22,7 @@ public class DepthFirstExplore<V, W, R> implements Algorithm<V, W, R> {
         .exploreOp(exploreOp)
         .expandOp(expandOp)
         .pathCostOp(pathCostOp)
+        .listener(listener)
         .execute(graph);
   }
 
@@ -54,8 +57,17 @@ public class DepthFirstExplore<V, W, R> implements Algorithm<V, W, R> {
     return this;
   }
 
+  /**
+   * Sets the listener of the exploration; see {@link Explore#listener}.
+   */
+  public DepthFirstExplore<V, W, R> listener(ExploreListener<V, W> listener) {
+    this.listener = listener;
+    return this;
+  }
+
   protected final V startVertex;
   protected ExpandOp<V, W> expandOp = ExpandOp::outgoingEdges;
   protected ExploreOp<V, W, R> exploreOp;
   protected PathCostOp<V, W> pathCostOp;
+  protected ExploreListener<V, W> listener;
 }
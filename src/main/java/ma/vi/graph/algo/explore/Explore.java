@@ -2,6 +2,7 @@ package ma.vi.graph.algo.explore;
 
 import ma.vi.graph.Edge;
 import ma.vi.graph.Graph;
+import ma.vi.graph.LinkedPath;
 import ma.vi.graph.Path;
 import ma.vi.graph.algo.*;
 
@@ -30,6 +31,14 @@ import java.util.Set;
  * </p>
  *
  * <p>
+ * By default, the explored paths are {@link LinkedPath}s which are extended in O(1) by
+ * pointing to the path they extend, so that the paths in the queue form a predecessor
+ * tree of the explored vertices. The graph of a linked path is only built when it is
+ * requested (e.g., when a search returns it as its result). Setting linkedPaths to false
+ * reverts to {@link Path}s which copy their edges on every extension.
+ * </p>
+ *
+ * <p>
  * This exploration algorithm is used by other algorithms such as search and tree-growing algos.
  * </p>
  *
@@ -63,8 +72,8 @@ public class Explore<V, W, R> implements Algorithm<V, W, R> {
   /**
    * Sets the path queue to use which controls the exploration behaviour.
    * For instance, {@link FifoPathQueue} will explore breadth-first,
-   * {@link LifoPathQueue} will result in depth-first while {@link PriorityPathQueue}
-   * will explore path in order of costs.
+   * {@link LifoPathQueue} will result in depth-first while {@link IndexedPathQueue}
+   * (or {@link PriorityPathQueue}) will explore path in order of costs.
    */
   public Explore<V, W, R> pathQueue(PathQueue<V, W> pathQueue) {
     this.pathQueue = pathQueue;
@@ -102,20 +111,47 @@ public class Explore<V, W, R> implements Algorithm<V, W, R> {
     return this;
   }
 
+  /**
+   * Whether to explore with {@link LinkedPath}s (the default) or with
+   * {@link Path}s which copy all their edges on every extension.
+   */
+  public Explore<V, W, R> linkedPaths(boolean linkedPaths) {
+    this.linkedPaths = linkedPaths;
+    return this;
+  }
+
+  /**
+   * Sets a listener to notify of the events of the exploration (paths enqueued,
+   * dequeued, expanded and pruned, and goal reached), such as an {@link ExploreTracer}.
+   * No events are produced when no listener is set (the default).
+   */
+  public Explore<V, W, R> listener(ExploreListener<V, W> listener) {
+    this.listener = listener;
+    return this;
+  }
+
   @Override
   public R execute(Graph<V, W> graph) {
     if (pathQueue == null) {
       pathQueue = new FifoPathQueue<>();
     }
+    pathQueue.clear();
     if (startVertex != null) {
-      pathQueue.add(new Path<>(0L, startVertex));
+      Path<V, W> start = linkedPaths ? new LinkedPath<>(0L, startVertex)
+                                     : new Path<>(0L, startVertex);
+      pathQueue.add(start);
+      if (listener != null) {
+        listener.onEnqueue(graph, start);
+      }
     } else {
       throw new IllegalArgumentException("Start vertex to explore from not provided");
     }
     Set<V> explored = new HashSet<>();
     while (pathQueue.hasNext()) {
       Path<V, W> path = pathQueue.next();
-      System.out.println("# Exploring " + path + "; length: " + path.length());
+      if (listener != null) {
+        listener.onDequeue(graph, path);
+      }
       Optional<V> f = path.lastVertex();
       if (f.isPresent()) {
         V frontier = f.get();
@@ -131,33 +167,52 @@ public class Explore<V, W, R> implements Algorithm<V, W, R> {
              */
             if (result.isEmpty()) {
               Set<Edge<V, W>> successors = expandOp.op(graph, path);
+              if (listener != null) {
+                listener.onExpand(graph, path, successors);
+              }
               if (!successors.isEmpty()) {
                 for (Edge<V, W> edge: successors) {
                   V newVertex = edge.endPoint2;
                   if (!explored.contains(newVertex)) {
                     if (pathCostOp == null) {
-                      pathQueue.add(path.extend(newVertex, edge.weight, path.length() + 1L));
+                      Path<V, W> newPath = path.extend(newVertex, edge.weight, path.length() + 1L);
+                      pathQueue.add(newPath);
+                      if (listener != null) {
+                        listener.onEnqueue(graph, newPath);
+                      }
                     } else {
                       long cost = pathCostOp.op(graph, path, edge);
                       if (pathQueue.hasPathEndingAt(newVertex)) {
                         Path<V, W> existing = pathQueue.pathEndingAt(newVertex);
                         if (existing.cost() > cost) {
-                          pathQueue.remove(existing);
                           Path<V, W> newPath = path.extend(newVertex, edge.weight, cost);
-                          pathQueue.add(newPath);
+                          pathQueue.decreaseKey(newPath);
+                          if (listener != null) {
+                            listener.onEnqueue(graph, newPath);
+                          }
                         }
                       } else {
                         Path<V, W> newPath = path.extend(newVertex, edge.weight, cost);
                         pathQueue.add(newPath);
+                        if (listener != null) {
+                          listener.onEnqueue(graph, newPath);
+                        }
                       }
                     }
                   }
                 }
               }
             } else {
+              if (listener != null) {
+                listener.onGoal(graph, path);
+              }
               return result.get();
             }
+          } else if (listener != null) {
+            listener.onPrune(graph, path);
           }
+        } else if (listener != null) {
+          listener.onPrune(graph, path);
         }
       }
     }
@@ -169,4 +224,6 @@ public class Explore<V, W, R> implements Algorithm<V, W, R> {
   protected ExpandOp<V, W> expandOp = ExpandOp::outgoingEdges;
   protected ExploreOp<V, W, R> exploreOp;
   protected PathCostOp<V, W> pathCostOp;
+  protected boolean linkedPaths = true;
+  protected ExploreListener<V, W> listener;
 }
@@ -0,0 +1,99 @@
+package ma.vi.graph.algo.explore;
+
+import ma.vi.graph.IntLongGraph;
+import ma.vi.graph.algo.IntAlgorithm;
+import ma.vi.graph.algo.IntExpandOp;
+import ma.vi.graph.algo.IntGoalOp;
+import ma.vi.graph.algo.IntPathCostOp;
+
+import java.util.Arrays;
+
+import static ma.vi.graph.algo.explore.IntPathTree.UNREACHED;
+
+/**
+ * <p>
+ * Explores an {@link IntLongGraph} in breadth-first order from a start vertex. This is
+ * the primitive counterpart of {@link BreadthFirstExplore}: the queue, the path costs
+ * and the parent of every vertex are held in int and long arrays allocated once per
+ * execution, and the adjacency is traversed with a cursor, so that nothing is
+ * allocated per vertex or edge explored.
+ * </p>
+ *
+ * <p>
+ * The exploration stops at the first vertex for which the goalOp, if set, returns
+ * true; otherwise all vertices reachable from the start vertex are explored.
+ * </p>
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+public class IntBreadthFirstExplore implements IntAlgorithm<IntPathTree> {
+  public IntBreadthFirstExplore(int startVertex) {
+    this.startVertex = startVertex;
+  }
+
+  /**
+   * Sets the function to test whether a vertex is a goal at which
+   * exploration should stop.
+   */
+  public IntBreadthFirstExplore goalOp(IntGoalOp goalOp) {
+    this.goalOp = goalOp;
+    return this;
+  }
+
+  /**
+   * A function called with every edge out of an explored vertex and returning
+   * whether the edge should be followed. The default follows all edges.
+   */
+  public IntBreadthFirstExplore expandOp(IntExpandOp expandOp) {
+    this.expandOp = expandOp;
+    return this;
+  }
+
+  /**
+   * A function to compute the cost of a path extended by an edge. The default
+   * is the length of the path.
+   */
+  public IntBreadthFirstExplore pathCostOp(IntPathCostOp pathCostOp) {
+    this.pathCostOp = pathCostOp;
+    return this;
+  }
+
+  @Override
+  public IntPathTree execute(IntLongGraph graph) {
+    int n = graph.vertexCount();
+    if (startVertex < 0 || startVertex >= n) {
+      throw new IllegalArgumentException("Start vertex " + startVertex + " is not in the graph");
+    }
+    long[] costs = new long[n];
+    int[] parents = new int[n];
+    int[] queue = new int[n];
+    Arrays.fill(costs, UNREACHED);
+    Arrays.fill(parents, -1);
+
+    int head = 0, tail = 0;
+    queue[tail++] = startVertex;
+    costs[startVertex] = 0;
+    IntLongGraph.Cursor cursor = graph.cursor();
+    while (head < tail) {
+      int u = queue[head++];
+      if (goalOp != null && goalOp.op(graph, u, costs[u])) {
+        return new IntPathTree(startVertex, costs, parents, u);
+      }
+      for (cursor.outgoing(u); cursor.next();) {
+        int v = cursor.vertex();
+        long weight = cursor.weight();
+        if (costs[v] == UNREACHED && expandOp.op(graph, u, weight, v)) {
+          costs[v] = pathCostOp.op(graph, costs[u], u, weight, v);
+          parents[v] = u;
+          queue[tail++] = v;
+        }
+      }
+    }
+    return new IntPathTree(startVertex, costs, parents, -1);
+  }
+
+  protected final int startVertex;
+  protected IntGoalOp goalOp;
+  protected IntExpandOp expandOp = IntExpandOp::outgoingEdges;
+  protected IntPathCostOp pathCostOp = IntPathCostOp::byLength;
+}
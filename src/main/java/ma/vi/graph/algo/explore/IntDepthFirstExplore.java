@@ -0,0 +1,217 @@
+package ma.vi.graph.algo.explore;
+
+import ma.vi.graph.IntGraph;
+import ma.vi.graph.IntLongGraph;
+import ma.vi.graph.algo.IntAlgorithm;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Explores an {@link IntLongGraph} in depth-first order, from a start vertex or, by
+ * default, from every vertex not yet reached in order of id, producing a depth-first
+ * forest. Unlike {@link DepthFirstExplore}, which extends and queues a path for every
+ * edge, the search is run on an explicit stack of vertex ids, each with a cursor on
+ * the adjacency of its vertex that is advanced one edge at a time: the stack, the
+ * timestamps and the parent of every vertex are held in int arrays allocated once
+ * per execution and the cursors are created once per level of depth and reused, so
+ * that nothing is allocated per vertex or edge explored, and graphs with very long
+ * paths do not overflow the call stack.
+ * </p>
+ *
+ * <p>
+ * Every vertex gets a discovery time when it is first reached (pre-order) and a finish
+ * time once all its edges have been explored (post-order), both from a single clock
+ * incremented on every discovery and finish. A {@link Listener}, if set, is notified of
+ * these events and of every edge explored with its {@link EdgeType}, and can stop the
+ * exploration. In directed graphs, edges are tree, back, forward or cross edges; in
+ * undirected graphs, each edge is only reported once, as a tree or back edge, and the
+ * edge leading back to the parent of a vertex is not a back edge (unless there are
+ * parallel edges to the parent).
+ * </p>
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+public class IntDepthFirstExplore implements IntAlgorithm<IntDepthFirstForest> {
+  /**
+   * The type of an edge from a vertex u to a vertex v explored by a depth-first search.
+   */
+  public enum EdgeType {
+    /**
+     * v is discovered through the edge and becomes a child of u.
+     */
+    TREE,
+
+    /**
+     * v is an ancestor of u (or u itself), still being explored: the edge closes a cycle.
+     */
+    BACK,
+
+    /**
+     * v is a descendant of u already finished, reached through another path.
+     */
+    FORWARD,
+
+    /**
+     * v is finished and neither an ancestor nor a descendant of u.
+     */
+    CROSS
+  }
+
+  /**
+   * Receives the events of a depth-first exploration. All methods do nothing
+   * by default.
+   */
+  public interface Listener {
+    /**
+     * Invoked when a vertex is discovered, before any of its edges is explored.
+     */
+    default void onDiscover(int vertex, int time) {}
+
+    /**
+     * Invoked when all edges of a vertex have been explored.
+     */
+    default void onFinish(int vertex, int time) {}
+
+    /**
+     * Invoked for every edge explored, before the target of a tree edge is
+     * discovered. Returning false stops the exploration.
+     */
+    default boolean onEdge(int source, int target, EdgeType type) {
+      return true;
+    }
+  }
+
+  /**
+   * Creates an exploration of the whole graph, starting from every vertex not
+   * reached by the previous explorations in order of id.
+   */
+  public IntDepthFirstExplore() {
+    this(-1);
+  }
+
+  /**
+   * Creates an exploration of the vertices reachable from the start vertex.
+   */
+  public IntDepthFirstExplore(int startVertex) {
+    this.startVertex = startVertex;
+  }
+
+  /**
+   * Sets the listener notified of the vertices and edges explored.
+   */
+  public IntDepthFirstExplore listener(Listener listener) {
+    this.listener = listener;
+    return this;
+  }
+
+  @Override
+  public IntDepthFirstForest execute(IntLongGraph graph) {
+    int n = graph.vertexCount();
+    if (startVertex < -1 || startVertex >= n) {
+      throw new IllegalArgumentException("Start vertex " + startVertex + " is not in the graph");
+    }
+    boolean directed = graph.directed();
+    int[] discovery = new int[n];
+    int[] finish = new int[n];
+    int[] parents = new int[n];
+    int[] preOrder = new int[n];
+    int[] postOrder = new int[n];
+    Arrays.fill(discovery, -1);
+    Arrays.fill(finish, -1);
+    Arrays.fill(parents, -1);
+
+    /*
+     * The vertex at each level of the stack, its cursor and, for undirected graphs,
+     * whether the edge back to its parent has been skipped.
+     */
+    int[] stack = new int[n];
+    IntGraph.Cursor[] cursors = new IntGraph.Cursor[Math.min(n, 16)];
+    boolean[] parentSkipped = directed ? null : new boolean[n];
+
+    int time = 0, discovered = 0, finished = 0;
+    boolean stopped = false;
+    for (int root = startVertex == -1 ? 0 : startVertex;
+         root < n && !stopped;
+         root = startVertex == -1 ? root + 1 : n) {
+      if (discovery[root] != -1) {
+        continue;
+      }
+      int depth = 0;
+      int v = root;
+      while (true) {
+        if (v != -1) {
+          /*
+           * Discover v and push it on the stack.
+           */
+          discovery[v] = time;
+          preOrder[discovered++] = v;
+          if (listener != null) {
+            listener.onDiscover(v, time);
+          }
+          time++;
+          if (depth == cursors.length) {
+            cursors = Arrays.copyOf(cursors, Math.min(n, depth * 2));
+          }
+          if (cursors[depth] == null) {
+            cursors[depth] = graph.cursor();
+          }
+          cursors[depth].outgoing(v);
+          stack[depth] = v;
+          if (!directed) {
+            parentSkipped[depth] = false;
+          }
+          depth++;
+          v = -1;
+        }
+        int u = stack[depth - 1];
+        IntGraph.Cursor cursor = cursors[depth - 1];
+        if (cursor.next()) {
+          int w = cursor.vertex();
+          EdgeType type;
+          if (discovery[w] == -1) {
+            type = EdgeType.TREE;
+          } else if (finish[w] == -1) {
+            if (!directed && w == parents[u] && !parentSkipped[depth - 1]) {
+              parentSkipped[depth - 1] = true;
+              continue;
+            }
+            type = EdgeType.BACK;
+          } else if (!directed) {
+            /*
+             * Already reported as a back edge from the other endpoint.
+             */
+            continue;
+          } else {
+            type = discovery[u] < discovery[w] ? EdgeType.FORWARD : EdgeType.CROSS;
+          }
+          if (listener != null && !listener.onEdge(u, w, type)) {
+            stopped = true;
+            break;
+          }
+          if (type == EdgeType.TREE) {
+            parents[w] = u;
+            v = w;
+          }
+        } else {
+          finish[u] = time;
+          postOrder[finished++] = u;
+          if (listener != null) {
+            listener.onFinish(u, time);
+          }
+          time++;
+          if (--depth == 0) {
+            break;
+          }
+        }
+      }
+    }
+    return new IntDepthFirstForest(discovery, finish, parents,
+                                   Arrays.copyOf(preOrder, discovered),
+                                   Arrays.copyOf(postOrder, finished),
+                                   stopped);
+  }
+
+  protected final int startVertex;
+  protected Listener listener;
+}
@@ -0,0 +1,79 @@
+package ma.vi.graph.algo.explore;
+
+/**
+ * The result of a depth-first exploration of an {@link ma.vi.graph.IntLongGraph} by
+ * {@link IntDepthFirstExplore}: the discovery and finish times and the parent of every
+ * vertex in the depth-first forest, held in primitive arrays indexed by vertex, and the
+ * vertices in pre-order and post-order.
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+public class IntDepthFirstForest {
+  public IntDepthFirstForest(int[] discovery, int[] finish, int[] parents,
+                             int[] preOrder, int[] postOrder, boolean stopped) {
+    this.discovery = discovery;
+    this.finish = finish;
+    this.parents = parents;
+    this.preOrder = preOrder;
+    this.postOrder = postOrder;
+    this.stopped = stopped;
+  }
+
+  /**
+   * Returns true if the vertex was discovered.
+   */
+  public boolean reached(int vertex) {
+    return discovery[vertex] != -1;
+  }
+
+  /**
+   * The time at which the vertex was discovered or -1 if it was not reached.
+   */
+  public int discovery(int vertex) {
+    return discovery[vertex];
+  }
+
+  /**
+   * The time at which the exploration of the vertex finished or -1 if it was
+   * not reached or the exploration was stopped before it finished.
+   */
+  public int finish(int vertex) {
+    return finish[vertex];
+  }
+
+  /**
+   * The vertex from which the vertex was discovered or -1 for the roots of
+   * the forest and unreached vertices.
+   */
+  public int parent(int vertex) {
+    return parents[vertex];
+  }
+
+  /**
+   * The vertices in the order in which they were discovered.
+   */
+  public int[] preOrder() {
+    return preOrder;
+  }
+
+  /**
+   * The vertices in the order in which they were finished.
+   */
+  public int[] postOrder() {
+    return postOrder;
+  }
+
+  /**
+   * Returns true if the exploration was stopped by its listener.
+   */
+  public boolean stopped() {
+    return stopped;
+  }
+
+  private final int[] discovery;
+  private final int[] finish;
+  private final int[] parents;
+  private final int[] preOrder;
+  private final int[] postOrder;
+  private final boolean stopped;
+}
@@ -0,0 +1,102 @@
+package ma.vi.graph.algo.explore;
+
+import ma.vi.graph.IntLongGraph;
+import ma.vi.graph.algo.*;
+
+import java.util.Arrays;
+
+import static ma.vi.graph.algo.explore.IntPathTree.UNREACHED;
+
+/**
+ * <p>
+ * Explores an {@link IntLongGraph} in order of minimum path costs from a start
+ * vertex (Dijkstra's algorithm). This is the primitive counterpart of {@link MinCostExplore}:
+ * the frontier is an {@link IndexedLongHeap} whose keys are decreased in place when
+ * a cheaper path to a vertex is found, and path costs and parents are held in arrays
+ * allocated once per execution, so that nothing is allocated per vertex or edge explored.
+ * </p>
+ *
+ * <p>
+ * The exploration stops at the first vertex for which the goalOp, if set, returns
+ * true; otherwise all vertices reachable from the start vertex are explored and the
+ * returned tree contains the minimum-cost paths to all of them. The path costs computed
+ * by the pathCostOp must not decrease as paths are extended (e.g., non-negative weights).
+ * </p>
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+public class IntMinCostExplore implements IntAlgorithm<IntPathTree> {
+  public IntMinCostExplore(int startVertex) {
+    this.startVertex = startVertex;
+  }
+
+  /**
+   * Sets the function to test whether a vertex is a goal at which
+   * exploration should stop.
+   */
+  public IntMinCostExplore goalOp(IntGoalOp goalOp) {
+    this.goalOp = goalOp;
+    return this;
+  }
+
+  /**
+   * A function called with every edge out of an explored vertex and returning
+   * whether the edge should be followed. The default follows all edges.
+   */
+  public IntMinCostExplore expandOp(IntExpandOp expandOp) {
+    this.expandOp = expandOp;
+    return this;
+  }
+
+  /**
+   * A function to compute the cost of a path extended by an edge. The default
+   * is the sum of the weights of the edges of the path.
+   */
+  public IntMinCostExplore pathCostOp(IntPathCostOp pathCostOp) {
+    this.pathCostOp = pathCostOp;
+    return this;
+  }
+
+  @Override
+  public IntPathTree execute(IntLongGraph graph) {
+    int n = graph.vertexCount();
+    if (startVertex < 0 || startVertex >= n) {
+      throw new IllegalArgumentException("Start vertex " + startVertex + " is not in the graph");
+    }
+    long[] costs = new long[n];
+    int[] parents = new int[n];
+    boolean[] explored = new boolean[n];
+    Arrays.fill(costs, UNREACHED);
+    Arrays.fill(parents, -1);
+
+    IndexedLongHeap frontier = new IndexedLongHeap(n);
+    frontier.add(startVertex, 0);
+    costs[startVertex] = 0;
+    IntLongGraph.Cursor cursor = graph.cursor();
+    while (!frontier.isEmpty()) {
+      int u = frontier.poll();
+      explored[u] = true;
+      if (goalOp != null && goalOp.op(graph, u, costs[u])) {
+        return new IntPathTree(startVertex, costs, parents, u);
+      }
+      for (cursor.outgoing(u); cursor.next();) {
+        int v = cursor.vertex();
+        long weight = cursor.weight();
+        if (!explored[v] && expandOp.op(graph, u, weight, v)) {
+          long cost = pathCostOp.op(graph, costs[u], u, weight, v);
+          if (cost < costs[v]) {
+            costs[v] = cost;
+            parents[v] = u;
+            frontier.offer(v, cost);
+          }
+        }
+      }
+    }
+    return new IntPathTree(startVertex, costs, parents, -1);
+  }
+
+  protected final int startVertex;
+  protected IntGoalOp goalOp;
+  protected IntExpandOp expandOp = IntExpandOp::outgoingEdges;
+  protected IntPathCostOp pathCostOp = IntPathCostOp::byWeight;
+}
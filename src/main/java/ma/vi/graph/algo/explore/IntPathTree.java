@@ -0,0 +1,92 @@
+package ma.vi.graph.algo.explore;
+
+import ma.vi.graph.IntPath;
+
+import java.util.Arrays;
+
+/**
+ * The result of exploring an {@link ma.vi.graph.IntLongGraph} from a root vertex:
+ * the cost of the path found to every reached vertex and the parent of the vertex
+ * on that path, held in primitive arrays indexed by vertex.
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+public class IntPathTree {
+  public IntPathTree(int root, long[] costs, int[] parents, int goal) {
+    this.root = root;
+    this.costs = costs;
+    this.parents = parents;
+    this.goal = goal;
+  }
+
+  /**
+   * The vertex the exploration started from.
+   */
+  public int root() {
+    return root;
+  }
+
+  /**
+   * The goal vertex at which the exploration stopped or -1 if the exploration
+   * was not stopped by a goal.
+   */
+  public int goal() {
+    return goal;
+  }
+
+  /**
+   * Returns true if a path to the vertex was found.
+   */
+  public boolean reached(int vertex) {
+    return costs[vertex] != UNREACHED;
+  }
+
+  /**
+   * Returns the cost of the path found to the vertex or {@link #UNREACHED}.
+   */
+  public long cost(int vertex) {
+    return costs[vertex];
+  }
+
+  /**
+   * Returns the vertex preceding the given one on its path or -1 for
+   * the root and unreached vertices.
+   */
+  public int parent(int vertex) {
+    return parents[vertex];
+  }
+
+  /**
+   * Returns the path from the root to the vertex or null if the vertex
+   * was not reached.
+   */
+  public IntPath pathTo(int vertex) {
+    if (vertex < 0 || !reached(vertex)) {
+      return null;
+    }
+    int length = 0;
+    for (int v = vertex; v != root; v = parents[v]) {
+      length++;
+    }
+    int[] vertices = new int[length + 1];
+    for (int v = vertex, i = length; i >= 0; v = parents[v], i--) {
+      vertices[i] = v;
+    }
+    return new IntPath(costs[vertex], vertices);
+  }
+
+  @Override
+  public String toString() {
+    return "Root=" + root + ", Costs=" + Arrays.toString(costs) + ", Parents=" + Arrays.toString(parents);
+  }
+
+  /**
+   * The cost of unreached vertices.
+   */
+  public static final long UNREACHED = Long.MAX_VALUE;
+
+  private final int root;
+  private final long[] costs;
+  private final int[] parents;
+  private final int goal;
+}
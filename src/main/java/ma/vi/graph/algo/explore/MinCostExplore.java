@@ -16,13 +16,25 @@ public class MinCostExplore<V, W, R> implements Algorithm<V, W, R> {
   @Override
   public R execute(Graph<V, W> graph) {
     return new Explore<V, W, R>(startVertex)
-        .pathQueue(new PriorityPathQueue<>())
+        .pathQueue(pathQueue == null ? new IndexedPathQueue<>() : pathQueue)
         .exploreOp(exploreOp)
         .expandOp(expandOp)
         .pathCostOp(pathCostOp)
+        .listener(listener)
         .execute(graph);
   }
 
+  /**
+   * Sets the minimum-cost path queue to use, {@link IndexedPathQueue} by default.
+   * For integer path costs which never decrease along the exploration, such as
+   * non-negative edge weights, a {@link RadixPathQueue} or, for small weights, a
+   * {@link BucketPathQueue} can be used instead.
+   */
+  public MinCostExplore<V, W, R> pathQueue(PathQueue<V, W> pathQueue) {
+    this.pathQueue = pathQueue;
+    return this;
+  }
+
   /**
    * The function taking a graph and a path invoked for every path explored for the
    * graph. The accumulator parameter is passed as the last parameter to this function
@@ -54,8 +66,18 @@ public class MinCostExplore<V, W, R> implements Algorithm<V, W, R> {
     return this;
   }
 
+  /**
+   * Sets the listener of the exploration; see {@link Explore#listener}.
+   */
+  public MinCostExplore<V, W, R> listener(ExploreListener<V, W> listener) {
+    this.listener = listener;
+    return this;
+  }
+
   protected final V startVertex;
+  protected PathQueue<V, W> pathQueue;
   protected ExpandOp<V, W> expandOp = ExpandOp::outgoingEdges;
   protected ExploreOp<V, W, R> exploreOp;
   protected PathCostOp<V, W> pathCostOp = PathCostOp::byWeight;
+  protected ExploreListener<V, W> listener;
 }
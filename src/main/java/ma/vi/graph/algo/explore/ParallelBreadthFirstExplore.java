@@ -0,0 +1,254 @@
+package ma.vi.graph.algo.explore;
+
+import ma.vi.graph.CsrGraph;
+import ma.vi.graph.Graph;
+import ma.vi.graph.algo.Algorithm;
+import ma.vi.graph.algo.Parallel;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static ma.vi.graph.algo.explore.PathTree.UNREACHED;
+
+/**
+ * <p>
+ * Explores a graph in breadth-first order from a start vertex with the vertices of
+ * each level of the exploration processed in parallel on a {@link ForkJoinPool},
+ * returning the {@link PathTree} of the number of edges from the start to every
+ * reached vertex and of the edges by which they were reached.
+ * </p>
+ *
+ * <p>
+ * Every level is expanded in one of two directions (Beamer, Asanović &amp; Patterson,
+ * 2012): top-down, where the edges out of the vertices of the frontier are followed
+ * and every unreached vertex found is claimed by one task with an atomic update; or
+ * bottom-up, where every unreached vertex looks for a vertex of the frontier among
+ * the sources of its incoming edges and stops at the first one found. Top-down is
+ * cheaper while the frontier is small; bottom-up when the frontier holds a large part
+ * of the graph, as it is common in the middle levels of the exploration of small-world
+ * graphs such as social networks. The exploration switches to bottom-up when the
+ * number of edges out of the frontier exceeds the number of edges into unreached
+ * vertices divided by alpha, and back to top-down when the frontier shrinks below
+ * the number of vertices divided by beta.
+ * </p>
+ *
+ * <p>
+ * The graph is explored through its {@link CsrGraph} form which is created if the
+ * graph is not already one; the incoming edges of the bottom-up steps are those of
+ * {@link Graph#incoming(Object)}. The number of edges to every vertex is the same as
+ * found by {@link BreadthFirstExplore}, but the edge by which a vertex is reached may
+ * differ between executions when there are several from the previous level.
+ * </p>
+ *
+ * @param <V> The vertex type of the graph.
+ * @param <W> The weight type on the edges of the graph.
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+public class ParallelBreadthFirstExplore<V, W> implements Algorithm<V, W, PathTree<V, W>> {
+  public ParallelBreadthFirstExplore(V startVertex) {
+    this.startVertex = startVertex;
+  }
+
+  /**
+   * Sets a vertex at which to stop the exploration: the level at which the vertex
+   * is reached is completed and no further level is explored.
+   */
+  public ParallelBreadthFirstExplore<V, W> goalVertex(V goalVertex) {
+    this.goalVertex = goalVertex;
+    return this;
+  }
+
+  /**
+   * Sets the pool to run the exploration on, {@link ForkJoinPool#commonPool()} by default.
+   */
+  public ParallelBreadthFirstExplore<V, W> pool(ForkJoinPool pool) {
+    this.pool = pool;
+    return this;
+  }
+
+  /**
+   * Sets the ratio of the edges into unreached vertices to the edges out of the
+   * frontier under which the exploration switches to bottom-up (14 by default).
+   *
+   * @throws IllegalArgumentException if alpha is not positive.
+   */
+  public ParallelBreadthFirstExplore<V, W> alpha(int alpha) {
+    if (alpha < 1) {
+      throw new IllegalArgumentException("Alpha must be positive: " + alpha);
+    }
+    this.alpha = alpha;
+    return this;
+  }
+
+  /**
+   * Sets the ratio of the number of vertices to the size of the frontier over
+   * which the exploration switches back to top-down (24 by default).
+   *
+   * @throws IllegalArgumentException if beta is not positive.
+   */
+  public ParallelBreadthFirstExplore<V, W> beta(int beta) {
+    if (beta < 1) {
+      throw new IllegalArgumentException("Beta must be positive: " + beta);
+    }
+    this.beta = beta;
+    return this;
+  }
+
+  @Override
+  public PathTree<V, W> execute(Graph<V, W> graph) {
+    CsrGraph<V, W> csr = CsrGraph.of(graph);
+    int n = csr.vertexCount();
+    int start = csr.id(startVertex);
+    if (start == -1) {
+      throw new IllegalArgumentException("Start vertex " + startVertex + " is not in the graph");
+    }
+    int goal = goalVertex == null ? -1 : csr.id(goalVertex);
+    ForkJoinPool pool = this.pool == null ? ForkJoinPool.commonPool() : this.pool;
+
+    long[] costs = new long[n];
+    AtomicIntegerArray parents = new AtomicIntegerArray(n);
+    int[] entries = new int[n];
+    Arrays.fill(costs, UNREACHED);
+    for (int v = 0; v < n; v++) {
+      parents.set(v, -1);
+    }
+    costs[start] = 0;
+    parents.set(start, start);
+
+    int[] frontier = new int[n];
+    int[] next = new int[n];
+    boolean[] inFrontier = null;
+    boolean[] inNext = null;
+    frontier[0] = start;
+    int frontierSize = 1;
+    long frontierEdges = degree(csr, start);
+    long unreachedEdges = 0;
+    for (int v = 0; v < n; v++) {
+      unreachedEdges += csr.inEnd(v) - csr.inStart(v);
+    }
+    boolean bottomUp = false;
+
+    AtomicLong nextSize = new AtomicLong();
+    AtomicLong nextEdges = new AtomicLong();
+    for (long level = 1; frontierSize > 0 && (goal == -1 || costs[goal] == UNREACHED); level++) {
+      unreachedEdges -= frontierEdges;
+      boolean wasBottomUp = bottomUp;
+      if (!bottomUp && frontierEdges > unreachedEdges / alpha) {
+        bottomUp = true;
+      } else if (bottomUp && frontierSize < n / beta) {
+        bottomUp = false;
+      }
+      nextSize.set(0);
+      nextEdges.set(0);
+      long cost = level;
+
+      if (bottomUp) {
+        /*
+         * Every unreached vertex looks for a parent in the frontier.
+         */
+        if (inFrontier == null) {
+          inFrontier = new boolean[n];
+          inNext = new boolean[n];
+        }
+        if (!wasBottomUp) {
+          Arrays.fill(inFrontier, false);
+          for (int i = 0; i < frontierSize; i++) {
+            inFrontier[frontier[i]] = true;
+          }
+        }
+        boolean[] current = inFrontier;
+        boolean[] found = inNext;
+        Arrays.fill(found, false);
+        Parallel.forRange(pool, 0, n, Parallel.grain(pool, n, 1024), (from, to) -> {
+          int count = 0;
+          long edges = 0;
+          for (int v = from; v < to; v++) {
+            if (parents.get(v) == -1) {
+              for (int e = csr.inStart(v); e < csr.inEnd(v); e++) {
+                int u = csr.inSource(e);
+                if (current[u]) {
+                  parents.set(v, u);
+                  entries[v] = ~e;
+                  costs[v] = cost;
+                  found[v] = true;
+                  count++;
+                  edges += degree(csr, v);
+                  break;
+                }
+              }
+            }
+          }
+          nextSize.addAndGet(count);
+          nextEdges.addAndGet(edges);
+        });
+        inFrontier = found;
+        inNext = current;
+        frontierSize = (int)nextSize.get();
+        frontierEdges = nextEdges.get();
+      } else {
+        /*
+         * The vertices in the frontier claim their unreached successors.
+         */
+        int[] current = frontier;
+        int[] claimed = next;
+        if (wasBottomUp) {
+          /*
+           * Back from bottom-up: list the vertices of the frontier.
+           */
+          int size = 0;
+          for (int v = 0; v < n; v++) {
+            if (inFrontier[v]) {
+              current[size++] = v;
+            }
+          }
+        }
+        Parallel.forRange(pool, 0, frontierSize, Parallel.grain(pool, frontierSize, 64), (from, to) -> {
+          int[] buffer = new int[64];
+          int count = 0;
+          long edges = 0;
+          for (int i = from; i < to; i++) {
+            int u = current[i];
+            for (int e = csr.outStart(u); e < csr.outEnd(u); e++) {
+              int v = csr.outTarget(e);
+              if (parents.get(v) == -1 && parents.compareAndSet(v, -1, u)) {
+                entries[v] = e;
+                costs[v] = cost;
+                edges += degree(csr, v);
+                if (count == buffer.length) {
+                  buffer = Arrays.copyOf(buffer, count * 2);
+                }
+                buffer[count++] = v;
+              }
+            }
+          }
+          int at = (int)nextSize.getAndAdd(count);
+          System.arraycopy(buffer, 0, claimed, at, count);
+          nextEdges.addAndGet(edges);
+        });
+        frontier = claimed;
+        next = current;
+        frontierSize = (int)nextSize.get();
+        frontierEdges = nextEdges.get();
+      }
+    }
+
+    int[] parentArray = new int[n];
+    for (int v = 0; v < n; v++) {
+      parentArray[v] = v == start ? -1 : parents.get(v);
+    }
+    return new PathTree<>(csr, start, costs, parentArray, entries);
+  }
+
+  private static int degree(CsrGraph<?, ?> graph, int vertex) {
+    return graph.outEnd(vertex) - graph.outStart(vertex);
+  }
+
+  protected final V startVertex;
+  protected V goalVertex;
+  protected ForkJoinPool pool;
+  protected int alpha = 14;
+  protected int beta = 24;
+}
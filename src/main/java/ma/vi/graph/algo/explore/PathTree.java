@@ -0,0 +1,139 @@
+package ma.vi.graph.algo.explore;
+
+import ma.vi.graph.CsrGraph;
+import ma.vi.graph.Edge;
+import ma.vi.graph.Path;
+
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+
+/**
+ * <p>
+ * The result of exploring a graph from a root vertex with one of the algorithms
+ * working on the {@link CsrGraph} form of the graph: the cost of the path found
+ * to every reached vertex and the edge by which the vertex was reached, held in
+ * primitive arrays indexed by the ids of the vertices in the graph. This is the
+ * counterpart of {@link IntPathTree} for graphs with arbitrary vertices and weights.
+ * </p>
+ *
+ * <p>
+ * The edge by which a vertex was reached is recorded as the index of an entry of
+ * the CSR graph: the outgoing entry of its parent, or the complement (~) of the
+ * incoming entry of the vertex when it was found from the vertex itself (e.g., by
+ * the bottom-up steps of {@link ParallelBreadthFirstExplore}).
+ * </p>
+ *
+ * @param <V> The vertex type of the graph.
+ * @param <W> The weight type on the edges of the graph.
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+public class PathTree<V, W> {
+  public PathTree(CsrGraph<V, W> graph, int root, long[] costs, int[] parents, int[] entries) {
+    this.graph = graph;
+    this.root = root;
+    this.costs = costs;
+    this.parents = parents;
+    this.entries = entries;
+  }
+
+  /**
+   * The vertex the exploration started from.
+   */
+  public V root() {
+    return graph.vertex(root);
+  }
+
+  /**
+   * Returns true if a path to the vertex was found.
+   */
+  public boolean reached(V vertex) {
+    int v = graph.id(vertex);
+    return v != -1 && costs[v] != UNREACHED;
+  }
+
+  /**
+   * The number of vertices reached, including the root.
+   */
+  public int reachedCount() {
+    int count = 0;
+    for (long cost: costs) {
+      if (cost != UNREACHED) count++;
+    }
+    return count;
+  }
+
+  /**
+   * Returns the cost of the path found to the vertex or {@link #UNREACHED}.
+   */
+  public long cost(V vertex) {
+    int v = graph.id(vertex);
+    return v == -1 ? UNREACHED : costs[v];
+  }
+
+  /**
+   * Returns the vertex preceding the given one on its path, or null for
+   * the root and unreached vertices.
+   */
+  public V parent(V vertex) {
+    int v = graph.id(vertex);
+    return v == -1 || parents[v] == -1 ? null : graph.vertex(parents[v]);
+  }
+
+  /**
+   * Returns the edge by which the vertex was reached, or null for the root
+   * and unreached vertices.
+   */
+  public Edge<V, W> edge(V vertex) {
+    int v = graph.id(vertex);
+    return v == -1 || parents[v] == -1 ? null : edge(v);
+  }
+
+  /**
+   * Returns the path from the root to the vertex or null if the vertex
+   * was not reached.
+   */
+  public Path<V, W> pathTo(V vertex) {
+    int v = graph.id(vertex);
+    if (v == -1 || costs[v] == UNREACHED) {
+      return null;
+    }
+    if (v == root) {
+      return new Path<>(costs[v], vertex);
+    }
+    LinkedList<Edge<V, W>> edges = new LinkedList<>();
+    for (int u = v; u != root; u = parents[u]) {
+      edges.addFirst(edge(u));
+    }
+    return Path.of(costs[v], new LinkedHashSet<>(edges));
+  }
+
+  private Edge<V, W> edge(int v) {
+    int entry = entries[v];
+    return entry >= 0
+         ? Edge.of(graph.vertex(parents[v]), graph.outWeight(entry), graph.vertex(v))
+         : Edge.of(graph.vertex(graph.inSource(~entry)), graph.inWeight(~entry), graph.vertex(v));
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder s = new StringBuilder("Root=").append(root());
+    for (int v = 0; v < costs.length; v++) {
+      if (costs[v] != UNREACHED) {
+        s.append(", ").append(graph.vertex(v)).append('=').append(costs[v]);
+      }
+    }
+    return s.toString();
+  }
+
+  /**
+   * The cost of unreached vertices.
+   */
+  public static final long UNREACHED = IntPathTree.UNREACHED;
+
+  private final CsrGraph<V, W> graph;
+  private final int root;
+  private final long[] costs;
+  private final int[] parents;
+  private final int[] entries;
+}
@@ -0,0 +1,88 @@
+package ma.vi.graph.algo.hierarchy;
+
+import java.util.Arrays;
+
+/**
+ * A growable list of the arcs out of (or into) a vertex during contraction: the
+ * vertex at the other end of each arc, its weight, the vertex it bypasses if it
+ * is a shortcut (-1 otherwise) and the id of its weight in the weight table of
+ * the hierarchy if it is an edge of the graph (-1 otherwise). There is at most
+ * one arc to any other vertex, the one of least weight.
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+class ArcList {
+  int size() {
+    return size;
+  }
+
+  int vertex(int arc) {
+    return vertices[arc];
+  }
+
+  long weight(int arc) {
+    return weights[arc];
+  }
+
+  int middle(int arc) {
+    return middles[arc];
+  }
+
+  int weightId(int arc) {
+    return weightIds[arc];
+  }
+
+  int indexOf(int vertex) {
+    for (int i = 0; i < size; i++) {
+      if (vertices[i] == vertex) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Adds an arc to the vertex or replaces the existing arc to the vertex
+   * if the new arc has a smaller weight. Returns true if the list changed.
+   */
+  boolean put(int vertex, long weight, int middle, int weightId) {
+    int i = indexOf(vertex);
+    if (i == -1) {
+      if (size == vertices.length) {
+        int capacity = Math.max(4, size * 2);
+        vertices = Arrays.copyOf(vertices, capacity);
+        weights = Arrays.copyOf(weights, capacity);
+        middles = Arrays.copyOf(middles, capacity);
+        weightIds = Arrays.copyOf(weightIds, capacity);
+      }
+      i = size++;
+    } else if (weights[i] <= weight) {
+      return false;
+    }
+    vertices[i] = vertex;
+    weights[i] = weight;
+    middles[i] = middle;
+    weightIds[i] = weightId;
+    return true;
+  }
+
+  /**
+   * Removes the arc to the vertex, if present.
+   */
+  void remove(int vertex) {
+    int i = indexOf(vertex);
+    if (i != -1) {
+      size--;
+      vertices[i] = vertices[size];
+      weights[i] = weights[size];
+      middles[i] = middles[size];
+      weightIds[i] = weightIds[size];
+    }
+  }
+
+  private int[] vertices = new int[0];
+  private long[] weights = new long[0];
+  private int[] middles = new int[0];
+  private int[] weightIds = new int[0];
+  private int size;
+}
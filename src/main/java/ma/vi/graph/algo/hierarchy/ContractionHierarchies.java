@@ -0,0 +1,286 @@
+package ma.vi.graph.algo.hierarchy;
+
+import ma.vi.graph.Edge;
+import ma.vi.graph.Graph;
+import ma.vi.graph.algo.Algorithm;
+import ma.vi.graph.algo.IndexedLongHeap;
+
+import java.util.*;
+
+/**
+ * <p>
+ * Preprocesses a graph into a {@link ContractionHierarchy} (Geisberger, Sanders,
+ * Schultes &amp; Delling, 2008) for fast minimum-cost queries with
+ * {@link ContractionHierarchySearch}.
+ * </p>
+ *
+ * <p>
+ * The vertices are contracted one at a time, least important first: contracting a
+ * vertex removes it from the remaining graph and adds a shortcut from each of its
+ * in-neighbours u to each of its out-neighbours x when the path u→v→x is the only
+ * shortest path from u to x in the remaining graph. This is checked with a local
+ * Dijkstra search from u avoiding v (the witness search), limited to a number of
+ * settled vertices; when the limit is reached, the shortcut is added which keeps the
+ * hierarchy correct at the cost of some unnecessary shortcuts. The importance of a
+ * vertex is its edge difference (the shortcuts its contraction adds less the arcs
+ * it removes) plus the number of its neighbours already contracted, which spreads
+ * the contraction uniformly over the graph. Priorities are updated lazily and those
+ * of the neighbours of a contracted vertex are recomputed.
+ * </p>
+ *
+ * <p>
+ * The edge weights must be non-negative numbers (non-numeric weights count as 0).
+ * The preprocessing is deterministic: vertices are numbered in the order in which
+ * they are first seen in the edges of the graph and ties in importance are broken
+ * by that number, so the same graph always produces the same hierarchy.
+ * </p>
+ *
+ * <pre>
+ *   ContractionHierarchy&lt;String, Integer&gt; ch = cities.apply(new ContractionHierarchies&lt;&gt;());
+ *   Path&lt;String, Integer&gt; path = cities.apply(new ContractionHierarchySearch&lt;&gt;(ch, "Arad").goalVertex("Bucharest"));
+ *   Path&lt;String, Integer&gt; other = ch.path("Timisoara", "Bucharest");
+ * </pre>
+ *
+ * @param <V> The vertex type of the graph.
+ * @param <W> The weight type on the edges of the graph.
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+public class ContractionHierarchies<V, W> implements Algorithm<V, W, ContractionHierarchy<V, W>> {
+  /**
+   * Sets the maximum number of vertices settled by a witness search
+   * (500 by default). Larger limits produce fewer shortcuts but take
+   * longer to preprocess.
+   */
+  public ContractionHierarchies<V, W> witnessLimit(int witnessLimit) {
+    this.witnessLimit = witnessLimit;
+    return this;
+  }
+
+  @Override
+  public ContractionHierarchy<V, W> execute(Graph<V, W> graph) {
+    /*
+     * Number the vertices and the distinct weights of the graph.
+     */
+    Map<V, Integer> ids = new LinkedHashMap<>();
+    Map<W, Integer> weightIds = new LinkedHashMap<>();
+    for (Edge<V, W> edge: graph.edges()) {
+      ids.putIfAbsent(edge.endPoint1, ids.size());
+      ids.putIfAbsent(edge.endPoint2, ids.size());
+      weightIds.putIfAbsent(edge.weight, weightIds.size());
+    }
+    for (V vertex: graph.vertices()) {
+      ids.putIfAbsent(vertex, ids.size());
+    }
+    int n = ids.size();
+    Object[] vertices = ids.keySet().toArray();
+
+    /*
+     * The remaining graph, initially all edges of the graph (in both directions
+     * for undirected graphs) keeping the least weight between any two vertices.
+     */
+    out = new ArcList[n];
+    in = new ArcList[n];
+    for (int v = 0; v < n; v++) {
+      out[v] = new ArcList();
+      in[v] = new ArcList();
+    }
+    for (int v = 0; v < n; v++) {
+      @SuppressWarnings("unchecked")
+      V vertex = (V)vertices[v];
+      List<Edge<V, W>> edges = new ArrayList<>(graph.outgoing(vertex));
+      for (Edge<V, W> edge: edges) {
+        V target = edge.endPoint1.equals(vertex) ? edge.endPoint2 : edge.endPoint1;
+        int x = ids.get(target);
+        if (x != v) {
+          long weight = edge.weight instanceof Number ? ((Number)edge.weight).longValue() : 0L;
+          if (weight < 0) {
+            throw new IllegalArgumentException("Negative weight on edge " + edge);
+          }
+          int weightId = weightIds.get(edge.weight);
+          out[v].put(x, weight, -1, weightId);
+          in[x].put(v, weight, -1, weightId);
+        }
+      }
+    }
+
+    /*
+     * Contract the vertices in order of importance.
+     */
+    deleted = new int[n];
+    distance = new long[n];
+    Arrays.fill(distance, Long.MAX_VALUE);
+    witnessQueue = new IndexedLongHeap(n);
+    touched = new int[n];
+
+    int[] rank = new int[n];
+    ArcList[] up = new ArcList[n];
+    ArcList[] down = new ArcList[n];
+    IndexedLongHeap order = new IndexedLongHeap(n);
+    for (int v = 0; v < n; v++) {
+      order.add(v, importance(v));
+    }
+    int next = 0;
+    while (!order.isEmpty()) {
+      int v = order.poll();
+      long importance = importance(v);
+      if (!order.isEmpty() && importance > order.peekKey()) {
+        order.add(v, importance);
+        continue;
+      }
+      contract(v, true);
+      rank[v] = next++;
+      up[v] = out[v];
+      down[v] = in[v];
+      for (int a = 0; a < out[v].size(); a++) {
+        int x = out[v].vertex(a);
+        in[x].remove(v);
+        deleted[x]++;
+      }
+      for (int a = 0; a < in[v].size(); a++) {
+        int u = in[v].vertex(a);
+        out[u].remove(v);
+        deleted[u]++;
+      }
+      Set<Integer> neighbours = new TreeSet<>();
+      for (int a = 0; a < out[v].size(); a++) neighbours.add(out[v].vertex(a));
+      for (int a = 0; a < in[v].size(); a++)  neighbours.add(in[v].vertex(a));
+      for (int neighbour: neighbours) {
+        order.remove(neighbour);
+        order.add(neighbour, importance(neighbour));
+      }
+    }
+
+    /*
+     * Pack the upward and downward arcs into compressed sparse rows,
+     * sorted by the vertex at the other end.
+     */
+    int[] upOffsets = new int[n + 1];
+    int[] downOffsets = new int[n + 1];
+    for (int v = 0; v < n; v++) {
+      upOffsets[v + 1] = upOffsets[v] + up[v].size();
+      downOffsets[v + 1] = downOffsets[v] + down[v].size();
+    }
+    int[] upTargets = new int[upOffsets[n]];
+    long[] upWeights = new long[upOffsets[n]];
+    int[] upMiddles = new int[upOffsets[n]];
+    int[] upWeightIds = new int[upOffsets[n]];
+    int[] downSources = new int[downOffsets[n]];
+    long[] downWeights = new long[downOffsets[n]];
+    int[] downMiddles = new int[downOffsets[n]];
+    int[] downWeightIds = new int[downOffsets[n]];
+    for (int v = 0; v < n; v++) {
+      pack(up[v], upOffsets[v], upTargets, upWeights, upMiddles, upWeightIds);
+      pack(down[v], downOffsets[v], downSources, downWeights, downMiddles, downWeightIds);
+    }
+    out = in = null;
+    deleted = null;
+    distance = null;
+    witnessQueue = null;
+    touched = null;
+
+    return new ContractionHierarchy<>(graph.directed(), vertices, weightIds.keySet().toArray(), rank,
+                                      upOffsets, upTargets, upWeights, upMiddles, upWeightIds,
+                                      downOffsets, downSources, downWeights, downMiddles, downWeightIds);
+  }
+
+  /**
+   * The importance of a vertex: its edge difference plus its number of contracted neighbours.
+   */
+  private long importance(int v) {
+    return contract(v, false) - out[v].size() - in[v].size() + deleted[v];
+  }
+
+  /**
+   * Finds the shortcuts needed to contract the vertex, adding them to the remaining
+   * graph if add is true, and returns their number.
+   */
+  private int contract(int v, boolean add) {
+    int shortcuts = 0;
+    long maxOut = 0;
+    for (int a = 0; a < out[v].size(); a++) {
+      maxOut = Math.max(maxOut, out[v].weight(a));
+    }
+    for (int i = 0; i < in[v].size(); i++) {
+      int u = in[v].vertex(i);
+      long toV = in[v].weight(i);
+      witnessSearch(u, v, toV + maxOut);
+      for (int o = 0; o < out[v].size(); o++) {
+        int x = out[v].vertex(o);
+        long through = toV + out[v].weight(o);
+        if (x != u && distance[x] > through) {
+          shortcuts++;
+          if (add) {
+            out[u].put(x, through, v, -1);
+            in[x].put(u, through, v, -1);
+          }
+        }
+      }
+      clearWitnessSearch();
+    }
+    return shortcuts;
+  }
+
+  /**
+   * Dijkstra search from the source in the remaining graph, avoiding the vertex being
+   * contracted, up to the maximum cost or the witness limit of settled vertices.
+   */
+  private void witnessSearch(int source, int avoid, long maxCost) {
+    distance[source] = 0;
+    touched[touchedCount++] = source;
+    witnessQueue.add(source, 0);
+    int settled = 0;
+    while (!witnessQueue.isEmpty() && witnessQueue.peekKey() <= maxCost && settled < witnessLimit) {
+      int u = witnessQueue.poll();
+      settled++;
+      for (int a = 0; a < out[u].size(); a++) {
+        int x = out[u].vertex(a);
+        if (x != avoid) {
+          long d = distance[u] + out[u].weight(a);
+          if (d < distance[x]) {
+            if (distance[x] == Long.MAX_VALUE) {
+              touched[touchedCount++] = x;
+            }
+            distance[x] = d;
+            witnessQueue.offer(x, d);
+          }
+        }
+      }
+    }
+  }
+
+  private void clearWitnessSearch() {
+    for (int i = 0; i < touchedCount; i++) {
+      distance[touched[i]] = Long.MAX_VALUE;
+    }
+    touchedCount = 0;
+    witnessQueue.clear();
+  }
+
+  private static void pack(ArcList arcs, int offset, int[] vertices, long[] weights, int[] middles, int[] weightIds) {
+    Integer[] order = new Integer[arcs.size()];
+    for (int i = 0; i < order.length; i++) {
+      order[i] = i;
+    }
+    Arrays.sort(order, Comparator.comparingInt(arcs::vertex));
+    for (int i = 0; i < order.length; i++) {
+      vertices[offset + i] = arcs.vertex(order[i]);
+      weights[offset + i] = arcs.weight(order[i]);
+      middles[offset + i] = arcs.middle(order[i]);
+      weightIds[offset + i] = arcs.weightId(order[i]);
+    }
+  }
+
+  protected int witnessLimit = 500;
+
+  /*
+   * State of the preprocessing, released once the hierarchy is built.
+   */
+  private ArcList[] out;
+  private ArcList[] in;
+  private int[] deleted;
+  private long[] distance;
+  private IndexedLongHeap witnessQueue;
+  private int[] touched;
+  private int touchedCount;
+}
@@ -0,0 +1,277 @@
+package ma.vi.graph.algo.hierarchy;
+
+import ma.vi.graph.Edge;
+import ma.vi.graph.Path;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * <p>
+ * A contraction hierarchy of a graph produced by {@link ContractionHierarchies}:
+ * the rank of every vertex in the contraction order and the edges of the graph
+ * augmented with the shortcuts added during contraction, split into two graphs
+ * stored in compressed sparse row form:
+ * </p>
+ * <ul>
+ *   <li>the upward graph of the arcs from a vertex to higher-ranked vertices,
+ *       searched forward from the start of a query;</li>
+ *   <li>the downward graph of the arcs into a vertex from higher-ranked vertices,
+ *       stored at the lower-ranked vertex and searched backward from the goal.</li>
+ * </ul>
+ *
+ * <p>
+ * A shortcut bypasses a single contracted vertex (its middle vertex) and replaces the
+ * two arcs through that vertex, which are themselves edges or shortcuts; the edges of
+ * the graph keep their original weights so that the paths found in the hierarchy can
+ * be unpacked into paths of the original graph.
+ * </p>
+ *
+ * <p>
+ * A hierarchy is immutable and serializable (provided the vertices and weights of the
+ * graph are) so that it can be built once and reloaded with {@link #read(InputStream, Class, Class)}
+ * to answer queries with {@link #path(Object, Object)} or {@link ContractionHierarchySearch}.
+ * </p>
+ *
+ * <p>
+ * Queries can be answered concurrently by any number of threads. Each thread is given
+ * its own query workspace on its first query, a few arrays of the size of the vertex
+ * count which are reused by all its later queries on this hierarchy, so that a query
+ * only costs time in proportion to the part of the hierarchy it explores. The
+ * workspaces are kept until their threads end or the hierarchy is no longer referenced.
+ * </p>
+ *
+ * @param <V> The vertex type of the graph.
+ * @param <W> The weight type on the edges of the graph.
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+public class ContractionHierarchy<V, W> implements Serializable {
+  ContractionHierarchy(boolean directed,
+                       Object[] vertices,
+                       Object[] weights,
+                       int[] rank,
+                       int[] upOffsets,   int[] upTargets,   long[] upWeights,   int[] upMiddles,   int[] upWeightIds,
+                       int[] downOffsets, int[] downSources, long[] downWeights, int[] downMiddles, int[] downWeightIds) {
+    this.directed = directed;
+    this.vertices = vertices;
+    this.weights = weights;
+    this.rank = rank;
+    this.upOffsets = upOffsets;
+    this.upTargets = upTargets;
+    this.upWeights = upWeights;
+    this.upMiddles = upMiddles;
+    this.upWeightIds = upWeightIds;
+    this.downOffsets = downOffsets;
+    this.downSources = downSources;
+    this.downWeights = downWeights;
+    this.downMiddles = downMiddles;
+    this.downWeightIds = downWeightIds;
+  }
+
+  /**
+   * Reads a hierarchy written with {@link #write(OutputStream)}. Only the classes of
+   * a hierarchy with vertices and weights of the given types (or their subtypes) are
+   * deserialized: any other class in the stream is rejected with an IOException, so
+   * that a crafted file cannot instantiate other serializable classes.
+   */
+  @SuppressWarnings("unchecked")
+  public static <V, W> ContractionHierarchy<V, W> read(InputStream in,
+                                                       Class<V> vertexType,
+                                                       Class<W> weightType) throws IOException {
+    ObjectInputStream is = new ObjectInputStream(new BufferedInputStream(in));
+    is.setObjectInputFilter(filter(vertexType, weightType));
+    try {
+      return (ContractionHierarchy<V, W>)is.readObject();
+    } catch (ClassNotFoundException e) {
+      throw new IOException("Could not read contraction hierarchy", e);
+    }
+  }
+
+  /**
+   * Allows the hierarchy, its arrays of primitives and objects, and the vertex and
+   * weight types with their subtypes and supertypes (the latter for the descriptors
+   * of their superclasses, such as Number for Integer); rejects everything else.
+   */
+  private static ObjectInputFilter filter(Class<?> vertexType, Class<?> weightType) {
+    return info -> {
+      Class<?> type = info.serialClass();
+      if (type == null) {
+        return ObjectInputFilter.Status.UNDECIDED;
+      }
+      boolean allowed = type == ContractionHierarchy.class
+                     || type == Object[].class
+                     || (type.isArray() && type.getComponentType().isPrimitive())
+                     || related(type, vertexType)
+                     || related(type, weightType);
+      return allowed ? ObjectInputFilter.Status.ALLOWED : ObjectInputFilter.Status.REJECTED;
+    };
+  }
+
+  private static boolean related(Class<?> type, Class<?> allowed) {
+    return allowed.isAssignableFrom(type) || (type != Object.class && type.isAssignableFrom(allowed));
+  }
+
+  /**
+   * Writes this hierarchy to the stream with Java serialization.
+   */
+  public void write(OutputStream out) throws IOException {
+    ObjectOutputStream os = new ObjectOutputStream(new BufferedOutputStream(out));
+    os.writeObject(this);
+    os.flush();
+  }
+
+  public boolean directed() {
+    return directed;
+  }
+
+  public int vertexCount() {
+    return vertices.length;
+  }
+
+  /**
+   * The number of shortcuts added to the graph by the contraction.
+   */
+  public int shortcutCount() {
+    int shortcuts = 0;
+    for (int middle: upMiddles) {
+      if (middle != -1) shortcuts++;
+    }
+    for (int middle: downMiddles) {
+      if (middle != -1) shortcuts++;
+    }
+    return directed ? shortcuts : shortcuts / 2;
+  }
+
+  /**
+   * The position of the vertex in the contraction order (0 for the first vertex
+   * contracted), or -1 if the vertex is not in the graph.
+   */
+  public int rank(V vertex) {
+    int id = id(vertex);
+    return id == -1 ? -1 : rank[id];
+  }
+
+  /**
+   * Returns the minimum-cost path from the start to the goal vertex in the graph of
+   * this hierarchy, with its cost being the sum of its edge weights, or null if the
+   * goal is not reachable from the start. This method is thread-safe.
+   *
+   * @throws IllegalArgumentException if a vertex is null or not in the graph.
+   */
+  public Path<V, W> path(V startVertex, V goalVertex) {
+    if (startVertex == null || goalVertex == null) {
+      throw new IllegalArgumentException("Start and goal vertices of the search not provided");
+    }
+    int s = id(startVertex);
+    int t = id(goalVertex);
+    if (s == -1) {
+      throw new IllegalArgumentException("Start vertex " + startVertex + " not in the hierarchy");
+    }
+    if (t == -1) {
+      throw new IllegalArgumentException("Goal vertex " + goalVertex + " not in the hierarchy");
+    }
+    ThreadLocal<QueryWorkspace> workspaces = this.workspaces;
+    if (workspaces == null) {
+      synchronized (this) {
+        workspaces = this.workspaces;
+        if (workspaces == null) {
+          int vertexCount = vertices.length;
+          this.workspaces = workspaces = ThreadLocal.withInitial(() -> new QueryWorkspace(vertexCount));
+        }
+      }
+    }
+    return workspaces.get().path(this, s, t);
+  }
+
+  /**
+   * The internal id of the vertex, or -1 if the vertex is not in the graph.
+   */
+  int id(Object vertex) {
+    if (ids == null) {
+      Map<Object, Integer> map = new HashMap<>();
+      for (int v = 0; v < vertices.length; v++) {
+        map.put(vertices[v], v);
+      }
+      ids = map;
+    }
+    return ids.getOrDefault(vertex, -1);
+  }
+
+  @SuppressWarnings("unchecked")
+  V vertex(int id) {
+    return (V)vertices[id];
+  }
+
+  /**
+   * Adds the edges of the original graph making up the arc from one vertex to another,
+   * given the middle vertex and weight id of the arc, to the list of edges in order.
+   */
+  @SuppressWarnings("unchecked")
+  void unpack(int from, int to, int middle, int weightId, List<Edge<V, W>> edges) {
+    Deque<int[]> stack = new ArrayDeque<>();
+    stack.push(new int[]{from, to, middle, weightId});
+    while (!stack.isEmpty()) {
+      int[] arc = stack.pop();
+      if (arc[2] == -1) {
+        edges.add(Edge.of((V)vertices[arc[0]], (W)weights[arc[3]], (V)vertices[arc[1]]));
+      } else {
+        int m = arc[2];
+        int first = downArc(m, arc[0]);
+        int second = upArc(m, arc[1]);
+        stack.push(new int[]{m, arc[1], upMiddles[second], upWeightIds[second]});
+        stack.push(new int[]{arc[0], m, downMiddles[first], downWeightIds[first]});
+      }
+    }
+  }
+
+  /**
+   * The index of the arc from the vertex to the higher-ranked target.
+   */
+  private int upArc(int vertex, int target) {
+    for (int a = upOffsets[vertex]; a < upOffsets[vertex + 1]; a++) {
+      if (upTargets[a] == target) {
+        return a;
+      }
+    }
+    throw new IllegalStateException("No arc from " + vertices[vertex] + " to " + vertices[target]);
+  }
+
+  /**
+   * The index of the arc into the vertex from the higher-ranked source.
+   */
+  private int downArc(int vertex, int source) {
+    for (int a = downOffsets[vertex]; a < downOffsets[vertex + 1]; a++) {
+      if (downSources[a] == source) {
+        return a;
+      }
+    }
+    throw new IllegalStateException("No arc from " + vertices[source] + " to " + vertices[vertex]);
+  }
+
+  private static final long serialVersionUID = 1L;
+
+  final boolean directed;
+  final Object[] vertices;
+  final Object[] weights;
+  final int[] rank;
+
+  final int[] upOffsets;
+  final int[] upTargets;
+  final long[] upWeights;
+  final int[] upMiddles;
+  final int[] upWeightIds;
+
+  final int[] downOffsets;
+  final int[] downSources;
+  final long[] downWeights;
+  final int[] downMiddles;
+  final int[] downWeightIds;
+
+  private transient volatile Map<Object, Integer> ids;
+
+  /**
+   * The query workspace of each thread, created on first use.
+   */
+  private transient volatile ThreadLocal<QueryWorkspace> workspaces;
+}
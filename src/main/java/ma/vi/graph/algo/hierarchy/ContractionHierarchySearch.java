@@ -0,0 +1,63 @@
+package ma.vi.graph.algo.hierarchy;
+
+import ma.vi.graph.Graph;
+import ma.vi.graph.Path;
+import ma.vi.graph.algo.Algorithm;
+
+/**
+ * <p>
+ * Searches for a minimum-cost path between a start and a goal vertex in a
+ * {@link ContractionHierarchy}, as an algorithm that can be applied to the graph the
+ * hierarchy was built from. The search is performed by
+ * {@link ContractionHierarchy#path(Object, Object)}, which can also be called directly
+ * to answer queries between any pair of vertices.
+ * </p>
+ *
+ * <p>
+ * The search works entirely on the hierarchy: the graph it is applied to is only
+ * checked to have the same directedness as the hierarchy, and should be the graph the
+ * hierarchy was built from. It returns the path of minimum cost with its cost being
+ * the sum of its edge weights, or null if the goal is not reachable. An instance holds
+ * no working state and allocates nothing in proportion to the size of the graph, so
+ * that it is cheap to create one per query; it is thread-safe as long as its goal
+ * vertex is not changed while it is executing.
+ * </p>
+ *
+ * @param <V> The vertex type of the graph to search.
+ * @param <W> The weight type on the edges of the graph to search.
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+public class ContractionHierarchySearch<V, W> implements Algorithm<V, W, Path<V, W>> {
+  /**
+   * Create a new instance of the algorithm.
+   * @param hierarchy The contraction hierarchy of the graph to search.
+   * @param startVertex The vertex to start the search at.
+   */
+  public ContractionHierarchySearch(ContractionHierarchy<V, W> hierarchy, V startVertex) {
+    this.hierarchy = hierarchy;
+    this.startVertex = startVertex;
+  }
+
+  /**
+   * Sets the vertex to search for.
+   */
+  public ContractionHierarchySearch<V, W> goalVertex(V goalVertex) {
+    this.goalVertex = goalVertex;
+    return this;
+  }
+
+  @Override
+  public Path<V, W> execute(Graph<V, W> graph) {
+    if (graph.directed() != hierarchy.directed()) {
+      throw new IllegalArgumentException("The hierarchy was built from a"
+                                       + (hierarchy.directed() ? " directed" : "n undirected")
+                                       + " graph and cannot be searched on this graph");
+    }
+    return hierarchy.path(startVertex, goalVertex);
+  }
+
+  protected final ContractionHierarchy<V, W> hierarchy;
+  protected final V startVertex;
+  protected V goalVertex;
+}
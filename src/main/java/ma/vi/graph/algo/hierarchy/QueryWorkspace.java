@@ -0,0 +1,156 @@
+package ma.vi.graph.algo.hierarchy;
+
+import ma.vi.graph.Edge;
+import ma.vi.graph.Path;
+import ma.vi.graph.algo.IndexedLongHeap;
+
+import java.util.*;
+
+/**
+ * <p>
+ * The working arrays of a query on a {@link ContractionHierarchy}, with the search
+ * itself: a Dijkstra search forward from the start along the upward arcs of the
+ * hierarchy and another backward from the goal along its downward arcs, expanding the
+ * side whose next vertex is closer. Both searches only move to higher-ranked vertices
+ * and meet at the highest-ranked vertex of the shortest path; a side stops once the
+ * smallest cost in its queue is not less than the cost of the best path found. The
+ * shortcuts of the path found are then unpacked into the edges of the original graph.
+ * </p>
+ *
+ * <p>
+ * The arrays are allocated once for the vertex count of the hierarchy and only the
+ * vertices reached by a query are reset after it, so that a query costs time in
+ * proportion to the part of the hierarchy it explores. A workspace is used by one
+ * thread at a time: {@link ContractionHierarchy} keeps one per thread.
+ * </p>
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+class QueryWorkspace {
+  QueryWorkspace(int vertexCount) {
+    forward = new Side(vertexCount);
+    backward = new Side(vertexCount);
+  }
+
+  /**
+   * Returns the minimum-cost path between the vertices with ids s and t in the
+   * hierarchy, or null if t is not reachable from s.
+   */
+  <V, W> Path<V, W> path(ContractionHierarchy<V, W> hierarchy, int s, int t) {
+    if (s == t) {
+      return new Path<>(0L, hierarchy.vertex(s));
+    }
+    forward.reach(s, 0, -1, -1);
+    backward.reach(t, 0, -1, -1);
+
+    int meeting = -1;
+    long best = Long.MAX_VALUE;
+    while (true) {
+      if (!forward.queue.isEmpty() && forward.queue.peekKey() >= best) {
+        forward.queue.clear();
+      }
+      if (!backward.queue.isEmpty() && backward.queue.peekKey() >= best) {
+        backward.queue.clear();
+      }
+      if (forward.queue.isEmpty() && backward.queue.isEmpty()) {
+        break;
+      }
+      boolean isForward = backward.queue.isEmpty()
+                      || (!forward.queue.isEmpty() && forward.queue.peekKey() <= backward.queue.peekKey());
+      Side side = isForward ? forward : backward;
+      Side other = isForward ? backward : forward;
+
+      int v = side.queue.poll();
+      long cost = side.cost[v];
+      if (other.cost[v] != Long.MAX_VALUE && cost + other.cost[v] < best) {
+        best = cost + other.cost[v];
+        meeting = v;
+      }
+      if (isForward) {
+        for (int a = hierarchy.upOffsets[v]; a < hierarchy.upOffsets[v + 1]; a++) {
+          int x = hierarchy.upTargets[a];
+          long d = cost + hierarchy.upWeights[a];
+          if (d < side.cost[x]) {
+            side.reach(x, d, v, a);
+          }
+        }
+      } else {
+        for (int a = hierarchy.downOffsets[v]; a < hierarchy.downOffsets[v + 1]; a++) {
+          int u = hierarchy.downSources[a];
+          long d = cost + hierarchy.downWeights[a];
+          if (d < side.cost[u]) {
+            side.reach(u, d, v, a);
+          }
+        }
+      }
+    }
+
+    Path<V, W> path = null;
+    if (meeting != -1) {
+      /*
+       * Unpack the arcs from the start to the meeting vertex, then
+       * from the meeting vertex to the goal.
+       */
+      List<Edge<V, W>> edges = new ArrayList<>();
+      Deque<Integer> arcs = new ArrayDeque<>();
+      for (int v = meeting; v != s; v = forward.parent[v]) {
+        arcs.push(v);
+      }
+      for (int v: arcs) {
+        int a = forward.arc[v];
+        hierarchy.unpack(forward.parent[v], v, hierarchy.upMiddles[a], hierarchy.upWeightIds[a], edges);
+      }
+      for (int v = meeting; v != t; v = backward.parent[v]) {
+        int a = backward.arc[v];
+        hierarchy.unpack(v, backward.parent[v], hierarchy.downMiddles[a], hierarchy.downWeightIds[a], edges);
+      }
+      path = Path.of(best, new LinkedHashSet<>(edges));
+    }
+    forward.clear();
+    backward.clear();
+    return path;
+  }
+
+  /**
+   * The state of the search in one direction, reset after every query by
+   * clearing only the vertices it reached.
+   */
+  private static class Side {
+    Side(int vertexCount) {
+      cost = new long[vertexCount];
+      parent = new int[vertexCount];
+      arc = new int[vertexCount];
+      touched = new int[vertexCount];
+      queue = new IndexedLongHeap(vertexCount);
+      Arrays.fill(cost, Long.MAX_VALUE);
+    }
+
+    void reach(int vertex, long cost, int parent, int arc) {
+      if (this.cost[vertex] == Long.MAX_VALUE) {
+        touched[touchedCount++] = vertex;
+      }
+      this.cost[vertex] = cost;
+      this.parent[vertex] = parent;
+      this.arc[vertex] = arc;
+      queue.offer(vertex, cost);
+    }
+
+    void clear() {
+      for (int i = 0; i < touchedCount; i++) {
+        cost[touched[i]] = Long.MAX_VALUE;
+      }
+      touchedCount = 0;
+      queue.clear();
+    }
+
+    final long[] cost;
+    final int[] parent;
+    final int[] arc;
+    final int[] touched;
+    int touchedCount;
+    final IndexedLongHeap queue;
+  }
+
+  private final Side forward;
+  private final Side backward;
+}
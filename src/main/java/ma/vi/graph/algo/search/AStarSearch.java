@@ -1,10 +1,7 @@
 package ma.vi.graph.algo.search;
 
 import ma.vi.graph.Graph;
-import ma.vi.graph.algo.Algorithm;
-import ma.vi.graph.algo.ExpandOp;
-import ma.vi.graph.algo.GoalOp;
-import ma.vi.graph.algo.PriorityPathQueue;
+import ma.vi.graph.algo.*;
 import ma.vi.graph.algo.explore.Explore;
 import ma.vi.graph.Path;
 
@@ -35,6 +32,18 @@ public class AStarSearch<V, W> implements Algorithm<V, W, Path<V, W>> {
     this.goalEstimate = goalEstimate;
   }
 
+  /**
+   * Sets the minimum-cost path queue to use, {@link IndexedPathQueue} by default.
+   * For integer path costs which never decrease along the search, such as
+   * non-negative edge weights with a consistent goal estimate, a
+   * {@link RadixPathQueue} or, for small weights, a {@link BucketPathQueue}
+   * can be used instead.
+   */
+  public AStarSearch<V, W> pathQueue(PathQueue<V, W> pathQueue) {
+    this.pathQueue = pathQueue;
+    return this;
+  }
+
   /**
    * A function taking as parameters the graph and current exploring path and
    * returning the successor edges to explore. The default function returns
@@ -45,21 +54,32 @@ public class AStarSearch<V, W> implements Algorithm<V, W, Path<V, W>> {
     return this;
   }
 
+  /**
+   * Sets the listener of the exploration; see {@link Explore#listener}.
+   */
+  public AStarSearch<V, W> listener(ExploreListener<V, W> listener) {
+    this.listener = listener;
+    return this;
+  }
+
   @Override
   public Path<V, W> execute(Graph<V, W> graph) {
     return new Explore<V, W, Path<V, W>>(startVertex)
-                .pathQueue(new PriorityPathQueue<>())
+                .pathQueue(pathQueue == null ? new IndexedPathQueue<>() : pathQueue)
                 .exploreOp(new SearchExploreOp<>(new GoalOp.MatchVertex<>(goalVertex)))
                 .pathCostOp((g, path, edge) ->
                                 path.weight()
                                     + (edge.weight instanceof Number ? ((Number)edge.weight).longValue() : 0L)
                                     + goalEstimate.op(edge.endPoint2, goalVertex))
                 .expandOp(expandOp)
+                .listener(listener)
                 .execute(graph);
   }
 
   protected final V startVertex;
   protected final V goalVertex;
   protected final GoalEstimate<V> goalEstimate;
+  protected PathQueue<V, W> pathQueue;
   protected ExpandOp<V, W> expandOp = ExpandOp::outgoingEdges;
+  protected ExploreListener<V, W> listener;
 }
\ No newline at end of file
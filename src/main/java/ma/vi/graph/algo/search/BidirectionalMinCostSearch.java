@@ -0,0 +1,146 @@
+package ma.vi.graph.algo.search;
+
+import ma.vi.graph.Edge;
+import ma.vi.graph.Graph;
+import ma.vi.graph.Path;
+import ma.vi.graph.algo.Algorithm;
+import ma.vi.graph.algo.IndexedLongHeap;
+
+import java.util.*;
+
+import static ma.vi.graph.algo.search.BidirectionalSearch.incomingEdges;
+
+/**
+ * <p>
+ * Searches for a minimum-cost path between a start and a goal vertex with two
+ * Dijkstra searches, forward from the start along outgoing edges and backward from
+ * the goal along incoming edges, expanding the side whose next vertex is closer.
+ * Every time an edge is relaxed towards a vertex reached by the other search, the
+ * cost of the best path seen through such a vertex, μ, is updated. The search stops
+ * when the sum of the smallest costs in both queues is not less than μ, at which point
+ * no path shorter than μ can exist (Pohl, 1971; Goldberg &amp; Harrelson, 2005).
+ * </p>
+ *
+ * <p>
+ * The cost of an edge is its weight if it is a number (0 otherwise) and must not
+ * be negative. The backward search of an undirected graph follows the same edges as
+ * the forward search, reoriented towards the goal. The path returned is the same as
+ * the one returned by {@link MinCostSearch}, with its cost being the sum of its edge
+ * weights, or null if the goal is not reachable.
+ * </p>
+ *
+ * @param <V> The vertex type of the graph to search.
+ * @param <W> The weight type on the edges of the graph to search.
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+public class BidirectionalMinCostSearch<V, W> implements Algorithm<V, W, Path<V, W>> {
+  /**
+   * Create a new instance of the algorithm.
+   * @param startVertex The vertex to start the search at.
+   */
+  public BidirectionalMinCostSearch(V startVertex) {
+    this.startVertex = startVertex;
+  }
+
+  /**
+   * Sets the vertex to search for.
+   */
+  public BidirectionalMinCostSearch<V, W> goalVertex(V goalVertex) {
+    this.goalVertex = goalVertex;
+    return this;
+  }
+
+  @Override
+  public Path<V, W> execute(Graph<V, W> graph) {
+    if (startVertex == null || goalVertex == null) {
+      throw new IllegalArgumentException("Start and goal vertices of the search not provided");
+    }
+    if (startVertex.equals(goalVertex)) {
+      return new Path<>(0L, startVertex);
+    }
+    /*
+     * The vertices are numbered in the order they are reached by
+     * either search to address them in the queues of both sides.
+     */
+    Map<V, Integer> ids = new HashMap<>();
+    List<V> vertices = new ArrayList<>();
+    Side<V, W> forward = new Side<>(true, ids, vertices);
+    Side<V, W> backward = new Side<>(false, ids, vertices);
+    forward.reach(startVertex, 0, null);
+    backward.reach(goalVertex, 0, null);
+
+    V meeting = null;
+    long best = Long.MAX_VALUE;
+    while (!forward.queue.isEmpty() && !backward.queue.isEmpty()) {
+      if (forward.queue.peekKey() + backward.queue.peekKey() >= best) {
+        break;
+      }
+      Side<V, W> side = forward.queue.peekKey() <= backward.queue.peekKey() ? forward : backward;
+      Side<V, W> other = side == forward ? backward : forward;
+
+      V vertex = side.settle();
+      long cost = side.cost.get(vertex);
+      for (Edge<V, W> edge: side.isForward ? graph.outgoing(vertex) : incomingEdges(graph, vertex)) {
+        V neighbour = side.isForward ? edge.endPoint2 : edge.endPoint1;
+        if (!side.settled.contains(neighbour)) {
+          long weight = edge.weight instanceof Number ? ((Number)edge.weight).longValue() : 0L;
+          if (weight < 0) {
+            throw new IllegalArgumentException("Negative weight on edge " + edge);
+          }
+          Long current = side.cost.get(neighbour);
+          if (current == null || cost + weight < current) {
+            side.reach(neighbour, cost + weight, edge);
+          }
+          Long otherCost = other.cost.get(neighbour);
+          if (otherCost != null && side.cost.get(neighbour) + otherCost < best) {
+            best = side.cost.get(neighbour) + otherCost;
+            meeting = neighbour;
+          }
+        }
+      }
+    }
+    return meeting == null ? null
+                           : BidirectionalSearch.path(meeting, forward.reached, backward.reached, best);
+  }
+
+  /**
+   * The state of the search in one direction.
+   */
+  private static class Side<V, W> {
+    Side(boolean isForward, Map<V, Integer> ids, List<V> vertices) {
+      this.isForward = isForward;
+      this.ids = ids;
+      this.vertices = vertices;
+    }
+
+    void reach(V vertex, long cost, Edge<V, W> edge) {
+      Integer id = ids.get(vertex);
+      if (id == null) {
+        id = vertices.size();
+        ids.put(vertex, id);
+        vertices.add(vertex);
+      }
+      this.cost.put(vertex, cost);
+      reached.put(vertex, edge);
+      queue.offer(id, cost);
+    }
+
+    V settle() {
+      V vertex = vertices.get(queue.poll());
+      settled.add(vertex);
+      return vertex;
+    }
+
+    final boolean isForward;
+    final Map<V, Long> cost = new HashMap<>();
+    final Map<V, Edge<V, W>> reached = new HashMap<>();
+    final Set<V> settled = new HashSet<>();
+    final IndexedLongHeap queue = new IndexedLongHeap();
+    final Map<V, Integer> ids;
+    final List<V> vertices;
+  }
+
+  protected final V startVertex;
+  protected V goalVertex;
+}
@@ -0,0 +1,146 @@
+package ma.vi.graph.algo.search;
+
+import ma.vi.graph.Edge;
+import ma.vi.graph.Graph;
+import ma.vi.graph.Path;
+import ma.vi.graph.algo.Algorithm;
+
+import java.util.*;
+
+/**
+ * <p>
+ * Searches for a path with the least number of edges between a start and a goal
+ * vertex by breadth-first searches from both vertices, forward from the start along
+ * outgoing edges and backward from the goal along incoming edges, until they meet.
+ * At every step, the side with the smaller frontier is expanded by one whole level;
+ * the shortest path through the vertices where the two searches meet during that
+ * level is a shortest path between the start and goal. This explores in the order
+ * of the square root of the vertices that a {@link BreadthFirstSearch} explores on
+ * graphs with a uniform branching factor.
+ * </p>
+ *
+ * <p>
+ * The backward search of an undirected graph follows the same edges as the forward
+ * search, reoriented towards the goal. As with {@link BreadthFirstSearch}, the cost
+ * of the path returned is its length; null is returned if the goal is not reachable.
+ * </p>
+ *
+ * @param <V> The vertex type of the graph to search.
+ * @param <W> The weight type on the edges of the graph to search.
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+public class BidirectionalSearch<V, W> implements Algorithm<V, W, Path<V, W>> {
+  /**
+   * Create a new instance of the algorithm.
+   * @param startVertex The vertex to start the search at.
+   */
+  public BidirectionalSearch(V startVertex) {
+    this.startVertex = startVertex;
+  }
+
+  /**
+   * Sets the vertex to search for.
+   */
+  public BidirectionalSearch<V, W> goalVertex(V goalVertex) {
+    this.goalVertex = goalVertex;
+    return this;
+  }
+
+  @Override
+  public Path<V, W> execute(Graph<V, W> graph) {
+    if (startVertex == null || goalVertex == null) {
+      throw new IllegalArgumentException("Start and goal vertices of the search not provided");
+    }
+    if (startVertex.equals(goalVertex)) {
+      return new Path<>(0L, startVertex);
+    }
+
+    /*
+     * The edge by which each vertex was reached, towards the start for the
+     * forward search and towards the goal for the backward search.
+     */
+    Map<V, Edge<V, W>> forward = new HashMap<>();
+    Map<V, Edge<V, W>> backward = new HashMap<>();
+    forward.put(startVertex, null);
+    backward.put(goalVertex, null);
+
+    List<V> forwardFrontier = new ArrayList<>(List.of(startVertex));
+    List<V> backwardFrontier = new ArrayList<>(List.of(goalVertex));
+    Map<V, Integer> forwardDepth = new HashMap<>(Map.of(startVertex, 0));
+    Map<V, Integer> backwardDepth = new HashMap<>(Map.of(goalVertex, 0));
+
+    while (!forwardFrontier.isEmpty() && !backwardFrontier.isEmpty()) {
+      boolean isForward = forwardFrontier.size() <= backwardFrontier.size();
+      List<V> frontier = isForward ? forwardFrontier : backwardFrontier;
+      Map<V, Edge<V, W>> reached = isForward ? forward : backward;
+      Map<V, Integer> depth = isForward ? forwardDepth : backwardDepth;
+      Map<V, Integer> otherDepth = isForward ? backwardDepth : forwardDepth;
+
+      V meeting = null;
+      int best = Integer.MAX_VALUE;
+      List<V> next = new ArrayList<>();
+      for (V vertex: frontier) {
+        int d = depth.get(vertex) + 1;
+        for (Edge<V, W> edge: isForward ? graph.outgoing(vertex) : incomingEdges(graph, vertex)) {
+          V neighbour = isForward ? edge.endPoint2 : edge.endPoint1;
+          if (!reached.containsKey(neighbour)) {
+            reached.put(neighbour, edge);
+            depth.put(neighbour, d);
+            next.add(neighbour);
+          }
+          Integer other = otherDepth.get(neighbour);
+          if (other != null && depth.get(neighbour) + other < best) {
+            best = depth.get(neighbour) + other;
+            meeting = neighbour;
+          }
+        }
+      }
+      if (meeting != null) {
+        return path(meeting, forward, backward, best);
+      }
+      if (isForward) {
+        forwardFrontier = next;
+      } else {
+        backwardFrontier = next;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * The edges into a vertex, oriented towards that vertex. For undirected graphs,
+   * these are the edges of the vertex reversed.
+   */
+  static <V, W> Collection<Edge<V, W>> incomingEdges(Graph<V, W> graph, V vertex) {
+    if (graph.directed()) {
+      return graph.incoming(vertex);
+    }
+    List<Edge<V, W>> edges = new ArrayList<>();
+    for (Edge<V, W> edge: graph.outgoing(vertex)) {
+      edges.add(edge.endPoint2.equals(vertex) ? edge : Edge.of(edge.endPoint2, edge.weight, edge.endPoint1));
+    }
+    return edges;
+  }
+
+  /**
+   * Builds the path from the start to the goal through the meeting vertex
+   * from the edges reached by the forward and backward searches.
+   */
+  static <V, W> Path<V, W> path(V meeting,
+                                Map<V, Edge<V, W>> forward,
+                                Map<V, Edge<V, W>> backward,
+                                long cost) {
+    LinkedList<Edge<V, W>> edges = new LinkedList<>();
+    for (Edge<V, W> e = forward.get(meeting); e != null; e = forward.get(e.endPoint1)) {
+      edges.addFirst(e);
+    }
+    for (Edge<V, W> e = backward.get(meeting); e != null; e = backward.get(e.endPoint2)) {
+      edges.addLast(e);
+    }
+    return Path.of(cost, new LinkedHashSet<>(edges));
+  }
+
+  protected final V startVertex;
+  protected V goalVertex;
+}
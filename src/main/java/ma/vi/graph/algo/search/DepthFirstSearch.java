@@ -66,6 +66,14 @@ public class DepthFirstSearch<V, W> implements Algorithm<V, W, Path<V, W>> {
     return this;
   }
 
+  /**
+   * Sets the listener of the exploration; see {@link Explore#listener}.
+   */
+  public DepthFirstSearch<V, W> listener(ExploreListener<V, W> listener) {
+    this.listener = listener;
+    return this;
+  }
+
   @Override
   public Path<V, W> execute(Graph<V, W> graph) {
     return new Explore<V, W, Path<V, W>>(startVertex)
@@ -73,6 +81,7 @@ public class DepthFirstSearch<V, W> implements Algorithm<V, W, Path<V, W>> {
                 .exploreOp(new SearchExploreOp<>(goalOp))
                 .expandOp(expandOp)
                 .pathCostOp(pathCostOp)
+                .listener(listener)
                 .execute(graph);
   }
 
@@ -80,4 +89,5 @@ public class DepthFirstSearch<V, W> implements Algorithm<V, W, Path<V, W>> {
   protected GoalOp<V, W> goalOp;
   protected ExpandOp<V, W> expandOp = ExpandOp::outgoingEdges;
   protected PathCostOp<V, W> pathCostOp;
+  protected ExploreListener<V, W> listener;
 }
\ No newline at end of file
@@ -3,6 +3,8 @@ package ma.vi.graph.algo.search;
 import ma.vi.graph.Graph;
 import ma.vi.graph.Path;
 import ma.vi.graph.algo.Algorithm;
+import ma.vi.graph.algo.ExploreListener;
+import ma.vi.graph.algo.ExploreTracer;
 import ma.vi.graph.algo.GoalOp;
 import ma.vi.graph.algo.PathCostOp;
 import ma.vi.graph.algo.PriorityPathQueue;
@@ -62,6 +64,14 @@ public class DepthLimitedSearch<V, W> implements Algorithm<V, W, Path<V, W>> {
     return this;
   }
 
+  /**
+   * Sets the listener of the exploration; see {@link Explore#listener}.
+   */
+  public DepthLimitedSearch<V, W> listener(ExploreListener<V, W> listener) {
+    this.listener = listener;
+    return this;
+  }
+
   @Override
   public Path<V, W> execute(Graph<V, W> graph) {
     return new Explore<V, W, Path<V, W>>(startVertex)
@@ -77,6 +87,7 @@ public class DepthLimitedSearch<V, W> implements Algorithm<V, W, Path<V, W>> {
           }
         })
         .pathCostOp(pathCostOp)
+        .listener(listener)
         .execute(graph);
   }
 
@@ -84,4 +95,5 @@ public class DepthLimitedSearch<V, W> implements Algorithm<V, W, Path<V, W>> {
   protected final V startVertex;
   protected GoalOp<V, W> goalOp;
   protected PathCostOp<V, W> pathCostOp;
+  protected ExploreListener<V, W> listener;
 }
\ No newline at end of file
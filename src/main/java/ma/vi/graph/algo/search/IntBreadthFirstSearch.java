@@ -0,0 +1,77 @@
+package ma.vi.graph.algo.search;
+
+import ma.vi.graph.IntLongGraph;
+import ma.vi.graph.IntPath;
+import ma.vi.graph.algo.IntAlgorithm;
+import ma.vi.graph.algo.IntExpandOp;
+import ma.vi.graph.algo.IntGoalOp;
+import ma.vi.graph.algo.IntPathCostOp;
+import ma.vi.graph.algo.explore.IntBreadthFirstExplore;
+import ma.vi.graph.algo.explore.IntPathTree;
+
+/**
+ * <p>
+ * Searches an {@link ma.vi.graph.IntLongGraph} in breadth-first order; the primitive
+ * counterpart of {@link BreadthFirstSearch} which allocates nothing per edge explored.
+ * </p>
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+public class IntBreadthFirstSearch implements IntAlgorithm<IntPath> {
+  /**
+   * Create a new instance of the algorithm.
+   * @param startVertex The vertex to start the search at.
+   */
+  public IntBreadthFirstSearch(int startVertex) {
+    this.startVertex = startVertex;
+  }
+
+  /**
+   * Sets the function to test whether a vertex is a goal or not.
+   */
+  public IntBreadthFirstSearch goalOp(IntGoalOp goalOp) {
+    this.goalOp = goalOp;
+    return this;
+  }
+
+  /**
+   * Sets a vertex as a goal of the search.
+   */
+  public IntBreadthFirstSearch goalVertex(int goalVertex) {
+    this.goalOp = new IntGoalOp.MatchVertex(goalVertex);
+    return this;
+  }
+
+  /**
+   * A function called with every edge out of an explored vertex and returning
+   * whether the edge should be followed. The default follows all edges.
+   */
+  public IntBreadthFirstSearch expandOp(IntExpandOp expandOp) {
+    this.expandOp = expandOp;
+    return this;
+  }
+
+  /**
+   * A function to compute the cost of a path extended by an edge. The default
+   * is the length of the path.
+   */
+  public IntBreadthFirstSearch pathCostOp(IntPathCostOp pathCostOp) {
+    this.pathCostOp = pathCostOp;
+    return this;
+  }
+
+  @Override
+  public IntPath execute(IntLongGraph graph) {
+    IntPathTree tree = new IntBreadthFirstExplore(startVertex)
+                            .goalOp(goalOp)
+                            .expandOp(expandOp)
+                            .pathCostOp(pathCostOp)
+                            .execute(graph);
+    return tree.pathTo(tree.goal());
+  }
+
+  protected final int startVertex;
+  protected IntGoalOp goalOp;
+  protected IntExpandOp expandOp = IntExpandOp::outgoingEdges;
+  protected IntPathCostOp pathCostOp = IntPathCostOp::byLength;
+}
@@ -4,6 +4,8 @@ import ma.vi.base.tuple.T1;
 import ma.vi.graph.Graph;
 import ma.vi.graph.Path;
 import ma.vi.graph.algo.Algorithm;
+import ma.vi.graph.algo.ExploreListener;
+import ma.vi.graph.algo.ExploreTracer;
 import ma.vi.graph.algo.GoalOp;
 import ma.vi.graph.algo.PathCostOp;
 import ma.vi.graph.algo.PriorityPathQueue;
@@ -69,6 +71,14 @@ public class IterativeDeepeningSearch<V, W> implements Algorithm<V, W, Path<V, W
     return this;
   }
 
+  /**
+   * Sets the listener of the exploration; see {@link Explore#listener}.
+   */
+  public IterativeDeepeningSearch<V, W> listener(ExploreListener<V, W> listener) {
+    this.listener = listener;
+    return this;
+  }
+
   @Override
   public Path<V, W> execute(Graph<V, W> graph) {
     T1<Integer> depth = T1.of(1);
@@ -94,6 +104,7 @@ public class IterativeDeepeningSearch<V, W> implements Algorithm<V, W, Path<V, W
                     }
                   })
                   .pathCostOp(pathCostOp)
+                  .listener(listener)
                   .execute(graph);
        depth.a += 1;
     }
@@ -103,4 +114,5 @@ public class IterativeDeepeningSearch<V, W> implements Algorithm<V, W, Path<V, W
   protected final V startVertex;
   protected GoalOp<V, W> goalOp;
   protected PathCostOp<V, W> pathCostOp;
+  protected ExploreListener<V, W> listener;
 }
\ No newline at end of file
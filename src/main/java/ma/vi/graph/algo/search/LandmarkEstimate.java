@@ -0,0 +1,82 @@
+package ma.vi.graph.algo.search;
+
+import ma.vi.graph.CsrGraph;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <p>
+ * A {@link GoalEstimate} computed from the minimum costs between a few landmark
+ * vertices and all vertices of a graph, as produced by {@link Landmarks}. By the
+ * triangle inequality, for any landmark L the cost of going from a vertex v to a goal
+ * t is at least d(L, t) - d(L, v) and d(v, L) - d(t, L); the estimate is the largest
+ * of these lower bounds over all landmarks, or 0 (Goldberg &amp; Harrelson, 2005).
+ * The estimate never overestimates the cost to the goal and is consistent, so that
+ * {@link AStarSearch} with this estimate finds minimum-cost paths and can use the
+ * monotone path queues.
+ * </p>
+ *
+ * <p>
+ * The costs are held in two primitive arrays (one for undirected graphs) with the
+ * costs from and to all landmarks of a vertex stored together, so that an estimate
+ * reads two contiguous runs of the arrays. The cost from a landmark to a vertex it
+ * cannot reach is taken as the largest cost from the landmark to a reachable vertex
+ * (and similarly for the costs to the landmark), which keeps the estimate consistent
+ * and bounded on graphs which are not strongly connected: such a bound is never
+ * positive for a vertex which can reach the goal and the estimate of a vertex which
+ * cannot is irrelevant to the path found. Vertices not in the graph are estimated at 0.
+ * </p>
+ *
+ * @param <V> The vertex type of the graph.
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+public class LandmarkEstimate<V> implements GoalEstimate<V> {
+  LandmarkEstimate(CsrGraph<V, ?> graph, int[] landmarks, long[] fromLandmarks, long[] toLandmarks) {
+    this.graph = graph;
+    this.landmarks = landmarks;
+    this.fromLandmarks = fromLandmarks;
+    this.toLandmarks = toLandmarks;
+  }
+
+  @Override
+  public long op(V from, V to) {
+    int f = graph.id(from);
+    int t = graph.id(to);
+    return f == -1 || t == -1 ? 0 : estimate(f, t);
+  }
+
+  /**
+   * The estimate of the cost from the vertex with id from to the vertex with id to
+   * in the {@link CsrGraph} of the graph ({@link CsrGraph#id(Object)}).
+   */
+  public long estimate(int from, int to) {
+    int k = landmarks.length;
+    int f = from * k;
+    int t = to * k;
+    long estimate = 0;
+    for (int l = 0; l < k; l++) {
+      estimate = Math.max(estimate, fromLandmarks[t + l] - fromLandmarks[f + l]);
+      estimate = Math.max(estimate, toLandmarks[f + l] - toLandmarks[t + l]);
+    }
+    return estimate;
+  }
+
+  /**
+   * The landmarks, in the order they were selected.
+   */
+  public List<V> landmarks() {
+    List<V> vertices = new ArrayList<>(landmarks.length);
+    for (int landmark: landmarks) {
+      vertices.add(graph.vertex(landmark));
+    }
+    return Collections.unmodifiableList(vertices);
+  }
+
+  private final CsrGraph<V, ?> graph;
+  private final int[] landmarks;
+  private final long[] fromLandmarks;
+  private final long[] toLandmarks;
+}
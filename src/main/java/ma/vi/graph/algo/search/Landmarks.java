@@ -0,0 +1,288 @@
+package ma.vi.graph.algo.search;
+
+import ma.vi.graph.CsrGraph;
+import ma.vi.graph.Graph;
+import ma.vi.graph.IntLongGraph;
+import ma.vi.graph.algo.Algorithm;
+import ma.vi.graph.algo.explore.IntMinCostExplore;
+import ma.vi.graph.algo.explore.IntPathTree;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static ma.vi.graph.algo.explore.IntPathTree.UNREACHED;
+
+/**
+ * <p>
+ * Selects a number of landmark vertices in a graph and computes the minimum costs
+ * from every landmark to all vertices and from all vertices to every landmark,
+ * producing a {@link LandmarkEstimate} to use as the goal estimate of an
+ * {@link AStarSearch} on graphs without a natural heuristic (the ALT algorithm of
+ * Goldberg &amp; Harrelson, 2005). The estimate usually reduces the number of
+ * vertices explored by A* several times compared to a minimum-cost search, for the
+ * cost of two minimum-cost explorations of the graph per landmark and of the
+ * memory for two costs per vertex and landmark.
+ * </p>
+ *
+ * <p>
+ * Landmarks are selected with one of two strategies:
+ * </p>
+ * <ul>
+ *   <li>{@link Selection#FARTHEST}: each new landmark is the vertex farthest from the
+ *       landmarks already selected, the first one being the vertex farthest from a
+ *       random vertex;</li>
+ *   <li>{@link Selection#AVOID} (the default): the tree of minimum-cost paths from a
+ *       random vertex is built and each vertex is weighted by how much the current
+ *       landmarks underestimate its cost from the root; the new landmark is the leaf
+ *       reached by descending from the root into the heaviest subtree not containing
+ *       a landmark (Goldberg &amp; Werneck, 2005). This places landmarks behind the
+ *       regions which are the least well covered.</li>
+ * </ul>
+ *
+ * <p>
+ * The edge weights must be non-negative numbers (non-numeric weights count as 0). The
+ * selection is random but repeatable for a given seed. The graph is explored through
+ * its {@link CsrGraph} form which is created if the graph is not already one.
+ * </p>
+ *
+ * <pre>
+ *   LandmarkEstimate&lt;String&gt; landmarks = cities.apply(new Landmarks&lt;String, Integer&gt;().count(4));
+ *   Path&lt;String, Integer&gt; path = cities.apply(new AStarSearch&lt;&gt;("Arad", "Bucharest", landmarks));
+ * </pre>
+ *
+ * @param <V> The vertex type of the graph.
+ * @param <W> The weight type on the edges of the graph.
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+public class Landmarks<V, W> implements Algorithm<V, W, LandmarkEstimate<V>> {
+  /**
+   * The strategies for selecting landmarks.
+   */
+  public enum Selection {
+    FARTHEST, AVOID
+  }
+
+  /**
+   * Sets the number of landmarks to select, 16 by default. Fewer landmarks
+   * are selected if the graph has fewer vertices.
+   */
+  public Landmarks<V, W> count(int count) {
+    if (count < 1) {
+      throw new IllegalArgumentException("At least one landmark is required");
+    }
+    this.count = count;
+    return this;
+  }
+
+  /**
+   * Sets the landmark selection strategy, {@link Selection#AVOID} by default.
+   */
+  public Landmarks<V, W> selection(Selection selection) {
+    this.selection = selection;
+    return this;
+  }
+
+  /**
+   * Sets the seed of the random choices of the selection, 0 by default.
+   */
+  public Landmarks<V, W> seed(long seed) {
+    this.seed = seed;
+    return this;
+  }
+
+  @Override
+  public LandmarkEstimate<V> execute(Graph<V, W> graph) {
+    CsrGraph<V, W> csr = CsrGraph.of(graph);
+    IntLongGraph forward = csr.asIntLongGraph();
+    IntLongGraph backward = forward.reversed();
+    int n = forward.vertexCount();
+    IntLongGraph.Cursor cursor = forward.cursor();
+    for (int v = 0; v < n; v++) {
+      for (cursor.outgoing(v); cursor.next();) {
+        if (cursor.weight() < 0) {
+          throw new IllegalArgumentException("Negative weight on edge from " + csr.vertex(v)
+                                           + " to " + csr.vertex(cursor.vertex()));
+        }
+      }
+    }
+
+    int k = Math.min(count, n);
+    long size = (long)n * k;
+    if (size > Integer.MAX_VALUE) {
+      /*
+       * The costs are kept in arrays of n * k entries, which also bounds
+       * the indices v * k + l computed into them.
+       */
+      throw new IllegalArgumentException("The costs of " + k + " landmarks for " + n + " vertices need "
+                                       + size + " entries, more than the " + Integer.MAX_VALUE
+                                       + " an array can hold: use fewer landmarks");
+    }
+    int[] landmarks = new int[k];
+    long[] fromLandmarks = new long[(int)size];
+    long[] toLandmarks = forward.directed() ? new long[(int)size] : fromLandmarks;
+    boolean[] selected = new boolean[n];
+    long[] closest = new long[n];
+    Arrays.fill(closest, UNREACHED);
+    Random random = new Random(seed);
+
+    for (int l = 0; l < k; l++) {
+      int landmark = -1;
+      if (selection == Selection.AVOID) {
+        landmark = avoid(forward, random.nextInt(n), landmarks, l, fromLandmarks, toLandmarks, selected);
+      } else if (l == 0) {
+        IntPathTree tree = forward.apply(new IntMinCostExplore(random.nextInt(n)));
+        landmark = tree.root();
+        for (int v = 0; v < n; v++) {
+          if (tree.reached(v) && tree.cost(v) > tree.cost(landmark)) {
+            landmark = v;
+          }
+        }
+      }
+      if (landmark == -1) {
+        /*
+         * Farthest selection, also the fallback of the avoid selection.
+         */
+        for (int v = 0; v < n; v++) {
+          if (!selected[v] && (landmark == -1 || closest[v] > closest[landmark])) {
+            landmark = v;
+          }
+        }
+      }
+      landmarks[l] = landmark;
+      selected[landmark] = true;
+
+      IntPathTree from = forward.apply(new IntMinCostExplore(landmark));
+      IntPathTree to = forward.directed() ? backward.apply(new IntMinCostExplore(landmark)) : from;
+      for (int v = 0; v < n; v++) {
+        fromLandmarks[v * k + l] = from.cost(v);
+        toLandmarks[v * k + l] = to.cost(v);
+        long round = from.reached(v) && to.reached(v) ? from.cost(v) + to.cost(v) : UNREACHED;
+        closest[v] = Math.min(closest[v], round);
+      }
+    }
+
+    /*
+     * Replace the costs of unreachable vertices with the largest finite cost
+     * from or to each landmark to keep the estimate consistent.
+     */
+    bound(fromLandmarks, k);
+    if (toLandmarks != fromLandmarks) {
+      bound(toLandmarks, k);
+    }
+    return new LandmarkEstimate<>(csr, landmarks, fromLandmarks, toLandmarks);
+  }
+
+  /**
+   * Selects a landmark with the avoid strategy from the tree of minimum-cost paths
+   * rooted at the vertex, or returns -1 if no suitable vertex is found.
+   */
+  private static int avoid(IntLongGraph graph, int root, int[] landmarks, int selectedCount,
+                           long[] fromLandmarks, long[] toLandmarks, boolean[] selected) {
+    int n = graph.vertexCount();
+    int k = landmarks.length;
+    IntPathTree tree = graph.apply(new IntMinCostExplore(root));
+
+    /*
+     * Children of each vertex in the tree, in compressed sparse row form,
+     * and the vertices in breadth-first order from the root.
+     */
+    int[] offsets = new int[n + 1];
+    for (int v = 0; v < n; v++) {
+      if (tree.parent(v) != -1) {
+        offsets[tree.parent(v) + 1]++;
+      }
+    }
+    for (int v = 0; v < n; v++) {
+      offsets[v + 1] += offsets[v];
+    }
+    int[] children = new int[offsets[n]];
+    int[] position = Arrays.copyOf(offsets, n);
+    for (int v = 0; v < n; v++) {
+      if (tree.parent(v) != -1) {
+        children[position[tree.parent(v)]++] = v;
+      }
+    }
+    int[] order = new int[n];
+    int size = 0;
+    order[size++] = root;
+    for (int i = 0; i < size; i++) {
+      int v = order[i];
+      for (int c = offsets[v]; c < offsets[v + 1]; c++) {
+        order[size++] = children[c];
+      }
+    }
+
+    /*
+     * The weight of a vertex is the difference between its cost from the root and
+     * its lower bound from the current landmarks; the size of a vertex is the total
+     * weight of its subtree, or 0 if the subtree contains a landmark.
+     */
+    long[] sizes = new long[n];
+    boolean[] covered = new boolean[n];
+    for (int i = size - 1; i >= 0; i--) {
+      int v = order[i];
+      long bound = 0;
+      for (int l = 0; l < selectedCount; l++) {
+        long lr = fromLandmarks[root * k + l], lv = fromLandmarks[v * k + l];
+        if (lr != UNREACHED && lv != UNREACHED) {
+          bound = Math.max(bound, lv - lr);
+        }
+        long rl = toLandmarks[root * k + l], vl = toLandmarks[v * k + l];
+        if (rl != UNREACHED && vl != UNREACHED) {
+          bound = Math.max(bound, rl - vl);
+        }
+      }
+      covered[v] |= selected[v];
+      sizes[v] = covered[v] ? 0 : sizes[v] + tree.cost(v) - bound;
+      int parent = tree.parent(v);
+      if (parent != -1) {
+        covered[parent] |= covered[v];
+        sizes[parent] += sizes[v];
+      }
+    }
+
+    /*
+     * Descend from the root into the heaviest subtree down to a leaf.
+     */
+    int v = root;
+    while (true) {
+      int next = -1;
+      for (int c = offsets[v]; c < offsets[v + 1]; c++) {
+        int child = children[c];
+        if (sizes[child] > 0 && (next == -1 || sizes[child] > sizes[next])) {
+          next = child;
+        }
+      }
+      if (next == -1) {
+        break;
+      }
+      v = next;
+    }
+    return v == root || selected[v] ? -1 : v;
+  }
+
+  /**
+   * Replaces the unreached costs of every landmark with its largest reached cost.
+   */
+  private static void bound(long[] costs, int k) {
+    int n = costs.length / k;
+    for (int l = 0; l < k; l++) {
+      long max = 0;
+      for (int v = 0; v < n; v++) {
+        if (costs[v * k + l] != UNREACHED) {
+          max = Math.max(max, costs[v * k + l]);
+        }
+      }
+      for (int v = 0; v < n; v++) {
+        if (costs[v * k + l] == UNREACHED) {
+          costs[v * k + l] = max;
+        }
+      }
+    }
+  }
+
+  protected int count = 16;
+  protected Selection selection = Selection.AVOID;
+  protected long seed;
+}
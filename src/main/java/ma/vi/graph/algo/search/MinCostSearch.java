@@ -46,6 +46,17 @@ public class MinCostSearch<V, W> implements Algorithm<V, W, Path<V, W>> {
     return this;
   }
 
+  /**
+   * Sets the minimum-cost path queue to use, {@link IndexedPathQueue} by default.
+   * For integer path costs which never decrease along the search, such as
+   * non-negative edge weights, a {@link RadixPathQueue} or, for small weights, a
+   * {@link BucketPathQueue} can be used instead.
+   */
+  public MinCostSearch<V, W> pathQueue(PathQueue<V, W> pathQueue) {
+    this.pathQueue = pathQueue;
+    return this;
+  }
+
   /**
    * A function taking as parameters the graph and current exploring path and
    * returning the successor edges to explore. The default function returns
@@ -66,18 +77,29 @@ public class MinCostSearch<V, W> implements Algorithm<V, W, Path<V, W>> {
     return this;
   }
 
+  /**
+   * Sets the listener of the exploration; see {@link Explore#listener}.
+   */
+  public MinCostSearch<V, W> listener(ExploreListener<V, W> listener) {
+    this.listener = listener;
+    return this;
+  }
+
   @Override
   public Path<V, W> execute(Graph<V, W> graph) {
     return new Explore<V, W, Path<V, W>>(startVertex)
-                .pathQueue(new PriorityPathQueue<>())
+                .pathQueue(pathQueue == null ? new IndexedPathQueue<>() : pathQueue)
                 .exploreOp(new SearchExploreOp<>(goalOp))
                 .expandOp(expandOp)
                 .pathCostOp(pathCostOp)
+                .listener(listener)
                 .execute(graph);
   }
 
   protected final V startVertex;
   protected GoalOp<V, W> goalOp;
+  protected PathQueue<V, W> pathQueue;
   protected ExpandOp<V, W> expandOp = ExpandOp::outgoingEdges;
   protected PathCostOp<V, W> pathCostOp = PathCostOp::byWeight;
+  protected ExploreListener<V, W> listener;
 }
\ No newline at end of file
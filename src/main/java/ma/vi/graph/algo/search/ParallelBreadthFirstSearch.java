@@ -0,0 +1,64 @@
+package ma.vi.graph.algo.search;
+
+import ma.vi.graph.Graph;
+import ma.vi.graph.Path;
+import ma.vi.graph.algo.Algorithm;
+import ma.vi.graph.algo.explore.ParallelBreadthFirstExplore;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * <p>
+ * Searches a graph in breadth-first order for a path with the fewest edges to
+ * a goal vertex, expanding the levels of the search in parallel with
+ * {@link ParallelBreadthFirstExplore}. The search stops at the end of the level
+ * at which the goal is reached and returns the path to the goal, with its cost
+ * being its number of edges, or null if the goal is not reachable.
+ * </p>
+ *
+ * @param <V> The vertex type of the graph to search.
+ * @param <W> The weight type on the edges of the graph to search.
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+public class ParallelBreadthFirstSearch<V, W> implements Algorithm<V, W, Path<V, W>> {
+  /**
+   * Create a new instance of the algorithm.
+   * @param startVertex The vertex to start the search at.
+   */
+  public ParallelBreadthFirstSearch(V startVertex) {
+    this.startVertex = startVertex;
+  }
+
+  /**
+   * Sets the vertex to search for.
+   */
+  public ParallelBreadthFirstSearch<V, W> goalVertex(V goalVertex) {
+    this.goalVertex = goalVertex;
+    return this;
+  }
+
+  /**
+   * Sets the pool to run the search on, {@link ForkJoinPool#commonPool()} by default.
+   */
+  public ParallelBreadthFirstSearch<V, W> pool(ForkJoinPool pool) {
+    this.pool = pool;
+    return this;
+  }
+
+  @Override
+  public Path<V, W> execute(Graph<V, W> graph) {
+    if (startVertex == null || goalVertex == null) {
+      throw new IllegalArgumentException("Start and goal vertices of the search not provided");
+    }
+    return new ParallelBreadthFirstExplore<V, W>(startVertex)
+                .goalVertex(goalVertex)
+                .pool(pool)
+                .execute(graph)
+                .pathTo(goalVertex);
+  }
+
+  protected final V startVertex;
+  protected V goalVertex;
+  protected ForkJoinPool pool;
+}
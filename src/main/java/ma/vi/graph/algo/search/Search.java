@@ -66,8 +66,10 @@ public class Search<V, W> implements Algorithm<V, W, Path<V, W>> {
   /**
    * Sets the path queue to use which controls the search behaviour.
    * For instance, {@link FifoPathQueue} will search breadth-first,
-   * {@link LifoPathQueue} will result in depth-first while {@link PriorityPathQueue}
-   * will search path in order of costs.
+   * {@link LifoPathQueue} will result in depth-first while {@link IndexedPathQueue}
+   * (or {@link PriorityPathQueue}) will search path in order of costs. For integer
+   * path costs which never decrease along the search, {@link RadixPathQueue} and
+   * {@link BucketPathQueue} are faster minimum-cost queues.
    */
   public Search<V, W> pathQueue(PathQueue<V, W> pathQueue) {
     this.pathQueue = pathQueue;
@@ -94,6 +96,14 @@ public class Search<V, W> implements Algorithm<V, W, Path<V, W>> {
     return this;
   }
 
+  /**
+   * Sets the listener of the exploration; see {@link Explore#listener}.
+   */
+  public Search<V, W> listener(ExploreListener<V, W> listener) {
+    this.listener = listener;
+    return this;
+  }
+
   @Override
   public Path<V, W> execute(Graph<V, W> graph) {
     return new Explore<V, W, Path<V, W>>(startVertex)
@@ -101,6 +111,7 @@ public class Search<V, W> implements Algorithm<V, W, Path<V, W>> {
         .exploreOp(new SearchExploreOp<>(goalOp))
         .expandOp(expandOp)
         .pathCostOp(pathCostOp)
+        .listener(listener)
         .execute(graph);
   }
 
@@ -109,4 +120,5 @@ public class Search<V, W> implements Algorithm<V, W, Path<V, W>> {
   protected PathQueue<V, W> pathQueue;
   protected ExpandOp<V, W> expandOp = ExpandOp::outgoingEdges;
   protected PathCostOp<V, W> pathCostOp = PathCostOp::byWeight;
+  protected ExploreListener<V, W> listener;
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package ma.vi.graph.algo.search;
 
 import ma.vi.graph.Graph;
+import ma.vi.graph.LinkedPath;
 import ma.vi.graph.algo.ExploreOp;
 import ma.vi.graph.algo.GoalOp;
 import ma.vi.graph.Path;
@@ -8,7 +9,8 @@ import ma.vi.graph.Path;
 import java.util.Optional;
 
 /**
- * An implementation of {@link ExploreOp} for searching.
+ * An implementation of {@link ExploreOp} for searching. The path reaching the
+ * goal is materialized before being returned if it is a {@link LinkedPath}.
  *
  * @author Vikash Madhow (vikash.madhow@gmail.com)
  */
@@ -19,7 +21,10 @@ public class SearchExploreOp<V, W> implements ExploreOp<V, W, Path<V, W>> {
 
   @Override
   public Optional<Path<V, W>> op(Graph<V, W> graph, Path<V, W> path) {
-    return goalOp.op(graph, path) ? Optional.of(path) : Optional.empty();
+    if (goalOp.op(graph, path)) {
+      return Optional.of(path instanceof LinkedPath ? ((LinkedPath<V, W>)path).materialize() : path);
+    }
+    return Optional.empty();
   }
 
   protected final GoalOp<V, W> goalOp;
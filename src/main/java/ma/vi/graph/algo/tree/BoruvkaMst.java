@@ -0,0 +1,170 @@
+package ma.vi.graph.algo.tree;
+
+import ma.vi.graph.Graph;
+import ma.vi.graph.algo.Algorithm;
+import ma.vi.graph.algo.Parallel;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <p>
+ * Construct a minimum spanning tree (MST), or a minimum spanning forest if the graph
+ * is not connected, using Borůvka's algorithm with every round run in parallel on a
+ * {@link ForkJoinPool}. In each round, every component of the forest built so far
+ * selects the lightest edge connecting it to another component (the edges are scanned
+ * in parallel, each updating the selection of both its components with an atomic
+ * minimum); the selected edges are added to the forest and the components they connect
+ * are merged by pointer jumping; finally the edges inside the new components are
+ * removed. The number of components at least halves at every round.
+ * </p>
+ *
+ * <p>
+ * As for {@link KruskalMst}, edges are ordered by their weights when these are
+ * {@link Comparable} and the edges of directed graphs are considered undirected.
+ * Ties are broken by the order of the edges in the {@link ma.vi.graph.CsrGraph}
+ * of the graph so that the tree returned is always the same. The tree is returned
+ * as a graph created by {@link Graph#newGraph(java.util.Set)} on the original graph.
+ * </p>
+ *
+ * @param <V> The vertex type of the graph.
+ * @param <W> The weight type on the edges of the graph.
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+public class BoruvkaMst<V, W> implements Algorithm<V, W, Graph<V, W>> {
+  /**
+   * Sets the pool to run the algorithm on, {@link ForkJoinPool#commonPool()} by default.
+   */
+  public BoruvkaMst<V, W> pool(ForkJoinPool pool) {
+    this.pool = pool;
+    return this;
+  }
+
+  @Override
+  public Graph<V, W> execute(Graph<V, W> graph) {
+    ForkJoinPool pool = this.pool == null ? ForkJoinPool.commonPool() : this.pool;
+    MstEdges<V, W> edges = new MstEdges<>(graph);
+    int n = edges.vertexCount();
+    int[] component = new int[n];
+    int[] hook = new int[n];
+    for (int v = 0; v < n; v++) {
+      component[v] = v;
+    }
+    AtomicLongArray lightest = new AtomicLongArray(n);
+    for (int v = 0; v < n; v++) {
+      lightest.set(v, Long.MAX_VALUE);
+    }
+
+    int[] tree = new int[Math.max(0, n - 1)];
+    AtomicInteger treeSize = new AtomicInteger();
+    int[] remaining = new int[edges.edgeCount()];
+    for (int e = 0; e < remaining.length; e++) {
+      remaining[e] = e;
+    }
+    int remainingCount = remaining.length;
+    int[] kept = new int[remaining.length];
+
+    while (remainingCount > 0) {
+      /*
+       * Every component selects its lightest edge to another component.
+       */
+      int[] current = remaining;
+      Parallel.forRange(pool, 0, remainingCount, Parallel.grain(pool, remainingCount, 1024), (from, to) -> {
+        for (int i = from; i < to; i++) {
+          int e = current[i];
+          long key = edges.keys[e];
+          minimize(lightest, component[edges.sources[e]], key);
+          minimize(lightest, component[edges.targets[e]], key);
+        }
+      });
+
+      /*
+       * Add the selected edges to the tree and hook every component to the one at
+       * the other end of its edge; when two components select the same edge, the
+       * smaller of the two becomes the root of the merged component.
+       */
+      Parallel.forRange(pool, 0, n, Parallel.grain(pool, n, 1024), (from, to) -> {
+        for (int c = from; c < to; c++) {
+          if (component[c] == c) {
+            long key = lightest.get(c);
+            if (key == Long.MAX_VALUE) {
+              hook[c] = c;
+            } else {
+              int e = MstEdges.edge(key);
+              int other = component[edges.sources[e]] == c ? component[edges.targets[e]]
+                                                           : component[edges.sources[e]];
+              if (lightest.get(other) == key && c < other) {
+                hook[c] = c;
+              } else {
+                hook[c] = other;
+                tree[treeSize.getAndIncrement()] = e;
+              }
+            }
+          }
+        }
+      });
+      AtomicBoolean jumped = new AtomicBoolean(true);
+      while (jumped.get()) {
+        jumped.set(false);
+        Parallel.forRange(pool, 0, n, Parallel.grain(pool, n, 1024), (from, to) -> {
+          boolean changed = false;
+          for (int c = from; c < to; c++) {
+            if (component[c] == c && hook[hook[c]] != hook[c]) {
+              hook[c] = hook[hook[c]];
+              changed = true;
+            }
+          }
+          if (changed) {
+            jumped.set(true);
+          }
+        });
+      }
+
+      /*
+       * Relabel the vertices with their new components, reset the selections
+       * and keep the edges between different components.
+       */
+      Parallel.forRange(pool, 0, n, Parallel.grain(pool, n, 1024), (from, to) -> {
+        for (int v = from; v < to; v++) {
+          component[v] = hook[component[v]];
+          lightest.set(v, Long.MAX_VALUE);
+        }
+      });
+      int[] next = kept;
+      AtomicInteger nextCount = new AtomicInteger();
+      Parallel.forRange(pool, 0, remainingCount, Parallel.grain(pool, remainingCount, 1024), (from, to) -> {
+        int[] buffer = new int[to - from];
+        int count = 0;
+        for (int i = from; i < to; i++) {
+          int e = current[i];
+          if (component[edges.sources[e]] != component[edges.targets[e]]) {
+            buffer[count++] = e;
+          }
+        }
+        System.arraycopy(buffer, 0, next, nextCount.getAndAdd(count), count);
+      });
+      kept = remaining;
+      remaining = next;
+      remainingCount = nextCount.get();
+    }
+    int[] treeEdges = Arrays.copyOf(tree, treeSize.get());
+    Arrays.sort(treeEdges);
+    return edges.tree(graph, treeEdges, treeEdges.length);
+  }
+
+  /**
+   * Atomically sets the value at the index to the key if the key is smaller.
+   */
+  static void minimize(AtomicLongArray values, int index, long key) {
+    long value = values.get(index);
+    while (key < value && !values.compareAndSet(index, value, key)) {
+      value = values.get(index);
+    }
+  }
+
+  protected ForkJoinPool pool;
+}
@@ -0,0 +1,216 @@
+package ma.vi.graph.algo.tree;
+
+import ma.vi.graph.Graph;
+import ma.vi.graph.algo.Algorithm;
+import ma.vi.graph.algo.Parallel;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.LongPredicate;
+
+/**
+ * <p>
+ * Construct a minimum spanning tree (MST), or a minimum spanning forest if the graph
+ * is not connected, using the filter-Kruskal algorithm (Osipov, Sanders &amp; Singler,
+ * 2009). Instead of sorting all edges as {@link KruskalMst} does, the edges are
+ * partitioned around a pivot weight, like in quicksort: the lighter part is processed
+ * first, recursively, then the edges of the heavier part which now connect vertices
+ * already in the same component of the forest are filtered out before the heavier
+ * part is processed. Only small parts are sorted and added to the forest with Kruskal's
+ * algorithm and most of the heavy edges of dense graphs are discarded without ever
+ * being sorted. The partitioning and filtering steps run in parallel on a
+ * {@link ForkJoinPool}.
+ * </p>
+ *
+ * <p>
+ * As for {@link KruskalMst}, edges are ordered by their weights when these are
+ * {@link Comparable} and the edges of directed graphs are considered undirected.
+ * Ties are broken by the order of the edges in the {@link ma.vi.graph.CsrGraph}
+ * of the graph, giving the same tree as {@link BoruvkaMst}. The tree is returned
+ * as a graph created by {@link Graph#newGraph(java.util.Set)} on the original graph.
+ * </p>
+ *
+ * @param <V> The vertex type of the graph.
+ * @param <W> The weight type on the edges of the graph.
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+public class FilterKruskalMst<V, W> implements Algorithm<V, W, Graph<V, W>> {
+  /**
+   * Sets the pool to run the algorithm on, {@link ForkJoinPool#commonPool()} by default.
+   */
+  public FilterKruskalMst<V, W> pool(ForkJoinPool pool) {
+    this.pool = pool;
+    return this;
+  }
+
+  /**
+   * Sets the number of edges under which a part is sorted and added to the
+   * forest with Kruskal's algorithm instead of being partitioned (4096 by default).
+   */
+  public FilterKruskalMst<V, W> baseSize(int baseSize) {
+    this.baseSize = Math.max(3, baseSize);
+    return this;
+  }
+
+  @Override
+  public Graph<V, W> execute(Graph<V, W> graph) {
+    ForkJoinPool pool = this.pool == null ? ForkJoinPool.commonPool() : this.pool;
+    MstEdges<V, W> edges = new MstEdges<>(graph);
+    int n = edges.vertexCount();
+    int[] parents = new int[n];
+    for (int v = 0; v < n; v++) {
+      parents[v] = v;
+    }
+    Forest forest = new Forest(edges, parents, new int[Math.max(0, n - 1)]);
+    long[] keys = Arrays.copyOf(edges.keys, edges.keys.length);
+    long[] buffer = new long[keys.length];
+    filterKruskal(pool, forest, keys, buffer, 0, keys.length);
+
+    int[] treeEdges = Arrays.copyOf(forest.tree, forest.size);
+    Arrays.sort(treeEdges);
+    return edges.tree(graph, treeEdges, treeEdges.length);
+  }
+
+  private void filterKruskal(ForkJoinPool pool, Forest forest, long[] keys, long[] buffer, int from, int to) {
+    while (to - from > baseSize && !forest.complete()) {
+      /*
+       * The median of three keys is neither the smallest nor the largest
+       * key, so both parts are smaller than the whole.
+       */
+      long a = keys[from], b = keys[(from + to) >>> 1], c = keys[to - 1];
+      long pivot = Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+      int middle = split(pool, keys, buffer, from, to, key -> key <= pivot, true);
+      filterKruskal(pool, forest, keys, buffer, from, middle);
+      from = middle;
+      to = split(pool, keys, buffer, from, to, forest::connects, false);
+    }
+    if (!forest.complete()) {
+      Arrays.sort(keys, from, to);
+      for (int i = from; i < to && !forest.complete(); i++) {
+        forest.add(MstEdges.edge(keys[i]));
+      }
+    }
+  }
+
+  /**
+   * Moves the keys in [from, to) satisfying the predicate to the front of the
+   * range, in parallel, followed by the other keys if keepRest is true, and
+   * returns the end of the keys satisfying the predicate.
+   */
+  private static int split(ForkJoinPool pool, long[] keys, long[] buffer, int from, int to,
+                           LongPredicate first, boolean keepRest) {
+    int size = to - from;
+    int grain = Parallel.grain(pool, size, 4096);
+    int chunks = (size + grain - 1) / grain;
+    int[] counts = new int[chunks];
+    Parallel.forRange(pool, 0, chunks, 1, (c0, c1) -> {
+      for (int c = c0; c < c1; c++) {
+        int count = 0;
+        for (int i = from + c * grain, end = Math.min(to, i + grain); i < end; i++) {
+          if (first.test(keys[i])) count++;
+        }
+        counts[c] = count;
+      }
+    });
+    int total = 0;
+    for (int count: counts) {
+      total += count;
+    }
+    int[] firstAt = new int[chunks];
+    int[] restAt = new int[chunks];
+    for (int c = 0, f = from, r = from + total; c < chunks; c++) {
+      firstAt[c] = f;
+      restAt[c] = r;
+      f += counts[c];
+      r += Math.min(grain, to - from - c * grain) - counts[c];
+    }
+    Parallel.forRange(pool, 0, chunks, 1, (c0, c1) -> {
+      for (int c = c0; c < c1; c++) {
+        int f = firstAt[c], r = restAt[c];
+        for (int i = from + c * grain, end = Math.min(to, i + grain); i < end; i++) {
+          if (first.test(keys[i])) {
+            buffer[f++] = keys[i];
+          } else if (keepRest) {
+            buffer[r++] = keys[i];
+          }
+        }
+      }
+    });
+    System.arraycopy(buffer, from, keys, from, keepRest ? size : total);
+    return from + total;
+  }
+
+  /**
+   * The forest built so far with the union-find structure of its components.
+   */
+  private static class Forest {
+    Forest(MstEdges<?, ?> edges, int[] parents, int[] tree) {
+      this.edges = edges;
+      this.parents = parents;
+      this.tree = tree;
+      this.ranks = new byte[parents.length];
+    }
+
+    /**
+     * The component of the vertex. This does not modify the structure so that
+     * it can be called concurrently while filtering.
+     */
+    int find(int v) {
+      while (parents[v] != v) {
+        v = parents[v];
+      }
+      return v;
+    }
+
+    /**
+     * Returns true if the edge of the key connects two different components.
+     */
+    boolean connects(long key) {
+      int e = MstEdges.edge(key);
+      return find(edges.sources[e]) != find(edges.targets[e]);
+    }
+
+    /**
+     * Adds the edge to the forest if it connects two different components,
+     * merging the components by rank.
+     */
+    void add(int e) {
+      int u = compress(edges.sources[e]);
+      int v = compress(edges.targets[e]);
+      if (u != v) {
+        if (ranks[u] > ranks[v]) {
+          parents[v] = u;
+        } else {
+          parents[u] = v;
+          if (ranks[u] == ranks[v]) ranks[v]++;
+        }
+        tree[size++] = e;
+      }
+    }
+
+    boolean complete() {
+      return size == tree.length;
+    }
+
+    /**
+     * Finds the component of the vertex, halving the path to it.
+     */
+    private int compress(int v) {
+      while (parents[v] != v) {
+        parents[v] = parents[parents[v]];
+        v = parents[v];
+      }
+      return v;
+    }
+
+    final MstEdges<?, ?> edges;
+    final int[] parents;
+    final int[] tree;
+    final byte[] ranks;
+    int size;
+  }
+
+  protected ForkJoinPool pool;
+  protected int baseSize = 4096;
+}
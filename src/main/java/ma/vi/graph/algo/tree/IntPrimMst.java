@@ -0,0 +1,57 @@
+package ma.vi.graph.algo.tree;
+
+import ma.vi.graph.IntLongCsrGraph;
+import ma.vi.graph.IntLongGraph;
+import ma.vi.graph.algo.IndexedLongHeap;
+import ma.vi.graph.algo.IntAlgorithm;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Construct a minimum spanning tree (MST) of an {@link IntLongGraph} using Prim's
+ * algorithm; the primitive counterpart of {@link PrimMst}. The vertices outside the
+ * tree are kept in an {@link IndexedLongHeap} keyed by the weight of their lightest
+ * edge to the tree, which is decreased in place as the tree grows, so that nothing
+ * is allocated per edge. If the graph is not connected, a minimum spanning forest
+ * is returned.
+ * </p>
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+public class IntPrimMst implements IntAlgorithm<IntLongCsrGraph> {
+  @Override
+  public IntLongCsrGraph execute(IntLongGraph graph) {
+    int n = graph.vertexCount();
+    long[] keys = new long[n];
+    int[] parents = new int[n];
+    boolean[] inTree = new boolean[n];
+    Arrays.fill(parents, -1);
+
+    IntLongCsrGraph.Builder tree = new IntLongCsrGraph.Builder(graph.directed()).vertexCount(n);
+    IndexedLongHeap frontier = new IndexedLongHeap(n);
+    IntLongGraph.Cursor cursor = graph.cursor();
+    for (int root = 0; root < n; root++) {
+      if (!inTree[root]) {
+        frontier.add(root, 0);
+        while (!frontier.isEmpty()) {
+          int u = frontier.poll();
+          inTree[u] = true;
+          if (parents[u] != -1) {
+            tree.add(parents[u], keys[u], u);
+          }
+          for (cursor.outgoing(u); cursor.next();) {
+            int v = cursor.vertex();
+            long weight = cursor.weight();
+            if (!inTree[v] && (!frontier.contains(v) || weight < keys[v])) {
+              keys[v] = weight;
+              parents[v] = u;
+              frontier.offer(v, weight);
+            }
+          }
+        }
+      }
+    }
+    return tree.build();
+  }
+}
@@ -0,0 +1,104 @@
+package ma.vi.graph.algo.tree;
+
+import ma.vi.graph.CsrGraph;
+import ma.vi.graph.Edge;
+import ma.vi.graph.Graph;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * The edges of a graph in primitive arrays for the parallel minimum spanning tree
+ * algorithms: the ids of the endpoints of every edge (self-loops excluded) in the
+ * {@link CsrGraph} of the graph and a key per edge ordering the edges by weight,
+ * made of the rank of the weight of the edge (in the order of the weights when they
+ * are {@link Comparable}, as in {@link KruskalMst}) and of the index of the edge to
+ * break ties, so that all keys are distinct.
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+class MstEdges<V, W> {
+  @SuppressWarnings("unchecked")
+  MstEdges(Graph<V, W> graph) {
+    this.graph = CsrGraph.of(graph);
+    int n = this.graph.vertexCount();
+
+    /*
+     * Rank the distinct weights of the graph.
+     */
+    Integer[] order = new Integer[this.graph.weightCount()];
+    for (int w = 0; w < order.length; w++) {
+      order[w] = w;
+    }
+    Comparator<W> comparator = (w1, w2) -> w1 instanceof Comparable ? ((Comparable<W>)w1).compareTo(w2) : 0;
+    Arrays.sort(order, (w1, w2) -> comparator.compare(this.graph.weightOf(w1), this.graph.weightOf(w2)));
+    int[] weightRanks = new int[order.length];
+    for (int i = 1; i < order.length; i++) {
+      weightRanks[order[i]] = comparator.compare(this.graph.weightOf(order[i - 1]), this.graph.weightOf(order[i])) == 0
+                            ? weightRanks[order[i - 1]]
+                            : i;
+    }
+
+    int count = 0;
+    for (int u = 0; u < n; u++) {
+      for (int e = this.graph.outStart(u); e < this.graph.outEnd(u); e++) {
+        if (!this.graph.outReversed(e) && this.graph.outTarget(e) != u) {
+          count++;
+        }
+      }
+    }
+    sources = new int[count];
+    targets = new int[count];
+    weightIds = new int[count];
+    keys = new long[count];
+    int i = 0;
+    for (int u = 0; u < n; u++) {
+      for (int e = this.graph.outStart(u); e < this.graph.outEnd(u); e++) {
+        if (!this.graph.outReversed(e) && this.graph.outTarget(e) != u) {
+          sources[i] = u;
+          targets[i] = this.graph.outTarget(e);
+          weightIds[i] = this.graph.outWeightId(e);
+          keys[i] = key(weightRanks[weightIds[i]], i);
+          i++;
+        }
+      }
+    }
+  }
+
+  static long key(int rank, int edge) {
+    return ((long)rank << 32) | edge;
+  }
+
+  static int edge(long key) {
+    return (int)key;
+  }
+
+  int vertexCount() {
+    return graph.vertexCount();
+  }
+
+  int edgeCount() {
+    return keys.length;
+  }
+
+  /**
+   * Creates the tree with the edges at the given indices as a new graph
+   * of the same type as the original graph.
+   */
+  Graph<V, W> tree(Graph<V, W> original, int[] edges, int count) {
+    Set<Edge<V, W>> treeEdges = new LinkedHashSet<>();
+    for (int i = 0; i < count; i++) {
+      int e = edges[i];
+      treeEdges.add(Edge.of(graph.vertex(sources[e]), graph.weightOf(weightIds[e]), graph.vertex(targets[e])));
+    }
+    return original.newGraph(treeEdges);
+  }
+
+  final CsrGraph<V, W> graph;
+  final int[] sources;
+  final int[] targets;
+  final int[] weightIds;
+  final long[] keys;
+}
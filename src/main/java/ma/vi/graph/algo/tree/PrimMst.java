@@ -2,7 +2,7 @@ package ma.vi.graph.algo.tree;
 
 import ma.vi.graph.Graph;
 import ma.vi.graph.algo.Algorithm;
-import ma.vi.graph.algo.PriorityPathQueue;
+import ma.vi.graph.algo.IndexedPathQueue;
 
 /**
  * <p>
@@ -18,7 +18,7 @@ public class PrimMst<V, W> implements Algorithm<V, W, Graph<V, W>> {
   @Override
   public Graph<V, W> execute(Graph<V, W> graph) {
     return new SpanningTree<V, W>()
-                .pathQueue(new PriorityPathQueue<>())
+                .pathQueue(new IndexedPathQueue<>())
                 .pathCostOp((g, p, e) -> e.weight instanceof Number ? ((Number)e.weight).longValue() : 0)
                 .execute(graph);
   }
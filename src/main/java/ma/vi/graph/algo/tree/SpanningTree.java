@@ -54,6 +54,14 @@ public class SpanningTree<V, W> implements Algorithm<V, W, Graph<V, W>> {
     return this;
   }
 
+  /**
+   * Sets the listener of the exploration; see {@link Explore#listener}.
+   */
+  public SpanningTree<V, W> listener(ExploreListener<V, W> listener) {
+    this.listener = listener;
+    return this;
+  }
+
   @Override
   public Graph<V, W> execute(Graph<V, W> graph) {
     V startVertex = graph.vertices().iterator().next();
@@ -63,6 +71,7 @@ public class SpanningTree<V, W> implements Algorithm<V, W, Graph<V, W>> {
           .exploreOp(new TreeExploreOp<>(edges))
           .expandOp(expandOp)
           .pathCostOp(pathCostOp)
+          .listener(listener)
           .execute(graph);
     return graph.newGraph(edges);
   }
@@ -70,4 +79,5 @@ public class SpanningTree<V, W> implements Algorithm<V, W, Graph<V, W>> {
   protected PathQueue<V, W> pathQueue;
   protected ExpandOp<V, W> expandOp = ExpandOp::outgoingEdges;
   protected PathCostOp<V, W> pathCostOp = PathCostOp::byWeight;
+  protected ExploreListener<V, W> listener;
 }
\ No newline at end of file
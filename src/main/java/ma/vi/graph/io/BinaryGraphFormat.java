@@ -0,0 +1,220 @@
+package ma.vi.graph.io;
+
+import ma.vi.graph.AbstractGraph;
+import ma.vi.graph.AdjacencyBuilder;
+import ma.vi.graph.Edge;
+import ma.vi.graph.Graph;
+
+import java.io.*;
+import java.util.*;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * <p>
+ * A compact, versioned binary format for graphs, with the vertices and weights
+ * written by pluggable {@link Codec}s. Graphs are read back as {@link ma.vi.graph.DirectedGraph}
+ * or {@link ma.vi.graph.UndirectedGraph} with an {@link AdjacencyBuilder}, which creates
+ * the adjacency of every vertex directly at its final size.
+ * </p>
+ *
+ * <p>
+ * A graph is written as:
+ * </p>
+ * <ul>
+ *   <li>the magic number 0x56475246 ("VGRF", 4 bytes), the format version (1 byte)
+ *       and flags (1 byte: bit 0 for directed graphs, bit 1 if a checksum follows
+ *       the graph);</li>
+ *   <li>the number of vertices followed by the vertices, in the order of their ids;</li>
+ *   <li>the number of distinct non-null weights followed by these weights, which
+ *       are referred to by id in the edges, 0 being the null weight and the
+ *       weights being numbered from 1;</li>
+ *   <li>the number of edges followed by the adjacency of each vertex in order of
+ *       id: its number of edges and, for every edge, the difference between the id
+ *       of its target and that of the previous edge (the edges being sorted by target,
+ *       the first edge is relative to 0), and the id of its weight. Undirected edges
+ *       are written once, in the adjacency of the first endpoint of the edge;</li>
+ *   <li>the CRC-32 of all preceding bytes (4 bytes), if the checksum flag is set.</li>
+ * </ul>
+ *
+ * <p>
+ * Counts and ids are variable-length integers (7 bits per byte), so that the edges
+ * of most graphs take two to four bytes each.
+ * </p>
+ *
+ * @param <V> The vertex type of the graphs.
+ * @param <W> The weight type on the edges of the graphs.
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+public class BinaryGraphFormat<V, W> {
+  public BinaryGraphFormat(Codec<V> vertexCodec, Codec<W> weightCodec) {
+    this.vertexCodec = vertexCodec;
+    this.weightCodec = weightCodec;
+  }
+
+  /**
+   * Sets whether a checksum is written after the graph (true by default).
+   * The checksum is verified when reading if it is present.
+   */
+  public BinaryGraphFormat<V, W> checksum(boolean checksum) {
+    this.checksum = checksum;
+    return this;
+  }
+
+  /**
+   * Writes the graph to the stream, which is flushed but not closed.
+   */
+  public void write(Graph<V, W> graph, OutputStream out) throws IOException {
+    Map<V, Integer> vertexIds = new HashMap<>();
+    List<V> vertices = new ArrayList<>();
+    for (V vertex: graph.vertices()) {
+      intern(vertex, vertexIds, vertices);
+    }
+    Map<W, Integer> weightIds = new HashMap<>();
+    List<W> weights = new ArrayList<>();
+
+    /*
+     * Sort the edges by source with a counting sort, then by target and weight id.
+     */
+    List<Edge<V, W>> edges = new ArrayList<>(graph.edges());
+    int count = 0;
+    int[] sources = new int[edges.size()];
+    long[] entries = new long[edges.size()];
+    for (Edge<V, W> edge: edges) {
+      sources[count] = intern(edge.endPoint1, vertexIds, vertices);
+      int target = intern(edge.endPoint2, vertexIds, vertices);
+      int weight = edge.weight == null ? 0 : intern(edge.weight, weightIds, weights) + 1;
+      entries[count++] = ((long)target << 32) | weight;
+    }
+    int n = vertices.size();
+    int[] offsets = new int[n + 1];
+    for (int i = 0; i < count; i++) {
+      offsets[sources[i] + 1]++;
+    }
+    for (int v = 0; v < n; v++) {
+      offsets[v + 1] += offsets[v];
+    }
+    long[] sorted = new long[count];
+    int[] position = Arrays.copyOf(offsets, n);
+    for (int i = 0; i < count; i++) {
+      sorted[position[sources[i]]++] = entries[i];
+    }
+
+    BufferedOutputStream buffered = new BufferedOutputStream(out, 1 << 16);
+    CheckedOutputStream checked = new CheckedOutputStream(buffered, new CRC32());
+    DataOutputStream data = new DataOutputStream(checked);
+    data.writeInt(MAGIC);
+    data.writeByte(VERSION);
+    data.writeByte((graph.directed() ? DIRECTED : 0) | (checksum ? CHECKSUM : 0));
+    Varint.write(n, data);
+    for (V vertex: vertices) {
+      vertexCodec.write(vertex, data);
+    }
+    Varint.write(weights.size(), data);
+    for (W weight: weights) {
+      weightCodec.write(weight, data);
+    }
+    Varint.write(count, data);
+    for (int v = 0; v < n; v++) {
+      Arrays.sort(sorted, offsets[v], offsets[v + 1]);
+      Varint.write(offsets[v + 1] - offsets[v], data);
+      int previous = 0;
+      for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+        int target = (int)(sorted[e] >>> 32);
+        Varint.write(target - previous, data);
+        Varint.write((int)sorted[e], data);
+        previous = target;
+      }
+    }
+    data.flush();
+    if (checksum) {
+      new DataOutputStream(buffered).writeInt((int)checked.getChecksum().getValue());
+    }
+    buffered.flush();
+  }
+
+  /**
+   * Reads a graph written with {@link #write(Graph, OutputStream)} with the same codecs.
+   * The stream is read ahead in blocks and should not contain anything after the graph.
+   *
+   * @throws IOException if the stream does not contain a graph in this format,
+   *                     or its checksum does not match its content.
+   */
+  public AbstractGraph<V, W> read(InputStream in) throws IOException {
+    BufferedInputStream buffered = new BufferedInputStream(in, 1 << 16);
+    CheckedInputStream checked = new CheckedInputStream(buffered, new CRC32());
+    DataInputStream data = new DataInputStream(checked);
+    if (data.readInt() != MAGIC) {
+      throw new IOException("Not a graph in binary format");
+    }
+    int version = data.readUnsignedByte();
+    if (version != VERSION) {
+      throw new IOException("Unsupported version " + version + " of the binary graph format");
+    }
+    int flags = data.readUnsignedByte();
+    AdjacencyBuilder<V, W> builder = new AdjacencyBuilder<>((flags & DIRECTED) != 0);
+    int n = Varint.readInt(data);
+    for (int v = 0; v < n; v++) {
+      builder.addVertex(vertexCodec.read(data));
+    }
+    /*
+     * Id 0 is the null weight. The list grows with the weights read rather than
+     * being sized from the count, which may be corrupted.
+     */
+    int weightCount = Varint.readInt(data);
+    if (weightCount == Integer.MAX_VALUE) {
+      throw new IOException("Invalid weight count " + weightCount);
+    }
+    List<W> weights = new ArrayList<>(Math.min(weightCount + 1, 1 << 16));
+    weights.add(null);
+    for (int w = 0; w < weightCount; w++) {
+      weights.add(weightCodec.read(data));
+    }
+    int m = Varint.readInt(data);
+    int read = 0;
+    for (int v = 0; v < n; v++) {
+      int degree = Varint.readInt(data);
+      int target = 0;
+      for (int e = 0; e < degree; e++) {
+        target += Varint.readInt(data);
+        int weight = Varint.readInt(data);
+        if (target < 0 || target >= n || weight >= weights.size()) {
+          throw new IOException("Invalid edge from vertex " + v + " to " + target + " with weight " + weight);
+        }
+        builder.add(v, weights.get(weight), target);
+      }
+      read += degree;
+    }
+    if (read != m) {
+      throw new IOException("Expected " + m + " edges but read " + read);
+    }
+    if ((flags & CHECKSUM) != 0) {
+      int expected = (int)checked.getChecksum().getValue();
+      if (new DataInputStream(buffered).readInt() != expected) {
+        throw new IOException("Checksum mismatch: the graph is corrupted");
+      }
+    }
+    return builder.build();
+  }
+
+  private static <T> int intern(T value, Map<T, Integer> ids, List<T> values) {
+    Integer id = ids.get(value);
+    if (id == null) {
+      id = values.size();
+      ids.put(value, id);
+      values.add(value);
+    }
+    return id;
+  }
+
+  static final int MAGIC = 0x56475246;
+  static final int VERSION = 1;
+  static final int DIRECTED = 1;
+  static final int CHECKSUM = 2;
+
+  private final Codec<V> vertexCodec;
+  private final Codec<W> weightCodec;
+  private boolean checksum = true;
+}
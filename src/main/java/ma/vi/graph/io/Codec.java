@@ -0,0 +1,157 @@
+package ma.vi.graph.io;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Writes and reads the vertices or the weights of a graph in the binary format of
+ * {@link BinaryGraphFormat}. Codecs for the common types are provided as constants;
+ * {@link #serializable(ObjectInputFilter)} handles any serializable type, at a higher
+ * cost in time and space.
+ * </p>
+ *
+ * <p>
+ * Values passed to a codec are never null.
+ * </p>
+ *
+ * @param <T> The type of the values written and read.
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+public interface Codec<T> {
+  void write(T value, DataOutput out) throws IOException;
+
+  T read(DataInput in) throws IOException;
+
+  /**
+   * Ints as zigzag variable-length integers (1 byte for values from -64 to 63).
+   */
+  Codec<Integer> INT = new Codec<>() {
+    @Override
+    public void write(Integer value, DataOutput out) throws IOException {
+      Varint.writeSigned(value, out);
+    }
+
+    @Override
+    public Integer read(DataInput in) throws IOException {
+      long value = Varint.readSigned(in);
+      if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+        throw new IOException("Value out of range for an int: " + value);
+      }
+      return (int)value;
+    }
+  };
+
+  /**
+   * Longs as zigzag variable-length integers.
+   */
+  Codec<Long> LONG = new Codec<>() {
+    @Override
+    public void write(Long value, DataOutput out) throws IOException {
+      Varint.writeSigned(value, out);
+    }
+
+    @Override
+    public Long read(DataInput in) throws IOException {
+      return Varint.readSigned(in);
+    }
+  };
+
+  Codec<Double> DOUBLE = new Codec<>() {
+    @Override
+    public void write(Double value, DataOutput out) throws IOException {
+      out.writeDouble(value);
+    }
+
+    @Override
+    public Double read(DataInput in) throws IOException {
+      return in.readDouble();
+    }
+  };
+
+  /**
+   * Strings in UTF-8, preceded by their length in bytes.
+   */
+  Codec<String> STRING = new Codec<>() {
+    @Override
+    public void write(String value, DataOutput out) throws IOException {
+      byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+      Varint.write(bytes.length, out);
+      out.write(bytes);
+    }
+
+    @Override
+    public String read(DataInput in) throws IOException {
+      return new String(readBytes(in), StandardCharsets.UTF_8);
+    }
+  };
+
+  /**
+   * <p>
+   * A codec writing values with Java serialization, each value preceded by the
+   * length of its serialized form.
+   * </p>
+   *
+   * <p>
+   * Deserializing a file which is not fully trusted can instantiate any serializable
+   * class on the classpath and run its deserialization code, so the values are read
+   * with the filter given, which should only accept the classes making up the values,
+   * e.g.:
+   * </p>
+   * <pre>
+   *   Codec.serializable(ObjectInputFilter.Config.createFilter("java.lang.*;java.util.*;!*"))
+   * </pre>
+   *
+   * @throws IllegalArgumentException if the filter is null.
+   */
+  static <T> Codec<T> serializable(ObjectInputFilter filter) {
+    if (filter == null) {
+      throw new IllegalArgumentException("A filter of the classes deserialized is required");
+    }
+    return new Codec<>() {
+      @Override
+      public void write(T value, DataOutput out) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream os = new ObjectOutputStream(bytes)) {
+          os.writeObject(value);
+        }
+        Varint.write(bytes.size(), out);
+        out.write(bytes.toByteArray());
+      }
+
+      @Override
+      @SuppressWarnings("unchecked")
+      public T read(DataInput in) throws IOException {
+        byte[] bytes = readBytes(in);
+        try (ObjectInputStream is = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+          is.setObjectInputFilter(filter);
+          return (T)is.readObject();
+        } catch (ClassNotFoundException e) {
+          throw new IOException("Could not read value", e);
+        }
+      }
+    };
+  }
+
+  /**
+   * Reads bytes preceded by their length. The buffer grows as the bytes are read,
+   * from at most 64 KB and never to more than twice the bytes actually read, so that
+   * a corrupted length fails at the end of the stream instead of allocating up to
+   * 2 GB first.
+   */
+  private static byte[] readBytes(DataInput in) throws IOException {
+    int length = Varint.readInt(in);
+    byte[] bytes = new byte[Math.min(length, 1 << 16)];
+    int read = 0;
+    while (read < length) {
+      if (read == bytes.length) {
+        bytes = Arrays.copyOf(bytes, (int)Math.min(length, 2L * bytes.length));
+      }
+      in.readFully(bytes, read, bytes.length - read);
+      read = bytes.length;
+    }
+    return bytes;
+  }
+}
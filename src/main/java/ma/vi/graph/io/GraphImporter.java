@@ -0,0 +1,507 @@
+package ma.vi.graph.io;
+
+import ma.vi.graph.AbstractGraph;
+import ma.vi.graph.AdjacencyBuilder;
+import ma.vi.graph.MappedGraph;
+import ma.vi.graph.MappedGraphWriter;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * <p>
+ * Imports large graphs from text files of edges. The file is memory-mapped and split
+ * in chunks of a fixed number of bytes which are parsed in parallel on a {@link ForkJoinPool}
+ * into primitive arrays of vertex ids and weights; a chunk holds the lines starting in it,
+ * the line crossing its end being parsed with it and skipped by the next chunk. The parsed
+ * chunks are consumed in the order of the file by the calling thread, which interns the
+ * vertex ids and adds the edges to an {@link AdjacencyBuilder}, for graphs on the heap,
+ * or to a {@link MappedGraphWriter}, for graphs larger than the heap, without ever creating
+ * a set of {@link ma.vi.graph.Edge}s. At most twice as many chunks as the parallelism of
+ * the pool are parsed ahead of the consumer.
+ * </p>
+ *
+ * <p>
+ * With {@link #readMapped(Path, Path)}, the edges are written to the graph file as they
+ * are consumed, so the memory used is bounded by the chunks in flight and the vertex
+ * arrays of the writer, whatever the number of edges. With {@link #read(Path)}, the
+ * builder holds every edge as three ints (12 bytes) and the distinct weights until the
+ * graph is built, a fraction of the memory taken by the edges and edge sets of the graph
+ * itself.
+ * </p>
+ *
+ * <p>
+ * Vertices are identified by ints in the files and weights are longs; edges without a
+ * weight are given the {@link #defaultWeight(long) default weight}. The formats read are:
+ * </p>
+ * <ul>
+ *   <li>{@link Format#EDGE_LIST}: one edge per line as a source, a target and an optional
+ *       weight separated by spaces, tabs or commas, with any further field ignored. Lines
+ *       starting with '#' or '%' are comments and a first line which does not start with
+ *       a number is a header, which are both skipped. This covers the edge lists of the
+ *       SNAP collection and CSV files of edges.</li>
+ *   <li>{@link Format#DIMACS}: the shortest path format of the 9th DIMACS challenge, with
+ *       a problem line 'p sp n m' declaring vertices 1 to n, arc lines 'a u v w' and
+ *       comment lines starting with 'c'.</li>
+ * </ul>
+ *
+ * <p>
+ * Typical usage:
+ * </p>
+ * <pre>
+ *   AbstractGraph&lt;Integer, Long&gt; graph = new GraphImporter(Format.DIMACS, true)
+ *                                              .progress((read, total, edges) -&gt; ...)
+ *                                              .read(file);
+ * </pre>
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+public class GraphImporter {
+  /**
+   * The formats of the files read.
+   */
+  public enum Format {
+    EDGE_LIST, DIMACS
+  }
+
+  /**
+   * Receives the progress of an import after every chunk has been added to the graph.
+   */
+  @FunctionalInterface
+  public interface Progress {
+    void update(long bytesRead, long totalBytes, long edges);
+  }
+
+  /**
+   * Creates an importer of files in the format as directed or undirected graphs.
+   */
+  public GraphImporter(Format format, boolean directed) {
+    this.format = format;
+    this.directed = directed;
+  }
+
+  /**
+   * Sets the pool to parse the chunks on, {@link ForkJoinPool#commonPool()} by default.
+   */
+  public GraphImporter pool(ForkJoinPool pool) {
+    this.pool = pool;
+    return this;
+  }
+
+  /**
+   * Sets the size of the chunks parsed in parallel, 16 MB by default.
+   *
+   * @throws IllegalArgumentException if the size is not between 1 byte and 1 GB.
+   */
+  public GraphImporter chunkSize(int chunkSize) {
+    if (chunkSize < 1 || chunkSize > MAX_CHUNK_SIZE) {
+      throw new IllegalArgumentException("Chunk size must be between 1 and " + MAX_CHUNK_SIZE + ": " + chunkSize);
+    }
+    this.chunkSize = chunkSize;
+    return this;
+  }
+
+  /**
+   * Sets the weight of the edges without a weight in the file, 1 by default.
+   */
+  public GraphImporter defaultWeight(long defaultWeight) {
+    this.defaultWeight = defaultWeight;
+    return this;
+  }
+
+  /**
+   * Sets the receiver of the progress of imports.
+   */
+  public GraphImporter progress(Progress progress) {
+    this.progress = progress;
+    return this;
+  }
+
+  /**
+   * Reads the file into a {@link ma.vi.graph.DirectedGraph} or an {@link ma.vi.graph.UndirectedGraph}.
+   * Vertices are added in the order in which they first appear in the file, after the
+   * vertices declared by the problem line of DIMACS files.
+   *
+   * @throws IOException if the file cannot be read or contains an invalid line.
+   */
+  public AbstractGraph<Integer, Long> read(Path file) throws IOException {
+    AdjacencyBuilder<Integer, Long> builder = new AdjacencyBuilder<>(directed);
+    Interner ids = new Interner();
+    load(file, new Sink() {
+      @Override
+      public void vertices(int first, int last) {
+        for (int v = first; v <= last; v++) {
+          vertex(v);
+        }
+      }
+
+      @Override
+      public void edge(int source, long weight, int target) {
+        builder.add(vertex(source), weight, vertex(target));
+      }
+
+      private int vertex(int vertex) {
+        int id = ids.get(vertex);
+        if (id == -1) {
+          id = builder.addVertex(vertex);
+          ids.put(vertex, id);
+        }
+        return id;
+      }
+    });
+    return builder.build();
+  }
+
+  /**
+   * Reads the file into a graph file for {@link MappedGraph}, which is opened and returned.
+   * The vertices keep their ids in the file, which must not be negative, and the graph
+   * has all the vertices from 0 to the highest id. If the file cannot be read or
+   * an invalid line is found, the graph file is left unchanged.
+   *
+   * @throws IOException if the file cannot be read or contains an invalid line.
+   */
+  public MappedGraph readMapped(Path file, Path graphFile) throws IOException {
+    try (MappedGraphWriter writer = new MappedGraphWriter(graphFile, directed)) {
+      load(file, new Sink() {
+        @Override
+        public void vertices(int first, int last) {
+          writer.vertexCount(last + 1);
+        }
+
+        @Override
+        public void edge(int source, long weight, int target) throws IOException {
+          if (source < 0 || target < 0) {
+            throw new IOException("Negative vertex id in edge " + source + " -> " + target);
+          }
+          writer.add(source, weight, target);
+        }
+      });
+      writer.commit();
+    }
+    return MappedGraph.open(graphFile);
+  }
+
+  /**
+   * The consumer of the vertices and edges parsed, called by a single thread
+   * in the order of the file.
+   */
+  private interface Sink {
+    void vertices(int first, int last) throws IOException;
+
+    void edge(int source, long weight, int target) throws IOException;
+  }
+
+  private void load(Path file, Sink sink) throws IOException {
+    ForkJoinPool pool = this.pool == null ? ForkJoinPool.commonPool() : this.pool;
+    int window = 2 * pool.getParallelism();
+    try (FileChannel channel = FileChannel.open(file, READ)) {
+      long size = channel.size();
+      long edges = 0;
+      long next = 0;
+      Deque<Future<Chunk>> parsing = new ArrayDeque<>();
+      try {
+        while (next < size || !parsing.isEmpty()) {
+          while (next < size && parsing.size() < window) {
+            long start = next;
+            long end = Math.min(size, start + chunkSize);
+            parsing.add(pool.submit(() -> parse(channel, size, start, end)));
+            next = end;
+          }
+          Chunk chunk = result(parsing.poll());
+          if (chunk.lastVertex >= 0) {
+            sink.vertices(1, chunk.lastVertex);
+          }
+          for (int i = 0; i < chunk.count; i++) {
+            sink.edge(chunk.sources[i], chunk.weights[i], chunk.targets[i]);
+          }
+          edges += chunk.count;
+          if (progress != null) {
+            progress.update(chunk.end, size, edges);
+          }
+        }
+      } finally {
+        for (Future<Chunk> future: parsing) {
+          future.cancel(true);
+        }
+      }
+    }
+  }
+
+  private static Chunk result(Future<Chunk> future) throws IOException {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while importing graph", e);
+    } catch (ExecutionException e) {
+      /*
+       * The pool may wrap the exception of the task in runtime exceptions.
+       */
+      for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+        if (cause instanceof IOException) {
+          throw (IOException)cause;
+        }
+      }
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException)e.getCause();
+      }
+      throw new IOException(e.getCause());
+    }
+  }
+
+  /**
+   * Parses the lines starting between start (inclusive) and end (exclusive). The
+   * byte before the chunk is mapped with it to know whether the chunk starts with
+   * a new line, and up to {@link #MAX_LINE} bytes after it to parse its last line.
+   */
+  private Chunk parse(FileChannel channel, long size, long start, long end) throws IOException {
+    long base = Math.max(0, start - 1);
+    int length = (int)Math.min(size - base, end - base + MAX_LINE);
+    MappedByteBuffer buffer = channel.map(READ_ONLY, base, length);
+    Chunk chunk = new Chunk(end, (int)Math.min(1 << 16, (end - start) / 8 + 1));
+    int limit = (int)(end - base);
+    int p = (int)(start - base);
+    if (start > 0 && buffer.get(0) != '\n') {
+      p = lineEnd(buffer, p, length, base, size) + 1;
+    }
+    boolean first = start == 0;
+    while (p < limit && p < length) {
+      int lineEnd = lineEnd(buffer, p, length, base, size);
+      new Line(buffer, p, lineEnd, base).parse(chunk, first);
+      first = false;
+      p = lineEnd + 1;
+    }
+    return chunk;
+  }
+
+  /**
+   * Returns the position of the newline ending the line at p, or the end of the
+   * buffer if the line is the last one of the file.
+   */
+  private static int lineEnd(MappedByteBuffer buffer, int p, int length, long base, long size) throws IOException {
+    while (p < length && buffer.get(p) != '\n') {
+      p++;
+    }
+    if (p == length && base + length < size) {
+      throw new IOException("Line longer than " + MAX_LINE + " bytes before offset " + (base + length));
+    }
+    return p;
+  }
+
+  /**
+   * A cursor over the fields of a line.
+   */
+  private class Line {
+    Line(MappedByteBuffer buffer, int start, int end, long base) {
+      this.buffer = buffer;
+      this.start = start;
+      this.end = end;
+      this.base = base;
+      this.p = start;
+    }
+
+    void parse(Chunk chunk, boolean first) throws IOException {
+      skipSeparators();
+      if (p == end) {
+        return;
+      }
+      byte c = buffer.get(p);
+      if (format == Format.EDGE_LIST) {
+        if (c == '#' || c == '%' || (first && c != '-' && c != '+' && (c < '0' || c > '9'))) {
+          return;
+        }
+        int source = (int)number(true);
+        int target = (int)number(true);
+        long weight = hasField() ? number(false) : defaultWeight;
+        chunk.add(source, weight, target);
+      } else if (c == 'c') {
+        return;
+      } else if (c == 'p') {
+        skipField();
+        skipField();
+        chunk.lastVertex = (int)number(true);
+      } else if (c == 'a') {
+        skipField();
+        int source = (int)number(true);
+        int target = (int)number(true);
+        long weight = hasField() ? number(false) : defaultWeight;
+        chunk.add(source, weight, target);
+      } else {
+        throw invalid();
+      }
+    }
+
+    private long number(boolean vertex) throws IOException {
+      if (!hasField()) {
+        throw invalid();
+      }
+      boolean negative = false;
+      byte c = buffer.get(p);
+      if (c == '-' || c == '+') {
+        negative = c == '-';
+        p++;
+      }
+      int digits = p;
+      long value = 0;
+      while (p < end && !separator(buffer.get(p))) {
+        c = buffer.get(p++);
+        if (c < '0' || c > '9' || value > (Long.MAX_VALUE - (c - '0')) / 10) {
+          throw invalid();
+        }
+        value = value * 10 + (c - '0');
+      }
+      if (p == digits || (vertex && value > Integer.MAX_VALUE + (negative ? 1L : 0L))) {
+        throw invalid();
+      }
+      skipSeparators();
+      return negative ? -value : value;
+    }
+
+    private void skipField() throws IOException {
+      if (!hasField()) {
+        throw invalid();
+      }
+      while (p < end && !separator(buffer.get(p))) {
+        p++;
+      }
+      skipSeparators();
+    }
+
+    private boolean hasField() {
+      return p < end;
+    }
+
+    private void skipSeparators() {
+      while (p < end && separator(buffer.get(p))) {
+        p++;
+      }
+    }
+
+    private boolean separator(byte c) {
+      return c == ' ' || c == '\t' || c == ',' || c == '\r';
+    }
+
+    private IOException invalid() {
+      byte[] line = new byte[Math.min(end - start, 200)];
+      for (int i = 0; i < line.length; i++) {
+        line[i] = buffer.get(start + i);
+      }
+      return new IOException("Invalid " + format + " line at offset " + (base + start) + ": "
+                           + new String(line).trim());
+    }
+
+    private final MappedByteBuffer buffer;
+    private final int start;
+    private final int end;
+    private final long base;
+    private int p;
+  }
+
+  /**
+   * The edges parsed from a chunk of the file.
+   */
+  private static class Chunk {
+    Chunk(long end, int capacity) {
+      this.end = end;
+      this.sources = new int[capacity];
+      this.targets = new int[capacity];
+      this.weights = new long[capacity];
+    }
+
+    void add(int source, long weight, int target) {
+      if (count == sources.length) {
+        sources = Arrays.copyOf(sources, count * 2);
+        targets = Arrays.copyOf(targets, count * 2);
+        weights = Arrays.copyOf(weights, count * 2);
+      }
+      sources[count] = source;
+      targets[count] = target;
+      weights[count] = weight;
+      count++;
+    }
+
+    final long end;
+    int[] sources;
+    int[] targets;
+    long[] weights;
+    int count;
+
+    /**
+     * The number of vertices declared by a DIMACS problem line in the chunk, or -1.
+     */
+    int lastVertex = -1;
+  }
+
+  /**
+   * An open-addressing map from the vertex ids in the file to the ids of the vertices
+   * in the graph being built, avoiding a boxed entry per vertex.
+   */
+  private static class Interner {
+    Interner() {
+      Arrays.fill(values, -1);
+    }
+
+    int get(int key) {
+      for (int i = slot(key); ; i = (i + 1) & (keys.length - 1)) {
+        if (values[i] == -1 || keys[i] == key) {
+          return values[i];
+        }
+      }
+    }
+
+    void put(int key, int value) {
+      if (size * 2 >= keys.length) {
+        int[] oldKeys = keys, oldValues = values;
+        keys = new int[oldKeys.length * 2];
+        values = new int[oldKeys.length * 2];
+        Arrays.fill(values, -1);
+        for (int i = 0; i < oldKeys.length; i++) {
+          if (oldValues[i] != -1) {
+            insert(oldKeys[i], oldValues[i]);
+          }
+        }
+      }
+      insert(key, value);
+      size++;
+    }
+
+    private void insert(int key, int value) {
+      int i = slot(key);
+      while (values[i] != -1) {
+        i = (i + 1) & (keys.length - 1);
+      }
+      keys[i] = key;
+      values[i] = value;
+    }
+
+    private int slot(int key) {
+      int h = key * 0x9E3779B9;
+      return (h ^ (h >>> 16)) & (keys.length - 1);
+    }
+
+    private int[] keys = new int[16];
+    private int[] values = new int[16];
+    private int size;
+  }
+
+  private static final int MAX_CHUNK_SIZE = 1 << 30;
+  private static final int MAX_LINE = 1 << 20;
+
+  private final Format format;
+  private final boolean directed;
+  private ForkJoinPool pool;
+  private int chunkSize = 1 << 24;
+  private long defaultWeight = 1;
+  private Progress progress;
+}
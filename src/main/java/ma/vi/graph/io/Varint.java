@@ -0,0 +1,57 @@
+package ma.vi.graph.io;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Variable-length encoding of integers: 7 bits per byte, least significant
+ * first, with the high bit of every byte but the last set. Signed values are
+ * first zigzag-encoded so that small negative values are also short.
+ *
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+final class Varint {
+  private Varint() {}
+
+  static void write(long value, DataOutput out) throws IOException {
+    while ((value & ~0x7FL) != 0) {
+      out.write((int)(value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    out.write((int)value);
+  }
+
+  static long read(DataInput in) throws IOException {
+    long value = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      byte b = in.readByte();
+      value |= (long)(b & 0x7F) << shift;
+      if (b >= 0) {
+        return value;
+      }
+    }
+    throw new IOException("Malformed variable-length integer");
+  }
+
+  /**
+   * Reads a value written with {@link #write(long, DataOutput)} which must fit in
+   * a non-negative int, such as a count or an id.
+   */
+  static int readInt(DataInput in) throws IOException {
+    long value = read(in);
+    if (value < 0 || value > Integer.MAX_VALUE) {
+      throw new IOException("Value out of range: " + value);
+    }
+    return (int)value;
+  }
+
+  static void writeSigned(long value, DataOutput out) throws IOException {
+    write((value << 1) ^ (value >> 63), out);
+  }
+
+  static long readSigned(DataInput in) throws IOException {
+    long value = read(in);
+    return (value >>> 1) ^ -(value & 1);
+  }
+}
@@ -0,0 +1,144 @@
+package ma.vi.graph;
+
+import ma.vi.graph.algo.connectivity.ConnectedComponents;
+import ma.vi.graph.algo.search.MinCostSearch;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static ma.vi.graph.algo.TestGraphs.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+class ConcurrentGraphTest {
+  @Test
+  void sameAsImmutableGraphs() {
+    for (Graph<String, Integer> graph: List.of(basicGraph2, basicGraph3Disjoint, romaniaCities)) {
+      ConcurrentGraph<String, Integer> concurrent = new ConcurrentGraph<>(graph);
+      assertEquals(graph.vertices(), concurrent.vertices());
+      assertEquals(graph.edges(), concurrent.edges());
+      for (String v: graph.vertices()) {
+        assertEquals(graph.incoming(v), concurrent.incoming(v));
+        assertEquals(graph.outgoing(v), concurrent.outgoing(v));
+        assertEquals(graph.degree(v), concurrent.degree(v));
+      }
+      assertEquals(Set.of(graph.toGraphViz().split("\n")), Set.of(concurrent.toGraphViz().split("\n")));
+    }
+    ConcurrentGraph<Integer, Integer> directed = new ConcurrentGraph<>(basicGraph1);
+    assertEquals(basicGraph1.edges(), directed.edges());
+    for (Integer v: basicGraph1.vertices()) {
+      assertEquals(basicGraph1.incoming(v), directed.incoming(v));
+      assertEquals(basicGraph1.outgoing(v), directed.outgoing(v));
+    }
+    assertEquals(Set.copyOf(basicGraph1.apply(new ConnectedComponents<>())),
+                 Set.copyOf(directed.apply(new ConnectedComponents<>())));
+    assertEquals(romaniaCities.apply(new MinCostSearch<String, Integer>("Arad").goalVertex("Bucharest")),
+                 new ConcurrentGraph<>(romaniaCities).apply(new MinCostSearch<String, Integer>("Arad").goalVertex("Bucharest")));
+  }
+
+  @Test
+  void addAndRemove() {
+    ConcurrentGraph<String, Integer> graph = new ConcurrentGraph<>(basicGraph2);
+    assertFalse(graph.addEdge("v1", 4, "v0"));
+    assertTrue(graph.removeEdge(Edge.of("v1", 4, "v0")));
+    assertFalse(graph.removeEdge(Edge.of("v0", 4, "v1")));
+    assertTrue(graph.removeVertex("v8"));
+    assertFalse(graph.removeVertex("v8"));
+    assertTrue(graph.addVertex("v20"));
+
+    Set<Edge<String, Integer>> edges = new LinkedHashSet<>(basicGraph2.edges());
+    edges.removeIf(e -> e.endPoint1.equals("v8") || e.endPoint2.equals("v8") || e.equals(Edge.of("v0", 4, "v1")));
+    Graph<String, Integer> expected = new MutableGraph<>(false, edges);
+    assertEquals(expected.edges(), graph.edges());
+    for (String v: expected.vertices()) {
+      assertEquals(expected.incoming(v), graph.incoming(v));
+      assertEquals(expected.outgoing(v), graph.outgoing(v));
+    }
+    assertFalse(graph.vertices().contains("v8"));
+    assertTrue(graph.vertices().contains("v20"));
+    assertEquals(Set.of(), graph.outgoing("v20"));
+  }
+
+  @Test
+  void concurrentReadersAndWriters() throws Exception {
+    int vertices = 300;
+    int writers = 4;
+    ConcurrentGraph<Integer, Integer> graph = new ConcurrentGraph<>(false);
+    List<List<Edge<Integer, Integer>>> added = new ArrayList<>();
+    List<List<Edge<Integer, Integer>>> removed = new ArrayList<>();
+    Random random = new Random(43);
+    for (int w = 0; w < writers; w++) {
+      List<Edge<Integer, Integer>> edges = new ArrayList<>();
+      for (int e = 0; e < 2000; e++) {
+        edges.add(Edge.of(random.nextInt(vertices), w * 100 + random.nextInt(100), random.nextInt(vertices)));
+      }
+      added.add(edges);
+      removed.add(new ArrayList<>(edges.subList(0, 500)));
+    }
+
+    ExecutorService executor = Executors.newFixedThreadPool(writers + 2);
+    AtomicBoolean writing = new AtomicBoolean(true);
+    List<Future<?>> readers = new ArrayList<>();
+    for (int r = 0; r < 2; r++) {
+      readers.add(executor.submit(() -> {
+        while (writing.get()) {
+          if (graph.vertices().contains(0)) {
+            graph.apply(new MinCostSearch<Integer, Integer>(0).goalVertex(vertices - 1));
+          }
+          graph.snapshot();
+          for (Integer v: graph.vertices()) {
+            for (Edge<Integer, Integer> edge: graph.outgoing(v)) {
+              assertEquals(v, edge.endPoint1);
+            }
+          }
+        }
+        return null;
+      }));
+    }
+    List<Future<?>> writes = new ArrayList<>();
+    for (int w = 0; w < writers; w++) {
+      List<Edge<Integer, Integer>> toAdd = added.get(w);
+      List<Edge<Integer, Integer>> toRemove = removed.get(w);
+      writes.add(executor.submit(() -> {
+        toAdd.forEach(graph::addEdge);
+        toRemove.forEach(graph::removeEdge);
+        return null;
+      }));
+    }
+    for (Future<?> write: writes) {
+      write.get(1, TimeUnit.MINUTES);
+    }
+    writing.set(false);
+    for (Future<?> reader: readers) {
+      reader.get(1, TimeUnit.MINUTES);
+    }
+    executor.shutdown();
+
+    /*
+     * Writers use disjoint weights, so their edges are all different and the
+     * final graph is the same as the one built sequentially.
+     */
+    Set<Edge<Integer, Integer>> edges = new LinkedHashSet<>();
+    for (int w = 0; w < writers; w++) {
+      for (Edge<Integer, Integer> edge: added.get(w)) {
+        if (!edges.contains(Edge.of(edge.endPoint2, edge.weight, edge.endPoint1))) edges.add(edge);
+      }
+    }
+    for (int w = 0; w < writers; w++) {
+      for (Edge<Integer, Integer> edge: removed.get(w)) {
+        edges.remove(edge);
+        edges.remove(Edge.of(edge.endPoint2, edge.weight, edge.endPoint1));
+      }
+    }
+    MutableGraph<Integer, Integer> expected = new MutableGraph<>(false, edges);
+    assertEquals(expected.edges().size(), graph.edges().size());
+    for (Integer v: expected.vertices()) {
+      assertEquals(expected.incoming(v), graph.incoming(v));
+      assertEquals(expected.outgoing(v), graph.outgoing(v));
+    }
+  }
+}
@@ -0,0 +1,92 @@
+package ma.vi.graph;
+
+import ma.vi.graph.algo.connectivity.ConnectedComponents;
+import ma.vi.graph.algo.connectivity.ConnectedGraphs;
+import ma.vi.graph.algo.search.AStarSearch;
+import ma.vi.graph.algo.search.BreadthFirstSearch;
+import ma.vi.graph.algo.search.MinCostSearch;
+import ma.vi.graph.algo.tree.KruskalMst;
+import ma.vi.graph.algo.tree.PrimMst;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static ma.vi.graph.algo.TestGraphs.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+class CsrGraphTest {
+  @Test
+  void directedGraphProperties() {
+    CsrGraph<Integer, Integer> g = new CsrGraph<>(basicGraph1);
+    assertTrue(g.directed());
+    assertEquals(basicGraph1.vertices(), g.vertices());
+    assertEquals(basicGraph1.edges(), g.edges());
+    for (Integer v: basicGraph1.vertices()) {
+      assertEquals(basicGraph1.incoming(v), g.incoming(v));
+      assertEquals(basicGraph1.outgoing(v), g.outgoing(v));
+      assertEquals(basicGraph1.degree(v), g.degree(v));
+    }
+    assertEquals(Set.of(Edge.of(1, 1,  2)), g.incoming(2));
+    assertEquals(Collections.emptySet(), g.outgoing(2));
+    assertEquals(basicGraph1.edge(8, 10), g.edge(8, 10));
+    assertTrue(g.edge(10, 8).isEmpty());
+    assertEquals(new DirectedGraph<>(g.edges()), basicGraph1);
+  }
+
+  @Test
+  void undirectedGraphProperties() {
+    CsrGraph<String, Integer> g = new CsrGraph<>(basicGraph2);
+    assertFalse(g.directed());
+    assertEquals(basicGraph2.vertices(), g.vertices());
+    assertEquals(basicGraph2.edges(), g.edges());
+    for (String v: basicGraph2.vertices()) {
+      assertEquals(basicGraph2.incoming(v), g.incoming(v));
+      assertEquals(basicGraph2.outgoing(v), g.outgoing(v));
+      assertEquals(basicGraph2.degree(v), g.degree(v));
+    }
+    assertEquals(4, g.degree("v0"));
+    assertEquals(Edge.of("v1", 4, "v0"), g.edge("v1", "v0").orElseThrow());
+  }
+
+  @Test
+  void fromVertexMap() {
+    CsrGraph<Integer, Integer> g = new CsrGraph<>(
+        new VertexMap<Integer, Integer>()
+            .add(1, 5, 2, 3)
+            .add(2, 5, 1)
+            .add(3, 7, 1)
+            .build(),
+        false);
+    assertEquals(3, g.vertexCount());
+    assertEquals(2, g.weightCount());
+    assertEquals(Set.of(Edge.of(1, 5, 2), Edge.of(1, 5, 3), Edge.of(2, 5, 1), Edge.of(3, 7, 1)), g.edges());
+    assertEquals(Set.of(Edge.of(1, 5, 2), Edge.of(1, 5, 3), Edge.of(1, 7, 3)), g.outgoing(1));
+  }
+
+  @Test
+  void algorithms() {
+    CsrGraph<String, Integer> cities = new CsrGraph<>(romaniaCities);
+    assertEquals(romaniaCities.apply(new BreadthFirstSearch<String, Integer>("Arad").goalVertex("Bucharest")),
+                 cities.apply(new BreadthFirstSearch<String, Integer>("Arad").goalVertex("Bucharest")));
+    assertEquals(romaniaCities.apply(new MinCostSearch<String, Integer>("Arad").goalVertex("Bucharest")),
+                 cities.apply(new MinCostSearch<String, Integer>("Arad").goalVertex("Bucharest")));
+    assertEquals(romaniaCities.apply(new AStarSearch<>("Arad", "Bucharest", (v1, v2) -> distanceToBucharest.get(v1))),
+                 cities.apply(new AStarSearch<>("Arad", "Bucharest", (v1, v2) -> distanceToBucharest.get(v1))));
+
+    CsrGraph<String, Integer> g = new CsrGraph<>(basicGraph2);
+    assertEquals(new UndirectedGraph<>(basicGraph2.apply(new PrimMst<>()).edges()),
+                 new UndirectedGraph<>(g.apply(new PrimMst<>()).edges()));
+    assertEquals(new UndirectedGraph<>(basicGraph2.apply(new KruskalMst<>()).edges()),
+                 new UndirectedGraph<>(g.apply(new KruskalMst<>()).edges()));
+
+    CsrGraph<String, Integer> disjoint = new CsrGraph<>(basicGraph3Disjoint);
+    List<Set<String>> components = disjoint.apply(new ConnectedComponents<>());
+    assertEquals(Set.copyOf(basicGraph3Disjoint.apply(new ConnectedComponents<>())), Set.copyOf(components));
+    assertEquals(2, disjoint.apply(new ConnectedGraphs<>()).size());
+  }
+}
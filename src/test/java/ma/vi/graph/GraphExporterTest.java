@@ -0,0 +1,127 @@
+package ma.vi.graph;
+
+import ma.vi.graph.io.GraphImporter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static ma.vi.graph.algo.TestGraphs.*;
+import static ma.vi.graph.GraphExporter.Format.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+class GraphExporterTest {
+  @Test
+  void dot() {
+    AdjacencyBuilder<String, Integer> builder = new AdjacencyBuilder<>(true);
+    int a = builder.addVertex("a"), b = builder.addVertex("b"), c = builder.addVertex("say \"c\"");
+    Graph<String, Integer> graph = builder.add(a, 1, b).add(b, 2, c).build();
+    assertEquals("digraph G {\n"
+               + "\t\"a\" -> \"b\" [label=\"1\"];\n"
+               + "\t\"b\" -> \"say \\\"c\\\"\" [label=\"2\"];\n"
+               + "}", graph.toGraphViz());
+    assertEquals("digraph G {\n"
+               + "\t\"a\\\\\" -> \"\\\\\\\"b\" [label=\"1\"];\n"
+               + "}", new DirectedGraph<>(Set.of(Edge.of("a\\", 1, "\\\"b"))).toGraphViz());
+    assertEquals("graph G {\n"
+               + "\t\"a\" [shape=\"box\"];\n"
+               + "\t\"b\";\n"
+               + "\t\"a\" -- \"b\" [label=\"1\", color=\"red\"];\n"
+               + "}",
+                 new GraphExporter<String, Integer>(DOT)
+                     .vertices(v -> !v.startsWith("say"))
+                     .vertexAttribute("shape", v -> v.equals("a") ? "box" : null)
+                     .edgeAttribute("color", e -> "red")
+                     .toString(new UndirectedGraph<>(Set.of(Edge.of("a", 1, "b")))));
+  }
+
+  @Test
+  void toGraphVizOfAllGraphs() {
+    String expected = romaniaCities.toGraphViz();
+    assertTrue(expected.startsWith("graph G {\n\t\""));
+    assertEquals(romaniaCities.edges().size() + 2, expected.split("\n").length);
+    for (Graph<String, Integer> graph: List.of(new CsrGraph<>(romaniaCities),
+                                               new PersistentGraph<>(romaniaCities),
+                                               new ConcurrentGraph<>(romaniaCities),
+                                               new MutableGraph<>(romaniaCities))) {
+      assertEquals(Set.of(expected.split("\n")), Set.of(graph.toGraphViz().split("\n")));
+    }
+  }
+
+  @Test
+  void graphMl() {
+    AdjacencyBuilder<String, Integer> builder = new AdjacencyBuilder<>(false);
+    builder.addVertex("a&b");
+    builder.addVertex("<c>");
+    builder.addVertex("d");
+    Graph<String, Integer> graph = builder.add(0, 3, 1).build();
+    String filtered = new GraphExporter<String, Integer>(GRAPHML)
+        .vertexAttribute("length", String::length)
+        .edges(e -> e.weight > 5)
+        .toString(graph);
+    assertTrue(filtered.startsWith("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                                 + "<graphml xmlns=\"http://graphml.graphdrawing.org/xmlns\">\n"
+                                 + "  <key id=\"weight\" for=\"edge\" attr.name=\"weight\" attr.type=\"string\"/>\n"
+                                 + "  <key id=\"v0\" for=\"node\" attr.name=\"length\" attr.type=\"string\"/>\n"
+                                 + "  <graph id=\"G\" edgedefault=\"undirected\">\n"));
+    assertTrue(filtered.contains("    <node id=\"a&amp;b\"><data key=\"v0\">3</data></node>\n"));
+    assertTrue(filtered.contains("    <node id=\"&lt;c&gt;\"><data key=\"v0\">3</data></node>\n"));
+    assertTrue(filtered.contains("    <node id=\"d\"><data key=\"v0\">1</data></node>\n"));
+    assertFalse(filtered.contains("<edge"));
+    assertTrue(filtered.endsWith("  </graph>\n</graphml>\n"));
+
+    String all = new GraphExporter<String, Integer>(GRAPHML).toString(graph);
+    assertTrue(all.contains("    <node id=\"d\"/>\n"));
+    assertTrue(all.contains("    <edge source=\"a&amp;b\" target=\"&lt;c&gt;\"><data key=\"weight\">3</data></edge>\n"));
+  }
+
+  @Test
+  void edgeListReadBack() throws IOException {
+    Graph<Integer, Long> graph = new GraphImporter(GraphImporter.Format.EDGE_LIST, true)
+        .read(write("1 2 5\n2 3 7\n3 1 9\n1 3\n"));
+    Path file = dir.resolve("exported.txt");
+    try (FileChannel channel = FileChannel.open(file, CREATE, WRITE)) {
+      new GraphExporter<Integer, Long>(EDGE_LIST).write(graph, channel);
+    }
+    assertTrue(Files.readString(file).startsWith("# source\ttarget\tweight\n"));
+    assertEquals(graph, new GraphImporter(GraphImporter.Format.EDGE_LIST, true).read(file));
+
+    StringWriter out = new StringWriter();
+    new GraphExporter<Integer, Long>(EDGE_LIST)
+        .edgeAttribute("even", e -> e.weight != null && e.weight % 2 == 0 ? "yes" : null)
+        .write(new DirectedGraph<>(new VertexMap<Integer, Long>().add(1, 2L, 2).add(2, 1).build()), out);
+    assertEquals("# source\ttarget\tweight\teven\n1\t2\t2\tyes\n2\t1\t\t\n", out.toString());
+  }
+
+  @Test
+  void sample() {
+    GraphExporter<String, Integer> half = new GraphExporter<String, Integer>(EDGE_LIST).sample(0.5, 7);
+    String sample = half.toString(romaniaCities);
+    assertEquals(sample, half.toString(romaniaCities));
+    int lines = sample.split("\n").length - 1;
+    assertTrue(lines > 0 && lines < romaniaCities.edges().size(), "Sampled " + lines);
+    assertEquals(1, new GraphExporter<String, Integer>(EDGE_LIST).sample(0, 7)
+                        .toString(romaniaCities).split("\n").length);
+    assertThrows(IllegalArgumentException.class, () -> half.sample(1.5, 0));
+  }
+
+  private Path write(String content) throws IOException {
+    Path file = Files.createTempFile(dir, "edges", ".txt");
+    Files.writeString(file, content);
+    return file;
+  }
+
+  @TempDir
+  Path dir;
+}
@@ -0,0 +1,101 @@
+package ma.vi.graph;
+
+import ma.vi.graph.algo.search.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+class ImplicitGraphTest {
+  /**
+   * The infinite graph of the naturals where n leads to n + 1 at a cost
+   * of 1 and to 2n at a cost of 3.
+   */
+  static final ImplicitGraph<Integer, Integer> naturals = new ImplicitGraph<Integer, Integer>(
+      n -> List.of(Edge.of(n, 1, n + 1), Edge.of(n, 3, n * 2)))
+      .predecessors(n -> n % 2 == 0 ? List.of(Edge.of(n - 1, 1, n), Edge.of(n / 2, 3, n))
+                                    : List.of(Edge.of(n - 1, 1, n)));
+
+  @Test
+  void searches() {
+    Path<Integer, Integer> path = naturals.apply(new BreadthFirstSearch<Integer, Integer>(1).goalVertex(100));
+    assertEquals(8, path.length());
+    assertEquals(100, path.lastVertex().get());
+
+    path = naturals.apply(new BidirectionalSearch<Integer, Integer>(1).goalVertex(100));
+    assertEquals(8, path.length());
+
+    path = naturals.apply(new IterativeDeepeningSearch<Integer, Integer>(1).goalVertex(12));
+    assertEquals(12, path.lastVertex().get());
+
+    /*
+     * Same minimum cost as in the materialized part of the graph below 200.
+     */
+    Set<Edge<Integer, Integer>> edges = new HashSet<>();
+    for (int n = 1; n < 100; n++) {
+      edges.addAll(naturals.outgoing(n));
+    }
+    Path<Integer, Integer> expected = new DirectedGraph<>(edges)
+        .apply(new MinCostSearch<Integer, Integer>(1).goalVertex(100));
+    path = naturals.apply(new MinCostSearch<Integer, Integer>(1).goalVertex(100));
+    assertEquals(expected.cost(), path.cost());
+  }
+
+  @Test
+  void aStarOnInfiniteGrid() {
+    ImplicitGraph<List<Integer>, Integer> grid = new ImplicitGraph<>(
+        p -> List.of(Edge.of(p, 1, List.of(p.get(0) + 1, p.get(1))),
+                     Edge.of(p, 1, List.of(p.get(0) - 1, p.get(1))),
+                     Edge.of(p, 1, List.of(p.get(0), p.get(1) + 1)),
+                     Edge.of(p, 1, List.of(p.get(0), p.get(1) - 1))));
+    Path<List<Integer>, Integer> path = grid.apply(new AStarSearch<>(
+        List.of(0, 0), List.of(20, -30),
+        (from, to) -> Math.abs(from.get(0) - to.get(0)) + Math.abs(from.get(1) - to.get(1))));
+    assertEquals(50, path.cost());
+    assertEquals(List.of(20, -30), path.lastVertex().get());
+  }
+
+  @Test
+  void cache() {
+    AtomicInteger expansions = new AtomicInteger();
+    ImplicitGraph<Integer, Integer> graph = new ImplicitGraph<Integer, Integer>(n -> {
+      expansions.incrementAndGet();
+      return List.of(Edge.of(n, 1, n + 1), Edge.of(n, 1, n * 2));
+    });
+    graph.apply(new IterativeDeepeningSearch<Integer, Integer>(1).goalVertex(20));
+    int uncached = expansions.getAndSet(0);
+
+    graph.cacheSize(1000).apply(new IterativeDeepeningSearch<Integer, Integer>(1).goalVertex(20));
+    int cached = expansions.getAndSet(0);
+    assertTrue(cached < uncached, cached + " expansions with cache, " + uncached + " without");
+
+    graph.cacheSize(2);
+    graph.outgoing(1);
+    graph.outgoing(2);
+    graph.outgoing(1);
+    graph.outgoing(3);
+    assertEquals(3, expansions.get());
+    graph.outgoing(1);
+    assertEquals(3, expansions.get());
+    graph.outgoing(2);
+    assertEquals(4, expansions.get());
+    assertThrows(IllegalArgumentException.class, () -> graph.cacheSize(-1));
+  }
+
+  @Test
+  void notEnumerable() {
+    assertThrows(UnsupportedOperationException.class, naturals::vertices);
+    assertThrows(UnsupportedOperationException.class, naturals::edges);
+    assertThrows(UnsupportedOperationException.class, () -> new ImplicitGraph<Integer, Integer>(n -> List.of()).incoming(1));
+    assertEquals(Edge.of(3, 3, 6), naturals.edge(3, 6).get());
+    assertTrue(naturals.edge(3, 7).isEmpty());
+    assertEquals(Set.of(Edge.of(2, 3, 4), Edge.of(3, 1, 4), Edge.of(4, 1, 5), Edge.of(4, 3, 8)), naturals.edges(4));
+  }
+}
@@ -0,0 +1,73 @@
+package ma.vi.graph;
+
+import ma.vi.graph.algo.explore.Explore;
+import ma.vi.graph.algo.search.SearchExploreOp;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static ma.vi.graph.algo.TestGraphs.romaniaCities;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+class LinkedPathTest {
+  @Test
+  void linkedPathProperties() {
+    LinkedPath<String, Integer> start = new LinkedPath<>(0L, "Arad");
+    LinkedPath<String, Integer> path = start.extend("Sibiu", 140, 140L)
+                                            .extend("Fagaras", 99, 239L)
+                                            .extend("Bucharest", 211, 450L);
+
+    assertEquals(Optional.of("Arad"), path.firstVertex());
+    assertEquals(Optional.of("Bucharest"), path.lastVertex());
+    assertEquals(Optional.of(Edge.of("Arad", 140, "Sibiu")), path.firstEdge());
+    assertEquals(Optional.of(Edge.of("Fagaras", 211, "Bucharest")), path.lastEdge());
+    assertEquals(450L, path.cost());
+    assertEquals(3, path.length());
+    assertEquals(450L, path.weight());
+
+    /*
+     * Nothing is allocated for the graph of the path until it is materialized.
+     */
+    assertSame(Collections.emptyMap(), path.in);
+    assertSame(Collections.emptyMap(), path.out);
+    assertEquals(3, path.materialize().out.size());
+
+    Path<String, Integer> copied = new Path<String, Integer>(0L, "Arad").extend("Sibiu", 140, 140L)
+                                                                         .extend("Fagaras", 99, 239L)
+                                                                         .extend("Bucharest", 211, 450L);
+    assertEquals(copied, path);
+    assertEquals(path, copied);
+    assertEquals(copied.hashCode(), path.hashCode());
+    assertEquals(copied.toString(), path.toString());
+    assertEquals(List.of(Edge.of("Arad", 140, "Sibiu"),
+                         Edge.of("Sibiu", 99, "Fagaras"),
+                         Edge.of("Fagaras", 211, "Bucharest")), List.copyOf(path.edges()));
+
+    assertEquals(new Path<>(0L, "Arad"), start);
+    assertEquals(0, start.length());
+    assertTrue(start.parent().isEmpty());
+    assertSame(start, path.parent().get().parent().get().parent().get());
+  }
+
+  @Test
+  void exploreWithAndWithoutLinkedPaths() {
+    for (String goal: List.of("Bucharest", "Eforie", "Arad")) {
+      Path<String, Integer> linked = romaniaCities.apply(
+          new Explore<String, Integer, Path<String, Integer>>("Arad")
+              .exploreOp(new SearchExploreOp<>((g, p) -> p.lastVertex().get().equals(goal))));
+
+      Path<String, Integer> copied = romaniaCities.apply(
+          new Explore<String, Integer, Path<String, Integer>>("Arad")
+              .linkedPaths(false)
+              .exploreOp(new SearchExploreOp<>((g, p) -> p.lastVertex().get().equals(goal))));
+
+      assertEquals(copied, linked);
+      assertEquals(copied.cost(), linked.cost());
+    }
+  }
+}
@@ -0,0 +1,186 @@
+package ma.vi.graph;
+
+import ma.vi.graph.algo.connectivity.ConnectedComponents;
+import ma.vi.graph.algo.search.IntMinCostSearch;
+import ma.vi.graph.algo.search.MinCostSearch;
+import ma.vi.graph.algo.tree.KruskalMst;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+import static ma.vi.graph.algo.TestGraphs.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+class MappedGraphTest {
+  @Test
+  void directedGraphProperties() throws IOException {
+    Path file = tempDir.resolve("directed.graph");
+    MappedGraphWriter.write(file, basicGraph1);
+    MappedGraph g = MappedGraph.open(file);
+    Graph<Integer, Long> expected = longWeights(basicGraph1);
+
+    assertTrue(g.directed());
+    assertEquals(11, g.vertexCount());
+    assertTrue(g.vertices().containsAll(basicGraph1.vertices()));
+    assertEquals(expected.edges(), g.edges());
+    assertEquals(basicGraph1.edges().size(), g.edgeCount());
+    for (Integer v: basicGraph1.vertices()) {
+      assertEquals(expected.incoming(v), g.incoming(v));
+      assertEquals(expected.outgoing(v), g.outgoing(v));
+      assertEquals(expected.degree(v), g.degree(v));
+    }
+    assertEquals(Set.of(), g.edges(0));
+    assertEquals(expected.edge(8, 10), g.edge(8, 10));
+    assertTrue(g.edge(10, 8).isEmpty());
+    assertFalse(g.edges().contains(Edge.of(8, 20, 10)));
+    assertTrue(g.edges().contains(Edge.of(8, 20L, 10)));
+    assertTrue(Files.list(tempDir).allMatch(f -> f.equals(file)));
+  }
+
+  @Test
+  void undirectedGraphProperties() throws IOException {
+    CsrGraph<String, Integer> csr = new CsrGraph<>(romaniaCities);
+    Graph<Integer, Long> expected = byIds(csr);
+    Path file = tempDir.resolve("undirected.graph");
+    MappedGraphWriter.write(file, expected);
+    MappedGraph g = MappedGraph.open(file);
+
+    assertFalse(g.directed());
+    assertEquals(expected.vertices(), g.vertices());
+    assertEquals(romaniaCities.edges().size(), g.edges().size());
+    assertEquals(expected.outgoing(), g.outgoing());
+    for (Edge<Integer, Long> edge: g.edges()) {
+      assertTrue(edge.endPoint1 <= edge.endPoint2);
+      assertTrue(expected.edge(edge.endPoint1, edge.endPoint2).isPresent());
+    }
+    for (Integer v: expected.vertices()) {
+      assertEquals(expected.incoming(v), g.incoming(v));
+      assertEquals(expected.outgoing(v), g.outgoing(v));
+      assertEquals(expected.degree(v), g.degree(v));
+    }
+
+    // algorithms on the Graph interface and on the primitive view
+    int arad = csr.id("Arad");
+    int bucharest = csr.id("Bucharest");
+    assertEquals(expected.apply(new MinCostSearch<Integer, Long>(arad).goalVertex(bucharest)),
+                 g.apply(new MinCostSearch<Integer, Long>(arad).goalVertex(bucharest)));
+    assertEquals(csr.asIntLongGraph().apply(new IntMinCostSearch(arad).goalVertex(bucharest)).cost(),
+                 g.asIntLongGraph().apply(new IntMinCostSearch(arad).goalVertex(bucharest)).cost());
+    assertEquals(Set.copyOf(expected.apply(new ConnectedComponents<>())),
+                 Set.copyOf(g.apply(new ConnectedComponents<>())));
+    assertEquals(new CsrGraph<>(expected.apply(new KruskalMst<>()).edges(), false).outgoing(),
+                 new CsrGraph<>(g.apply(new KruskalMst<>()).edges(), false).outgoing());
+  }
+
+  @Test
+  void duplicatesAndIsolatedVertices() throws IOException {
+    Path file = tempDir.resolve("duplicates.graph");
+    try (MappedGraphWriter writer = new MappedGraphWriter(file, false)) {
+      writer.vertexCount(6)
+            .add(1, 5, 2)
+            .add(2, 5, 1)
+            .add(1, 5, 2)
+            .add(1, 3, 2)
+            .add(3, 1, 3)
+            .add(3, 1, 3)
+            .add(0, 7, 3)
+            .commit();
+    }
+    MappedGraph g = MappedGraph.open(file);
+    assertEquals(6, g.vertexCount());
+    assertEquals(4, g.edgeCount());
+    assertEquals(Set.of(Edge.of(0, 7L, 3), Edge.of(1, 3L, 2), Edge.of(1, 5L, 2), Edge.of(3, 1L, 3)), g.edges());
+    assertEquals(Set.of(Edge.of(2, 3L, 1), Edge.of(2, 5L, 1)), g.outgoing(2));
+    assertEquals(3, g.degree(3));
+    assertEquals(0, g.degree(5));
+    assertEquals(Set.of(), g.outgoing(6));
+    assertThrows(IllegalArgumentException.class, () -> new MappedGraphWriter(tempDir.resolve("x"), true).add(-1, 0, 2));
+  }
+
+  @Test
+  void abortedWriterLeavesFileUnchanged() throws IOException {
+    Path file = tempDir.resolve("aborted").resolve("graph");
+    Files.createDirectories(file.getParent());
+    MappedGraphWriter.write(file, basicGraph1);
+    byte[] content = Files.readAllBytes(file);
+    assertThrows(IllegalStateException.class, () -> {
+      try (MappedGraphWriter writer = new MappedGraphWriter(file, true)) {
+        writer.add(0, 1, 2);
+        throw new IllegalStateException("Producer failed");
+      }
+    });
+    assertArrayEquals(content, Files.readAllBytes(file));
+    try (Stream<Path> files = Files.list(file.getParent())) {
+      assertEquals(List.of(file), files.collect(toList()));
+    }
+
+    MappedGraphWriter writer = new MappedGraphWriter(file, true);
+    writer.add(0, 1, 2).commit();
+    assertEquals(Set.of(Edge.of(0, 1L, 2)), MappedGraph.open(file).edges());
+    assertThrows(IllegalStateException.class, writer::commit);
+    writer.close();
+  }
+
+  @Test
+  void randomGraphs() throws IOException {
+    Random random = new Random(11);
+    for (boolean directed: new boolean[]{true, false}) {
+      Set<Edge<Integer, Long>> edges = new HashSet<>();
+      Path file = tempDir.resolve("random-" + directed + ".graph");
+      try (MappedGraphWriter writer = new MappedGraphWriter(file, directed)) {
+        for (int i = 0; i < 20000; i++) {
+          Edge<Integer, Long> edge = Edge.of(random.nextInt(1000), (long)random.nextInt(5), random.nextInt(1000));
+          edges.add(edge);
+          writer.add(edge);
+        }
+        writer.commit();
+      }
+      MappedGraph g = MappedGraph.open(file);
+      CsrGraph<Integer, Long> expected = new CsrGraph<>(edges, directed);
+      assertEquals(new MutableGraph<>(directed, edges).edges().size(), g.edgeCount());
+      assertEquals(expected.outgoing(), g.outgoing());
+      for (Integer v: expected.vertices()) {
+        assertEquals(expected.incoming(v), g.incoming(v));
+        assertEquals(expected.degree(v), g.degree(v));
+      }
+    }
+  }
+
+  @Test
+  void notAGraphFile() throws IOException {
+    Path file = tempDir.resolve("text");
+    Files.writeString(file, "not a graph");
+    assertThrows(IOException.class, () -> MappedGraph.open(file));
+  }
+
+  private static Graph<Integer, Long> longWeights(Graph<Integer, Integer> graph) {
+    Set<Edge<Integer, Long>> edges = new LinkedHashSet<>();
+    for (Edge<Integer, Integer> edge: graph.edges()) {
+      edges.add(Edge.of(edge.endPoint1, edge.weight.longValue(), edge.endPoint2));
+    }
+    return graph.directed() ? new DirectedGraph<>(edges) : new UndirectedGraph<>(edges);
+  }
+
+  /**
+   * The graph with its vertices replaced by their ids in the CSR graph.
+   */
+  private static Graph<Integer, Long> byIds(CsrGraph<String, Integer> graph) {
+    Set<Edge<Integer, Long>> edges = new LinkedHashSet<>();
+    for (Edge<String, Integer> edge: graph.edges()) {
+      edges.add(Edge.of(graph.id(edge.endPoint1), edge.weight.longValue(), graph.id(edge.endPoint2)));
+    }
+    return graph.directed() ? new DirectedGraph<>(edges) : new UndirectedGraph<>(edges);
+  }
+
+  @TempDir
+  Path tempDir;
+}
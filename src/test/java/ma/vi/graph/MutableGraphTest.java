@@ -0,0 +1,141 @@
+package ma.vi.graph;
+
+import ma.vi.graph.algo.connectivity.ConnectedComponents;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static ma.vi.graph.algo.TestGraphs.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+class MutableGraphTest {
+  @Test
+  void sameAsImmutableGraphs() {
+    assertEquals(basicGraph1, new MutableGraph<>(basicGraph1));
+    assertEquals(basicGraph2, new MutableGraph<>(basicGraph2));
+    assertEquals(basicGraph3Disjoint, new MutableGraph<>(basicGraph3Disjoint));
+    assertEquals(new DirectedGraph<>("a"), single(true));
+    assertEquals(new UndirectedGraph<>("a"), single(false));
+
+    MutableGraph<String, Integer> graph = new MutableGraph<>(basicGraph2);
+    assertEquals(basicGraph2.vertices(), graph.vertices());
+    assertEquals(basicGraph2.edges(), graph.edges());
+    for (String v: basicGraph2.vertices()) {
+      assertEquals(basicGraph2.incoming(v), graph.incoming(v));
+      assertEquals(basicGraph2.outgoing(v), graph.outgoing(v));
+      assertEquals(basicGraph2.degree(v), graph.degree(v));
+    }
+    assertEquals(basicGraph2.apply(new ConnectedComponents<>()), graph.apply(new ConnectedComponents<>()));
+  }
+
+  @Test
+  void addAndRemove() {
+    MutableGraph<Integer, Integer> graph = new MutableGraph<>(true);
+    assertTrue(graph.addEdge(1, 2, 2));
+    assertTrue(graph.addEdge(2, 3, 3));
+    assertFalse(graph.addEdge(1, 2, 2));
+    assertTrue(graph.addVertex(4));
+    assertFalse(graph.addVertex(4));
+    assertEquals(Set.of(1, 2, 3, 4), graph.vertices());
+    assertEquals(Optional.of(Edge.of(2, 3, 3)), graph.edge(2, 3));
+    assertEquals(Optional.empty(), graph.edge(3, 2));
+
+    assertTrue(graph.removeEdge(Edge.of(2, 3, 3)));
+    assertFalse(graph.removeEdge(Edge.of(2, 3, 3)));
+    assertEquals(Set.of(Edge.of(1, 2, 2)), graph.edges());
+    assertEquals(Set.of(1, 2, 3, 4), graph.vertices());
+    assertEquals(0, graph.inDegree(3));
+
+    assertTrue(graph.removeVertex(2));
+    assertFalse(graph.removeVertex(2));
+    assertEquals(Set.of(1, 3, 4), graph.vertices());
+    assertTrue(graph.edges().isEmpty());
+    assertEquals(0, graph.outDegree(1));
+
+    MutableGraph<String, Integer> undirected = new MutableGraph<>(basicGraph2);
+    assertTrue(undirected.removeEdge(Edge.of("v1", 4, "v0")));
+    assertFalse(undirected.addEdge(Edge.of("v8", 8, "v0")));
+    assertTrue(undirected.removeVertex("v8"));
+    Set<Edge<String, Integer>> edges = new LinkedHashSet<>(basicGraph2.edges());
+    edges.removeIf(e -> e.endPoint1.equals("v8") || e.endPoint2.equals("v8") || e.weight == 4 && e.endPoint2.equals("v1"));
+    assertEquals(new UndirectedGraph<>(edges), undirected);
+    assertEquals(edges, undirected.edges());
+  }
+
+  @Test
+  void randomChanges() {
+    Random random = new Random(41);
+    for (boolean directed: new boolean[]{true, false}) {
+      MutableGraph<Integer, Integer> graph = new MutableGraph<>(directed);
+      Set<Edge<Integer, Integer>> edges = new LinkedHashSet<>();
+      for (int step = 0; step < 2000; step++) {
+        Edge<Integer, Integer> edge = Edge.of(random.nextInt(30), random.nextInt(3), random.nextInt(30));
+        if (random.nextInt(3) > 0) {
+          Edge<Integer, Integer> reversed = Edge.of(edge.endPoint2, edge.weight, edge.endPoint1);
+          boolean present = edges.contains(edge) || !directed && edges.contains(reversed);
+          assertEquals(!present, graph.addEdge(edge));
+          if (!present) edges.add(edge);
+        } else {
+          boolean removed = edges.remove(edge) || !directed && edges.remove(Edge.of(edge.endPoint2, edge.weight, edge.endPoint1));
+          assertEquals(removed, graph.removeEdge(edge));
+          if (removed) graph.removeVertex(random.nextInt(30));
+          edges.retainAll(graph.edges());
+        }
+      }
+      Graph<Integer, Integer> expected = directed ? new DirectedGraph<>(edges) : new UndirectedGraph<>(edges);
+      assertEquals(edges, graph.edges());
+      for (Integer v: expected.vertices()) {
+        assertEquals(expected.incoming(v), graph.incoming(v));
+        assertEquals(expected.outgoing(v), graph.outgoing(v));
+      }
+      assertEquals(Set.copyOf(expected.apply(new ConnectedComponents<>())),
+                   Set.copyOf(newGraphOf(graph, edges).apply(new ConnectedComponents<>())));
+    }
+  }
+
+  @Test
+  void failFastViews() {
+    MutableGraph<String, Integer> graph = new MutableGraph<>(basicGraph2);
+    Set<Edge<String, Integer>> edges = graph.edges();
+    Set<Edge<String, Integer>> outgoing = graph.outgoing("v0");
+    Iterator<Edge<String, Integer>> iterator = edges.iterator();
+    iterator.next();
+    int modCount = graph.modCount();
+    graph.addEdge("v0", 3, "v9");
+    assertTrue(graph.modCount() > modCount);
+    assertThrows(ConcurrentModificationException.class, iterator::next);
+    assertTrue(edges.contains(Edge.of("v0", 3, "v9")));
+    assertTrue(outgoing.contains(Edge.of("v0", 3, "v9")));
+    assertThrows(UnsupportedOperationException.class, () -> edges.remove(Edge.of("v0", 3, "v9")));
+  }
+
+  @Test
+  void edgesAreCopied() {
+    Set<Edge<Integer, Integer>> edges = new LinkedHashSet<>(List.of(Edge.of(1, 1, 2)));
+    DirectedGraph<Integer, Integer> graph = new DirectedGraph<>(edges);
+    edges.add(Edge.of(2, 1, 3));
+    assertEquals(Set.of(Edge.of(1, 1, 2)), graph.edges());
+  }
+
+  /**
+   * The graph with only the vertices which are endpoints of the edges.
+   */
+  private static Graph<Integer, Integer> newGraphOf(MutableGraph<Integer, Integer> graph, Set<Edge<Integer, Integer>> edges) {
+    MutableGraph<Integer, Integer> copy = new MutableGraph<>(graph);
+    for (Integer v: graph.vertices()) {
+      if (copy.incoming(v).isEmpty() && copy.outgoing(v).isEmpty()) copy.removeVertex(v);
+    }
+    assertEquals(graph.newGraph(edges), copy);
+    return copy;
+  }
+
+  private static MutableGraph<String, Integer> single(boolean directed) {
+    MutableGraph<String, Integer> graph = new MutableGraph<>(directed);
+    graph.addEdge("a", 1, "a");
+    graph.removeEdge(Edge.of("a", 1, "a"));
+    return graph;
+  }
+}
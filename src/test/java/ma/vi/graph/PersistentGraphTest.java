@@ -0,0 +1,190 @@
+package ma.vi.graph;
+
+import ma.vi.graph.algo.connectivity.ConnectedComponents;
+import ma.vi.graph.algo.search.MinCostSearch;
+import ma.vi.graph.algo.tree.KruskalMst;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static ma.vi.graph.algo.TestGraphs.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+class PersistentGraphTest {
+  @Test
+  void sameAsImmutableGraphs() {
+    for (Graph<String, Integer> graph: List.of(basicGraph2, basicGraph3Disjoint, romaniaCities)) {
+      PersistentGraph<String, Integer> persistent = new PersistentGraph<>(graph);
+      assertEquals(graph.vertices(), persistent.vertices());
+      assertEquals(graph.edges(), persistent.edges());
+      for (String v: graph.vertices()) {
+        assertEquals(graph.incoming(v), persistent.incoming(v));
+        assertEquals(graph.outgoing(v), persistent.outgoing(v));
+        assertEquals(graph.degree(v), persistent.degree(v));
+      }
+      assertEquals(Set.of(graph.toGraphViz().split("\n")), Set.of(persistent.toGraphViz().split("\n")));
+    }
+    PersistentGraph<Integer, Integer> directed = new PersistentGraph<>(basicGraph1);
+    assertEquals(basicGraph1.edges(), directed.edges());
+    for (Integer v: basicGraph1.vertices()) {
+      assertEquals(basicGraph1.incoming(v), directed.incoming(v));
+      assertEquals(basicGraph1.outgoing(v), directed.outgoing(v));
+    }
+    assertEquals(Set.copyOf(basicGraph1.apply(new ConnectedComponents<>())),
+                 Set.copyOf(directed.apply(new ConnectedComponents<>())));
+    assertEquals(romaniaCities.apply(new MinCostSearch<String, Integer>("Arad").goalVertex("Bucharest")),
+                 new PersistentGraph<>(romaniaCities).apply(new MinCostSearch<String, Integer>("Arad").goalVertex("Bucharest")));
+  }
+
+  @Test
+  void versionsAreUnchanged() {
+    PersistentGraph<String, Integer> graph = new PersistentGraph<>(basicGraph2);
+    assertSame(graph, graph.withEdge("v1", 4, "v0"));
+    PersistentGraph<String, Integer> removed = graph.withoutEdge(Edge.of("v1", 4, "v0"));
+    assertSame(removed, removed.withoutEdge(Edge.of("v0", 4, "v1")));
+    PersistentGraph<String, Integer> withoutV8 = removed.withoutVertex("v8");
+    assertSame(withoutV8, withoutV8.withoutVertex("v8"));
+    PersistentGraph<String, Integer> last = withoutV8.withVertex("v20");
+
+    Set<Edge<String, Integer>> edges = new LinkedHashSet<>(basicGraph2.edges());
+    edges.removeIf(e -> e.endPoint1.equals("v8") || e.endPoint2.equals("v8") || e.equals(Edge.of("v0", 4, "v1")));
+    Graph<String, Integer> expected = new MutableGraph<>(false, edges);
+    assertEquals(expected.edges(), last.edges());
+    for (String v: expected.vertices()) {
+      assertEquals(expected.incoming(v), last.incoming(v));
+      assertEquals(expected.outgoing(v), last.outgoing(v));
+    }
+    assertFalse(last.vertices().contains("v8"));
+    assertTrue(last.vertices().contains("v20"));
+    assertEquals(Set.of(), last.outgoing("v20"));
+
+    // earlier versions are unaffected by the changes
+    assertEquals(basicGraph2.edges(), graph.edges());
+    assertEquals(basicGraph2.vertices(), graph.vertices());
+    for (String v: basicGraph2.vertices()) {
+      assertEquals(basicGraph2.incoming(v), graph.incoming(v));
+    }
+    assertTrue(removed.vertices().contains("v8"));
+    assertFalse(withoutV8.vertices().contains("v20"));
+    assertEquals(new PersistentGraph<>(basicGraph2), graph);
+  }
+
+  @Test
+  void randomChanges() {
+    Random random = new Random(17);
+    for (boolean directed: new boolean[]{true, false}) {
+      MutableGraph<Integer, Integer> expected = new MutableGraph<>(directed);
+      PersistentGraph<Integer, Integer> graph = PersistentGraph.empty(directed);
+      List<PersistentGraph<Integer, Integer>> versions = new ArrayList<>();
+      List<Set<Edge<Integer, Integer>>> versionEdges = new ArrayList<>();
+      for (int i = 0; i < 5000; i++) {
+        Edge<Integer, Integer> edge = Edge.of(random.nextInt(200), random.nextInt(3), random.nextInt(200));
+        if (random.nextInt(3) == 0) {
+          expected.removeEdge(edge);
+          graph = graph.withoutEdge(edge);
+        } else {
+          expected.addEdge(edge);
+          graph = graph.withEdge(edge);
+        }
+        if (i % 500 == 0) {
+          versions.add(graph);
+          versionEdges.add(new HashSet<>(expected.edges()));
+        }
+      }
+      assertEquals(expected.vertices(), graph.vertices());
+      assertEquals(expected.edges().size(), graph.edges().size());
+      for (Edge<Integer, Integer> edge: expected.edges()) {
+        assertTrue(graph.edges().contains(edge));
+      }
+      for (Integer v: expected.vertices()) {
+        assertEquals(expected.incoming(v), graph.incoming(v));
+        assertEquals(expected.outgoing(v), graph.outgoing(v));
+        assertEquals(expected.degree(v), graph.degree(v));
+      }
+      for (int i = 0; i < versions.size(); i++) {
+        assertEquals(versionEdges.get(i).size(), versions.get(i).edges().size());
+        for (Edge<Integer, Integer> edge: versionEdges.get(i)) {
+          assertTrue(versions.get(i).edges().contains(edge));
+        }
+      }
+    }
+  }
+
+  @Test
+  void newGraphFromSmallDelta() {
+    PersistentGraph<String, Integer> graph = new PersistentGraph<>(romaniaCities);
+    Set<Edge<String, Integer>> edges = new HashSet<>(graph.edges());
+    Edge<String, Integer> removed = edges.iterator().next();
+    edges.remove(removed);
+    edges.add(Edge.of("Arad", 1, "Nowhere"));
+    PersistentGraph<String, Integer> derived = graph.newGraph(edges);
+    assertEquals(new PersistentGraph<>(false, edges), derived);
+    assertFalse(derived.edges().contains(removed));
+    assertTrue(graph.edges().contains(removed));
+    assertFalse(graph.vertices().contains("Nowhere"));
+
+    // a much smaller set of edges is built from scratch, with the same result
+    Graph<String, Integer> tree = graph.apply(new KruskalMst<>());
+    assertEquals(new PersistentGraph<>(false, tree.edges()), tree);
+    assertEquals(romaniaCities.apply(new KruskalMst<>()).edges(), tree.edges());
+
+    // vertices left without edges are not in the new graph
+    PersistentGraph<String, Integer> isolated = graph.withVertex("Isolated");
+    assertFalse(isolated.newGraph(edges).vertices().contains("Isolated"));
+  }
+
+  @Test
+  void persistentMap() {
+    Random random = new Random(5);
+    Map<Key, Integer> expected = new HashMap<>();
+    PersistentMap<Key, Integer> map = PersistentMap.empty();
+    for (int i = 0; i < 20000; i++) {
+      Key key = new Key(random.nextInt(3000));
+      if (random.nextInt(3) == 0) {
+        expected.remove(key);
+        map = map.remove(key);
+      } else {
+        expected.put(key, i);
+        map = map.put(key, i);
+      }
+      assertEquals(expected.size(), map.size());
+    }
+    for (Map.Entry<Key, Integer> entry: expected.entrySet()) {
+      assertEquals(entry.getValue(), map.get(entry.getKey()));
+    }
+    Map<Key, Integer> iterated = new HashMap<>();
+    for (Map.Entry<Key, Integer> entry: map) {
+      assertNull(iterated.put(entry.getKey(), entry.getValue()));
+    }
+    assertEquals(expected, iterated);
+    for (Key key: expected.keySet()) {
+      map = map.remove(key);
+    }
+    assertTrue(map.isEmpty());
+    assertFalse(map.iterator().hasNext());
+  }
+
+  /**
+   * A key with hashes spread over all bits, three keys sharing each hash.
+   */
+  private static class Key {
+    Key(int value) {
+      this.value = value;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof Key && ((Key)o).value == value;
+    }
+
+    @Override
+    public int hashCode() {
+      return (value % 1000) * 0x9E3779B9;
+    }
+
+    final int value;
+  }
+}
@@ -0,0 +1,51 @@
+package ma.vi.graph.algo;
+
+import ma.vi.graph.Edge;
+import ma.vi.graph.Path;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+class IndexedPathQueueTest {
+  @Test
+  void minCostOrderWithDecreaseKey() {
+    IndexedPathQueue<String, Integer> queue = new IndexedPathQueue<>();
+    queue.add(Path.of(10L, Edge.of("a", 10, "b")));
+    queue.add(Path.of(5L, Edge.of("a", 5, "c")));
+    queue.add(Path.of(7L, Edge.of("a", 7, "d")));
+    assertEquals(3, queue.size());
+
+    // a costlier path to an end vertex in the queue is ignored by add
+    queue.add(Path.of(12L, Edge.of("x", 12, "b")));
+    assertEquals(10L, queue.pathEndingAt("b").cost());
+
+    Path<String, Integer> cheaper = Path.of(3L, Edge.of("e", 3, "b"));
+    queue.decreaseKey(cheaper);
+    assertEquals(3, queue.size());
+    assertSame(cheaper, queue.pathEndingAt("b"));
+
+    assertEquals(cheaper, queue.next());
+    assertFalse(queue.hasPathEndingAt("b"));
+    assertEquals("c", queue.next().lastVertex().get());
+
+    assertTrue(queue.remove(queue.pathEndingAt("d")));
+    assertFalse(queue.hasNext());
+    assertEquals(0, queue.size());
+  }
+
+  @Test
+  void equalCostsInInsertionOrder() {
+    IndexedPathQueue<String, Integer> queue = new IndexedPathQueue<>();
+    for (String v: new String[]{"p", "q", "r", "s", "t", "u"}) {
+      queue.add(Path.of(1L, Edge.of("a", 1, v)));
+    }
+    StringBuilder order = new StringBuilder();
+    while (queue.hasNext()) {
+      order.append(queue.next().lastVertex().get());
+    }
+    assertEquals("pqrstu", order.toString());
+  }
+}
@@ -0,0 +1,63 @@
+package ma.vi.graph.algo;
+
+import ma.vi.graph.Edge;
+import ma.vi.graph.Path;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+class MonotonePathQueueTest {
+  @Test
+  void sameOrderAsIndexedQueue() {
+    List<Supplier<PathQueue<Integer, Integer>>> queues = List.of(RadixPathQueue::new,
+                                                                 () -> new BucketPathQueue<>(2));
+    for (Supplier<PathQueue<Integer, Integer>> supplier: queues) {
+      Random random = new Random(17);
+      PathQueue<Integer, Integer> queue = supplier.get();
+      IndexedPathQueue<Integer, Integer> indexed = new IndexedPathQueue<>();
+      long last = 0;
+      int vertices = 0;
+      for (int round = 0; round < 200; round++) {
+        for (int i = 0; i < 5; i++) {
+          long cost = last + random.nextInt(round % 7 == 0 ? 1000 : 10);
+          int vertex = random.nextInt(vertices + 1);
+          if (vertex < vertices && queue.hasPathEndingAt(vertex) && indexed.hasPathEndingAt(vertex)) {
+            if (queue.pathEndingAt(vertex).cost() > cost) {
+              Path<Integer, Integer> path = Path.of(cost, Edge.of(-1, (int)cost, vertex));
+              queue.decreaseKey(path);
+              indexed.decreaseKey(path);
+            }
+          } else {
+            Path<Integer, Integer> path = Path.of(cost, Edge.of(-1, (int)cost, vertices++));
+            queue.add(path);
+            indexed.add(path);
+          }
+        }
+        assertEquals(indexed.size(), queue.size());
+        Path<Integer, Integer> next = queue.next();
+        assertEquals(indexed.next().cost(), next.cost());
+        assertTrue(next.cost() >= last);
+        last = next.cost();
+      }
+      while (queue.hasNext()) {
+        assertEquals(indexed.next().cost(), queue.next().cost());
+      }
+      assertFalse(indexed.hasNext());
+    }
+  }
+
+  @Test
+  void nonMonotoneCostRejected() {
+    RadixPathQueue<String, Integer> queue = new RadixPathQueue<>();
+    queue.add(Path.of(5L, Edge.of("a", 5, "b")));
+    queue.next();
+    assertThrows(IllegalArgumentException.class, () -> queue.add(Path.of(4L, Edge.of("a", 4, "c"))));
+  }
+}
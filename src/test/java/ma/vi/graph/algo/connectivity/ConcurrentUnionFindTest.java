@@ -0,0 +1,69 @@
+package ma.vi.graph.algo.connectivity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+class ConcurrentUnionFindTest {
+  @Test
+  void sequential() {
+    ConcurrentUnionFind sets = new ConcurrentUnionFind(6);
+    assertTrue(sets.union(4, 5));
+    assertTrue(sets.union(1, 5));
+    assertFalse(sets.union(4, 1));
+    assertTrue(sets.sameSet(1, 4));
+    assertFalse(sets.sameSet(0, 4));
+    assertEquals(1, sets.find(4));
+    assertEquals(2, sets.find(2));
+    assertEquals(6, sets.size());
+    assertThrows(IllegalArgumentException.class, () -> new ConcurrentUnionFind(-1));
+  }
+
+  @Test
+  void concurrentUnions() throws InterruptedException {
+    int size = 20000;
+    int[][] pairs = new int[size][2];
+    Random random = new Random(23);
+    for (int[] pair: pairs) {
+      pair[0] = random.nextInt(size);
+      pair[1] = random.nextInt(size);
+    }
+
+    ConcurrentUnionFind expected = new ConcurrentUnionFind(size);
+    int expectedUnions = 0;
+    for (int[] pair: pairs) {
+      if (expected.union(pair[0], pair[1])) expectedUnions++;
+    }
+
+    ConcurrentUnionFind sets = new ConcurrentUnionFind(size);
+    AtomicInteger unions = new AtomicInteger();
+    ForkJoinPool pool = new ForkJoinPool(8);
+    for (int t = 0; t < 8; t++) {
+      int thread = t;
+      pool.execute(() -> {
+        for (int i = thread; i < pairs.length; i += 8) {
+          if (sets.union(pairs[i][0], pairs[i][1])) unions.incrementAndGet();
+        }
+      });
+    }
+    pool.shutdown();
+    assertTrue(pool.awaitTermination(1, TimeUnit.MINUTES));
+
+    /*
+     * Every successful union merges two sets, and the sets and their
+     * roots (the smallest element of each set) are the same.
+     */
+    assertEquals(expectedUnions, unions.get());
+    for (int i = 0; i < size; i++) {
+      assertEquals(expected.find(i), sets.find(i));
+    }
+  }
+}
@@ -1,11 +1,16 @@
 package ma.vi.graph.algo.connectivity;
 
+import ma.vi.graph.Edge;
 import ma.vi.graph.Graph;
+import ma.vi.graph.UndirectedGraph;
 import ma.vi.graph.algo.TestGraphs;
 import org.junit.jupiter.api.Test;
 
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -29,4 +34,32 @@ class ConnectedComponentsTest {
         Set.of(Set.of("v0", "v1", "v2", "v3", "v4", "v5", "v6", "v7", "v8"),
                Set.of("v9", "v10", "v11", "v12", "v13")));
   }
-}
\ No newline at end of file
+
+  @Test
+  void parallelComponents() {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      List<Set<String>> components = TestGraphs.basicGraph3Disjoint.apply(new ParallelConnectedComponents<String, Integer>().pool(pool));
+      assertEquals(
+          Set.copyOf(components),
+          Set.copyOf(TestGraphs.basicGraph3Disjoint.apply(new ConnectedComponents<>())));
+      assertEquals(
+          List.of(TestGraphs.basicGraph2.vertices()),
+          TestGraphs.basicGraph2.apply(new ParallelConnectedComponents<String, Integer>().pool(pool)));
+
+      Random random = new Random(17);
+      for (int g = 0; g < 5; g++) {
+        Set<Edge<Integer, Integer>> edges = new LinkedHashSet<>();
+        for (int e = 0; e < 3000; e++) {
+          edges.add(Edge.of(random.nextInt(5000), 1, random.nextInt(5000)));
+        }
+        Graph<Integer, Integer> graph = new UndirectedGraph<>(edges);
+        assertEquals(
+            Set.copyOf(graph.apply(new ConnectedComponents<>())),
+            Set.copyOf(graph.apply(new ParallelConnectedComponents<Integer, Integer>().pool(pool))));
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+}
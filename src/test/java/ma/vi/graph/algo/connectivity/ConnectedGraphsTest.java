@@ -1,13 +1,18 @@
 package ma.vi.graph.algo.connectivity;
 
+import ma.vi.graph.DirectedGraph;
+import ma.vi.graph.Edge;
 import ma.vi.graph.Graph;
 import ma.vi.graph.UndirectedGraph;
 import ma.vi.graph.VertexMap;
 import ma.vi.graph.algo.TestGraphs;
 import org.junit.jupiter.api.Test;
 
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -54,4 +59,30 @@ class ConnectedGraphsTest {
                     .add("v12", 1,   "v13")
                     .build())));
   }
-}
\ No newline at end of file
+
+  @Test
+  void parallelSubgraphs() {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      List<Graph<String, Integer>> components = TestGraphs.basicGraph3Disjoint.apply(new ParallelConnectedGraphs<String, Integer>().pool(pool));
+      assertEquals(2, components.size());
+      assertEquals(
+          Set.copyOf(components),
+          Set.copyOf(TestGraphs.basicGraph3Disjoint.apply(new ConnectedGraphs<>())));
+
+      Random random = new Random(19);
+      for (boolean directed: new boolean[]{true, false}) {
+        Set<Edge<Integer, Integer>> edges = new LinkedHashSet<>();
+        for (int e = 0; e < 3000; e++) {
+          edges.add(Edge.of(random.nextInt(4000), random.nextInt(10), random.nextInt(4000)));
+        }
+        Graph<Integer, Integer> graph = directed ? new DirectedGraph<>(edges) : new UndirectedGraph<>(edges);
+        assertEquals(
+            Set.copyOf(graph.apply(new ConnectedGraphs<>())),
+            Set.copyOf(graph.apply(new ParallelConnectedGraphs<Integer, Integer>().pool(pool))));
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+}
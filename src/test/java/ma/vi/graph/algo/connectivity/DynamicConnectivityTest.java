@@ -0,0 +1,113 @@
+package ma.vi.graph.algo.connectivity;
+
+import ma.vi.graph.Edge;
+import ma.vi.graph.UndirectedGraph;
+import ma.vi.graph.algo.TestGraphs;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+class DynamicConnectivityTest {
+  @Test
+  void addEdges() {
+    DynamicConnectivity<String, Integer> connectivity = new DynamicConnectivity<>();
+    connectivity.addGraph(TestGraphs.basicGraph3Disjoint);
+    assertEquals(2, connectivity.componentCount());
+    assertTrue(connectivity.connected("v0", "v5"));
+    assertFalse(connectivity.connected("v0", "v9"));
+    assertFalse(connectivity.connected("v0", "v20"));
+    assertEquals(
+        Set.copyOf(TestGraphs.basicGraph3Disjoint.apply(new ConnectedComponents<>())),
+        Set.copyOf(connectivity.components()));
+
+    connectivity.addEdge(Edge.of("v5", 1, "v13"));
+    assertEquals(1, connectivity.componentCount());
+    assertTrue(connectivity.connected("v0", "v9"));
+    assertEquals(connectivity.componentOf("v1"), connectivity.componentOf("v12"));
+
+    connectivity.addVertex("v20");
+    assertEquals(2, connectivity.componentCount());
+    assertEquals("v20", connectivity.componentOf("v20"));
+    assertThrows(IllegalArgumentException.class, () -> connectivity.componentOf("v21"));
+    assertThrows(IllegalStateException.class, () -> connectivity.removeEdge(Edge.of("v5", 1, "v13")));
+  }
+
+  @Test
+  void removeEdges() {
+    DynamicConnectivity<String, Integer> connectivity = new DynamicConnectivity<>(true);
+    connectivity.addGraph(TestGraphs.basicGraph3Disjoint);
+    assertTrue(connectivity.removeEdge(Edge.of("v11", 1, "v12")));
+    assertFalse(connectivity.removeEdge(Edge.of("v11", 1, "v12")));
+    assertEquals(3, connectivity.componentCount());
+    assertFalse(connectivity.connected("v9", "v13"));
+    assertTrue(connectivity.connected("v12", "v13"));
+
+    assertTrue(connectivity.removeEdge(Edge.of("v0", 100, "v0")));
+    assertTrue(connectivity.removeEdge(Edge.of("v4", 9, "v5")));
+    assertEquals(4, connectivity.componentCount());
+    assertEquals(Set.of("v5"), connectivity.components().stream()
+                                            .filter(c -> c.contains("v5"))
+                                            .findFirst().orElseThrow());
+  }
+
+  @Test
+  void removeEdgeInEitherOrientation() {
+    DynamicConnectivity<String, Integer> connectivity = new DynamicConnectivity<>(true);
+    connectivity.addEdge(Edge.of("a", 1, "b"));
+    connectivity.addEdge(Edge.of("b", 1, "a"));
+    connectivity.addEdge(Edge.of("b", 2, "c"));
+    assertFalse(connectivity.removeEdge(Edge.of("b", 3, "a")));
+    assertTrue(connectivity.removeEdge(Edge.of("b", 1, "a")));
+    assertFalse(connectivity.connected("a", "b"));
+    assertFalse(connectivity.removeEdge(Edge.of("a", 1, "b")));
+    assertTrue(connectivity.removeEdge(Edge.of("c", 2, "b")));
+    assertEquals(3, connectivity.componentCount());
+  }
+
+  @Test
+  void randomUpdates() {
+    Random random = new Random(37);
+    DynamicConnectivity<Integer, Integer> connectivity = new DynamicConnectivity<>(true);
+    List<Edge<Integer, Integer>> edges = new ArrayList<>();
+    Set<Integer> vertices = new HashSet<>();
+    for (int step = 0; step < 400; step++) {
+      if (edges.isEmpty() || random.nextInt(3) > 0) {
+        Edge<Integer, Integer> edge = Edge.of(random.nextInt(200), 1, random.nextInt(200));
+        if (!edges.contains(edge) && !edges.contains(Edge.of(edge.endPoint2, 1, edge.endPoint1))) {
+          edges.add(edge);
+        }
+        vertices.add(edge.endPoint1);
+        vertices.add(edge.endPoint2);
+        connectivity.addEdge(edge);
+      } else {
+        assertTrue(connectivity.removeEdge(edges.remove(random.nextInt(edges.size()))));
+      }
+      if (step % 20 == 0) {
+        /*
+         * Compare with the components recomputed from scratch, with
+         * the vertices left without edges as their own components.
+         */
+        Set<Set<Integer>> expected = new HashSet<>(
+            new UndirectedGraph<>(new LinkedHashSet<>(edges)).apply(new ConnectedComponents<>()));
+        Set<Integer> connected = new HashSet<>();
+        expected.forEach(connected::addAll);
+        for (Integer v: vertices) {
+          if (!connected.contains(v)) expected.add(Set.of(v));
+        }
+        assertEquals(expected, Set.copyOf(connectivity.components()));
+        assertEquals(expected.size(), connectivity.componentCount());
+        for (Set<Integer> component: expected) {
+          Integer first = component.iterator().next();
+          for (Integer v: component) {
+            assertTrue(connectivity.connected(first, v));
+          }
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,97 @@
+package ma.vi.graph.algo.connectivity;
+
+import ma.vi.graph.DirectedGraph;
+import ma.vi.graph.Edge;
+import ma.vi.graph.Graph;
+import ma.vi.graph.algo.TestGraphs;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+class StronglyConnectedComponentsTest {
+  @Test
+  void basicGraph() {
+    Set<Set<Integer>> expected = Set.of(Set.of(1, 5), Set.of(2), Set.of(3), Set.of(4), Set.of(6),
+                                        Set.of(7), Set.of(8), Set.of(9), Set.of(10));
+    assertEquals(expected, Set.copyOf(TestGraphs.basicGraph1.apply(new StronglyConnectedComponents<>())));
+    assertEquals(expected, Set.copyOf(TestGraphs.basicGraph1.apply(new ConnectedComponents<>())));
+    assertEquals(expected, Set.copyOf(TestGraphs.basicGraph1.apply(
+        new ParallelStronglyConnectedComponents<Integer, Integer>().baseSize(1).pool(pool))));
+  }
+
+  @Test
+  void reverseTopologicalOrder() {
+    Graph<Integer, Integer> graph = randomGraph(new Random(29), 2000, 2400);
+    List<Set<Integer>> components = graph.apply(new StronglyConnectedComponents<>());
+    Map<Integer, Integer> position = new HashMap<>();
+    for (int i = 0; i < components.size(); i++) {
+      for (Integer v: components.get(i)) {
+        position.put(v, i);
+      }
+    }
+    assertEquals(graph.vertices(), position.keySet());
+    for (Edge<Integer, Integer> edge: graph.edges()) {
+      assertTrue(position.get(edge.endPoint1) >= position.get(edge.endPoint2));
+    }
+  }
+
+  @Test
+  void parallelOnRandomGraphs() {
+    Random random = new Random(31);
+    for (int edges: new int[]{1000, 3000, 6000, 20000}) {
+      Graph<Integer, Integer> graph = randomGraph(random, 3000, edges);
+      Set<Set<Integer>> expected = Set.copyOf(graph.apply(new StronglyConnectedComponents<>()));
+      for (int baseSize: new int[]{1, 64, 4096}) {
+        List<Set<Integer>> components = graph.apply(
+            new ParallelStronglyConnectedComponents<Integer, Integer>().baseSize(baseSize).pool(pool));
+        assertEquals(expected.size(), components.size());
+        assertEquals(expected, Set.copyOf(components));
+      }
+    }
+  }
+
+  @Test
+  void longCycle() {
+    /*
+     * A cycle much deeper than a recursive search could follow,
+     * with a tail of vertices reaching into it.
+     */
+    int n = 100000;
+    Set<Edge<Integer, Integer>> edges = new LinkedHashSet<>();
+    for (int i = 0; i < n; i++) {
+      edges.add(Edge.of(i, 1, (i + 1) % n));
+      edges.add(Edge.of(n + i, 1, n + i + 1));
+    }
+    edges.add(Edge.of(2 * n, 1, 0));
+    Graph<Integer, Integer> graph = new DirectedGraph<>(edges);
+    for (List<Set<Integer>> components: List.of(
+        graph.apply(new StronglyConnectedComponents<>()),
+        graph.apply(new ParallelStronglyConnectedComponents<Integer, Integer>().pool(pool)),
+        graph.apply(new ParallelStronglyConnectedComponents<Integer, Integer>().baseSize(1).pool(pool)))) {
+      assertEquals(n + 2, components.size());
+      assertTrue(components.stream().anyMatch(c -> c.size() == n));
+    }
+  }
+
+  private static Graph<Integer, Integer> randomGraph(Random random, int vertices, int edges) {
+    Set<Edge<Integer, Integer>> edgeSet = new LinkedHashSet<>();
+    for (int e = 0; e < edges; e++) {
+      edgeSet.add(Edge.of(random.nextInt(vertices), 1, random.nextInt(vertices)));
+    }
+    return new DirectedGraph<>(edgeSet);
+  }
+
+  @AfterAll
+  static void shutdown() {
+    pool.shutdown();
+  }
+
+  private static final ForkJoinPool pool = new ForkJoinPool(4);
+}
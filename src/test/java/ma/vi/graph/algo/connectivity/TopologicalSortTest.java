@@ -0,0 +1,82 @@
+package ma.vi.graph.algo.connectivity;
+
+import ma.vi.graph.DirectedGraph;
+import ma.vi.graph.Edge;
+import ma.vi.graph.Graph;
+import ma.vi.graph.UndirectedGraph;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static ma.vi.graph.algo.TestGraphs.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+class TopologicalSortTest {
+  @Test
+  void randomDags() {
+    Random random = new Random(5);
+    for (int i = 0; i < 20; i++) {
+      Set<Edge<Integer, Integer>> edges = new HashSet<>();
+      for (int e = 0; e < 300; e++) {
+        int a = random.nextInt(100), b = random.nextInt(100);
+        if (a != b) {
+          edges.add(Edge.of(Math.min(a, b), 1, Math.max(a, b)));
+        }
+      }
+      Graph<Integer, Integer> dag = new DirectedGraph<>(edges);
+      List<Integer> order = dag.apply(new TopologicalSort<>());
+      assertEquals(dag.vertices(), Set.copyOf(order));
+      Map<Integer, Integer> position = new HashMap<>();
+      for (int p = 0; p < order.size(); p++) {
+        position.put(order.get(p), p);
+      }
+      for (Edge<Integer, Integer> edge: edges) {
+        assertTrue(position.get(edge.endPoint1) < position.get(edge.endPoint2), edge.toString());
+      }
+      assertTrue(dag.apply(new CycleFinder<>()).isEmpty());
+
+      Edge<Integer, Integer> edge = edges.iterator().next();
+      edges.add(Edge.of(edge.endPoint2, 1, edge.endPoint1));
+      Graph<Integer, Integer> cyclic = new DirectedGraph<>(edges);
+      assertThrows(IllegalArgumentException.class, () -> cyclic.apply(new TopologicalSort<>()));
+      assertCycle(cyclic, cyclic.apply(new CycleFinder<>()).orElseThrow());
+    }
+  }
+
+  @Test
+  void longChain() {
+    Set<Edge<Integer, Integer>> edges = new HashSet<>();
+    for (int v = 0; v < 200_000; v++) {
+      edges.add(Edge.of(v + 1, 1, v));
+    }
+    List<Integer> order = new DirectedGraph<>(edges).apply(new TopologicalSort<>());
+    assertEquals(200_000, order.get(0));
+    assertEquals(0, order.get(order.size() - 1));
+  }
+
+  @Test
+  void cycles() {
+    assertCycle(basicGraph1, basicGraph1.apply(new CycleFinder<>()).orElseThrow());
+    assertCycle(romaniaCities, romaniaCities.apply(new CycleFinder<>()).orElseThrow());
+    assertEquals(List.of(3), new DirectedGraph<>(Set.of(Edge.of(1, 1, 2), Edge.of(3, 1, 3)))
+                                 .apply(new CycleFinder<>()).orElseThrow());
+
+    Graph<Integer, Integer> tree = new UndirectedGraph<>(Set.of(Edge.of(1, 1, 2), Edge.of(2, 1, 3), Edge.of(2, 1, 4)));
+    assertTrue(tree.apply(new CycleFinder<>()).isEmpty());
+    assertThrows(IllegalArgumentException.class, () -> tree.apply(new TopologicalSort<>()));
+    Graph<Integer, Integer> triangle = new UndirectedGraph<>(Set.of(Edge.of(1, 1, 2), Edge.of(3, 1, 2), Edge.of(3, 1, 1)));
+    assertEquals(Set.of(1, 2, 3), Set.copyOf(triangle.apply(new CycleFinder<>()).orElseThrow()));
+  }
+
+  private static <V, W> void assertCycle(Graph<V, W> graph, List<V> cycle) {
+    assertFalse(cycle.isEmpty());
+    for (int i = 0; i < cycle.size(); i++) {
+      V from = cycle.get(i), to = cycle.get((i + 1) % cycle.size());
+      assertTrue(graph.edge(from, to).isPresent(), from + " -> " + to + " in " + cycle);
+    }
+    assertEquals(cycle.size(), new HashSet<>(cycle).size());
+  }
+}
@@ -1,6 +1,9 @@
 package ma.vi.graph.algo.explore;
 
+import ma.vi.graph.Path;
+import ma.vi.graph.algo.ExploreTracer;
 import ma.vi.graph.algo.TestGraphs;
+import ma.vi.graph.algo.search.MinCostSearch;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
@@ -13,6 +16,7 @@ import java.util.stream.IntStream;
 
 import static java.util.Arrays.asList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * @author Vikash Madhow (vikash.madhow@gmail.com)
@@ -103,4 +107,32 @@ class ExploreTest {
     assertEquals(new HashSet<>(acc.subList(9, 10)),
                  new HashSet<>(exp.subList(9, 10)));
   }
+
+  @Test
+  void tracer() {
+    ExploreTracer<Integer, Integer> tracer = new ExploreTracer<>(1, 5);
+    List<Integer> explored = new ArrayList<>();
+    TestGraphs.basicGraph1.apply(
+        new BreadthFirstExplore<Integer, Integer, Void>(1)
+          .exploreOp((g, p) -> {
+            explored.add(p.lastVertex().orElse(0));
+            return Optional.empty();
+          })
+          .listener(tracer));
+
+    assertEquals(tracer.enqueued(), tracer.dequeued());
+    assertEquals(explored.size(), tracer.expanded());
+    assertEquals(tracer.dequeued() - tracer.expanded(), tracer.pruned());
+    assertEquals(0, tracer.goals());
+    assertEquals(5, tracer.trace().size());
+    assertEquals("enqueue [1], Cost=0; length: 0", tracer.trace().get(0));
+    assertTrue(tracer.trace().get(1).startsWith("dequeue "));
+
+    ExploreTracer<String, Integer> searchTracer = new ExploreTracer<>(1000, 10);
+    Path<String, Integer> path = TestGraphs.romaniaCities.apply(
+        new MinCostSearch<String, Integer>("Arad").goalVertex("Bucharest").listener(searchTracer));
+    assertEquals(1, searchTracer.goals());
+    assertEquals(2, searchTracer.trace().size());
+    assertEquals("goal " + path + "; length: 4", searchTracer.trace().get(1));
+  }
 }
@@ -0,0 +1,115 @@
+package ma.vi.graph.algo.explore;
+
+import ma.vi.graph.IntLongCsrGraph;
+import ma.vi.graph.IntLongGraph;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+class IntDepthFirstExploreTest {
+  @Test
+  void directed() {
+    IntLongGraph g = new IntLongCsrGraph.Builder(true)
+                          .add(0, 1, 1)
+                          .add(1, 1, 2)
+                          .add(2, 1, 0)
+                          .add(0, 1, 2)
+                          .add(3, 1, 1)
+                          .add(3, 1, 3)
+                          .vertexCount(5)
+                          .build();
+    List<String> events = new ArrayList<>();
+    IntDepthFirstForest forest = g.apply(new IntDepthFirstExplore().listener(recorder(events)));
+    assertEquals(List.of("d0@0", "0-1:TREE", "d1@1", "1-2:TREE", "d2@2", "2-0:BACK", "f2@3", "f1@4",
+                         "0-2:FORWARD", "f0@5", "d3@6", "3-1:CROSS", "3-3:BACK", "f3@7", "d4@8", "f4@9"), events);
+    assertArrayEquals(new int[]{0, 1, 2, 3, 4}, forest.preOrder());
+    assertArrayEquals(new int[]{2, 1, 0, 3, 4}, forest.postOrder());
+    assertEquals(1, forest.discovery(1));
+    assertEquals(4, forest.finish(1));
+    assertEquals(1, forest.parent(2));
+    assertEquals(-1, forest.parent(3));
+    assertFalse(forest.stopped());
+
+    forest = g.apply(new IntDepthFirstExplore(1));
+    assertArrayEquals(new int[]{1, 2, 0}, forest.preOrder());
+    assertFalse(forest.reached(3));
+    assertEquals(-1, forest.discovery(4));
+    assertThrows(IllegalArgumentException.class, () -> g.apply(new IntDepthFirstExplore(5)));
+  }
+
+  @Test
+  void undirected() {
+    IntLongGraph g = new IntLongCsrGraph.Builder(false)
+                          .add(0, 1, 1)
+                          .add(1, 1, 2)
+                          .add(2, 1, 0)
+                          .add(2, 1, 3)
+                          .add(4, 1, 5)
+                          .add(4, 2, 5)
+                          .build();
+    List<String> edges = new ArrayList<>();
+    g.apply(new IntDepthFirstExplore().listener(new IntDepthFirstExplore.Listener() {
+      @Override
+      public boolean onEdge(int source, int target, IntDepthFirstExplore.EdgeType type) {
+        edges.add(source + "-" + target + ":" + type);
+        return true;
+      }
+    }));
+    assertEquals(List.of("0-1:TREE", "1-2:TREE", "2-0:BACK", "2-3:TREE", "4-5:TREE", "5-4:BACK"), edges);
+  }
+
+  @Test
+  void stop() {
+    IntLongGraph g = new IntLongCsrGraph.Builder(true).add(0, 1, 1).add(1, 1, 2).add(2, 1, 3).build();
+    IntDepthFirstForest forest = g.apply(new IntDepthFirstExplore().listener(new IntDepthFirstExplore.Listener() {
+      @Override
+      public boolean onEdge(int source, int target, IntDepthFirstExplore.EdgeType type) {
+        return target != 2;
+      }
+    }));
+    assertTrue(forest.stopped());
+    assertArrayEquals(new int[]{0, 1}, forest.preOrder());
+    assertEquals(0, forest.postOrder().length);
+    assertEquals(-1, forest.finish(0));
+  }
+
+  @Test
+  void longPath() {
+    int n = 1_000_000;
+    IntLongCsrGraph.Builder builder = new IntLongCsrGraph.Builder(true);
+    for (int v = 0; v < n - 1; v++) {
+      builder.add(v, 1, v + 1);
+    }
+    IntDepthFirstForest forest = builder.build().apply(new IntDepthFirstExplore());
+    assertEquals(n - 1, forest.discovery(n - 1));
+    assertEquals(n, forest.finish(n - 1));
+    assertEquals(2 * n - 1, forest.finish(0));
+    assertEquals(n - 2, forest.parent(n - 1));
+  }
+
+  private static IntDepthFirstExplore.Listener recorder(List<String> events) {
+    return new IntDepthFirstExplore.Listener() {
+      @Override
+      public void onDiscover(int vertex, int time) {
+        events.add("d" + vertex + "@" + time);
+      }
+
+      @Override
+      public void onFinish(int vertex, int time) {
+        events.add("f" + vertex + "@" + time);
+      }
+
+      @Override
+      public boolean onEdge(int source, int target, IntDepthFirstExplore.EdgeType type) {
+        events.add(source + "-" + target + ":" + type);
+        return true;
+      }
+    };
+  }
+}
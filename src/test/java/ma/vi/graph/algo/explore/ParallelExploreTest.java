@@ -0,0 +1,171 @@
+package ma.vi.graph.algo.explore;
+
+import ma.vi.graph.CsrGraph;
+import ma.vi.graph.Edge;
+import ma.vi.graph.Graph;
+import ma.vi.graph.Path;
+import ma.vi.graph.algo.WeightCostOp;
+import ma.vi.graph.algo.search.BreadthFirstSearch;
+import ma.vi.graph.algo.search.ParallelBreadthFirstSearch;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.ToLongFunction;
+
+import static ma.vi.graph.algo.TestGraphs.basicGraph1;
+import static ma.vi.graph.algo.TestGraphs.romaniaCities;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+class ParallelExploreTest {
+  @AfterAll
+  static void shutdown() {
+    pool.shutdown();
+    single.shutdown();
+  }
+
+  @Test
+  void parallelBreadthFirst() {
+    PathTree<Integer, Integer> tree = basicGraph1.apply(new ParallelBreadthFirstExplore<Integer, Integer>(1).pool(pool));
+    assertEquals(10, tree.reachedCount());
+    assertEquals(0, tree.cost(1));
+    assertEquals(3, tree.cost(9));
+    assertEquals(4, tree.cost(10));
+    assertNull(tree.parent(1));
+    assertEquals(Integer.valueOf(5), tree.parent(6));
+    assertEquals(Edge.of(5, 2, 6), tree.edge(6));
+    assertTreeOf(basicGraph1, 1, tree);
+
+    tree = basicGraph1.apply(new ParallelBreadthFirstExplore<Integer, Integer>(9).pool(pool));
+    assertEquals(2, tree.reachedCount());
+    assertFalse(tree.reached(1));
+    assertNull(tree.pathTo(1));
+  }
+
+  @Test
+  void parallelBreadthFirstSearch() {
+    Path<String, Integer> path =
+        romaniaCities.apply(new ParallelBreadthFirstSearch<String, Integer>("Arad").goalVertex("Bucharest").pool(pool));
+    assertEquals(Path.of(3L,
+                         romaniaCities.edge("Arad", "Sibiu"),
+                         romaniaCities.edge("Sibiu", "Fagaras"),
+                         romaniaCities.edge("Fagaras", "Bucharest")), path);
+    assertEquals(new Path<>(0L, "Arad"),
+                 romaniaCities.apply(new ParallelBreadthFirstSearch<String, Integer>("Arad").goalVertex("Arad")));
+  }
+
+  @Test
+  void directionOptimizing() {
+    Random random = new Random(3);
+    for (boolean directed: new boolean[]{true, false}) {
+      Set<Edge<Integer, Integer>> edges = new LinkedHashSet<>();
+      for (int e = 0; e < 20000; e++) {
+        edges.add(Edge.of(random.nextInt(3000), random.nextInt(10), random.nextInt(3000)));
+      }
+      CsrGraph<Integer, Integer> graph = new CsrGraph<>(edges, directed);
+      int start = edges.iterator().next().endPoint1;
+      IntPathTree expected = graph.asIntLongGraph().apply(new IntBreadthFirstExplore(graph.id(start)));
+
+      /*
+       * Default switching, only bottom-up after the first level and only top-down.
+       */
+      int[][] switches = {{14, 24}, {Integer.MAX_VALUE, Integer.MAX_VALUE}, {1, 1}};
+      for (int[] ratios: switches) {
+        PathTree<Integer, Integer> tree = graph.apply(new ParallelBreadthFirstExplore<Integer, Integer>(start)
+                                                          .alpha(ratios[0])
+                                                          .beta(ratios[1])
+                                                          .pool(pool));
+        for (int v = 0; v < graph.vertexCount(); v++) {
+          assertEquals(expected.cost(v), tree.cost(graph.vertex(v)));
+        }
+        assertTreeOf(graph, start, tree);
+      }
+      assertThrows(IllegalArgumentException.class, () -> new ParallelBreadthFirstExplore<Integer, Integer>(start).alpha(0));
+      assertThrows(IllegalArgumentException.class, () -> new ParallelBreadthFirstExplore<Integer, Integer>(start).beta(-1));
+
+      int goal = graph.vertex(graph.vertexCount() - 1);
+      Path<Integer, Integer> path = graph.apply(new ParallelBreadthFirstSearch<Integer, Integer>(start).goalVertex(goal).pool(pool));
+      Path<Integer, Integer> bfs = graph.apply(new BreadthFirstSearch<Integer, Integer>(start).goalVertex(goal));
+      if (bfs == null) {
+        assertNull(path);
+      } else {
+        assertEquals(bfs.length(), path.length());
+        assertEquals(Long.valueOf(path.length()), path.cost());
+      }
+    }
+  }
+
+  @Test
+  void deltaStepping() {
+    PathTree<String, Integer> cities = romaniaCities.apply(new DeltaSteppingExplore<String, Integer>("Arad").pool(pool));
+    assertEquals(Path.of(418L,
+                         romaniaCities.edge("Arad", "Sibiu"),
+                         romaniaCities.edge("Sibiu", "Rimnicu Vilcea"),
+                         romaniaCities.edge("Rimnicu Vilcea", "Pitesti"),
+                         romaniaCities.edge("Pitesti", "Bucharest")), cities.pathTo("Bucharest"));
+    assertEquals(romaniaCities.vertices().size(), cities.reachedCount());
+
+    Random random = new Random(7);
+    for (boolean directed: new boolean[]{true, false}) {
+      Set<Edge<Integer, Integer>> edges = new LinkedHashSet<>();
+      for (int e = 0; e < 10000; e++) {
+        edges.add(Edge.of(random.nextInt(2000), random.nextInt(100), random.nextInt(2000)));
+      }
+      CsrGraph<Integer, Integer> graph = new CsrGraph<>(edges, directed);
+      int start = edges.iterator().next().endPoint1;
+      IntPathTree expected = graph.asIntLongGraph().apply(new IntMinCostExplore(graph.id(start)));
+      for (long delta: new long[]{1, 10, 1000}) {
+        for (ForkJoinPool p: new ForkJoinPool[]{pool, single}) {
+          PathTree<Integer, Integer> tree = graph.apply(new DeltaSteppingExplore<Integer, Integer>(start).delta(delta).pool(p));
+          for (int v = 0; v < graph.vertexCount(); v++) {
+            assertEquals(expected.cost(v), tree.cost(graph.vertex(v)));
+          }
+          assertTreeOf(graph, start, tree, edge -> edge.weight);
+        }
+      }
+      PathTree<Integer, Integer> tree = graph.apply(new DeltaSteppingExplore<Integer, Integer>(start).pool(pool));
+      for (int v = 0; v < graph.vertexCount(); v++) {
+        assertEquals(expected.cost(v), tree.cost(graph.vertex(v)));
+      }
+
+      IntPathTree hops = graph.asIntLongGraph().apply(new IntBreadthFirstExplore(graph.id(start)));
+      tree = graph.apply(new DeltaSteppingExplore<Integer, Integer>(start).weightCostOp(WeightCostOp::byLength).pool(pool));
+      for (int v = 0; v < graph.vertexCount(); v++) {
+        assertEquals(hops.cost(v), tree.cost(graph.vertex(v)));
+      }
+      assertTreeOf(graph, start, tree, edge -> 1L);
+    }
+  }
+
+  private static <V, W> void assertTreeOf(Graph<V, W> graph, V root, PathTree<V, W> tree) {
+    assertTreeOf(graph, root, tree, edge -> 1L);
+  }
+
+  /**
+   * Checks that every reached vertex other than the root is reached by an edge
+   * of the graph from a vertex with a path cost less by the cost of the edge.
+   */
+  private static <V, W> void assertTreeOf(Graph<V, W> graph, V root, PathTree<V, W> tree,
+                                          ToLongFunction<Edge<V, W>> edgeCost) {
+    assertEquals(root, tree.root());
+    for (V vertex: graph.vertices()) {
+      if (tree.reached(vertex) && !vertex.equals(root)) {
+        Edge<V, W> edge = tree.edge(vertex);
+        assertEquals(tree.parent(vertex), edge.endPoint1);
+        assertEquals(vertex, edge.endPoint2);
+        assertTrue(graph.outgoing(edge.endPoint1).contains(edge), edge + " not in graph");
+        assertEquals(tree.cost(vertex) - edgeCost.applyAsLong(edge), tree.cost(edge.endPoint1));
+        assertEquals(Long.valueOf(tree.cost(vertex)), tree.pathTo(vertex).cost());
+      }
+    }
+  }
+
+  private static final ForkJoinPool pool = new ForkJoinPool(4);
+  private static final ForkJoinPool single = new ForkJoinPool(1);
+}
@@ -0,0 +1,176 @@
+package ma.vi.graph.algo.hierarchy;
+
+import ma.vi.graph.*;
+import ma.vi.graph.algo.search.MinCostSearch;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static ma.vi.graph.algo.TestGraphs.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+class ContractionHierarchiesTest {
+  @Test
+  void romania() {
+    ContractionHierarchy<String, Integer> ch = romaniaCities.apply(new ContractionHierarchies<>());
+    assertEquals(romaniaCities.vertices().size(), ch.vertexCount());
+    Path<String, Integer> path = romaniaCities.apply(new ContractionHierarchySearch<>(ch, "Arad").goalVertex("Bucharest"));
+    assertEquals(Path.of(418L,
+                         romaniaCities.edge("Arad", "Sibiu"),
+                         romaniaCities.edge("Sibiu", "Rimnicu Vilcea"),
+                         romaniaCities.edge("Rimnicu Vilcea", "Pitesti"),
+                         romaniaCities.edge("Pitesti", "Bucharest")), path);
+    assertEquals(new Path<>(0L, "Arad"),
+                 romaniaCities.apply(new ContractionHierarchySearch<>(ch, "Arad").goalVertex("Arad")));
+    assertThrows(IllegalArgumentException.class,
+                 () -> romaniaCities.apply(new ContractionHierarchySearch<>(ch, "Arad").goalVertex("Paris")));
+  }
+
+  @Test
+  void directed() {
+    ContractionHierarchy<Integer, Integer> ch = basicGraph1.apply(new ContractionHierarchies<>());
+    for (int start: basicGraph1.vertices()) {
+      ContractionHierarchySearch<Integer, Integer> search = new ContractionHierarchySearch<>(ch, start);
+      for (int goal: basicGraph1.vertices()) {
+        assertSameCost(basicGraph1, start, goal, basicGraph1.apply(search.goalVertex(goal)));
+      }
+    }
+  }
+
+  @Test
+  void randomGraphs() {
+    Random random = new Random(17);
+    for (boolean directed: new boolean[]{true, false}) {
+      for (int g = 0; g < 10; g++) {
+        VertexMap<Integer, Integer> map = new VertexMap<>();
+        for (int e = 0; e < 150; e++) {
+          map.add(random.nextInt(50), random.nextInt(20), random.nextInt(50));
+        }
+        Graph<Integer, Integer> graph = directed ? new DirectedGraph<>(map.build())
+                                                 : new UndirectedGraph<>(map.build());
+        ContractionHierarchy<Integer, Integer> ch = graph.apply(new ContractionHierarchies<Integer, Integer>().witnessLimit(g == 0 ? 1 : 500));
+        for (int start: graph.vertices()) {
+          ContractionHierarchySearch<Integer, Integer> search = new ContractionHierarchySearch<>(ch, start);
+          for (int goal: graph.vertices()) {
+            assertSameCost(graph, start, goal, graph.apply(search.goalVertex(goal)));
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  void concurrentQueries() throws Exception {
+    ContractionHierarchy<String, Integer> ch = romaniaCities.apply(new ContractionHierarchies<>());
+    List<String> cities = new ArrayList<>(romaniaCities.vertices());
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        futures.add(executor.submit(() -> {
+          for (String start: cities) {
+            for (String goal: cities) {
+              assertSameCost(romaniaCities, start, goal, ch.path(start, goal));
+            }
+          }
+        }));
+      }
+      for (Future<?> future: futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+    assertThrows(IllegalArgumentException.class, () -> ch.path("Arad", null));
+    assertThrows(IllegalArgumentException.class,
+                 () -> new DirectedGraph<String, Integer>().apply(new ContractionHierarchySearch<>(ch, "Arad")
+                                                                      .goalVertex("Bucharest")));
+  }
+
+  @Test
+  void deterministic() {
+    ContractionHierarchy<String, Integer> ch1 = romaniaCities.apply(new ContractionHierarchies<>());
+    ContractionHierarchy<String, Integer> ch2 = romaniaCities.apply(new ContractionHierarchies<>());
+    assertEquals(ch1.shortcutCount(), ch2.shortcutCount());
+    for (String city: romaniaCities.vertices()) {
+      assertEquals(ch1.rank(city), ch2.rank(city));
+    }
+  }
+
+  @Test
+  void serialization() throws IOException {
+    ContractionHierarchy<String, Integer> ch = romaniaCities.apply(new ContractionHierarchies<>());
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ch.write(out);
+    ContractionHierarchy<String, Integer> read = ContractionHierarchy.read(new ByteArrayInputStream(out.toByteArray()),
+                                                                         String.class, Integer.class);
+    assertEquals(ch.shortcutCount(), read.shortcutCount());
+    for (String start: romaniaCities.vertices()) {
+      assertEquals(ch.rank(start), read.rank(start));
+      for (String goal: romaniaCities.vertices()) {
+        assertEquals(romaniaCities.apply(new ContractionHierarchySearch<>(ch, start).goalVertex(goal)),
+                     romaniaCities.apply(new ContractionHierarchySearch<>(read, start).goalVertex(goal)));
+      }
+    }
+  }
+
+  @Test
+  void disallowedClassesRejected() throws IOException {
+    /*
+     * Vertices of a type other than the one expected.
+     */
+    ContractionHierarchy<Integer, Long> ch = new DirectedGraph<>(Set.of(Edge.of(1, 2L, 2), Edge.of(2, 3L, 3)))
+        .apply(new ContractionHierarchies<>());
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ch.write(out);
+    assertThrows(IOException.class, () -> ContractionHierarchy.read(new ByteArrayInputStream(out.toByteArray()),
+                                                                      String.class, Long.class));
+    assertEquals(ch.shortcutCount(), ContractionHierarchy.read(new ByteArrayInputStream(out.toByteArray()),
+                                                               Integer.class, Long.class).shortcutCount());
+
+    /*
+     * A stream holding some other class than a hierarchy.
+     */
+    ByteArrayOutputStream other = new ByteArrayOutputStream();
+    try (ObjectOutputStream os = new ObjectOutputStream(other)) {
+      os.writeObject(new ArrayList<>(List.of("Arad")));
+    }
+    assertThrows(IOException.class, () -> ContractionHierarchy.read(new ByteArrayInputStream(other.toByteArray()),
+                                                                      String.class, Integer.class));
+  }
+
+  /**
+   * Checks that the path has the same cost as the one found by
+   * {@link MinCostSearch} and is made of edges of the graph from start to goal.
+   */
+  private static <V, W> void assertSameCost(Graph<V, W> graph, V start, V goal, Path<V, W> path) {
+    Path<V, W> minCost = graph.apply(new MinCostSearch<V, W>(start).goalVertex(goal));
+    if (minCost == null) {
+      assertNull(path);
+    } else {
+      assertNotNull(path, "No path from " + start + " to " + goal);
+      assertEquals(minCost.weight(), path.weight());
+      assertEquals(path.weight(), path.cost());
+      V vertex = start;
+      for (Edge<V, W> edge: path.edges()) {
+        assertEquals(vertex, edge.endPoint1);
+        assertTrue(graph.outgoing(vertex).contains(edge), edge + " not in graph");
+        vertex = edge.endPoint2;
+      }
+      assertEquals(goal, vertex);
+    }
+  }
+}
@@ -0,0 +1,108 @@
+package ma.vi.graph.algo.search;
+
+import ma.vi.graph.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static ma.vi.graph.algo.TestGraphs.basicGraph1;
+import static ma.vi.graph.algo.TestGraphs.romaniaCities;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+class BidirectionalSearchTest {
+  @Test
+  void bidirectionalBreadthFirst() {
+    Path<String, Integer> path =
+        romaniaCities.apply(new BidirectionalSearch<String, Integer>("Arad").goalVertex("Bucharest"));
+    assertEquals(Path.of(3L,
+                         romaniaCities.edge("Arad", "Sibiu"),
+                         romaniaCities.edge("Sibiu", "Fagaras"),
+                         romaniaCities.edge("Fagaras", "Bucharest")), path);
+    assertEquals(new Path<>(0L, "Arad"),
+                 romaniaCities.apply(new BidirectionalSearch<String, Integer>("Arad").goalVertex("Arad")));
+  }
+
+  @Test
+  void bidirectionalMinCost() {
+    Path<String, Integer> path =
+        romaniaCities.apply(new BidirectionalMinCostSearch<String, Integer>("Arad").goalVertex("Bucharest"));
+    assertEquals(Path.of(418L,
+                         romaniaCities.edge("Arad", "Sibiu"),
+                         romaniaCities.edge("Sibiu", "Rimnicu Vilcea"),
+                         romaniaCities.edge("Rimnicu Vilcea", "Pitesti"),
+                         romaniaCities.edge("Pitesti", "Bucharest")), path);
+  }
+
+  @Test
+  void directed() {
+    for (int start: basicGraph1.vertices()) {
+      for (int goal: basicGraph1.vertices()) {
+        Path<Integer, Integer> minCost = basicGraph1.apply(new MinCostSearch<Integer, Integer>(start).goalVertex(goal));
+        Path<Integer, Integer> bidirectional = basicGraph1.apply(new BidirectionalMinCostSearch<Integer, Integer>(start).goalVertex(goal));
+        Path<Integer, Integer> bfs = basicGraph1.apply(new BreadthFirstSearch<Integer, Integer>(start).goalVertex(goal));
+        Path<Integer, Integer> bidirectionalBfs = basicGraph1.apply(new BidirectionalSearch<Integer, Integer>(start).goalVertex(goal));
+        if (minCost == null) {
+          assertNull(bidirectional);
+          assertNull(bidirectionalBfs);
+        } else {
+          assertEquals(minCost.cost(), bidirectional.cost());
+          assertEquals(bidirectional.cost(), bidirectional.weight());
+          assertEquals(bfs.length(), bidirectionalBfs.length());
+          assertEquals(Long.valueOf(bfs.length()), bidirectionalBfs.cost());
+          assertPath(basicGraph1, start, goal, bidirectional);
+          assertPath(basicGraph1, start, goal, bidirectionalBfs);
+        }
+      }
+    }
+  }
+
+  @Test
+  void randomGraphs() {
+    Random random = new Random(11);
+    for (boolean directed: new boolean[]{true, false}) {
+      for (int g = 0; g < 10; g++) {
+        VertexMap<Integer, Integer> map = new VertexMap<>();
+        for (int e = 0; e < 120; e++) {
+          map.add(random.nextInt(40), random.nextInt(20), random.nextInt(40));
+        }
+        Graph<Integer, Integer> graph = directed ? new DirectedGraph<>(map.build())
+                                                 : new UndirectedGraph<>(map.build());
+        for (int q = 0; q < 20; q++) {
+          int start = random.nextInt(40);
+          int goal = random.nextInt(40);
+          if (graph.vertices().contains(start) && graph.vertices().contains(goal)) {
+            Path<Integer, Integer> minCost = graph.apply(new MinCostSearch<Integer, Integer>(start).goalVertex(goal));
+            Path<Integer, Integer> bidirectional = graph.apply(new BidirectionalMinCostSearch<Integer, Integer>(start).goalVertex(goal));
+            Path<Integer, Integer> bfs = graph.apply(new BreadthFirstSearch<Integer, Integer>(start).goalVertex(goal));
+            Path<Integer, Integer> bidirectionalBfs = graph.apply(new BidirectionalSearch<Integer, Integer>(start).goalVertex(goal));
+            if (minCost == null) {
+              assertNull(bidirectional);
+              assertNull(bidirectionalBfs);
+            } else {
+              assertEquals(minCost.weight(), bidirectional.weight());
+              assertEquals(bfs.length(), bidirectionalBfs.length());
+              assertPath(graph, start, goal, bidirectional);
+              assertPath(graph, start, goal, bidirectionalBfs);
+            }
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Checks that the path is a sequence of edges of the graph from start to goal.
+   */
+  private static <V, W> void assertPath(Graph<V, W> graph, V start, V goal, Path<V, W> path) {
+    V vertex = start;
+    for (Edge<V, W> edge: path.edges()) {
+      assertEquals(vertex, edge.endPoint1);
+      assertTrue(graph.outgoing(vertex).contains(edge), edge + " not in graph");
+      vertex = edge.endPoint2;
+    }
+    assertEquals(goal, vertex);
+  }
+}
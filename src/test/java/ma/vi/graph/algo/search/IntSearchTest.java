@@ -0,0 +1,71 @@
+package ma.vi.graph.algo.search;
+
+import ma.vi.graph.CsrGraph;
+import ma.vi.graph.IntLongCsrGraph;
+import ma.vi.graph.IntLongGraph;
+import ma.vi.graph.IntPath;
+import ma.vi.graph.algo.explore.IntMinCostExplore;
+import ma.vi.graph.algo.explore.IntPathTree;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static ma.vi.graph.algo.TestGraphs.romaniaCities;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+class IntSearchTest {
+  @Test
+  void breadthFirst() {
+    IntPath path = cities.apply(new IntBreadthFirstSearch(id("Arad")).goalVertex(id("Bucharest")));
+    System.out.println(path);
+    assertEquals(IntPath.of(3, ids("Arad", "Sibiu", "Fagaras", "Bucharest")), path);
+  }
+
+  @Test
+  void minCost() {
+    IntPath path = cities.apply(new IntMinCostSearch(id("Arad")).goalVertex(id("Bucharest")));
+    System.out.println(path);
+    assertEquals(IntPath.of(418, ids("Arad", "Sibiu", "Rimnicu Vilcea", "Pitesti", "Bucharest")), path);
+  }
+
+  @Test
+  void notFound() {
+    IntLongGraph g = new IntLongCsrGraph.Builder(true)
+                          .add(0, 1, 1)
+                          .add(2, 1, 3)
+                          .build();
+    assertNull(g.apply(new IntMinCostSearch(0).goalVertex(3)));
+    assertNull(g.apply(new IntBreadthFirstSearch(0).goalVertex(3)));
+  }
+
+  @Test
+  void allCosts() {
+    IntLongGraph g = new IntLongCsrGraph.Builder(true)
+                          .add(0, 4, 1)
+                          .add(0, 1, 2)
+                          .add(2, 2, 1)
+                          .add(1, 5, 3)
+                          .add(1, 1, 3)
+                          .build();
+    IntPathTree tree = g.apply(new IntMinCostExplore(0));
+    assertEquals(-1, tree.goal());
+    assertArrayEquals(new long[] {0, 3, 1, 4},
+                      Arrays.stream(new int[] {0, 1, 2, 3}).mapToLong(tree::cost).toArray());
+    assertEquals(IntPath.of(4, 0, 2, 1, 3), tree.pathTo(3));
+    assertFalse(g.apply(new IntMinCostExplore(3)).reached(0));
+  }
+
+  private static int id(String city) {
+    return csr.id(city);
+  }
+
+  private static int[] ids(String... cities) {
+    return Arrays.stream(cities).mapToInt(IntSearchTest::id).toArray();
+  }
+
+  private static final CsrGraph<String, Integer> csr = new CsrGraph<>(romaniaCities);
+  private static final IntLongGraph cities = csr.asIntLongGraph();
+}
@@ -0,0 +1,92 @@
+package ma.vi.graph.algo.search;
+
+import ma.vi.graph.*;
+import ma.vi.graph.algo.RadixPathQueue;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static ma.vi.graph.algo.TestGraphs.basicGraph1;
+import static ma.vi.graph.algo.TestGraphs.romaniaCities;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+class LandmarksTest {
+  @Test
+  void romania() {
+    for (Landmarks.Selection selection: Landmarks.Selection.values()) {
+      LandmarkEstimate<String> estimate =
+          romaniaCities.apply(new Landmarks<String, Integer>().count(4).selection(selection));
+      assertEquals(4, estimate.landmarks().size());
+      assertEquals(4, estimate.landmarks().stream().distinct().count());
+      Path<String, Integer> path = romaniaCities.apply(new AStarSearch<>("Arad", "Bucharest", estimate));
+      assertEquals(Path.of(418L,
+                           romaniaCities.edge("Arad", "Sibiu"),
+                           romaniaCities.edge("Sibiu", "Rimnicu Vilcea"),
+                           romaniaCities.edge("Rimnicu Vilcea", "Pitesti"),
+                           romaniaCities.edge("Pitesti", "Bucharest")), path);
+      assertEquals(0, estimate.op("Arad", "Paris"));
+    }
+  }
+
+  @Test
+  void directed() {
+    LandmarkEstimate<Integer> estimate = basicGraph1.apply(new Landmarks<Integer, Integer>().count(3));
+    assertAdmissibleAndConsistent(basicGraph1, estimate);
+  }
+
+  @Test
+  void randomGraphs() {
+    Random random = new Random(5);
+    for (boolean directed: new boolean[]{true, false}) {
+      for (Landmarks.Selection selection: Landmarks.Selection.values()) {
+        for (int g = 0; g < 5; g++) {
+          VertexMap<Integer, Integer> map = new VertexMap<>();
+          for (int e = 0; e < 100; e++) {
+            map.add(random.nextInt(40), random.nextInt(20), random.nextInt(40));
+          }
+          Graph<Integer, Integer> graph = directed ? new DirectedGraph<>(map.build())
+                                                   : new UndirectedGraph<>(map.build());
+          LandmarkEstimate<Integer> estimate =
+              graph.apply(new Landmarks<Integer, Integer>().count(4).selection(selection).seed(g));
+          assertAdmissibleAndConsistent(graph, estimate);
+          for (int start: graph.vertices()) {
+            for (int goal: graph.vertices()) {
+              Path<Integer, Integer> minCost = graph.apply(new MinCostSearch<Integer, Integer>(start).goalVertex(goal));
+              Path<Integer, Integer> aStar = graph.apply(new AStarSearch<Integer, Integer>(start, goal, estimate)
+                                                             .pathQueue(new RadixPathQueue<>()));
+              if (minCost == null) {
+                assertNull(aStar);
+              } else {
+                assertEquals(minCost.weight(), aStar.weight());
+              }
+            }
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Checks that the estimate never exceeds the minimum cost to a reachable goal
+   * and never decreases by more than the weight of an edge along the edge.
+   */
+  private static void assertAdmissibleAndConsistent(Graph<Integer, Integer> graph, LandmarkEstimate<Integer> estimate) {
+    for (int goal: graph.vertices()) {
+      for (int vertex: graph.vertices()) {
+        Path<Integer, Integer> minCost = graph.apply(new MinCostSearch<Integer, Integer>(vertex).goalVertex(goal));
+        if (minCost != null) {
+          assertTrue(estimate.op(vertex, goal) <= minCost.weight(),
+                     "Estimate from " + vertex + " to " + goal + " exceeds " + minCost.weight());
+        }
+        for (Edge<Integer, Integer> edge: graph.outgoing(vertex)) {
+          int next = edge.endPoint1.equals(vertex) ? edge.endPoint2 : edge.endPoint1;
+          assertTrue(estimate.op(vertex, goal) <= edge.weight + estimate.op(next, goal),
+                     "Estimate to " + goal + " inconsistent on " + edge);
+        }
+      }
+    }
+  }
+}
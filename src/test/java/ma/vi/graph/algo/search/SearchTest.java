@@ -1,9 +1,15 @@
 package ma.vi.graph.algo.search;
 
 import ma.vi.graph.Path;
+import ma.vi.graph.algo.BucketPathQueue;
+import ma.vi.graph.algo.IndexedPathQueue;
+import ma.vi.graph.algo.PathQueue;
+import ma.vi.graph.algo.RadixPathQueue;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static ma.vi.graph.algo.TestGraphs.distanceToBucharest;
 import static ma.vi.graph.algo.TestGraphs.romaniaCities;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -67,6 +73,63 @@ class SearchTest {
                                     romaniaCities.edge("Pitesti", "Bucharest")), path);
   }
 
+  @Test
+  void minCostWithMonotoneQueues() {
+    Path<String, Integer> expected = Path.of(418L,
+                                             romaniaCities.edge("Arad", "Sibiu"),
+                                             romaniaCities.edge("Sibiu", "Rimnicu Vilcea"),
+                                             romaniaCities.edge("Rimnicu Vilcea", "Pitesti"),
+                                             romaniaCities.edge("Pitesti", "Bucharest"));
+    assertEquals(expected, romaniaCities.apply(new MinCostSearch<String, Integer>("Arad")
+                                                   .goalVertex("Bucharest")
+                                                   .pathQueue(new RadixPathQueue<>())));
+    assertEquals(expected, romaniaCities.apply(new MinCostSearch<String, Integer>("Arad")
+                                                   .goalVertex("Bucharest")
+                                                   .pathQueue(new BucketPathQueue<>(8))));
+    assertEquals(expected, romaniaCities.apply(new Search<String, Integer>("Arad")
+                                                   .goalVertex("Bucharest")
+                                                   .pathQueue(new RadixPathQueue<>())));
+  }
+
+  @Test
+  void aStarWithMonotoneQueues() {
+    Path<String, Integer> expected = Path.of(418L,
+                                             romaniaCities.edge("Arad", "Sibiu"),
+                                             romaniaCities.edge("Sibiu", "Rimnicu Vilcea"),
+                                             romaniaCities.edge("Rimnicu Vilcea", "Pitesti"),
+                                             romaniaCities.edge("Pitesti", "Bucharest"));
+    assertEquals(expected, romaniaCities.apply(new AStarSearch<String, Integer>(
+                                                   "Arad",
+                                                   "Bucharest",
+                                                   (v1, v2) -> distanceToBucharest.get(v1))
+                                                   .pathQueue(new RadixPathQueue<>())));
+    assertEquals(expected, romaniaCities.apply(new AStarSearch<String, Integer>(
+                                                   "Arad",
+                                                   "Bucharest",
+                                                   (v1, v2) -> distanceToBucharest.get(v1))
+                                                   .pathQueue(new BucketPathQueue<>())));
+  }
+
+  @Test
+  void pathQueueReusedAcrossExecutions() {
+    Path<String, Integer> expected = romaniaCities.apply(new MinCostSearch<String, Integer>("Arad")
+                                                             .goalVertex("Bucharest"));
+    for (PathQueue<String, Integer> queue: List.of(new BucketPathQueue<String, Integer>(),
+                                                   new RadixPathQueue<String, Integer>(),
+                                                   new IndexedPathQueue<String, Integer>())) {
+      MinCostSearch<String, Integer> search = new MinCostSearch<String, Integer>("Arad")
+          .goalVertex("Bucharest")
+          .pathQueue(queue);
+      assertEquals(expected, romaniaCities.apply(search));
+      assertEquals(expected, romaniaCities.apply(search));
+
+      AStarSearch<String, Integer> aStar = new AStarSearch<String, Integer>(
+          "Arad", "Bucharest", (v1, v2) -> distanceToBucharest.get(v1)).pathQueue(queue);
+      assertEquals(expected, romaniaCities.apply(aStar));
+      assertEquals(expected, romaniaCities.apply(aStar));
+    }
+  }
+
   @Test
   void iterativeDeepening() {
     Path<String, Integer> path =
@@ -1,13 +1,18 @@
 package ma.vi.graph.algo.tree;
 
-import ma.vi.graph.Graph;
-import ma.vi.graph.UndirectedGraph;
-import ma.vi.graph.VertexMap;
+import ma.vi.graph.*;
 import ma.vi.graph.algo.TestGraphs;
+import ma.vi.graph.algo.connectivity.ConnectedComponents;
+import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
+import java.util.LinkedHashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
 /**
  * @author Vikash Madhow (vikash.madhow@gmail.com)
  */
@@ -58,4 +63,103 @@ class SpanningTreeTest {
         ),
         tree);
   }
-}
\ No newline at end of file
+
+  @Test
+  void boruvkaMst() {
+    Graph<String, Integer> tree =
+        TestGraphs.basicGraph2.apply(new BoruvkaMst<String, Integer>().pool(pool));
+    System.out.println(tree.toGraphViz());
+    Assertions.assertEquals(
+        new UndirectedGraph<>(
+            new VertexMap<String, Integer>()
+                .add("v0", 4,   "v1")
+                .add("v0", 8,   "v8")
+                .add("v3", 7,   "v4")
+                .add("v2", 2,   "v3")
+                .add("v3", 4,   "v6")
+                .add("v4", 9,   "v5")
+                .add("v6", 2,   "v7")
+                .add("v7", 1,   "v8")
+                .build()
+        ),
+        tree);
+  }
+
+  @Test
+  void filterKruskalMst() {
+    Graph<String, Integer> tree =
+        TestGraphs.basicGraph2.apply(new FilterKruskalMst<String, Integer>().pool(pool));
+    System.out.println(tree.toGraphViz());
+    Assertions.assertEquals(
+        new UndirectedGraph<>(
+            new VertexMap<String, Integer>()
+                .add("v0", 4,   "v1")
+                .add("v0", 8,   "v8")
+                .add("v3", 7,   "v4")
+                .add("v2", 2,   "v3")
+                .add("v3", 4,   "v6")
+                .add("v4", 9,   "v5")
+                .add("v6", 2,   "v7")
+                .add("v7", 1,   "v8")
+                .build()
+        ),
+        tree);
+  }
+
+  @Test
+  void parallelMstOnRandomGraphs() {
+    Random random = new Random(13);
+    for (boolean directed: new boolean[]{true, false}) {
+      for (int g = 0; g < 5; g++) {
+        Set<Edge<Integer, Integer>> edges = new LinkedHashSet<>();
+        for (int e = 0; e < 5000; e++) {
+          edges.add(Edge.of(random.nextInt(1500), random.nextInt(1000), random.nextInt(1500)));
+        }
+        Graph<Integer, Integer> graph = directed ? new DirectedGraph<>(edges) : new UndirectedGraph<>(edges);
+        Graph<Integer, Integer> kruskal = graph.apply(new KruskalMst<>());
+        Graph<Integer, Integer> boruvka = graph.apply(new BoruvkaMst<Integer, Integer>().pool(pool));
+        Graph<Integer, Integer> filterKruskal = graph.apply(new FilterKruskalMst<Integer, Integer>().baseSize(100).pool(pool));
+        Assertions.assertEquals(kruskal.edges().size(), boruvka.edges().size());
+        Assertions.assertEquals(weight(kruskal), weight(boruvka));
+        Assertions.assertEquals(boruvka, filterKruskal);
+        Assertions.assertEquals(boruvka, graph.apply(new BoruvkaMst<Integer, Integer>().pool(single)));
+        Assertions.assertEquals(boruvka, graph.apply(new FilterKruskalMst<Integer, Integer>().pool(single)));
+        if (!directed) {
+          Assertions.assertEquals(graph.apply(new ConnectedComponents<>()).size(),
+                                  graph.vertices().size() - boruvka.edges().size());
+        }
+      }
+    }
+  }
+
+  private static long weight(Graph<Integer, Integer> graph) {
+    long weight = 0;
+    for (Edge<Integer, Integer> edge: graph.edges()) {
+      weight += edge.weight;
+    }
+    return weight;
+  }
+
+  @Test
+  void intPrimMst() {
+    CsrGraph<String, Integer> csr = new CsrGraph<>(TestGraphs.basicGraph2);
+    IntLongCsrGraph tree = csr.asIntLongGraph().apply(new IntPrimMst());
+    System.out.println(tree);
+    Assertions.assertEquals(csr.vertexCount() - 1, tree.edgeCount());
+    long[] weight = {0};
+    for (int v = 0; v < tree.vertexCount(); v++) {
+      tree.forEachOutgoing(v, (u, w) -> weight[0] += w);
+    }
+    // undirected edges are visited from both endpoints
+    Assertions.assertEquals(2 * 37, weight[0]);
+  }
+
+  @AfterAll
+  static void shutdown() {
+    pool.shutdown();
+    single.shutdown();
+  }
+
+  private static final ForkJoinPool pool = new ForkJoinPool(4);
+  private static final ForkJoinPool single = new ForkJoinPool(1);
+}
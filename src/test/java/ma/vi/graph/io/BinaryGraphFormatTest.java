@@ -0,0 +1,169 @@
+package ma.vi.graph.io;
+
+import ma.vi.graph.*;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.util.*;
+
+import static ma.vi.graph.algo.TestGraphs.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+class BinaryGraphFormatTest {
+  @Test
+  void roundTrip() throws IOException {
+    BinaryGraphFormat<Integer, Integer> ints = new BinaryGraphFormat<>(Codec.INT, Codec.INT);
+    assertEquals(basicGraph1, ints.read(new ByteArrayInputStream(write(ints, basicGraph1))));
+
+    BinaryGraphFormat<String, Integer> strings = new BinaryGraphFormat<>(Codec.STRING, Codec.INT);
+    for (Graph<String, Integer> graph: List.of(basicGraph2, basicGraph3Disjoint, romaniaCities)) {
+      AbstractGraph<String, Integer> read = strings.read(new ByteArrayInputStream(write(strings, graph)));
+      assertEquals(graph, read);
+      assertFalse(read.directed());
+      assertEquals(graph.edges(), read.edges());
+      for (String v: graph.vertices()) {
+        assertEquals(graph.degree(v), read.degree(v));
+      }
+    }
+    assertEquals(new DirectedGraph<>("a"),
+                 strings.read(new ByteArrayInputStream(write(strings, new DirectedGraph<>("a")))));
+    assertEquals(new UndirectedGraph<>(),
+                 strings.read(new ByteArrayInputStream(write(strings, new UndirectedGraph<>()))));
+  }
+
+  @Test
+  void nullAndSerializableWeights() throws IOException {
+    Graph<Long, List<String>> graph = new DirectedGraph<>(
+        new VertexMap<Long, List<String>>()
+            .add(1L, List.of("a", "b"), 2L, 3L)
+            .add(-5L, 4L)
+            .add(4L, List.of(), -5L)
+            .build());
+    BinaryGraphFormat<Long, List<String>> format = new BinaryGraphFormat<>(
+        Codec.LONG, Codec.serializable(ObjectInputFilter.Config.createFilter("java.lang.*;java.util.*;!*")));
+    byte[] bytes = write(format, graph);
+    assertEquals(graph, format.read(new ByteArrayInputStream(bytes)));
+
+    BinaryGraphFormat<Long, List<String>> strict = new BinaryGraphFormat<>(
+        Codec.LONG, Codec.serializable(ObjectInputFilter.Config.createFilter("java.lang.String;!*")));
+    assertThrows(IOException.class, () -> strict.read(new ByteArrayInputStream(bytes)));
+    assertThrows(IllegalArgumentException.class, () -> Codec.serializable(null));
+  }
+
+  @Test
+  void compactEncoding() throws IOException {
+    Set<Edge<Integer, Integer>> edges = new HashSet<>();
+    for (int i = 0; i < 1000; i++) {
+      edges.add(Edge.of(i, 1, (i + 1) % 1000));
+    }
+    BinaryGraphFormat<Integer, Integer> format = new BinaryGraphFormat<>(Codec.INT, Codec.INT).checksum(false);
+    byte[] bytes = write(format, new DirectedGraph<>(edges));
+    assertTrue(bytes.length < 1000 * 7, "Size " + bytes.length);
+    assertEquals(new DirectedGraph<>(edges), format.read(new ByteArrayInputStream(bytes)));
+  }
+
+  @Test
+  void corruption() throws IOException {
+    BinaryGraphFormat<String, Integer> format = new BinaryGraphFormat<>(Codec.STRING, Codec.INT);
+    byte[] bytes = write(format, romaniaCities);
+    byte[] corrupted = bytes.clone();
+    corrupted[30] ^= 0x10;
+    assertThrows(IOException.class, () -> format.read(new ByteArrayInputStream(corrupted)));
+    assertThrows(IOException.class, () -> format.read(new ByteArrayInputStream(Arrays.copyOf(bytes, bytes.length - 10))));
+    assertThrows(IOException.class, () -> format.read(new ByteArrayInputStream("not a graph".getBytes())));
+    byte[] version = bytes.clone();
+    version[4] = 99;
+    assertThrows(IOException.class, () -> format.read(new ByteArrayInputStream(version)));
+
+    /*
+     * Two vertices and the edges from 0 to 1 and, with a delta overflowing
+     * the target, to a negative vertex.
+     */
+    BinaryGraphFormat<Integer, Integer> ints = new BinaryGraphFormat<>(Codec.INT, Codec.INT).checksum(false);
+    ByteArrayOutputStream overflow = new ByteArrayOutputStream();
+    overflow.write(write(ints, new DirectedGraph<>()), 0, 6);
+    DataOutputStream data = new DataOutputStream(overflow);
+    Varint.write(2, data);
+    Codec.INT.write(0, data);
+    Codec.INT.write(1, data);
+    Varint.write(0, data);
+    Varint.write(2, data);
+    Varint.write(2, data);
+    Varint.write(1, data);
+    Varint.write(0, data);
+    Varint.write(Integer.MAX_VALUE, data);
+    Varint.write(0, data);
+    Varint.write(0, data);
+    assertThrows(IOException.class, () -> ints.read(new ByteArrayInputStream(overflow.toByteArray())));
+
+    /*
+     * No vertices and a weight count of Integer.MAX_VALUE.
+     */
+    ByteArrayOutputStream weights = new ByteArrayOutputStream();
+    weights.write(write(ints, new DirectedGraph<>()), 0, 6);
+    data = new DataOutputStream(weights);
+    Varint.write(0, data);
+    Varint.write(Integer.MAX_VALUE, data);
+    assertThrows(IOException.class, () -> ints.read(new ByteArrayInputStream(weights.toByteArray())));
+  }
+
+  @Test
+  void corruptValues() throws IOException {
+    /*
+     * An int value out of the range of ints.
+     */
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    Varint.writeSigned(1L << 40, new DataOutputStream(bytes));
+    assertThrows(IOException.class, () -> Codec.INT.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))));
+
+    /*
+     * String and serialized lengths of 2 GB followed by a few bytes fail at the end
+     * of the stream without allocating buffers of that size.
+     */
+    bytes.reset();
+    DataOutputStream data = new DataOutputStream(bytes);
+    Varint.write(Integer.MAX_VALUE, data);
+    data.write(new byte[100]);
+    byte[] huge = bytes.toByteArray();
+    assertThrows(IOException.class, () -> Codec.STRING.read(new DataInputStream(new ByteArrayInputStream(huge))));
+    Codec<Object> serializable = Codec.serializable(ObjectInputFilter.Config.createFilter("java.lang.*;!*"));
+    assertThrows(IOException.class, () -> serializable.read(new DataInputStream(new ByteArrayInputStream(huge))));
+  }
+
+  @Test
+  void adjacencyBuilder() {
+    for (boolean directed: new boolean[]{true, false}) {
+      Random random = new Random(3);
+      AdjacencyBuilder<Integer, Integer> builder = new AdjacencyBuilder<>(directed);
+      Set<Edge<Integer, Integer>> edges = new LinkedHashSet<>();
+      for (int v = 0; v < 100; v++) {
+        builder.addVertex(v);
+      }
+      for (int i = 0; i < 1000; i++) {
+        Edge<Integer, Integer> edge = Edge.of(random.nextInt(100), random.nextInt(3), random.nextInt(100));
+        edges.add(edge);
+        builder.add(edge.endPoint1, edge.weight, edge.endPoint2);
+      }
+      Graph<Integer, Integer> built = builder.build();
+      Graph<Integer, Integer> expected = directed ? new DirectedGraph<>(edges) : new UndirectedGraph<>(edges);
+      assertEquals(expected, built);
+      assertEquals(expected.edges(), built.edges());
+      assertEquals(directed, built.directed());
+      assertThrows(IllegalArgumentException.class, () -> builder.add(0, 1, 100));
+    }
+  }
+
+  private static <V, W> byte[] write(BinaryGraphFormat<V, W> format, Graph<V, W> graph) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    format.write(graph, out);
+    return out.toByteArray();
+  }
+}
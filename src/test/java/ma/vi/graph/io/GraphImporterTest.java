@@ -0,0 +1,133 @@
+package ma.vi.graph.io;
+
+import ma.vi.graph.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+import static ma.vi.graph.io.GraphImporter.Format.DIMACS;
+import static ma.vi.graph.io.GraphImporter.Format.EDGE_LIST;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Vikash Madhow (vikash.madhow@gmail.com)
+ */
+class GraphImporterTest {
+  @Test
+  void edgeList() throws IOException {
+    Path file = write("source,target,weight\r\n"
+                    + "# comment\r\n"
+                    + "1,2,5\r\n"
+                    + "\r\n"
+                    + "2 , 3,-4\r\n"
+                    + "% other comment\n"
+                    + "3\t1\n"
+                    + "-7 1 2 1589000000");
+    for (int chunkSize: new int[]{1, 7, 1 << 20}) {
+      Graph<Integer, Long> graph = new GraphImporter(EDGE_LIST, true).chunkSize(chunkSize).read(file);
+      assertEquals(new DirectedGraph<>(Set.of(Edge.of(1, 5L, 2),
+                                              Edge.of(2, -4L, 3),
+                                              Edge.of(3, 1L, 1),
+                                              Edge.of(-7, 2L, 1))), graph);
+      assertEquals(List.of(1, 2, 3, -7), new ArrayList<>(graph.vertices()));
+    }
+    assertEquals(new UndirectedGraph<>(Set.of(Edge.of(1, 5L, 2),
+                                              Edge.of(2, -4L, 3),
+                                              Edge.of(3, 0L, 1),
+                                              Edge.of(-7, 2L, 1))),
+                 new GraphImporter(EDGE_LIST, false).defaultWeight(0).read(file));
+  }
+
+  @Test
+  void equalWeightsShared() throws IOException {
+    Graph<Integer, Long> graph = new GraphImporter(EDGE_LIST, true).read(write("1 2 1000\n2 3 1000\n3 1 2000\n"));
+    assertSame(graph.edge(1, 2).get().weight, graph.edge(2, 3).get().weight);
+    assertEquals(2000L, graph.edge(3, 1).get().weight);
+  }
+
+  @Test
+  void dimacs() throws IOException {
+    Path file = write("c 9th DIMACS challenge\n"
+                    + "p sp 5 4\n"
+                    + "c arcs\n"
+                    + "a 1 2 10\n"
+                    + "a 2 3 4\n"
+                    + "a 3 1 7\n"
+                    + "a 2 1 10\n");
+    Graph<Integer, Long> graph = new GraphImporter(DIMACS, true).chunkSize(5).read(file);
+    assertEquals(List.of(1, 2, 3, 4, 5), new ArrayList<>(graph.vertices()));
+    assertEquals(Set.of(Edge.of(1, 10L, 2), Edge.of(2, 4L, 3), Edge.of(3, 7L, 1), Edge.of(2, 10L, 1)),
+                 graph.edges());
+    assertTrue(graph.outgoing(5).isEmpty());
+
+    Graph<Integer, Long> undirected = new GraphImporter(DIMACS, false).read(file);
+    assertEquals(new UndirectedGraph<>(graph.edges()).edges(), undirected.edges());
+    assertEquals(5, undirected.vertices().size());
+  }
+
+  @Test
+  void largeFileInParallel() throws IOException {
+    Random random = new Random(11);
+    StringBuilder text = new StringBuilder("# Directed graph\n# FromNodeId\tToNodeId\n");
+    Set<Edge<Integer, Long>> edges = new HashSet<>();
+    for (int i = 0; i < 20000; i++) {
+      Edge<Integer, Long> edge = Edge.of(random.nextInt(3000), (long)random.nextInt(100), random.nextInt(3000));
+      edges.add(edge);
+      text.append(edge.endPoint1).append('\t').append(edge.endPoint2).append('\t').append(edge.weight).append('\n');
+    }
+    Path file = write(text.toString());
+    long[] progress = new long[3];
+    for (boolean directed: new boolean[]{true, false}) {
+      Graph<Integer, Long> expected = directed ? new DirectedGraph<>(edges) : new UndirectedGraph<>(edges);
+      Graph<Integer, Long> graph = new GraphImporter(EDGE_LIST, directed)
+          .pool(new ForkJoinPool(4))
+          .chunkSize(4096)
+          .progress((read, total, count) -> {
+            assertTrue(read > progress[0]);
+            progress[0] = read;
+            progress[1] = total;
+            progress[2] = count;
+          })
+          .read(file);
+      assertEquals(expected, graph);
+      assertEquals(Files.size(file), progress[0]);
+      assertEquals(Files.size(file), progress[1]);
+      assertEquals(20000, progress[2]);
+      progress[0] = 0;
+
+      MappedGraph mapped = new GraphImporter(EDGE_LIST, directed)
+          .chunkSize(1000)
+          .readMapped(file, dir.resolve("graph" + directed));
+      assertEquals(expected.edges().size(), mapped.edgeCount());
+      assertEquals(expected, directed ? new DirectedGraph<>(mapped.edges()) : new UndirectedGraph<>(mapped.edges()));
+    }
+  }
+
+  @Test
+  void invalidFiles() throws IOException {
+    assertThrows(IOException.class, () -> new GraphImporter(EDGE_LIST, true).read(write("1 2\n3 x\n")));
+    assertThrows(IOException.class, () -> new GraphImporter(EDGE_LIST, true).read(write("1 2\n3\n")));
+    assertThrows(IOException.class, () -> new GraphImporter(EDGE_LIST, true).read(write("1 2 3.5\n")));
+    assertThrows(IOException.class, () -> new GraphImporter(EDGE_LIST, true).read(write("1 3000000000\n")));
+    assertThrows(IOException.class, () -> new GraphImporter(DIMACS, true).read(write("p sp 2 1\ne 1 2 3\n")));
+    assertThrows(IOException.class, () -> new GraphImporter(EDGE_LIST, true)
+        .readMapped(write("1 2\n1 -2\n"), dir.resolve("negative")));
+    assertFalse(Files.exists(dir.resolve("negative")));
+    assertThrows(IllegalArgumentException.class, () -> new GraphImporter(EDGE_LIST, true).chunkSize(0));
+    assertEquals(new DirectedGraph<>(), new GraphImporter(EDGE_LIST, true).read(write("")));
+  }
+
+  private Path write(String content) throws IOException {
+    Path file = Files.createTempFile(dir, "edges", ".txt");
+    Files.writeString(file, content);
+    return file;
+  }
+
+  @TempDir
+  Path dir;
+}